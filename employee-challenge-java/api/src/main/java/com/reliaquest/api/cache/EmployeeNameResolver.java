@@ -0,0 +1,189 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.dto.EmployeeDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers which name each employee id had, as seen in listings, get-by-id and create responses, so a delete (which
+ * the upstream only accepts by name) can skip looking the employee up first.
+ * <p>
+ * A name is only trusted while it is fresh, see {@link EmployeeCacheProperties.NameResolution#getTtl()}: ids are never
+ * reused, but an id deleted elsewhere leaves a mapping whose name may since belong to someone else. Every delete seen
+ * here forgets its id, and a fresh listing replaces the whole map, so ids it no longer contains are forgotten too. The
+ * map holds at most {@code max-entries} ids, evicting the least recently used.
+ */
+@Component
+public class EmployeeNameResolver implements EmployeeSnapshotListener, MeterBinder {
+
+    private final EmployeeCacheProperties.NameResolution props;
+
+    private final Clock clock;
+
+    // Not a monitor: callers may run on virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LinkedHashMap<String, Mapping> names;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public EmployeeNameResolver(final EmployeeCacheProperties props) {
+        this(props, Clock.systemUTC());
+    }
+
+    EmployeeNameResolver(final EmployeeCacheProperties props, final Clock clock) {
+        this.props = props.getNameResolution();
+        this.clock = clock;
+        this.names = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Mapping> eldest) {
+                return size() > EmployeeNameResolver.this.props.getMaxEntries();
+            }
+        };
+    }
+
+    /**
+     * The name {@code id} had, if it was seen recently enough to delete by.
+     */
+    public Optional<String> resolve(final String id) {
+        if (!props.isEnabled()) {
+            return Optional.empty();
+        }
+        lock.lock();
+        try {
+            Mapping mapping = names.get(id);
+            if (mapping != null && mapping.seenAt().plus(props.getTtl()).isAfter(clock.instant())) {
+                hits.increment();
+                return Optional.of(mapping.name());
+            }
+            if (mapping != null) {
+                names.remove(id);
+            }
+            misses.increment();
+            return Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the name of an employee the upstream just returned.
+     */
+    public void remember(final EmployeeDTO employee) {
+        if (!props.isEnabled() || employee == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            put(employee, clock.instant());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Forgets {@code id}, after it was deleted or its name turned out to be wrong.
+     */
+    public void forget(final String id) {
+        lock.lock();
+        try {
+            names.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return names.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onSnapshotLoaded(final EmployeeSnapshot snapshot) {
+        if (!props.isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            names.clear();
+            for (EmployeeDTO employee : snapshot.employees()) {
+                put(employee, snapshot.fetchedAt());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onEmployeeAdded(final EmployeeSnapshot snapshot, final EmployeeDTO employee) {
+        remember(employee);
+    }
+
+    @Override
+    public void onEmployeeRemoved(final EmployeeSnapshot snapshot, final EmployeeDTO employee) {
+        if (employee.getId() != null) {
+            forget(employee.getId());
+        }
+    }
+
+    @Override
+    public void onInvalidated() {
+        lock.lock();
+        try {
+            names.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("employee.api.name.resolution.lookups", hits, LongAdder::sum)
+                .tag("outcome", "hit")
+                .description("Deletes that went straight to the upstream DELETE")
+                .register(registry);
+        FunctionCounter.builder("employee.api.name.resolution.lookups", misses, LongAdder::sum)
+                .tag("outcome", "miss")
+                .description("Deletes that had to look the employee up first")
+                .register(registry);
+        Gauge.builder("employee.api.name.resolution.size", this, EmployeeNameResolver::size)
+                .description("Employee ids with a remembered name")
+                .register(registry);
+    }
+
+    private void put(final EmployeeDTO employee, final Instant seenAt) {
+        String name = employee.getEmployeeName();
+        if (employee.getId() != null && name != null && !name.isBlank()) {
+            names.put(employee.getId(), new Mapping(name, seenAt));
+        }
+    }
+
+    private record Mapping(String name, Instant seenAt) {}
+}
@@ -0,0 +1,24 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * An immutable, versioned view of the upstream employee listing.
+ *
+ * @param version monotonically increasing number, bumped on every refresh and write-through update
+ * @param fetchedAt when the underlying listing was last fetched from upstream
+ * @param employees the employees in upstream order; never null and not modifiable
+ */
+public record EmployeeSnapshot(long version, Instant fetchedAt, List<EmployeeDTO> employees) {
+
+    public Duration age(Instant now) {
+        return Duration.between(fetchedAt, now);
+    }
+
+    public int size() {
+        return employees.size();
+    }
+}
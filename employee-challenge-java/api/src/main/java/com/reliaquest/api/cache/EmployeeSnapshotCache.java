@@ -0,0 +1,595 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.RequestDeadline;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the latest upstream employee listing in memory so the read endpoints do not spend the upstream request quota.
+ * <p>
+ * Freshness follows {@link EmployeeCacheProperties}: a snapshot younger than {@code refresh-ahead} is served as is,
+ * an older one is still served while a single background refresh replaces it (refresh-ahead, then
+ * stale-while-revalidate once past {@code ttl}), and only a snapshot older than {@code ttl + stale-while-revalidate}
+ * (or a cold cache) makes the caller wait for upstream, and for no longer than its {@link RequestDeadline}.
+ * <p>
+ * Creates and deletes done through this api are written through to the snapshot, so callers see their own writes
+ * without another listing call.
+ * <p>
+ * Every change to the held snapshot is published, in order, to the registered {@link EmployeeSnapshotListener}s. The
+ * events are queued while the change is made and delivered once the cache's lock is released, on a thread of their
+ * own, so rebuilding an index over a large listing holds up neither other writers nor the thread, possibly an event
+ * loop, that made the change. Until a listener has caught up, its index reflects an older version and queries fall
+ * back to scanning the snapshot.
+ * <p>
+ * With {@link EmployeeSnapshotPersistence} enabled, the snapshot persisted by the previous run is installed on startup
+ * and served whatever its age until a background refresh has replaced it with a listing from upstream.
+ */
+@Component
+public class EmployeeSnapshotCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeSnapshotCache.class);
+
+    // Fetches of a cold cache's listing, each after a write-through raced the one before, before installing regardless
+    private static final int MAX_COLD_LOAD_ATTEMPTS = 3;
+
+    private final EmployeeApiClient employeeApiClient;
+
+    private final EmployeeCacheProperties props;
+
+    private final Clock clock;
+
+    private final Executor refreshExecutor;
+
+    private final List<EmployeeSnapshotListener> listeners;
+
+    private final Executor listenerExecutor;
+
+    private final EmployeeSnapshotPersistence persistence;
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    private final AtomicBoolean refreshInFlight = new AtomicBoolean();
+
+    private final Object lock = new Object();
+
+    // Listener events in snapshot order, queued under the lock and delivered by one drainer at a time
+    private final Queue<Consumer<EmployeeSnapshotListener>> pendingEvents = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean delivering = new AtomicBoolean();
+
+    // The foreground load in flight, blocking or not, which every caller finding the cache cold or expired joins so
+    // that it costs one upstream call, not one per waiting request; guarded by lock
+    private CompletableFuture<EmployeeSnapshot> load;
+
+    // Bumped on every write-through so a listing fetched before the write does not overwrite it; guarded by lock
+    private long writeSequence;
+
+    // Set while the held snapshot descends from a restored one rather than from an upstream listing
+    private volatile boolean awaitingRevalidation;
+
+    @Autowired
+    public EmployeeSnapshotCache(
+            final EmployeeApiClient employeeApiClient,
+            final EmployeeCacheProperties props,
+            final List<EmployeeSnapshotListener> listeners,
+            final EmployeeSnapshotPersistence persistence) {
+        this(
+                employeeApiClient,
+                props,
+                Clock.systemUTC(),
+                newRefreshExecutor(),
+                newListenerExecutor(),
+                listeners,
+                persistence);
+    }
+
+    /**
+     * A cache that delivers listener events on the thread that made the change, once it has released the cache, so
+     * the listeners reflect every change by the time the call that made it returns.
+     */
+    public EmployeeSnapshotCache(
+            final EmployeeApiClient employeeApiClient,
+            final EmployeeCacheProperties props,
+            final List<EmployeeSnapshotListener> listeners) {
+        this(employeeApiClient, props, Clock.systemUTC(), newRefreshExecutor(), Runnable::run, listeners, null);
+    }
+
+    EmployeeSnapshotCache(
+            final EmployeeApiClient employeeApiClient,
+            final EmployeeCacheProperties props,
+            final Clock clock,
+            final Executor refreshExecutor,
+            final List<EmployeeSnapshotListener> listeners) {
+        this(employeeApiClient, props, clock, refreshExecutor, listeners, null);
+    }
+
+    EmployeeSnapshotCache(
+            final EmployeeApiClient employeeApiClient,
+            final EmployeeCacheProperties props,
+            final Clock clock,
+            final Executor refreshExecutor,
+            final List<EmployeeSnapshotListener> listeners,
+            final EmployeeSnapshotPersistence persistence) {
+        this(employeeApiClient, props, clock, refreshExecutor, Runnable::run, listeners, persistence);
+    }
+
+    EmployeeSnapshotCache(
+            final EmployeeApiClient employeeApiClient,
+            final EmployeeCacheProperties props,
+            final Clock clock,
+            final Executor refreshExecutor,
+            final Executor listenerExecutor,
+            final List<EmployeeSnapshotListener> listeners,
+            final EmployeeSnapshotPersistence persistence) {
+        this.employeeApiClient = employeeApiClient;
+        this.props = props;
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+        this.listenerExecutor = listenerExecutor;
+        this.listeners = List.copyOf(listeners);
+        this.persistence = persistence;
+    }
+
+    /**
+     * Installs the snapshot persisted by the previous run, if there is a usable one, and starts revalidating it.
+     * Runs before the web server starts, so the first request is already answered from it.
+     */
+    @PostConstruct
+    void restorePersisted() {
+        if (persistence == null || !props.isEnabled()) {
+            return;
+        }
+        persistence.restore().ifPresent(contents -> {
+            synchronized (lock) {
+                if (current.get() != null) {
+                    return;
+                }
+                install(newSnapshot(contents.employees(), contents.fetchedAt()));
+                awaitingRevalidation = true;
+            }
+            deliverEvents();
+            refreshInBackground();
+        });
+    }
+
+    /**
+     * Returns the snapshot to answer a read from, loading or refreshing it according to its age.
+     * When the cache is disabled every call fetches a new listing and nothing is retained.
+     */
+    public EmployeeSnapshot getSnapshot() {
+        if (!props.isEnabled()) {
+            return newSnapshot(fetchEmployees(), clock.instant());
+        }
+
+        EmployeeSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return loadNow(null);
+        }
+        if (awaitingRevalidation) {
+            refreshInBackground();
+            return snapshot;
+        }
+
+        Duration age = snapshot.age(clock.instant());
+        if (age.compareTo(props.getRefreshAhead()) < 0) {
+            return snapshot;
+        }
+        if (age.compareTo(props.getTtl().plus(props.getStaleWhileRevalidate())) < 0) {
+            refreshInBackground();
+            return snapshot;
+        }
+        return loadNow(snapshot);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getSnapshot()} for the reactive request path. Fresh and stale-but-servable
+     * snapshots are returned immediately; otherwise the listing is fetched without blocking the caller's thread, in
+     * the same single load as blocking callers.
+     */
+    public Mono<EmployeeSnapshot> getSnapshotAsync() {
+        return Mono.defer(() -> {
+            if (!props.isEnabled()) {
+                return fetchEmployeesAsync().map(employees -> newSnapshot(employees, clock.instant()));
+            }
+
+            EmployeeSnapshot snapshot = current.get();
+            if (snapshot != null && awaitingRevalidation) {
+                refreshInBackground();
+                return Mono.just(snapshot);
+            }
+            if (snapshot != null) {
+                Duration age = snapshot.age(clock.instant());
+                if (age.compareTo(props.getRefreshAhead()) < 0) {
+                    return Mono.just(snapshot);
+                }
+                if (age.compareTo(props.getTtl().plus(props.getStaleWhileRevalidate())) < 0) {
+                    refreshInBackground();
+                    return Mono.just(snapshot);
+                }
+            }
+            return loadAsync(snapshot);
+        });
+    }
+
+    /**
+     * Appends a newly created employee to the current snapshot, mirroring the upstream which appends on create.
+     */
+    public void onEmployeeCreated(final EmployeeDTO employee) {
+        if (employee == null) {
+            return;
+        }
+        synchronized (lock) {
+            // Bumped even when cold, so a load fetching the listing meanwhile fetches it again
+            writeSequence++;
+            EmployeeSnapshot snapshot = current.get();
+            if (snapshot == null) {
+                return;
+            }
+            List<EmployeeDTO> employees = new ArrayList<>(snapshot.size() + 1);
+            employees.addAll(snapshot.employees());
+            employees.add(employee);
+            EmployeeSnapshot updated = newSnapshot(employees, snapshot.fetchedAt());
+            current.set(updated);
+            pendingEvents.add(listener -> listener.onEmployeeAdded(updated, employee));
+        }
+        deliverEvents();
+    }
+
+    /**
+     * Removes the employee the upstream deletes for the given name: the first one whose name matches ignoring case.
+     */
+    public void onEmployeeDeleted(final String name) {
+        if (name == null) {
+            return;
+        }
+        synchronized (lock) {
+            EmployeeSnapshot snapshot = current.get();
+            if (snapshot == null) {
+                writeSequence++;
+                return;
+            }
+            List<EmployeeDTO> employees = new ArrayList<>(snapshot.employees());
+            for (int i = 0; i < employees.size(); i++) {
+                if (name.equalsIgnoreCase(employees.get(i).getEmployeeName())) {
+                    EmployeeDTO removed = employees.remove(i);
+                    writeSequence++;
+                    EmployeeSnapshot updated = newSnapshot(employees, snapshot.fetchedAt());
+                    current.set(updated);
+                    pendingEvents.add(listener -> listener.onEmployeeRemoved(updated, removed));
+                    break;
+                }
+            }
+        }
+        deliverEvents();
+    }
+
+    /**
+     * Drops the current snapshot so the next read loads from upstream.
+     */
+    public void invalidate() {
+        synchronized (lock) {
+            writeSequence++;
+            awaitingRevalidation = false;
+            current.set(null);
+            pendingEvents.add(EmployeeSnapshotListener::onInvalidated);
+        }
+        deliverEvents();
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    /**
+     * Whether a read would be answered from the held snapshot right now, without waiting for upstream.
+     */
+    public boolean isWarm() {
+        EmployeeSnapshot snapshot = current.get();
+        return props.isEnabled()
+                && snapshot != null
+                && (awaitingRevalidation
+                        || snapshot.age(clock.instant())
+                                        .compareTo(props.getTtl().plus(props.getStaleWhileRevalidate()))
+                                < 0);
+    }
+
+    private EmployeeSnapshot loadNow(final EmployeeSnapshot seen) {
+        while (true) {
+            CompletableFuture<EmployeeSnapshot> shared;
+            boolean owner = false;
+            synchronized (lock) {
+                EmployeeSnapshot snapshot = current.get();
+                if (snapshot != null && snapshot != seen) {
+                    // Another caller loaded it meanwhile
+                    return snapshot;
+                }
+                if (load == null) {
+                    load = new CompletableFuture<>();
+                    owner = true;
+                }
+                shared = load;
+            }
+            if (owner) {
+                return runLoad(shared);
+            }
+            EmployeeSnapshot loaded = awaitLoad(shared);
+            if (loaded != null) {
+                return loaded;
+            }
+        }
+    }
+
+    private EmployeeSnapshot runLoad(final CompletableFuture<EmployeeSnapshot> shared) {
+        try {
+            EmployeeSnapshot snapshot = null;
+            for (int attempt = 1; snapshot == null; attempt++) {
+                long startedAtWrite = currentWriteSequence();
+                List<EmployeeDTO> employees = fetchEmployees();
+                Instant fetchedAt = clock.instant();
+                synchronized (lock) {
+                    snapshot = installUnlessRaced(employees, fetchedAt, startedAtWrite, attempt);
+                }
+                deliverEvents();
+            }
+            finishLoad(shared, snapshot, null);
+            return snapshot;
+        } catch (RuntimeException ex) {
+            finishLoad(shared, null, ex);
+            throw ex;
+        }
+    }
+
+    // Waits for another caller's load no longer than the request's deadline, if it has one. Null when that load ran
+    // out of its own caller's time, and this caller should try again
+    private EmployeeSnapshot awaitLoad(final CompletableFuture<EmployeeSnapshot> shared) {
+        Instant deadline = RequestDeadline.current();
+        try {
+            return deadline == null
+                    ? shared.get()
+                    : shared.get(RequestDeadline.remaining(deadline).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw UpstreamErrorTranslator.TIMED_OUT;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw UpstreamErrorTranslator.TIMED_OUT;
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof DeadlineExceededException) {
+                return null;
+            }
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private Mono<EmployeeSnapshot> loadAsync(final EmployeeSnapshot seen) {
+        return Mono.defer(() -> {
+            CompletableFuture<EmployeeSnapshot> shared;
+            synchronized (lock) {
+                EmployeeSnapshot snapshot = current.get();
+                if (snapshot != null && snapshot != seen) {
+                    return Mono.just(snapshot);
+                }
+                if (load != null) {
+                    // A load that ran out of its own caller's time is tried again, within this caller's
+                    return RequestDeadline.within(Mono.fromFuture(load, true)
+                            .onErrorResume(DeadlineExceededException.class, ex -> loadAsync(seen)));
+                }
+                load = new CompletableFuture<>();
+                shared = load;
+            }
+            return fetchAndInstallAsync(1)
+                    .doOnSuccess(snapshot -> finishLoad(shared, snapshot, null))
+                    .doOnError(ex -> finishLoad(shared, null, ex))
+                    // Whoever joined this load tries again rather than wait for a fetch no one is subscribed to
+                    .doOnCancel(() -> finishLoad(shared, null, UpstreamErrorTranslator.TIMED_OUT));
+        });
+    }
+
+    private Mono<EmployeeSnapshot> fetchAndInstallAsync(final int attempt) {
+        return Mono.defer(() -> {
+            long startedAtWrite = currentWriteSequence();
+            return fetchEmployeesAsync().flatMap(employees -> {
+                Instant fetchedAt = clock.instant();
+                EmployeeSnapshot snapshot;
+                synchronized (lock) {
+                    snapshot = installUnlessRaced(employees, fetchedAt, startedAtWrite, attempt);
+                }
+                deliverEvents();
+                return snapshot != null ? Mono.just(snapshot) : fetchAndInstallAsync(attempt + 1);
+            });
+        });
+    }
+
+    /**
+     * Installs a listing fetched in the foreground, unless a write-through was made while it was fetched: the listing
+     * may predate the write, and installing it would undo it. Like a background refresh, the listing is then
+     * discarded in favour of the held snapshot, which has the write; a cold cache had nowhere to apply the write, so
+     * the listing is fetched again, and installed as is after {@link #MAX_COLD_LOAD_ATTEMPTS}. Caller holds the lock;
+     * null means fetch again.
+     */
+    private EmployeeSnapshot installUnlessRaced(
+            final List<EmployeeDTO> employees, final Instant fetchedAt, final long startedAtWrite, final int attempt) {
+        if (writeSequence == startedAtWrite) {
+            return install(newSnapshot(employees, fetchedAt));
+        }
+        EmployeeSnapshot held = current.get();
+        if (held != null) {
+            LOGGER.debug("Discarding employee snapshot load that raced a write-through update");
+            return held;
+        }
+        if (attempt < MAX_COLD_LOAD_ATTEMPTS) {
+            LOGGER.debug("Fetching the employee listing again: the load raced a write-through update");
+            return null;
+        }
+        return install(newSnapshot(employees, fetchedAt));
+    }
+
+    private void finishLoad(
+            final CompletableFuture<EmployeeSnapshot> shared,
+            final EmployeeSnapshot snapshot,
+            final Throwable failure) {
+        synchronized (lock) {
+            if (load == shared) {
+                load = null;
+            }
+        }
+        if (failure != null) {
+            shared.completeExceptionally(failure);
+        } else {
+            shared.complete(snapshot);
+        }
+    }
+
+    private long currentWriteSequence() {
+        synchronized (lock) {
+            return writeSequence;
+        }
+    }
+
+    private void refreshInBackground() {
+        if (!refreshInFlight.compareAndSet(false, true)) {
+            return;
+        }
+        final long startedAtWrite;
+        synchronized (lock) {
+            startedAtWrite = writeSequence;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    List<EmployeeDTO> employees = fetchEmployees();
+                    Instant fetchedAt = clock.instant();
+                    synchronized (lock) {
+                        if (writeSequence != startedAtWrite) {
+                            LOGGER.debug("Discarding employee snapshot refresh that raced a write-through update");
+                            return;
+                        }
+                        install(newSnapshot(employees, fetchedAt));
+                    }
+                    deliverEvents();
+                } catch (Exception ex) {
+                    LOGGER.warn("Background refresh of employee snapshot failed: {}", ex.getMessage());
+                } finally {
+                    refreshInFlight.set(false);
+                }
+            });
+        } catch (RuntimeException ex) {
+            refreshInFlight.set(false);
+            LOGGER.warn("Could not schedule employee snapshot refresh: {}", ex.getMessage());
+        }
+    }
+
+    // Caller holds the lock, and delivers the queued events once it has released it
+    private EmployeeSnapshot install(final EmployeeSnapshot snapshot) {
+        awaitingRevalidation = false;
+        current.set(snapshot);
+        pendingEvents.add(listener -> listener.onSnapshotLoaded(snapshot));
+        return snapshot;
+    }
+
+    private void deliverEvents() {
+        if (pendingEvents.isEmpty()) {
+            return;
+        }
+        try {
+            listenerExecutor.execute(this::drainEvents);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Could not schedule employee snapshot listeners: {}", ex.getMessage());
+        }
+    }
+
+    // One drainer at a time, so listeners see the events one by one and in order; an event queued while the drainer
+    // is leaving is picked up by the check after it lets go
+    private void drainEvents() {
+        while (!pendingEvents.isEmpty() && delivering.compareAndSet(false, true)) {
+            try {
+                Consumer<EmployeeSnapshotListener> event;
+                while ((event = pendingEvents.poll()) != null) {
+                    for (EmployeeSnapshotListener listener : listeners) {
+                        try {
+                            event.accept(listener);
+                        } catch (RuntimeException ex) {
+                            LOGGER.warn("Employee snapshot listener {} failed: {}", listener, ex.getMessage());
+                        }
+                    }
+                }
+            } finally {
+                delivering.set(false);
+            }
+        }
+    }
+
+    private List<EmployeeDTO> fetchEmployees() {
+        List<EmployeeDTO> employees = employeeApiClient.get(new ParameterizedTypeReference<>() {});
+        return employees != null ? employees : Collections.emptyList();
+    }
+
+    private Mono<List<EmployeeDTO>> fetchEmployeesAsync() {
+        return employeeApiClient
+                .<List<EmployeeDTO>>getAsync(new ParameterizedTypeReference<>() {})
+                .defaultIfEmpty(Collections.emptyList());
+    }
+
+    private EmployeeSnapshot newSnapshot(final List<EmployeeDTO> employees, final Instant fetchedAt) {
+        return new EmployeeSnapshot(
+                versionSequence.incrementAndGet(), fetchedAt, Collections.unmodifiableList(new ArrayList<>(employees)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        // Let queued events through, so a final persist sees the last change
+        if (listenerExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private static ExecutorService newListenerExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-snapshot-listeners");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static ExecutorService newRefreshExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,270 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * The binary file a snapshot is persisted to, written and read through a memory-mapped {@link FileChannel}.
+ * <pre>
+ * header, 32 bytes
+ *   int   magic            "EMPS"
+ *   int   format version   {@value #FORMAT_VERSION}
+ *   long  fetchedAt        epoch milliseconds
+ *   int   employee count
+ *   int   payload length   bytes after the header
+ *   long  CRC32C of the payload
+ * payload
+ *   int   title count, then each distinct title as a string
+ *   per employee: id, name (string), salary, age (int, {@link EmployeeColumns#MISSING} for none), title (int code,
+ *   -1 for none), email (string)
+ * </pre>
+ * Strings are an {@code int} byte length ({@code -1} for null) and UTF-8 bytes; an id is a tag byte (0 none, 1 UUID
+ * in 16 bytes, 2 any other string) and the value. Numbers are big-endian.
+ * <p>
+ * A file is written next to its destination and moved over it once complete, so a crash mid-write leaves the previous
+ * file in place. A file from an unknown format version, truncated or failing its checksum is rejected whole. It holds
+ * the whole roster, so where the file system has POSIX permissions, the file and any directory created for it are
+ * accessible to their owner only.
+ */
+final class EmployeeSnapshotFile {
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x454D5053;
+
+    private static final int HEADER_BYTES = 32;
+
+    private static final byte NO_ID = 0;
+
+    private static final byte UUID_ID = 1;
+
+    private static final byte STRING_ID = 2;
+
+    private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+
+    private EmployeeSnapshotFile() {}
+
+    /**
+     * What a file holds: the listing and when it was fetched from upstream.
+     */
+    record Contents(Instant fetchedAt, List<EmployeeDTO> employees) {}
+
+    static void write(final Path file, final EmployeeSnapshot snapshot) throws IOException {
+        List<EmployeeDTO> employees = snapshot.employees();
+
+        // Sized exactly up front, since a mapping cannot grow
+        Map<String, Integer> titleCodes = new LinkedHashMap<>();
+        long payloadBytes = Integer.BYTES;
+        for (EmployeeDTO employee : employees) {
+            String title = employee.getEmployeeTitle();
+            if (title != null && titleCodes.putIfAbsent(title, titleCodes.size()) == null) {
+                payloadBytes += stringBytes(title);
+            }
+            payloadBytes += idBytes(employee.getId())
+                    + stringBytes(employee.getEmployeeName())
+                    + 3 * Integer.BYTES
+                    + stringBytes(employee.getEmployeeEmail());
+        }
+        if (HEADER_BYTES + payloadBytes > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + employees.size() + " employees is too large to persist");
+        }
+
+        Path target = file.toAbsolutePath();
+        Files.createDirectories(target.getParent(), ownerOnly(target, OWNER_ONLY_DIRECTORY));
+        Path partial = target.resolveSibling(target.getFileName() + ".partial");
+        // Left over from a crash, possibly with other permissions; the new one is created with owner-only ones
+        Files.deleteIfExists(partial);
+        try (FileChannel channel = FileChannel.open(
+                partial,
+                Set.of(StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE),
+                ownerOnly(target, OWNER_ONLY_FILE))) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + payloadBytes);
+            buffer.position(HEADER_BYTES);
+            buffer.putInt(titleCodes.size());
+            for (String title : titleCodes.keySet()) {
+                putString(buffer, title);
+            }
+            for (EmployeeDTO employee : employees) {
+                putId(buffer, employee.getId());
+                putString(buffer, employee.getEmployeeName());
+                putInt(buffer, employee.getEmployeeSalary());
+                putInt(buffer, employee.getEmployeeAge());
+                String title = employee.getEmployeeTitle();
+                buffer.putInt(title != null ? titleCodes.get(title) : -1);
+                putString(buffer, employee.getEmployeeEmail());
+            }
+
+            CRC32C checksum = new CRC32C();
+            checksum.update(buffer.slice(HEADER_BYTES, (int) payloadBytes));
+            buffer.putInt(0, MAGIC)
+                    .putInt(4, FORMAT_VERSION)
+                    .putLong(8, snapshot.fetchedAt().toEpochMilli())
+                    .putInt(16, employees.size())
+                    .putInt(20, (int) payloadBytes)
+                    .putLong(24, checksum.getValue());
+            buffer.force();
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The file's contents, or empty if there is no file.
+     *
+     * @throws IOException if it cannot be read, or is not an intact file of this format version
+     */
+    static Optional<Contents> read(final Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a snapshot file: " + size + " bytes");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a snapshot file");
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format version " + buffer.getInt(4));
+            }
+            Instant fetchedAt = Instant.ofEpochMilli(buffer.getLong(8));
+            int count = buffer.getInt(16);
+            int payloadBytes = buffer.getInt(20);
+            if (payloadBytes != size - HEADER_BYTES) {
+                throw new IOException(
+                        "Truncated snapshot file: " + (size - HEADER_BYTES) + " of " + payloadBytes + " payload bytes");
+            }
+            CRC32C checksum = new CRC32C();
+            checksum.update(buffer.slice(HEADER_BYTES, payloadBytes));
+            if (checksum.getValue() != buffer.getLong(24)) {
+                throw new IOException("Snapshot file checksum mismatch");
+            }
+
+            buffer.position(HEADER_BYTES);
+            String[] titles = new String[buffer.getInt()];
+            for (int i = 0; i < titles.length; i++) {
+                titles[i] = getString(buffer);
+            }
+            List<EmployeeDTO> employees = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String id = getId(buffer);
+                String name = getString(buffer);
+                Integer salary = getInt(buffer);
+                Integer age = getInt(buffer);
+                int titleCode = buffer.getInt();
+                String email = getString(buffer);
+                employees.add(new EmployeeDTO(id, name, salary, age, titleCode < 0 ? null : titles[titleCode], email));
+            }
+            return Optional.of(new Contents(fetchedAt, Collections.unmodifiableList(employees)));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+            // Only reachable if a file with a valid checksum was written wrong
+            throw new IOException("Malformed snapshot file", ex);
+        }
+    }
+
+    private static long idBytes(final String id) {
+        if (id == null) {
+            return 1;
+        }
+        return asUuid(id) != null ? 1 + 2 * Long.BYTES : 1 + stringBytes(id);
+    }
+
+    private static void putId(final ByteBuffer buffer, final String id) {
+        if (id == null) {
+            buffer.put(NO_ID);
+            return;
+        }
+        UUID uuid = asUuid(id);
+        if (uuid != null) {
+            buffer.put(UUID_ID).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        } else {
+            buffer.put(STRING_ID);
+            putString(buffer, id);
+        }
+    }
+
+    private static String getId(final ByteBuffer buffer) {
+        return switch (buffer.get()) {
+            case NO_ID -> null;
+            case UUID_ID -> new UUID(buffer.getLong(), buffer.getLong()).toString();
+            case STRING_ID -> getString(buffer);
+            default -> throw new IllegalArgumentException("Unknown id tag");
+        };
+    }
+
+    // Only ids that print back exactly as read, so the round trip never changes one
+    private static UUID asUuid(final String id) {
+        if (id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException notUuid) {
+            return null;
+        }
+    }
+
+    private static long stringBytes(final String value) {
+        return Integer.BYTES + (value != null ? value.getBytes(StandardCharsets.UTF_8).length : 0);
+    }
+
+    private static FileAttribute<?>[] ownerOnly(final Path file, final Set<PosixFilePermission> permissions) {
+        return file.getFileSystem().supportedFileAttributeViews().contains("posix")
+                ? new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(permissions)}
+                : new FileAttribute<?>[0];
+    }
+
+    private static void putString(final ByteBuffer buffer, final String value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(final ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putInt(final ByteBuffer buffer, final Integer value) {
+        buffer.putInt(value != null ? value : EmployeeColumns.MISSING);
+    }
+
+    private static Integer getInt(final ByteBuffer buffer) {
+        int value = buffer.getInt();
+        return value != EmployeeColumns.MISSING ? value : null;
+    }
+}
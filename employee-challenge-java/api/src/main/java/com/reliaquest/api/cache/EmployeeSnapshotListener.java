@@ -0,0 +1,34 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+
+/**
+ * Receives every change to the snapshot held by {@link EmployeeSnapshotCache}, in order, so derived structures can be
+ * maintained incrementally instead of being rebuilt from the listing on each read.
+ * <p>
+ * Callbacks run one at a time, in the order of the changes, after the cache has released its lock and usually on a
+ * thread of the cache's own, so a listener may lag the held snapshot for as long as it takes to apply a change. Each
+ * callback carries the snapshot the change produced, so an implementation can tell which version it reflects.
+ */
+public interface EmployeeSnapshotListener {
+
+    /**
+     * A fresh upstream listing replaced the snapshot.
+     */
+    void onSnapshotLoaded(EmployeeSnapshot snapshot);
+
+    /**
+     * {@code employee} was appended to the listing, producing {@code snapshot}.
+     */
+    void onEmployeeAdded(EmployeeSnapshot snapshot, EmployeeDTO employee);
+
+    /**
+     * {@code employee} (the same instance that was in the listing) was removed, producing {@code snapshot}.
+     */
+    void onEmployeeRemoved(EmployeeSnapshot snapshot, EmployeeDTO employee);
+
+    /**
+     * The snapshot was dropped; the next read loads a new one.
+     */
+    void onInvalidated();
+}
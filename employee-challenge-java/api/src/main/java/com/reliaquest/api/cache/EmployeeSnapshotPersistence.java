@@ -0,0 +1,159 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.dto.EmployeeDTO;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists the latest snapshot to an {@link EmployeeSnapshotFile} every {@code interval} (when it changed) and on
+ * shutdown, and reads it back on startup so {@link EmployeeSnapshotCache} can serve it right away instead of waiting,
+ * possibly through the upstream's backoff, for a first listing.
+ * <p>
+ * Follows {@code employee-cache.persistence} in {@link EmployeeCacheProperties}; when disabled nothing is read or
+ * written. Failures are logged and never reach a request: a missing or unusable file only means a cold start.
+ */
+@Component
+public final class EmployeeSnapshotPersistence implements EmployeeSnapshotListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeSnapshotPersistence.class);
+
+    private final EmployeeCacheProperties.Persistence props;
+
+    private final Clock clock;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicReference<EmployeeSnapshot> latest = new AtomicReference<>();
+
+    // Serialises writes between the schedule and shutdown. Not a monitor: it is held across file I/O.
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // The snapshot last written; guarded by writeLock
+    private EmployeeSnapshot written;
+
+    @Autowired
+    public EmployeeSnapshotPersistence(final EmployeeCacheProperties props) {
+        this(props, Clock.systemUTC(), props.getPersistence().isEnabled() ? newScheduler() : null);
+    }
+
+    EmployeeSnapshotPersistence(
+            final EmployeeCacheProperties props, final Clock clock, final ScheduledExecutorService scheduler) {
+        this.props = props.getPersistence();
+        this.clock = clock;
+        this.scheduler = scheduler;
+        if (scheduler != null) {
+            long interval = this.props.getInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::persistQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * The persisted listing, if enabled and there is an intact file no older than {@code max-age}.
+     */
+    Optional<EmployeeSnapshotFile.Contents> restore() {
+        if (!props.isEnabled()) {
+            return Optional.empty();
+        }
+        Path file = Path.of(props.getFile());
+        try {
+            long started = System.nanoTime();
+            Optional<EmployeeSnapshotFile.Contents> contents = EmployeeSnapshotFile.read(file);
+            if (contents.isEmpty()) {
+                LOGGER.info("No persisted employee snapshot at {}", file);
+                return Optional.empty();
+            }
+            Duration age = Duration.between(contents.get().fetchedAt(), clock.instant());
+            if (age.compareTo(props.getMaxAge()) > 0) {
+                LOGGER.info("Not restoring the persisted employee snapshot: fetched {} ago", age);
+                return Optional.empty();
+            }
+            LOGGER.info(
+                    "Restored {} employees fetched {} ago from {} in {} ms",
+                    contents.get().employees().size(),
+                    age,
+                    file,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return contents;
+        } catch (IOException ex) {
+            LOGGER.warn("Could not restore the persisted employee snapshot from {}: {}", file, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the latest snapshot unless it is the one already written.
+     */
+    void persist() throws IOException {
+        writeLock.lock();
+        try {
+            EmployeeSnapshot snapshot = latest.get();
+            if (snapshot == null || snapshot == written) {
+                return;
+            }
+            EmployeeSnapshotFile.write(Path.of(props.getFile()), snapshot);
+            written = snapshot;
+            LOGGER.debug("Persisted employee snapshot version {} ({} employees)", snapshot.version(), snapshot.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void onSnapshotLoaded(final EmployeeSnapshot snapshot) {
+        latest.set(snapshot);
+    }
+
+    @Override
+    public void onEmployeeAdded(final EmployeeSnapshot snapshot, final EmployeeDTO employee) {
+        latest.set(snapshot);
+    }
+
+    @Override
+    public void onEmployeeRemoved(final EmployeeSnapshot snapshot, final EmployeeDTO employee) {
+        latest.set(snapshot);
+    }
+
+    @Override
+    public void onInvalidated() {
+        // Keep the file: it is still the best start for the next run
+        latest.set(null);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            persistQuietly();
+        }
+    }
+
+    private void persistQuietly() {
+        try {
+            persist();
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.warn("Could not persist the employee snapshot to {}: {}", props.getFile(), ex.getMessage());
+        }
+    }
+
+    private static ScheduledExecutorService newScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-snapshot-persist");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,287 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trigram inverted index over the case-folded names of the cached snapshot, kept up to date from
+ * {@link EmployeeSnapshotListener} events so a substring search intersects a few posting lists instead of lower-casing
+ * and scanning every name per request.
+ * <p>
+ * Names are folded with {@link Locale#ROOT} once, when indexed. A query of three or more characters intersects the
+ * postings of its distinct trigrams and verifies each candidate with {@link String#contains}, so the result is exactly
+ * that of the scan it replaces; shorter queries have no trigram to look up and scan the folded names instead. Employees
+ * without a name are not indexed, and results come back in listing order. Scans and verifications over many names are
+ * split across the {@link ParallelScans} pool.
+ * <p>
+ * Queries take the snapshot the caller is answering from and return empty when the index reflects a different version;
+ * callers then fall back to scanning.
+ */
+@Component
+public class NameSearchIndex implements EmployeeSnapshotListener {
+
+    private static final int GRAM = 3;
+
+    // Removed entries leave holes; renumber once they outweigh the live ones
+    private static final int MIN_HOLES_TO_COMPACT = 1024;
+
+    private final ParallelScans scans;
+
+    private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+
+    // Entries by sequence number, null once removed. Sequence numbers follow listing order: a fresh listing is numbered
+    // from zero and the write-through path only ever appends.
+    private final List<EmployeeDTO> employees = new ArrayList<>();
+
+    private final List<String> foldedNames = new ArrayList<>();
+
+    private final Map<EmployeeDTO, Integer> sequences = new IdentityHashMap<>();
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    private int holes;
+
+    // Snapshot version the index reflects; -1 when it reflects none
+    private long version = -1;
+
+    public NameSearchIndex() {
+        this(ParallelScans.sequential());
+    }
+
+    @Autowired
+    public NameSearchIndex(final ParallelScans scans) {
+        this.scans = scans;
+    }
+
+    /**
+     * Case-folds a name or query the way the index does.
+     */
+    public static String fold(final String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Employees of {@code snapshot} whose name contains {@code searchString}, ignoring case, in listing order; empty if
+     * the index does not reflect the snapshot.
+     */
+    public Optional<List<EmployeeDTO>> search(final EmployeeSnapshot snapshot, final String searchString) {
+        String query = fold(searchString);
+        readWriteLock.readLock().lock();
+        try {
+            if (version != snapshot.version()) {
+                return Optional.empty();
+            }
+            return Optional.of(Collections.unmodifiableList(query.length() < GRAM ? scan(query) : lookup(query)));
+        } finally {
+            readWriteLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSnapshotLoaded(final EmployeeSnapshot snapshot) {
+        readWriteLock.writeLock().lock();
+        try {
+            clear();
+            for (EmployeeDTO employee : snapshot.employees()) {
+                add(employee);
+            }
+            version = snapshot.version();
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onEmployeeAdded(final EmployeeSnapshot snapshot, final EmployeeDTO employee) {
+        readWriteLock.writeLock().lock();
+        try {
+            add(employee);
+            version = snapshot.version();
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onEmployeeRemoved(final EmployeeSnapshot snapshot, final EmployeeDTO employee) {
+        readWriteLock.writeLock().lock();
+        try {
+            // By identity: equal-looking employees are distinct entries in the listing
+            Integer sequence = sequences.remove(employee);
+            if (sequence != null) {
+                for (long gram : grams(foldedNames.get(sequence))) {
+                    Postings list = postings.get(gram);
+                    list.remove(sequence);
+                    if (list.size == 0) {
+                        postings.remove(gram);
+                    }
+                }
+                employees.set(sequence, null);
+                foldedNames.set(sequence, null);
+                if (++holes >= MIN_HOLES_TO_COMPACT && holes > sequences.size()) {
+                    compact();
+                }
+            }
+            version = snapshot.version();
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onInvalidated() {
+        readWriteLock.writeLock().lock();
+        try {
+            clear();
+            version = -1;
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
+    // Partitions may be scanned by pool workers: the caller's read lock keeps writers out until they are all done
+    private List<EmployeeDTO> scan(final String query) {
+        return scans.reduce(
+                0,
+                employees.size(),
+                (from, to) -> {
+                    List<EmployeeDTO> matches = new ArrayList<>();
+                    for (int sequence = from; sequence < to; sequence++) {
+                        String name = foldedNames.get(sequence);
+                        if (name != null && name.contains(query)) {
+                            matches.add(employees.get(sequence));
+                        }
+                    }
+                    return matches;
+                },
+                ParallelScans::concat);
+    }
+
+    private List<EmployeeDTO> lookup(final String query) {
+        long[] grams = grams(query);
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return List.of();
+            }
+        }
+        // Rarest first: the first list bounds the candidates, and every step can only shrink them
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        int[] candidates = Arrays.copyOf(lists[0].sequences, lists[0].size);
+        int count = candidates.length;
+        for (int i = 1; i < lists.length && count > 0; i++) {
+            count = lists[i].retainAll(candidates, count);
+        }
+
+        // Sharing every trigram does not make a substring ("abcxbcd" has all of "abcd"'s): verify each candidate
+        return scans.reduce(
+                0,
+                count,
+                (from, to) -> {
+                    List<EmployeeDTO> matches = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++) {
+                        if (foldedNames.get(candidates[i]).contains(query)) {
+                            matches.add(employees.get(candidates[i]));
+                        }
+                    }
+                    return matches;
+                },
+                ParallelScans::concat);
+    }
+
+    private void add(final EmployeeDTO employee) {
+        if (employee.getEmployeeName() == null) {
+            return;
+        }
+        int sequence = employees.size();
+        String name = fold(employee.getEmployeeName());
+        employees.add(employee);
+        foldedNames.add(name);
+        sequences.put(employee, sequence);
+        for (long gram : grams(name)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).append(sequence);
+        }
+    }
+
+    private void compact() {
+        List<EmployeeDTO> live = employees.stream().filter(e -> e != null).toList();
+        clear();
+        live.forEach(this::add);
+    }
+
+    private void clear() {
+        employees.clear();
+        foldedNames.clear();
+        sequences.clear();
+        postings.clear();
+        holes = 0;
+    }
+
+    // Distinct trigrams of a folded string, each packed into the low 48 bits of a long
+    private static long[] grams(final String value) {
+        if (value.length() < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[value.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    /**
+     * Ascending sequence numbers of the entries containing one trigram.
+     */
+    private static final class Postings {
+
+        private int[] sequences = new int[2];
+
+        private int size;
+
+        // Sequence numbers only grow, so appending keeps the list sorted
+        void append(final int sequence) {
+            if (size == sequences.length) {
+                sequences = Arrays.copyOf(sequences, size * 2);
+            }
+            sequences[size++] = sequence;
+        }
+
+        void remove(final int sequence) {
+            int at = Arrays.binarySearch(sequences, 0, size, sequence);
+            if (at >= 0) {
+                System.arraycopy(sequences, at + 1, sequences, at, size - at - 1);
+                size--;
+            }
+        }
+
+        // Keeps the first count candidates that are also in this list, compacting them to the front. Both are sorted;
+        // the candidates are usually far fewer, so each is binary-searched past the previous hit rather than merged.
+        int retainAll(final int[] candidates, final int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                int at = Arrays.binarySearch(sequences, from, size, candidates[i]);
+                if (at >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = at + 1;
+                } else {
+                    from = -at - 1;
+                }
+            }
+            return kept;
+        }
+    }
+}
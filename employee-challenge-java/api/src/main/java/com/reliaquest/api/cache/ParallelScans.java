@@ -0,0 +1,259 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs scans over {@code threshold} rows or more as fork-join tasks: the rows are split in halves down to partitions
+ * of a few per worker, each partition is scanned on its own, and the partial results are merged back pairwise, always
+ * left (lower rows) with right. A merge that concatenates, or that keeps the left side's entry on a tie, therefore
+ * gives exactly the sequential scan's result and order. Smaller scans run on the calling thread.
+ * <p>
+ * The tasks run on a pool of their own, not the common pool or the request threads: a large scan occupies at most
+ * {@code parallelism} workers, and requests keep being accepted and answered from the indexes meanwhile. A blocking
+ * caller waits for the result, so a scan costs its request no more time than the sequential one would; a caller that
+ * must not block, such as an event-loop thread, hands the whole query to the pool with {@link #async} instead.
+ * <p>
+ * Follows {@code employee-cache.parallel} in {@link EmployeeCacheProperties}. Scans must only read state that does not
+ * change until they return, such as a published snapshot or columns, or index state under a lock the caller holds.
+ */
+@Component
+public class ParallelScans {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelScans.class);
+
+    // Smallest partition worth a task of its own
+    private static final int MIN_PARTITION = 8_192;
+
+    // Partitions per worker, so a worker that finishes early can take over some of another's
+    private static final int PARTITIONS_PER_WORKER = 4;
+
+    private static final ParallelScans SEQUENTIAL = new ParallelScans(null, Integer.MAX_VALUE);
+
+    // Null when every scan runs on the caller
+    private final ForkJoinPool pool;
+
+    private final int threshold;
+
+    @Autowired
+    public ParallelScans(final EmployeeCacheProperties props) {
+        this(newPool(props.getParallel()), props.getParallel().getThreshold());
+    }
+
+    ParallelScans(final ForkJoinPool pool, final int threshold) {
+        this.pool = pool;
+        this.threshold = Math.max(threshold, 1);
+    }
+
+    /**
+     * Runs every scan on the calling thread.
+     */
+    public static ParallelScans sequential() {
+        return SEQUENTIAL;
+    }
+
+    /**
+     * A scan of the rows {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    @FunctionalInterface
+    public interface RangeScan<R> {
+
+        R scan(int from, int to);
+    }
+
+    /**
+     * {@code scan} over {@code [from, to)}: in one go on the calling thread below the threshold, otherwise over
+     * partitions whose results are combined with {@code merge(lower rows, higher rows)}.
+     */
+    public <R> R reduce(final int from, final int to, final RangeScan<R> scan, final BinaryOperator<R> merge) {
+        int rows = to - from;
+        if (pool == null || rows < threshold) {
+            return scan.scan(from, to);
+        }
+        int partition = Math.max(MIN_PARTITION, rows / (pool.getParallelism() * PARTITIONS_PER_WORKER) + 1);
+        return pool.invoke(new RangeTask<>(from, to, partition, scan, merge));
+    }
+
+    /**
+     * {@code query}, whose scans cover {@code rows} rows, without blocking the caller: below the threshold it runs on
+     * subscription, as its scans would run on the caller anyway, and otherwise on a worker of the pool, where its
+     * scans fork and join without parking any thread outside it. The result is signalled on the thread that ran it.
+     */
+    public <R> Mono<R> async(final int rows, final Supplier<R> query) {
+        if (pool == null || rows < threshold) {
+            return Mono.fromSupplier(query);
+        }
+        return Mono.fromFuture(() -> CompletableFuture.supplyAsync(query, pool));
+    }
+
+    /**
+     * The items that pass {@code test}, in their order.
+     */
+    public <T> List<T> filter(final List<T> items, final Predicate<? super T> test) {
+        return Collections.unmodifiableList(reduce(
+                0,
+                items.size(),
+                (from, to) -> {
+                    List<T> matches = new ArrayList<>();
+                    for (int i = from; i < to; i++) {
+                        T item = items.get(i);
+                        if (test.test(item)) {
+                            matches.add(item);
+                        }
+                    }
+                    return matches;
+                },
+                ParallelScans::concat));
+    }
+
+    /**
+     * Up to {@code limit} of the items that pass {@code eligible}, first by {@code order}; items that {@code order}
+     * ties keep their order, as in a stable sort of the whole list. Each partition keeps only its own top
+     * {@code limit}, so nothing is sorted beyond that.
+     */
+    public <T> List<T> top(
+            final List<T> items,
+            final Predicate<? super T> eligible,
+            final Comparator<? super T> order,
+            final int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(reduce(
+                0,
+                items.size(),
+                (from, to) -> {
+                    List<T> ranked = new ArrayList<>(limit + 1);
+                    for (int i = from; i < to; i++) {
+                        T item = items.get(i);
+                        if (eligible.test(item)
+                                && (ranked.size() < limit || order.compare(item, ranked.get(limit - 1)) < 0)) {
+                            int position = ranked.size();
+                            while (position > 0 && order.compare(item, ranked.get(position - 1)) < 0) {
+                                position--;
+                            }
+                            ranked.add(position, item);
+                            if (ranked.size() > limit) {
+                                ranked.remove(limit);
+                            }
+                        }
+                    }
+                    return ranked;
+                },
+                (first, second) -> {
+                    List<T> merged = new ArrayList<>(limit);
+                    int i = 0;
+                    int j = 0;
+                    while (merged.size() < limit && (i < first.size() || j < second.size())) {
+                        // On a tie the lower rows' item goes first, as the sequential scan met it first
+                        if (j == second.size()
+                                || (i < first.size() && order.compare(first.get(i), second.get(j)) <= 0)) {
+                            merged.add(first.get(i++));
+                        } else {
+                            merged.add(second.get(j++));
+                        }
+                    }
+                    return merged;
+                }));
+    }
+
+    // The two partial results one after the other; the first list is one a scan built, and is reused
+    static <T> List<T> concat(final List<T> first, final List<T> second) {
+        first.addAll(second);
+        return first;
+    }
+
+    static int[] concat(final int[] first, final int[] second) {
+        if (second.length == 0) {
+            return first;
+        }
+        int[] both = new int[first.length + second.length];
+        System.arraycopy(first, 0, both, 0, first.length);
+        System.arraycopy(second, 0, both, first.length, second.length);
+        return both;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ForkJoinPool newPool(final EmployeeCacheProperties.Parallel props) {
+        int parallelism = props.getParallelism() > 0
+                ? props.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        if (!props.isEnabled() || parallelism < 2) {
+            LOGGER.info(
+                    "Scans run on the request thread (parallel enabled: {}, parallelism: {})",
+                    props.isEnabled(),
+                    parallelism);
+            return null;
+        }
+        LOGGER.info("Scans of {} rows or more run on {} fork-join workers", props.getThreshold(), parallelism);
+        return new ForkJoinPool(
+                parallelism,
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("employee-scan-" + thread.getPoolIndex());
+                    return thread;
+                },
+                null,
+                false);
+    }
+
+    private static final class RangeTask<R> extends RecursiveTask<R> {
+
+        private final int from;
+
+        private final int to;
+
+        private final int partition;
+
+        private final RangeScan<R> scan;
+
+        private final BinaryOperator<R> merge;
+
+        RangeTask(
+                final int from,
+                final int to,
+                final int partition,
+                final RangeScan<R> scan,
+                final BinaryOperator<R> merge) {
+            this.from = from;
+            this.to = to;
+            this.partition = partition;
+            this.scan = scan;
+            this.merge = merge;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= partition) {
+                return scan.scan(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask<R> higher = new RangeTask<>(middle, to, partition, scan, merge);
+            higher.fork();
+            R lower = new RangeTask<>(from, middle, partition, scan, merge).compute();
+            return merge.apply(lower, higher.join());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.cache;
+
+import java.util.function.IntPredicate;
+
+/**
+ * A {@link SalaryKernel} that runs another kernel over partitions of a large column through {@link ParallelScans}
+ * and merges the partial results: the largest of the maxima, the sum of the counts, the row lists one after the
+ * other, and the partitions' own top {@code limit} rows merged into one ranking. Each answer is the one the wrapped
+ * kernel gives over the whole range, order and ties included.
+ * <p>
+ * {@code eligible} may be asked about rows from several threads at once.
+ */
+final class PartitionedSalaryKernel implements SalaryKernel {
+
+    private final SalaryKernel kernel;
+
+    private final ParallelScans scans;
+
+    PartitionedSalaryKernel(final SalaryKernel kernel, final ParallelScans scans) {
+        this.kernel = kernel;
+        this.scans = scans;
+    }
+
+    @Override
+    public int max(final int[] values, final int from, final int to) {
+        return scans.reduce(from, to, (start, end) -> kernel.max(values, start, end), Math::max);
+    }
+
+    @Override
+    public int count(final int[] values, final int from, final int to, final int min, final int max) {
+        return scans.reduce(from, to, (start, end) -> kernel.count(values, start, end, min, max), Integer::sum);
+    }
+
+    @Override
+    public int[] rowsInRange(final int[] values, final int from, final int to, final int min, final int max) {
+        return scans.reduce(
+                from, to, (start, end) -> kernel.rowsInRange(values, start, end, min, max), ParallelScans::concat);
+    }
+
+    @Override
+    public int[] topRows(
+            final int[] values, final int from, final int to, final int limit, final IntPredicate eligible) {
+        return scans.reduce(
+                from,
+                to,
+                (start, end) -> kernel.topRows(values, start, end, limit, eligible),
+                (first, second) -> TopRowsCollector.merge(first, second, limit, row -> values[row]));
+    }
+
+    @Override
+    public String name() {
+        return kernel.name();
+    }
+}
@@ -0,0 +1,208 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Salary queries over the cached snapshot, answered from an {@link EmployeeColumns} copy of it kept up to date from
+ * {@link EmployeeSnapshotListener} events. The highest salary is maintained on writes, so reading it is a field access;
+ * top earners and salary ranges are scans of the primitive salary column by the {@link SalaryKernels#preferred()
+ * preferred kernel} (SIMD where the Vector API is enabled), not a walk over the listing unboxing each salary. The top
+ * earners are ranked by a scan once, then kept up to date on writes in time proportional to the ranking: a create is
+ * merged in, and a delete only shifts the ranked rows, unless it removes a ranked employee from a full ranking, which
+ * leaves the next request to rank again. The highest salary is only rescanned when its holder is deleted. Over large
+ * snapshots the scans are split across the {@link ParallelScans} pool.
+ * <p>
+ * Top earners are ordered by salary, highest first; within a salary they keep listing order, which is what the stable
+ * sort over the listing produced. Employees without a salary are not ranked, and those without a name are skipped by
+ * {@link #topEarnerNames}, matching the filters of the scan it replaces.
+ * <p>
+ * Queries take the snapshot the caller is answering from and return empty when the index reflects a different version
+ * (for instance when the cache is disabled and every read brings its own listing); callers then fall back to scanning.
+ * Reads take no lock: each change publishes new columns.
+ */
+@Component
+public class SalaryIndex implements EmployeeSnapshotListener {
+
+    private final SalaryKernel kernel;
+
+    // Null when the index reflects no snapshot
+    private volatile Indexed indexed;
+
+    // Top earners of the current columns, ranked on first request and maintained by writes from then on
+    private volatile Ranking ranking;
+
+    public SalaryIndex() {
+        this(SalaryKernels.preferred());
+    }
+
+    @Autowired
+    public SalaryIndex(final ParallelScans scans) {
+        this(new PartitionedSalaryKernel(SalaryKernels.preferred(), scans));
+    }
+
+    SalaryIndex(final SalaryKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    /**
+     * The highest salary in {@code snapshot}, 0 when nobody has one; empty if the index does not reflect it.
+     */
+    public OptionalInt highestSalary(final EmployeeSnapshot snapshot) {
+        Indexed current = indexed;
+        if (current == null || current.columns().version() != snapshot.version()) {
+            return OptionalInt.empty();
+        }
+        return OptionalInt.of(current.highestSalary() == EmployeeColumns.MISSING ? 0 : current.highestSalary());
+    }
+
+    /**
+     * Names of the {@code limit} highest earners in {@code snapshot}, highest first; empty if the index does not
+     * reflect it.
+     */
+    public Optional<List<String>> topEarnerNames(final EmployeeSnapshot snapshot, final int limit) {
+        Indexed current = indexed;
+        if (current == null || current.columns().version() != snapshot.version()) {
+            return Optional.empty();
+        }
+        EmployeeColumns columns = current.columns();
+        Ranking ranked = ranking;
+        if (ranked == null || ranked.columns() != columns || ranked.limit() < limit) {
+            int[] rows = kernel.topRows(columns.salaries(), 0, columns.size(), limit, row -> columns.name(row) != null);
+            ranked = new Ranking(columns, limit, rows);
+            ranking = ranked;
+        }
+        int count = Math.min(limit, ranked.rows().length);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(columns.name(ranked.rows()[i]));
+        }
+        return Optional.of(Collections.unmodifiableList(names));
+    }
+
+    /**
+     * The employees of {@code snapshot} earning between {@code min} and {@code max} inclusive, in listing order; empty
+     * if the index does not reflect it.
+     */
+    public Optional<List<EmployeeDTO>> employeesInSalaryRange(
+            final EmployeeSnapshot snapshot, final int min, final int max) {
+        Indexed current = indexed;
+        if (current == null || current.columns().version() != snapshot.version()) {
+            return Optional.empty();
+        }
+        EmployeeColumns columns = current.columns();
+        int[] rows = kernel.rowsInRange(columns.salaries(), 0, columns.size(), min, max);
+        List<EmployeeDTO> employees = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            employees.add(snapshot.employees().get(row));
+        }
+        return Optional.of(Collections.unmodifiableList(employees));
+    }
+
+    @Override
+    public void onSnapshotLoaded(final EmployeeSnapshot snapshot) {
+        EmployeeColumns columns = EmployeeColumns.of(snapshot);
+        indexed = new Indexed(columns, kernel.max(columns.salaries(), 0, columns.size()));
+    }
+
+    @Override
+    public void onEmployeeAdded(final EmployeeSnapshot snapshot, final EmployeeDTO employee) {
+        Indexed current = indexed;
+        if (current == null) {
+            onSnapshotLoaded(snapshot);
+            return;
+        }
+        EmployeeColumns columns = current.columns().withAppended(snapshot, employee);
+        if (columns.size() != current.columns().size() + 1) {
+            onSnapshotLoaded(snapshot);
+            return;
+        }
+        int appended = columns.size() - 1;
+        Ranking ranked = ranking;
+        if (ranked != null && ranked.columns() == current.columns()) {
+            ranking = ranked.withAppended(columns, appended);
+        }
+        indexed = new Indexed(columns, Math.max(current.highestSalary(), columns.salaries()[appended]));
+    }
+
+    @Override
+    public void onEmployeeRemoved(final EmployeeSnapshot snapshot, final EmployeeDTO employee) {
+        Indexed current = indexed;
+        if (current == null) {
+            onSnapshotLoaded(snapshot);
+            return;
+        }
+        int removed = current.columns().removedRow(snapshot, employee);
+        if (removed < 0) {
+            onSnapshotLoaded(snapshot);
+            return;
+        }
+        EmployeeColumns columns = current.columns().withRemoved(snapshot, removed);
+        Ranking ranked = ranking;
+        if (ranked != null && ranked.columns() == current.columns()) {
+            ranking = ranked.withRemoved(columns, removed);
+        }
+        int highest = current.columns().salaries()[removed] < current.highestSalary()
+                ? current.highestSalary()
+                : kernel.max(columns.salaries(), 0, columns.size());
+        indexed = new Indexed(columns, highest);
+    }
+
+    @Override
+    public void onInvalidated() {
+        indexed = null;
+        ranking = null;
+    }
+
+    private record Indexed(EmployeeColumns columns, int highestSalary) {}
+
+    /**
+     * The {@code limit} top earners of {@code columns}, or all of them if fewer have a salary and a name.
+     */
+    private record Ranking(EmployeeColumns columns, int limit, int[] rows) {
+
+        private static boolean ranks(final EmployeeColumns columns, final int row) {
+            return columns.salaries()[row] != EmployeeColumns.MISSING && columns.name(row) != null;
+        }
+
+        // The appended row comes after every ranked one, so it goes after those with an equal salary
+        Ranking withAppended(final EmployeeColumns appendedColumns, final int row) {
+            int salary = appendedColumns.salaries()[row];
+            if (!ranks(appendedColumns, row)
+                    || (rows.length == limit && salary <= columns.salaries()[rows[rows.length - 1]])) {
+                return new Ranking(appendedColumns, limit, rows);
+            }
+            int position = 0;
+            while (position < rows.length && columns.salaries()[rows[position]] >= salary) {
+                position++;
+            }
+            int[] merged = new int[Math.min(limit, rows.length + 1)];
+            System.arraycopy(rows, 0, merged, 0, position);
+            merged[position] = row;
+            System.arraycopy(rows, position, merged, position + 1, merged.length - position - 1);
+            return new Ranking(appendedColumns, limit, merged);
+        }
+
+        // Null when a ranked row of a full ranking went: the next one down is unknown without a scan
+        Ranking withRemoved(final EmployeeColumns remainingColumns, final int removed) {
+            int[] shifted = new int[rows.length];
+            int count = 0;
+            for (int row : rows) {
+                if (row != removed) {
+                    shifted[count++] = row > removed ? row - 1 : row;
+                }
+            }
+            if (count < rows.length && rows.length == limit) {
+                return null;
+            }
+            return new Ranking(remainingColumns, limit, Arrays.copyOf(shifted, count));
+        }
+    }
+}
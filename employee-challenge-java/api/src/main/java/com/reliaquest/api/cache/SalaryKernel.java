@@ -0,0 +1,37 @@
+package com.reliaquest.api.cache;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Scans over one {@code int} column of {@link EmployeeColumns}, rows {@code from} (inclusive) to {@code to}
+ * (exclusive). {@link EmployeeColumns#MISSING} marks a row without a value; it is below every real value, and no
+ * operation counts or returns it. Obtain one from {@link SalaryKernels}.
+ */
+public interface SalaryKernel {
+
+    /**
+     * The largest value, or {@link EmployeeColumns#MISSING} when there is none.
+     */
+    int max(int[] values, int from, int to);
+
+    /**
+     * How many values lie in {@code [min, max]}.
+     */
+    int count(int[] values, int from, int to, int min, int max);
+
+    /**
+     * The rows whose value lies in {@code [min, max]}, in row order.
+     */
+    int[] rowsInRange(int[] values, int from, int to, int min, int max);
+
+    /**
+     * Up to {@code limit} rows with the highest values for which {@code eligible} holds, highest first and, within a
+     * value, in row order. {@code eligible} is only asked about rows that would otherwise be ranked.
+     */
+    int[] topRows(int[] values, int from, int to, int limit, IntPredicate eligible);
+
+    /**
+     * Short name for logs and benchmark parameters.
+     */
+    String name();
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.api.cache;
+
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The available {@link SalaryKernel}s. The SIMD one needs the incubating Vector API, which the JVM only offers when
+ * started with {@code --add-modules jdk.incubator.vector} (the Gradle build does this for {@code bootRun}, tests and
+ * benchmarks); without it, or on a CPU without wide enough vectors, scans use the scalar kernel and give the same
+ * answers.
+ */
+public final class SalaryKernels {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SalaryKernels.class);
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final SalaryKernel SCALAR = new ScalarSalaryKernel();
+
+    private static final SalaryKernel VECTORIZED = loadVectorized();
+
+    private SalaryKernels() {}
+
+    public static SalaryKernel scalar() {
+        return SCALAR;
+    }
+
+    /**
+     * The SIMD kernel, if this JVM and CPU can run it.
+     */
+    public static Optional<SalaryKernel> vectorized() {
+        return Optional.ofNullable(VECTORIZED);
+    }
+
+    /**
+     * The SIMD kernel where available, otherwise the scalar one.
+     */
+    public static SalaryKernel preferred() {
+        return VECTORIZED != null ? VECTORIZED : SCALAR;
+    }
+
+    private static SalaryKernel loadVectorized() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            LOGGER.info("Module {} not enabled, salary scans use the scalar kernel", VECTOR_MODULE);
+            return null;
+        }
+        try {
+            // Loaded by name so this class links without the module
+            Class<?> kernel = Class.forName("com.reliaquest.api.cache.VectorSalaryKernel");
+            if (!(boolean) kernel.getDeclaredMethod("isWorthwhile").invoke(null)) {
+                LOGGER.info("CPU vectors too narrow, salary scans use the scalar kernel");
+                return null;
+            }
+            return (SalaryKernel) kernel.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            LOGGER.warn("Vector API unusable, salary scans use the scalar kernel: {}", ex.toString());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.cache;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Plain loops over the column, for JVMs without the Vector API. Still far cheaper than the {@link
+ * com.reliaquest.api.dto.EmployeeDTO} scans they replace: no pointer chasing and no unboxing.
+ */
+final class ScalarSalaryKernel implements SalaryKernel {
+
+    @Override
+    public int max(final int[] values, final int from, final int to) {
+        int max = EmployeeColumns.MISSING;
+        for (int row = from; row < to; row++) {
+            max = Math.max(max, values[row]);
+        }
+        return max;
+    }
+
+    @Override
+    public int count(final int[] values, final int from, final int to, final int min, final int max) {
+        int low = Math.max(min, EmployeeColumns.MISSING + 1);
+        if (low > max) {
+            return 0;
+        }
+        int width = max - low;
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            // One unsigned compare for both bounds: values below low wrap around to above width
+            if (Integer.compareUnsigned(values[row] - low, width) <= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int[] rowsInRange(final int[] values, final int from, final int to, final int min, final int max) {
+        int low = Math.max(min, EmployeeColumns.MISSING + 1);
+        int width = max - low;
+        int[] rows = new int[count(values, from, to, min, max)];
+        int found = 0;
+        for (int row = from; row < to && found < rows.length; row++) {
+            if (Integer.compareUnsigned(values[row] - low, width) <= 0) {
+                rows[found++] = row;
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public int[] topRows(
+            final int[] values, final int from, final int to, final int limit, final IntPredicate eligible) {
+        if (limit <= 0) {
+            return new int[0];
+        }
+        TopRowsCollector collector = new TopRowsCollector(limit);
+        for (int row = from; row < to; row++) {
+            if (values[row] > collector.threshold() && eligible.test(row)) {
+                collector.offer(values[row], row);
+            }
+        }
+        return collector.rows();
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
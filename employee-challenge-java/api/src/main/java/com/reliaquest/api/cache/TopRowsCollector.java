@@ -0,0 +1,64 @@
+package com.reliaquest.api.cache;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The bounded ranking behind {@link SalaryKernel#topRows}: rows are offered in increasing row order and kept highest
+ * value first, so a row only displaces ranked ones with a strictly lower value and ties stay in row order.
+ */
+final class TopRowsCollector {
+
+    private final int[] values;
+
+    private final int[] rows;
+
+    private int count;
+
+    TopRowsCollector(final int limit) {
+        this.values = new int[limit];
+        this.rows = new int[limit];
+    }
+
+    /**
+     * The value a row has to exceed to be ranked: {@link EmployeeColumns#MISSING} until the ranking is full.
+     */
+    int threshold() {
+        return count < values.length ? EmployeeColumns.MISSING : values[count - 1];
+    }
+
+    // Callers only offer values above threshold()
+    void offer(final int value, final int row) {
+        int position = count < values.length ? count++ : values.length - 1;
+        while (position > 0 && values[position - 1] < value) {
+            values[position] = values[position - 1];
+            rows[position] = rows[position - 1];
+            position--;
+        }
+        values[position] = value;
+        rows[position] = row;
+    }
+
+    int[] rows() {
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * The first {@code limit} of two rankings, where every row of {@code first} precedes every row of {@code second}:
+     * the ranking one collector offered all of those rows would have produced.
+     */
+    static int[] merge(final int[] first, final int[] second, final int limit, final IntUnaryOperator value) {
+        int[] merged = new int[Math.min(limit, first.length + second.length)];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < merged.length; k++) {
+            // On a tie the earlier row goes first, as it was offered first
+            if (j == second.length || (i < first.length && value.applyAsInt(first[i]) >= value.applyAsInt(second[j]))) {
+                merged[k] = first[i++];
+            } else {
+                merged[k] = second[j++];
+            }
+        }
+        return merged;
+    }
+}
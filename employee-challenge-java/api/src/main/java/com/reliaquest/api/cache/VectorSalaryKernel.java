@@ -0,0 +1,123 @@
+package com.reliaquest.api.cache;
+
+import java.util.function.IntPredicate;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD scans with the incubating Vector API, in the widest lanes the CPU has. Only loaded by {@link SalaryKernels}
+ * once it has checked that the {@code jdk.incubator.vector} module is present, so this class is never linked on a JVM
+ * started without it.
+ * <p>
+ * Top-K compares a whole vector of salaries with the current K-th best at once; once the ranking has filled up,
+ * almost every vector has no lane above it and is skipped, so the per-row ranking work is only paid for candidates.
+ */
+final class VectorSalaryKernel implements SalaryKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    /**
+     * Whether the CPU has vectors wide enough for this to beat the scalar loops.
+     */
+    static boolean isWorthwhile() {
+        return SPECIES.length() >= 4;
+    }
+
+    @Override
+    public int max(final int[] values, final int from, final int to) {
+        int row = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        IntVector max = IntVector.broadcast(SPECIES, EmployeeColumns.MISSING);
+        for (; row < bound; row += SPECIES.length()) {
+            max = max.max(IntVector.fromArray(SPECIES, values, row));
+        }
+        int result = max.reduceLanes(VectorOperators.MAX);
+        for (; row < to; row++) {
+            result = Math.max(result, values[row]);
+        }
+        return result;
+    }
+
+    @Override
+    public int count(final int[] values, final int from, final int to, final int min, final int max) {
+        int low = Math.max(min, EmployeeColumns.MISSING + 1);
+        int row = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        int count = 0;
+        for (; row < bound; row += SPECIES.length()) {
+            count +=
+                    inRange(IntVector.fromArray(SPECIES, values, row), low, max).trueCount();
+        }
+        for (; row < to; row++) {
+            if (values[row] >= low && values[row] <= max) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int[] rowsInRange(final int[] values, final int from, final int to, final int min, final int max) {
+        int low = Math.max(min, EmployeeColumns.MISSING + 1);
+        int[] rows = new int[count(values, from, to, min, max)];
+        int found = 0;
+        int row = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; row < bound && found < rows.length; row += SPECIES.length()) {
+            // At most 16 int lanes, so the mask fits a long
+            long lanes =
+                    inRange(IntVector.fromArray(SPECIES, values, row), low, max).toLong();
+            while (lanes != 0) {
+                rows[found++] = row + Long.numberOfTrailingZeros(lanes);
+                lanes &= lanes - 1;
+            }
+        }
+        for (; row < to && found < rows.length; row++) {
+            if (values[row] >= low && values[row] <= max) {
+                rows[found++] = row;
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public int[] topRows(
+            final int[] values, final int from, final int to, final int limit, final IntPredicate eligible) {
+        if (limit <= 0) {
+            return new int[0];
+        }
+        TopRowsCollector collector = new TopRowsCollector(limit);
+        int row = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; row < bound; row += SPECIES.length()) {
+            long lanes = IntVector.fromArray(SPECIES, values, row)
+                    .compare(VectorOperators.GT, collector.threshold())
+                    .toLong();
+            while (lanes != 0) {
+                int candidate = row + Long.numberOfTrailingZeros(lanes);
+                lanes &= lanes - 1;
+                // The threshold may have risen since the compare
+                if (values[candidate] > collector.threshold() && eligible.test(candidate)) {
+                    collector.offer(values[candidate], candidate);
+                }
+            }
+        }
+        for (; row < to; row++) {
+            if (values[row] > collector.threshold() && eligible.test(row)) {
+                collector.offer(values[row], row);
+            }
+        }
+        return collector.rows();
+    }
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+
+    private static VectorMask<Integer> inRange(final IntVector vector, final int min, final int max) {
+        return vector.compare(VectorOperators.GE, min).and(vector.compare(VectorOperators.LE, max));
+    }
+}
@@ -1,16 +1,47 @@
 package com.reliaquest.api.client;
 
+import com.reliaquest.api.config.MockServerApiProperties;
 import com.reliaquest.api.dto.EmployeeApiResponseWrapper;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import java.lang.reflect.Type;
+import java.net.ConnectException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 /**
  * A reusable API client that encapsulates WebClient-based calls to the upstream Employee API.
  * Simplifies service layer testing.
+ * <p>
+ * Concurrent identical GETs (same URI template, path variables and response type) are coalesced into one upstream
+ * call through {@link UpstreamRequestCoalescer}. Every call that does go upstream passes the
+ * {@link UpstreamCircuitBreaker} and is paced by {@link UpstreamRateLimiter} so it stays within the upstream's learned
+ * quota. Failed attempts are retried with jittered exponential backoff according to the operation's retry policy.
+ * GETs by path variables (the by-id lookups) may also be hedged by {@link UpstreamHedging}: a second call is sent
+ * when the first is slow, and the first answer wins.
+ * <p>
+ * Every call ends by the caller's {@link RequestDeadline}, taken from the Reactor context, or for the blocking methods
+ * from the calling thread. A coalesced GET is sent under the deadline of the caller that started it, and each caller
+ * still stops waiting at its own.
+ * <p>
+ * Aggregates over the listing can be computed with {@link #reduceListing}, which decodes the response as it streams in
+ * and never holds more of it than the current chunk.
  */
 @Component
 public class EmployeeApiClient {
@@ -19,9 +50,41 @@ public class EmployeeApiClient {
 
     private final WebClient employeeApiClient;
 
-    public EmployeeApiClient(WebClient webClient) {
+    private final UpstreamRequestCoalescer requestCoalescer;
+
+    private final UpstreamRateLimiter rateLimiter;
+
+    private final UpstreamCircuitBreaker circuitBreaker;
+
+    private final UpstreamHedging hedging;
+
+    private final MockServerApiProperties.Retry retry;
+
+    public EmployeeApiClient(
+            WebClient webClient,
+            UpstreamRequestCoalescer requestCoalescer,
+            UpstreamRateLimiter rateLimiter,
+            UpstreamCircuitBreaker circuitBreaker,
+            MockServerApiProperties props) {
+        this(webClient, requestCoalescer, rateLimiter, circuitBreaker, UpstreamHedging.disabled(), props);
+    }
+
+    @Autowired
+    public EmployeeApiClient(
+            WebClient webClient,
+            UpstreamRequestCoalescer requestCoalescer,
+            UpstreamRateLimiter rateLimiter,
+            UpstreamCircuitBreaker circuitBreaker,
+            UpstreamHedging hedging,
+            MockServerApiProperties props) {
         this.employeeApiClient = webClient;
+        this.requestCoalescer = requestCoalescer;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.hedging = hedging;
+        this.retry = props.getRetry();
     }
+
     /**
      * Performs a GET call to the given URI with path variables and returns the `data` field
      * from the upstream response, unwrapped from the response wrapper.
@@ -33,15 +96,7 @@ public class EmployeeApiClient {
      */
     public <T> T get(
             String uriTemplate, Object[] uriVars, ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
-        LOGGER.debug("EmployeeApiClient - GET request to URI: [{}]", uriTemplate);
-        EmployeeApiResponseWrapper<T> responseWrapper = employeeApiClient
-                .get()
-                .uri(uriTemplate, uriVars)
-                .retrieve()
-                .bodyToMono(type)
-                .block();
-
-        return responseWrapper != null ? responseWrapper.getData() : null;
+        return await(getAsync(uriTemplate, uriVars, type));
     }
 
     /**
@@ -52,40 +107,176 @@ public class EmployeeApiClient {
      * @return the unwrapped data, or null if the response is empty
      */
     public <T> T get(ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
-        LOGGER.debug("EmployeeApiClient - GET request to base URI");
-        EmployeeApiResponseWrapper<T> responseWrapper =
-                employeeApiClient.get().retrieve().bodyToMono(type).block();
+        return await(getAsync(type));
+    }
 
-        return responseWrapper != null ? responseWrapper.getData() : null;
+    /**
+     * Performs a GET call to the base URI and folds the listing into {@code reducer}'s result as the response streams
+     * in, without materializing the employees.
+     * @param reducer creates a fresh reducer for each attempt
+     * @param <R> the type of the result
+     * @return the reducer's result
+     */
+    public <R> R reduceListing(Supplier<? extends EmployeeListingReducer<R>> reducer) {
+        return await(reduceListingAsync(reducer));
     }
 
     /**
      * Performs a POST call with a request body and returns the `data` field from the response.
      */
     public <T, R> T post(R requestBody, ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
-        LOGGER.debug("EmployeeApiClient - POST request with body: [{}]", requestBody);
-        EmployeeApiResponseWrapper<T> responseWrapper = employeeApiClient
-                .post()
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(type)
-                .block();
-
-        return responseWrapper != null ? responseWrapper.getData() : null;
+        return await(postAsync(requestBody, type));
     }
 
     /**
      * Performs a DELETE call with path variables and returns the `data` field from the response.
      */
     public <T, R> T delete(R requestBody, ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
+        return await(deleteAsync(requestBody, type));
+    }
+
+    /**
+     * Non-blocking variant of {@link #get(String, Object[], ParameterizedTypeReference)}.
+     * @return the unwrapped data, or an empty Mono if the response is empty
+     */
+    public <T> Mono<T> getAsync(
+            String uriTemplate, Object[] uriVars, ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
+        LOGGER.debug("EmployeeApiClient - GET request to URI: [{}]", uriTemplate);
+        return RequestDeadline.within(requestCoalescer
+                .execute(
+                        new GetRequestKey(uriTemplate, Arrays.asList(uriVars), type.getType()),
+                        () -> hedging.execute(() ->
+                                callUpstream(retry.getGet(), EmployeeApiClient::isTransient, () -> employeeApiClient
+                                        .get()
+                                        .uri(uriTemplate, uriVars)
+                                        .retrieve()
+                                        .bodyToMono(type))))
+                .mapNotNull(EmployeeApiResponseWrapper::getData));
+    }
+
+    /**
+     * Non-blocking variant of {@link #get(ParameterizedTypeReference)}.
+     * @return the unwrapped data, or an empty Mono if the response is empty
+     */
+    public <T> Mono<T> getAsync(ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
+        LOGGER.debug("EmployeeApiClient - GET request to base URI");
+        return RequestDeadline.within(requestCoalescer
+                .execute(
+                        new GetRequestKey("", List.of(), type.getType()),
+                        () -> callUpstream(
+                                retry.getGet(),
+                                EmployeeApiClient::isTransient,
+                                () -> employeeApiClient.get().retrieve().bodyToMono(type)))
+                .mapNotNull(EmployeeApiResponseWrapper::getData));
+    }
+
+    /**
+     * Non-blocking variant of {@link #reduceListing(Supplier)}. Not coalesced: each caller's reducer needs its own
+     * pass over the body. Each chunk is released as soon as it has been decoded.
+     */
+    public <R> Mono<R> reduceListingAsync(Supplier<? extends EmployeeListingReducer<R>> reducer) {
+        LOGGER.debug("EmployeeApiClient - streaming GET request to base URI");
+        return RequestDeadline.within(callUpstream(
+                retry.getGet(),
+                EmployeeApiClient::isTransient,
+                () -> Mono.defer(() -> {
+                    StreamingListingDecoder<R> decoder = new StreamingListingDecoder<>(reducer.get());
+                    return employeeApiClient
+                            .get()
+                            .retrieve()
+                            .bodyToFlux(DataBuffer.class)
+                            .doOnNext(buffer -> {
+                                try {
+                                    decoder.feed(buffer);
+                                } finally {
+                                    DataBufferUtils.release(buffer);
+                                }
+                            })
+                            .then(Mono.fromSupplier(decoder::finish));
+                })));
+    }
+
+    /**
+     * Non-blocking variant of {@link #post(Object, ParameterizedTypeReference)}.
+     */
+    public <T, R> Mono<T> postAsync(R requestBody, ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
+        LOGGER.debug("EmployeeApiClient - POST request with body: [{}]", requestBody);
+        return RequestDeadline.within(
+                callUpstream(retry.getPost(), EmployeeApiClient::isNotProcessed, () -> employeeApiClient
+                                .post()
+                                .bodyValue(requestBody)
+                                .retrieve()
+                                .bodyToMono(type))
+                        .mapNotNull(EmployeeApiResponseWrapper::getData));
+    }
+
+    /**
+     * Non-blocking variant of {@link #delete(Object, ParameterizedTypeReference)}.
+     */
+    public <T, R> Mono<T> deleteAsync(R requestBody, ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
         LOGGER.debug("EmployeeApiClient - DELETE request with body: [{}]", requestBody);
-        EmployeeApiResponseWrapper<T> responseWrapper = employeeApiClient
-                .method(HttpMethod.DELETE)
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(type)
-                .block();
+        return RequestDeadline.within(
+                callUpstream(retry.getDelete(), EmployeeApiClient::isNotProcessed, () -> employeeApiClient
+                                .method(HttpMethod.DELETE)
+                                .bodyValue(requestBody)
+                                .retrieve()
+                                .bodyToMono(type))
+                        .mapNotNull(EmployeeApiResponseWrapper::getData));
+    }
+
+    /**
+     * Blocks for {@code call} under the {@link RequestDeadline} bound to the calling thread, if any.
+     */
+    private static <T> T await(final Mono<T> call) {
+        Instant deadline = RequestDeadline.current();
+        return deadline != null
+                ? call.contextWrite(RequestDeadline.context(deadline)).block()
+                : call.block();
+    }
+
+    private <T> Mono<T> callUpstream(
+            final MockServerApiProperties.RetryPolicy policy,
+            final Predicate<Throwable> retryable,
+            final Supplier<Mono<T>> request) {
+        Mono<T> attempt = circuitBreaker.execute(() -> rateLimiter.execute(request));
+        if (policy.getMaxAttempts() <= 1) {
+            return attempt;
+        }
+        return attempt.retryWhen(Retry.backoff(policy.getMaxAttempts() - 1, policy.getMinBackoff())
+                .maxBackoff(policy.getMaxBackoff())
+                .jitter(policy.getJitter())
+                .filter(retryable)
+                .doBeforeRetry(signal -> LOGGER.debug(
+                        "EmployeeApiClient - retrying upstream call (attempt {}): {}",
+                        signal.totalRetries() + 2,
+                        signal.failure().toString()))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    /**
+     * Failures worth retrying for idempotent calls: 5xx answers and I/O errors.
+     */
+    private static boolean isTransient(final Throwable ex) {
+        return ex instanceof WebClientRequestException
+                || (ex instanceof WebClientResponseException response
+                        && response.getStatusCode().is5xxServerError());
+    }
 
-        return responseWrapper != null ? responseWrapper.getData() : null;
+    /**
+     * Failures after which the upstream cannot have acted on the request, so even non-idempotent calls can be
+     * retried: a 429 is answered before any handler runs, and a refused connection never delivered the request. With
+     * the rate limiter enabled, upstream 429s are queued again by the limiter itself and only surface as the
+     * {@link TooManyRequestsException} it fails with once it gives up; that call was never processed either.
+     */
+    private static boolean isNotProcessed(final Throwable ex) {
+        return ex instanceof TooManyRequestsException
+                || ex instanceof WebClientResponseException.TooManyRequests
+                || (ex instanceof WebClientRequestException
+                        && NestedExceptionUtils.getRootCause(ex) instanceof ConnectException);
     }
+
+    /**
+     * Identity of a GET for coalescing: two GETs with equal keys are interchangeable.
+     */
+    private record GetRequestKey(String uriTemplate, List<Object> uriVars, Type responseType) {}
 }
@@ -0,0 +1,90 @@
+package com.reliaquest.api.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Folds the employees of an upstream listing, one at a time and in listing order, into a result, so an aggregate can be
+ * computed while the response is decoded instead of after the whole listing has been materialized.
+ * <p>
+ * Only the fields the aggregates need are decoded. A reducer is stateful and used for a single pass.
+ *
+ * @param <R> the type of the result
+ */
+public interface EmployeeListingReducer<R> {
+
+    /**
+     * Called once per employee of the listing; either field may be null.
+     */
+    void accept(String employeeName, Integer employeeSalary);
+
+    /**
+     * The result once every employee has been accepted.
+     */
+    R result();
+
+    /**
+     * The highest salary in the listing, 0 when nobody has one.
+     */
+    static EmployeeListingReducer<Integer> highestSalary() {
+        return new EmployeeListingReducer<>() {
+
+            private int highest;
+
+            @Override
+            public void accept(final String employeeName, final Integer employeeSalary) {
+                if (employeeSalary != null && employeeSalary > highest) {
+                    highest = employeeSalary;
+                }
+            }
+
+            @Override
+            public Integer result() {
+                return highest;
+            }
+        };
+    }
+
+    /**
+     * Names of the {@code limit} highest earners, highest first, skipping employees without a name or salary; equal
+     * salaries keep listing order. Holds at most {@code limit} employees at a time.
+     */
+    static EmployeeListingReducer<List<String>> topEarnerNames(final int limit) {
+        record Earner(String name, int salary, long position) {}
+
+        return new EmployeeListingReducer<>() {
+
+            // Weakest kept earner at the head: lowest salary, and among equal salaries the latest in the listing
+            private final PriorityQueue<Earner> kept = new PriorityQueue<>(
+                    limit + 1,
+                    (a, b) -> a.salary() != b.salary()
+                            ? Integer.compare(a.salary(), b.salary())
+                            : Long.compare(b.position(), a.position()));
+
+            private long position;
+
+            @Override
+            public void accept(final String employeeName, final Integer employeeSalary) {
+                long at = position++;
+                if (employeeName == null || employeeSalary == null || limit <= 0) {
+                    return;
+                }
+                // A later employee only displaces the weakest if it earns strictly more
+                if (kept.size() < limit) {
+                    kept.add(new Earner(employeeName, employeeSalary, at));
+                } else if (employeeSalary > kept.peek().salary()) {
+                    kept.poll();
+                    kept.add(new Earner(employeeName, employeeSalary, at));
+                }
+            }
+
+            @Override
+            public List<String> result() {
+                List<Earner> earners = new ArrayList<>(kept);
+                earners.sort(kept.comparator().reversed());
+                return earners.stream().map(Earner::name).toList();
+            }
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
+import java.time.Duration;
+import java.time.Instant;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * The instant by which the request being served must be answered, as seen by the upstream calls made for it.
+ * <p>
+ * On the reactive path it travels in the Reactor context under {@link #CONTEXT_KEY}. The servlet path blocks the
+ * request thread, so it is bound to that thread with {@link #bind} instead, and {@link EmployeeApiClient} copies it into
+ * the context of each call it blocks on. Threads of their own, such as the background snapshot refresh, have none.
+ */
+public final class RequestDeadline {
+
+    public static final String CONTEXT_KEY = RequestDeadline.class.getName();
+
+    private static final ThreadLocal<Instant> CURRENT = new ThreadLocal<>();
+
+    private RequestDeadline() {}
+
+    /**
+     * The deadline bound to the calling thread, or null.
+     */
+    public static Instant current() {
+        return CURRENT.get();
+    }
+
+    public static void bind(final Instant deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static Context context(final Instant deadline) {
+        return Context.of(CONTEXT_KEY, deadline);
+    }
+
+    /**
+     * Time left until {@code deadline}; zero or negative once it has passed.
+     */
+    public static Duration remaining(final Instant deadline) {
+        return Duration.between(Instant.now(), deadline);
+    }
+
+    /**
+     * Fails {@code call} with {@link UpstreamErrorTranslator#TIMED_OUT} once the deadline in its context has passed,
+     * whatever it is waiting for at that point (quota, a connection, a retry's backoff, the response or another
+     * caller's load). Already out of time, it fails without being started.
+     */
+    public static <T> Mono<T> within(final Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            Instant deadline = context.<Instant>getOrEmpty(CONTEXT_KEY).orElse(null);
+            if (deadline == null) {
+                return call;
+            }
+            Duration remaining = remaining(deadline);
+            if (!remaining.isPositive()) {
+                return Mono.error(UpstreamErrorTranslator.TIMED_OUT);
+            }
+            return call.timeout(remaining, Mono.error(UpstreamErrorTranslator.TIMED_OUT));
+        });
+    }
+}
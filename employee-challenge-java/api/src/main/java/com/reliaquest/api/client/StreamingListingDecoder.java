@@ -0,0 +1,219 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+
+/**
+ * Walks an upstream listing response, {@code {"data": [employee, ...], ...}}, token by token as its chunks arrive and
+ * hands each employee's name and salary to an {@link EmployeeListingReducer}; nothing but the current token and the
+ * reducer's state is held, whatever the size of the listing or wherever the chunks split it.
+ * <p>
+ * Mirrors what binding to {@code EmployeeApiResponseWrapper<List<EmployeeDTO>>} accepts: unknown fields at either level
+ * are skipped whatever their shape, a null {@code data} is an empty listing, null elements are ignored, and scalars are
+ * coerced the way Jackson's default coercion does (a salary may arrive as a string or a float). An empty body is an
+ * empty listing, and anything after the root object is ignored.
+ */
+class StreamingListingDecoder<R> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String DATA = "data";
+
+    private static final String EMPLOYEE_NAME = "employee_name";
+
+    private static final String EMPLOYEE_SALARY = "employee_salary";
+
+    private enum State {
+        ROOT_START,
+        ROOT_FIELD,
+        ROOT_OTHER_VALUE,
+        DATA_VALUE,
+        DATA_ELEMENT,
+        EMPLOYEE_FIELD,
+        EMPLOYEE_VALUE,
+        DONE
+    }
+
+    private final JsonParser parser;
+
+    private final EmployeeListingReducer<R> reducer;
+
+    private State state = State.ROOT_START;
+
+    // Open containers left in a value being skipped; while above zero tokens are only counted
+    private int skipDepth;
+
+    private String field;
+
+    private String employeeName;
+
+    private Integer employeeSalary;
+
+    StreamingListingDecoder(final EmployeeListingReducer<R> reducer) {
+        this.reducer = reducer;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Consumes one chunk of the response body. The buffer is not released.
+     */
+    void feed(final DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+            while (chunks.hasNext()) {
+                feed(chunks.next());
+            }
+        }
+    }
+
+    void feed(final ByteBuffer chunk) {
+        try {
+            ((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).feedInput(chunk);
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                onToken(token);
+            }
+        } catch (IOException ex) {
+            throw new DecodingException("Malformed employee listing: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Ends the input and returns the reducer's result; fails if the body ended before the listing did.
+     */
+    R finish() {
+        try {
+            parser.getNonBlockingInputFeeder().endOfInput();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                onToken(token);
+            }
+        } catch (IOException ex) {
+            throw new DecodingException("Malformed employee listing: " + ex.getMessage(), ex);
+        }
+        // An empty body binds to no data at all, which is an empty listing too
+        if (state != State.DONE && state != State.ROOT_START) {
+            throw new DecodingException("Employee listing ended unexpectedly");
+        }
+        return reducer.result();
+    }
+
+    private void onToken(final JsonToken token) throws IOException {
+        if (skipDepth > 0) {
+            if (token.isStructStart()) {
+                skipDepth++;
+            } else if (token.isStructEnd()) {
+                skipDepth--;
+            }
+            return;
+        }
+        switch (state) {
+            case ROOT_START -> {
+                expect(token == JsonToken.START_OBJECT, token);
+                state = State.ROOT_FIELD;
+            }
+            case ROOT_FIELD -> {
+                if (token == JsonToken.END_OBJECT) {
+                    state = State.DONE;
+                } else if (DATA.equals(parser.currentName())) {
+                    state = State.DATA_VALUE;
+                } else {
+                    state = State.ROOT_OTHER_VALUE;
+                }
+            }
+            case ROOT_OTHER_VALUE -> {
+                skip(token);
+                state = State.ROOT_FIELD;
+            }
+            case DATA_VALUE -> {
+                if (token == JsonToken.START_ARRAY) {
+                    state = State.DATA_ELEMENT;
+                } else {
+                    expect(token == JsonToken.VALUE_NULL, token);
+                    state = State.ROOT_FIELD;
+                }
+            }
+            case DATA_ELEMENT -> {
+                if (token == JsonToken.END_ARRAY) {
+                    state = State.ROOT_FIELD;
+                } else if (token == JsonToken.START_OBJECT) {
+                    employeeName = null;
+                    employeeSalary = null;
+                    state = State.EMPLOYEE_FIELD;
+                } else {
+                    expect(token == JsonToken.VALUE_NULL, token);
+                }
+            }
+            case EMPLOYEE_FIELD -> {
+                if (token == JsonToken.END_OBJECT) {
+                    reducer.accept(employeeName, employeeSalary);
+                    state = State.DATA_ELEMENT;
+                } else {
+                    field = parser.currentName();
+                    state = State.EMPLOYEE_VALUE;
+                }
+            }
+            case EMPLOYEE_VALUE -> {
+                if (EMPLOYEE_NAME.equals(field)) {
+                    employeeName = token == JsonToken.VALUE_NULL ? null : scalarText(token);
+                } else if (EMPLOYEE_SALARY.equals(field)) {
+                    employeeSalary = salary(token);
+                } else {
+                    skip(token);
+                }
+                state = State.EMPLOYEE_FIELD;
+            }
+            case DONE -> {
+                // Trailing content is ignored, as binding does by default
+            }
+        }
+    }
+
+    private String scalarText(final JsonToken token) throws IOException {
+        expect(token.isScalarValue(), token);
+        return parser.getText();
+    }
+
+    private Integer salary(final JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NULL -> null;
+            case VALUE_NUMBER_INT -> parser.getIntValue();
+            case VALUE_NUMBER_FLOAT -> (int) parser.getDoubleValue();
+            case VALUE_STRING -> parseSalary(parser.getText());
+            default -> throw new DecodingException("Unexpected employee_salary: " + token);
+        };
+    }
+
+    private static Integer parseSalary(final String text) {
+        if (text.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(text.trim());
+        } catch (NumberFormatException ex) {
+            throw new DecodingException("Unexpected employee_salary: " + text, ex);
+        }
+    }
+
+    private void skip(final JsonToken token) {
+        if (token.isStructStart()) {
+            skipDepth = 1;
+        }
+    }
+
+    private static void expect(final boolean condition, final JsonToken token) {
+        if (!condition) {
+            throw new DecodingException("Unexpected token in employee listing: " + token);
+        }
+    }
+}
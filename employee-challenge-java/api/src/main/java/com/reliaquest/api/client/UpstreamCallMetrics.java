@@ -0,0 +1,92 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times every exchange with the upstream and counts those in flight. Installed as a filter on the client's
+ * {@link WebClient}, so each attempt is measured on its own (retries included, coalesced callers and time spent waiting
+ * on the rate limiter excluded), from sending the request to receiving the response status.
+ * <p>
+ * Timings are published as {@code employee.api.upstream.requests}, tagged with the method, the path of the URI template
+ * and the response status, or {@code IO_ERROR} / {@code CANCELLED} when no response arrived.
+ */
+@Component
+public class UpstreamCallMetrics implements ExchangeFilterFunction, MeterBinder {
+
+    static final String REQUESTS = "employee.api.upstream.requests";
+
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long startedAt = System.nanoTime();
+            inFlight.incrementAndGet();
+            return next.exchange(request)
+                    .doOnSuccess(response -> record(
+                            request,
+                            response != null
+                                    ? Integer.toString(response.statusCode().value())
+                                    : "NONE",
+                            startedAt))
+                    .doOnError(ex -> record(request, "IO_ERROR", startedAt))
+                    .doOnCancel(() -> record(request, "CANCELLED", startedAt))
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.api.upstream.in.flight", inFlight, AtomicInteger::get)
+                .description("Upstream calls sent and still waiting for a response")
+                .register(registry);
+        this.meterRegistry = registry;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void record(final ClientRequest request, final String status, final long startedAt) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        Timer.builder(REQUESTS)
+                .description("Upstream call latency until the response status is received")
+                .tag("method", request.method().name())
+                .tag("uri", uri(request))
+                .tag("status", status)
+                .register(registry)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    // The path of the URI template the call was made with, so ids do not become tag values; calls made without a
+    // template (the listing, creates and deletes) have no variables and use their own path
+    private static String uri(final ClientRequest request) {
+        return request.attribute(URI_TEMPLATE_ATTRIBUTE)
+                .map(Object::toString)
+                .map(template -> {
+                    int scheme = template.indexOf("://");
+                    int path = scheme < 0 ? 0 : template.indexOf('/', scheme + 3);
+                    return path < 0 ? "/" : template.substring(path);
+                })
+                .orElseGet(() -> request.url().getRawPath());
+    }
+}
@@ -0,0 +1,214 @@
+package com.reliaquest.api.client;
+
+import static com.reliaquest.api.common.Constants.UPSTREAM_UNAVAILABLE;
+
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Circuit breaker for upstream calls. Closed, it counts upstream failures (429, 5xx, I/O errors, and calls the rate
+ * limiter could not fit before their deadline); a burst of them opens it. Open, every call fails immediately with
+ * {@link UpstreamUnavailableException} so callers are not kept waiting on an upstream that is cooling down. Once the
+ * open duration has passed the breaker is half-open and lets a single trial call through, which closes it on success
+ * and re-opens it on failure, so throughput comes back as soon as the upstream does. Calls that are cancelled or run
+ * out of their request's deadline count neither way.
+ * <p>
+ * Transitions are logged, counted per {@code from}/{@code to} state, and the current state is published as a gauge.
+ */
+@Component
+public class UpstreamCircuitBreaker implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpstreamCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final MockServerApiProperties.CircuitBreaker props;
+
+    private final Clock clock;
+
+    private final Object lock = new Object();
+
+    private State state = State.CLOSED;
+
+    // Times of recent failures while closed, oldest first
+    private final Deque<Instant> failures = new ArrayDeque<>();
+
+    private Instant openedAt;
+
+    private boolean trialInFlight;
+
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    public UpstreamCircuitBreaker(MockServerApiProperties props) {
+        this(props.getCircuitBreaker(), Clock.systemUTC());
+    }
+
+    UpstreamCircuitBreaker(MockServerApiProperties.CircuitBreaker props, Clock clock) {
+        this.props = props;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs {@code call} if the breaker permits it, recording its outcome. The call is resolved lazily on subscription.
+     */
+    public <T> Mono<T> execute(final Supplier<Mono<T>> call) {
+        if (!props.isEnabled()) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            Duration retryAfter = tryAcquirePermission();
+            if (retryAfter != null) {
+                return Mono.error(UpstreamUnavailableException.stackless(UPSTREAM_UNAVAILABLE, retryAfter));
+            }
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call.get()
+                    .doOnSuccess(result -> record(recorded, true))
+                    .doOnError(ex -> {
+                        if (ex instanceof DeadlineExceededException) {
+                            release(recorded);
+                        } else {
+                            record(recorded, !isFailure(ex));
+                        }
+                    })
+                    .doOnCancel(() -> release(recorded));
+        });
+    }
+
+    public State getState() {
+        synchronized (lock) {
+            return state;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.api.upstream.circuit.breaker.state", this, breaker -> breaker.getState()
+                        .ordinal())
+                .description("Upstream circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+        synchronized (lock) {
+            this.meterRegistry = registry;
+        }
+    }
+
+    /**
+     * Failures that indicate the upstream is overloaded or unreachable. Other 4xx are answers, not failures.
+     */
+    static boolean isFailure(final Throwable ex) {
+        if (ex instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response instanceof WebClientResponseException.TooManyRequests;
+        }
+        return ex instanceof WebClientRequestException || ex instanceof TooManyRequestsException;
+    }
+
+    // Null when the call may proceed, otherwise how long until the breaker will let a trial call through
+    private Duration tryAcquirePermission() {
+        synchronized (lock) {
+            Instant now = clock.instant();
+            if (state == State.OPEN) {
+                Duration remaining = Duration.between(now, openedAt.plus(props.getOpenDuration()));
+                if (remaining.isPositive()) {
+                    return remaining;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return Duration.ZERO;
+                }
+                trialInFlight = true;
+            }
+            return null;
+        }
+    }
+
+    private void record(final AtomicBoolean recorded, final boolean success) {
+        if (!recorded.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (lock) {
+            Instant now = clock.instant();
+            if (state == State.HALF_OPEN) {
+                trialInFlight = false;
+                if (success) {
+                    failures.clear();
+                    transitionTo(State.CLOSED);
+                } else {
+                    openedAt = now;
+                    transitionTo(State.OPEN);
+                }
+                return;
+            }
+            if (success || state != State.CLOSED) {
+                return;
+            }
+            failures.addLast(now);
+            Instant windowStart = now.minus(props.getFailureWindow());
+            while (!failures.isEmpty() && failures.peekFirst().isBefore(windowStart)) {
+                failures.removeFirst();
+            }
+            if (failures.size() >= props.getFailureThreshold()) {
+                failures.clear();
+                openedAt = now;
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    // A cancelled call, or one out of time, says nothing about the upstream; a trial lets the next caller try
+    private void release(final AtomicBoolean recorded) {
+        if (recorded.compareAndSet(false, true)) {
+            releaseTrial();
+        }
+    }
+
+    private void releaseTrial() {
+        synchronized (lock) {
+            if (state == State.HALF_OPEN) {
+                trialInFlight = false;
+            }
+        }
+    }
+
+    private void transitionTo(final State next) {
+        if (next == State.OPEN) {
+            LOGGER.warn("Upstream circuit breaker {} -> {}", state, next);
+        } else {
+            LOGGER.info("Upstream circuit breaker {} -> {}", state, next);
+        }
+        if (meterRegistry != null) {
+            Counter.builder("employee.api.upstream.circuit.breaker.transitions")
+                    .tag("from", state.name())
+                    .tag("to", next.name())
+                    .register(meterRegistry)
+                    .increment();
+        }
+        state = next;
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
+import io.netty.handler.timeout.ReadTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientRequest;
+
+/**
+ * Fits each exchange with the upstream into the {@link RequestDeadline} of the call it is made for. Installed as a
+ * filter on the client's {@link WebClient}, so it sees every attempt, retries and hedges included.
+ * <p>
+ * An attempt that would start after the deadline fails at once with {@link UpstreamErrorTranslator#TIMED_OUT}, without
+ * a connection. Otherwise, when less time is left than the configured response timeout, the attempt's response timeout
+ * is lowered to what is left, and running into it fails with {@link UpstreamErrorTranslator#TIMED_OUT} too rather than
+ * as an I/O error: the upstream may only have been slower than this one request could wait, so the attempt is neither
+ * retried nor counted against the upstream by the {@link UpstreamCircuitBreaker}.
+ */
+@Component
+public class UpstreamDeadlineFilter implements ExchangeFilterFunction {
+
+    private final Duration responseTimeout;
+
+    @Autowired
+    public UpstreamDeadlineFilter(MockServerApiProperties props) {
+        this(props.getTimeouts().getResponse());
+    }
+
+    UpstreamDeadlineFilter(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Instant deadline =
+                    context.<Instant>getOrEmpty(RequestDeadline.CONTEXT_KEY).orElse(null);
+            if (deadline == null) {
+                return next.exchange(request);
+            }
+            Duration remaining = RequestDeadline.remaining(deadline);
+            if (!remaining.isPositive()) {
+                return Mono.error(UpstreamErrorTranslator.TIMED_OUT);
+            }
+            if (remaining.compareTo(responseTimeout) >= 0) {
+                return next.exchange(request);
+            }
+            ClientRequest limited = ClientRequest.from(request)
+                    .httpRequest(httpRequest ->
+                            httpRequest.<HttpClientRequest>getNativeRequest().responseTimeout(remaining))
+                    .build();
+            return next.exchange(limited)
+                    .onErrorMap(UpstreamDeadlineFilter::isTimeout, ex -> UpstreamErrorTranslator.TIMED_OUT);
+        });
+    }
+
+    private static boolean isTimeout(final Throwable ex) {
+        return NestedExceptionUtils.getMostSpecificCause(ex) instanceof ReadTimeoutException;
+    }
+}
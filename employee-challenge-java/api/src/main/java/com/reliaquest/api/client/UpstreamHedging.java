@@ -0,0 +1,262 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.MockServerApiProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Hedging of idempotent calls whose latency is set by a single upstream response. When the first attempt has not
+ * completed after a delay of the configured percentile of recent latencies, a second attempt is sent; whichever
+ * answers first is used and the other is cancelled, which aborts its exchange. Only the first attempt's error is
+ * passed on: a failed hedge leaves the first attempt to answer.
+ * <p>
+ * The delay follows the latencies of the last {@code window} calls that succeeded, each timed from its first attempt:
+ * a call its hedge answered counts with the time it took to be answered, a lower bound for the first attempt that was
+ * cancelled, so a slow upstream keeps raising the delay rather than successful hedges pulling it down. Failures say
+ * nothing about how long an answer takes and are left out. No call is hedged before {@code min-samples} latencies have
+ * been seen. Hedges cost upstream quota, so they are capped twice: a token bucket that grants {@code budget} hedges per
+ * call, up to {@code max-burst}, and the {@link UpstreamRateLimiter}, which must have
+ * {@linkplain UpstreamRateLimiter#hasSpareQuota() quota to spare} when the hedge is due. A hedge never displaces a call
+ * waiting for quota, and none is sent while the upstream backs off.
+ * <p>
+ * Every call is counted under its {@link Outcome}; the hedge rate and win rate follow from those counts.
+ */
+@Component
+public class UpstreamHedging implements MeterBinder {
+
+    // Budget tokens are kept in thousandths, so fractional budgets accrue without a lock
+    private static final long TOKEN = 1000;
+
+    public enum Outcome {
+        /** Answered before a hedge was due, or before enough latencies were seen to hedge at all. */
+        UNHEDGED,
+        /** A hedge was due, but the budget was spent. */
+        NO_BUDGET,
+        /** A hedge was due, but the rate limiter had no quota to spare. */
+        NO_QUOTA,
+        /** A hedge was sent and the first attempt still answered first. */
+        PRIMARY_WON,
+        /** A hedge was sent and answered first. */
+        HEDGE_WON
+    }
+
+    private final MockServerApiProperties.Hedge props;
+
+    private final UpstreamRateLimiter rateLimiter;
+
+    private final Scheduler scheduler;
+
+    private final Object lock = new Object();
+
+    // Ring of recent latencies in nanoseconds; guarded by lock
+    private final long[] latencies;
+
+    private int nextLatency;
+
+    private int latencyCount;
+
+    private int sinceRecompute;
+
+    // The hedge delay in nanoseconds, -1 until min-samples latencies were seen
+    private volatile long delayNanos = -1;
+
+    private final AtomicLong budgetTokens = new AtomicLong();
+
+    private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+
+    @Autowired
+    public UpstreamHedging(MockServerApiProperties props, UpstreamRateLimiter rateLimiter) {
+        this(props.getHedge(), rateLimiter, Schedulers.parallel());
+    }
+
+    UpstreamHedging(MockServerApiProperties.Hedge props, UpstreamRateLimiter rateLimiter, Scheduler scheduler) {
+        this.props = props;
+        this.rateLimiter = rateLimiter;
+        this.scheduler = scheduler;
+        this.latencies = new long[Math.max(1, props.getWindow())];
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+    }
+
+    /**
+     * Hedging that is switched off: every call is sent once.
+     */
+    public static UpstreamHedging disabled() {
+        MockServerApiProperties.Hedge props = new MockServerApiProperties.Hedge();
+        props.setEnabled(false);
+        return new UpstreamHedging(props, null, Schedulers.parallel());
+    }
+
+    /**
+     * Runs {@code call}, and once more if it is slow and a hedge is allowed. {@code call} must be idempotent; it is
+     * resolved lazily on each subscription.
+     */
+    public <T> Mono<T> execute(final Supplier<Mono<T>> call) {
+        if (!props.isEnabled()) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            earnBudget();
+            HedgedCall hedgedCall = new HedgedCall();
+            long startedAt = now();
+            Mono<T> primary = Mono.defer(call)
+                    .doOnSuccess(result -> hedgedCall.succeeded(false, startedAt))
+                    .doOnError(ex -> hedgedCall.finish(false));
+            long delay = delayNanos;
+            if (delay < 0) {
+                return primary;
+            }
+            Mono<T> hedge = Mono.delay(Duration.ofNanos(delay), scheduler).flatMap(tick -> {
+                if (!hedgedCall.tryHedge()) {
+                    return Mono.never();
+                }
+                return Mono.defer(call)
+                        .doOnSuccess(result -> hedgedCall.succeeded(true, startedAt))
+                        .onErrorResume(ex -> Mono.never());
+            });
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    /**
+     * The current hedge delay, or empty while too few latencies have been seen.
+     */
+    public Optional<Duration> getDelay() {
+        long delay = delayNanos;
+        return delay < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(delay));
+    }
+
+    /**
+     * Number of calls that ended with {@code outcome}.
+     */
+    public long getCount(final Outcome outcome) {
+        return outcomes.get(outcome).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Outcome outcome : Outcome.values()) {
+            FunctionCounter.builder("employee.api.upstream.hedge.calls", outcomes.get(outcome), LongAdder::sum)
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .description("Hedged by-id calls by outcome")
+                    .register(registry);
+        }
+        Gauge.builder("employee.api.upstream.hedge.delay", this, hedging -> hedging.getDelay()
+                        .map(delay -> delay.toNanos() / 1e6)
+                        .orElse(Double.NaN))
+                .baseUnit("milliseconds")
+                .description("How long a by-id call waits before it is hedged")
+                .register(registry);
+    }
+
+    private void earnBudget() {
+        long earned = Math.round(props.getBudget() * TOKEN);
+        long cap = props.getMaxBurst() * TOKEN;
+        budgetTokens.accumulateAndGet(earned, (tokens, add) -> Math.min(cap, tokens + add));
+    }
+
+    private boolean spendBudget() {
+        while (true) {
+            long tokens = budgetTokens.get();
+            if (tokens < TOKEN) {
+                return false;
+            }
+            if (budgetTokens.compareAndSet(tokens, tokens - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    private void recordLatency(final long nanos) {
+        synchronized (lock) {
+            latencies[nextLatency] = nanos;
+            nextLatency = (nextLatency + 1) % latencies.length;
+            latencyCount = Math.min(latencyCount + 1, latencies.length);
+            // Sorting the window on every call would cost more than the hedges save; a twentieth of it is recent enough
+            if (latencyCount < props.getMinSamples()
+                    || (delayNanos >= 0 && ++sinceRecompute < Math.max(1, latencies.length / 20))) {
+                return;
+            }
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(latencies, latencyCount);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(props.getPercentile() * sorted.length) - 1;
+            long percentile = sorted[Math.clamp(rank, 0, sorted.length - 1)];
+            delayNanos = Math.clamp(
+                    percentile,
+                    props.getMinDelay().toNanos(),
+                    props.getMaxDelay().toNanos());
+        }
+    }
+
+    private long now() {
+        return scheduler.now(TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * One call and its optional hedge. The first attempt to finish decides the outcome.
+     */
+    private final class HedgedCall {
+
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private volatile boolean hedged;
+
+        private volatile Outcome skipped;
+
+        boolean tryHedge() {
+            if (finished.get()) {
+                return false;
+            }
+            if (!rateLimiter.hasSpareQuota()) {
+                skipped = Outcome.NO_QUOTA;
+                return false;
+            }
+            if (!spendBudget()) {
+                skipped = Outcome.NO_BUDGET;
+                return false;
+            }
+            hedged = true;
+            return true;
+        }
+
+        void succeeded(final boolean byHedge, final long startedAt) {
+            recordLatency(now() - startedAt);
+            finish(byHedge);
+        }
+
+        void finish(final boolean byHedge) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            Outcome outcome;
+            if (byHedge) {
+                outcome = Outcome.HEDGE_WON;
+            } else if (hedged) {
+                outcome = Outcome.PRIMARY_WON;
+            } else {
+                outcome = skipped != null ? skipped : Outcome.UNHEDGED;
+            }
+            outcomes.get(outcome).increment();
+        }
+    }
+}
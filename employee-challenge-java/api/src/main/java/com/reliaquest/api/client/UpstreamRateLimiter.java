@@ -0,0 +1,424 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Client-side pacing of upstream calls against a quota the limiter learns by itself.
+ * <p>
+ * The upstream grants a fixed number of requests and then answers 429 until a back-off window has passed since the
+ * last request it accepted. The limiter starts out unrestricted; the first 429 tells it the quota (requests accepted
+ * in that window) and it then sends single probes every {@code probe-interval} until one is accepted, which tells it
+ * the window. From then on it spends the quota as a token bucket that refills in full one window (plus a safety
+ * margin) after the last token was spent. As with the probe, the request that re-opens a window is not counted
+ * against its quota; an upstream that does count it throttles the last request of the window, which lowers the quota
+ * by one. Any 429 while pacing means the learned limits no longer hold: the quota is lowered to what was actually
+ * accepted and the window is probed again.
+ * <p>
+ * Requests that find no quota are delayed without blocking a thread, for up to {@code max-wait} or until the
+ * {@link RequestDeadline} in the Reactor context, whichever comes first; that includes requests the upstream throttled
+ * anyway, which queue again. Requests that could not be sent by then fail without reaching the upstream: with
+ * {@link TooManyRequestsException} when {@code max-wait} ran out, and with {@link UpstreamErrorTranslator#TIMED_OUT}
+ * when the request's own deadline did, so a caller short of time is not taken for an overloaded upstream.
+ */
+@Component
+public class UpstreamRateLimiter implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpstreamRateLimiter.class);
+
+    public enum Phase {
+        /** Quota not known yet; requests are not held back. */
+        LEARNING,
+        /** The upstream is backing off; only single probe requests are sent. */
+        PROBING,
+        /** Quota and window are known; requests are paced to fit them. */
+        PACING
+    }
+
+    /**
+     * What the limiter currently believes about the upstream. {@code quota} and {@code window} are 0 / zero until
+     * learned.
+     */
+    public record LearnedLimits(Phase phase, int quota, Duration window) {}
+
+    private final MockServerApiProperties.RateLimit props;
+
+    private final Scheduler scheduler;
+
+    private final Object lock = new Object();
+
+    private Phase phase = Phase.LEARNING;
+
+    private int quota;
+
+    private long windowMillis;
+
+    // Current quota window: when it opened, tokens left in it, and when its latest token was (or will be) spent
+    private long generation;
+
+    private long windowOpensAt;
+
+    private int tokensLeft;
+
+    private long lastTokenAt;
+
+    // Requests the upstream accepted in the current window, and when it last accepted one
+    private int acceptedInWindow;
+
+    private long lastAcceptedAt;
+
+    private long nextProbeAt;
+
+    private boolean probeReserved;
+
+    private Sinks.Empty<Void> probeResolved = Sinks.empty();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final LongAdder admitted = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder throttled = new LongAdder();
+
+    @Autowired
+    public UpstreamRateLimiter(MockServerApiProperties props) {
+        this(props.getRateLimit(), Schedulers.parallel());
+    }
+
+    UpstreamRateLimiter(MockServerApiProperties.RateLimit props, Scheduler scheduler) {
+        this.props = props;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Runs {@code call} once quota is available. The call is resolved lazily on subscription.
+     */
+    public <T> Mono<T> execute(final Supplier<Mono<T>> call) {
+        if (!props.isEnabled()) {
+            return Mono.defer(call);
+        }
+        return Mono.deferContextual(context -> {
+            long maxWait = now() + props.getMaxWait().toMillis();
+            long requestDeadline = context.<Instant>getOrEmpty(RequestDeadline.CONTEXT_KEY)
+                    .map(Instant::toEpochMilli)
+                    .orElse(Long.MAX_VALUE);
+            return admit(call, Math.min(requestDeadline, maxWait), requestDeadline < maxWait);
+        });
+    }
+
+    public LearnedLimits getLearnedLimits() {
+        synchronized (lock) {
+            return new LearnedLimits(phase, quota, Duration.ofMillis(windowMillis));
+        }
+    }
+
+    /**
+     * Whether a call made now would be sent at once without taking quota from calls already waiting for it: true while
+     * the quota is unknown or not enforced, never while probing, and while pacing only if nothing is queued and the
+     * current (or next) window has a token left now.
+     */
+    public boolean hasSpareQuota() {
+        if (!props.isEnabled()) {
+            return true;
+        }
+        synchronized (lock) {
+            return switch (phase) {
+                case LEARNING -> true;
+                case PROBING -> false;
+                case PACING -> {
+                    long now = now();
+                    long opensAt = tokensLeft > 0
+                            ? windowOpensAt
+                            : lastTokenAt
+                                    + windowMillis
+                                    + props.getSafetyMargin().toMillis();
+                    yield waiting.get() == 0 && opensAt <= now;
+                }
+            };
+        }
+    }
+
+    /**
+     * Number of calls sent upstream.
+     */
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    /**
+     * Number of calls failed locally because no quota was available before their deadline.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Number of admitted calls the upstream still answered with 429.
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.api.upstream.rate.limit.quota", this, limiter -> limiter.getLearnedLimits()
+                        .quota())
+                .description("Requests per window the upstream is believed to accept")
+                .register(registry);
+        Gauge.builder("employee.api.upstream.rate.limit.window", this, limiter -> limiter.getLearnedLimits()
+                        .window()
+                        .toMillis())
+                .baseUnit("milliseconds")
+                .description("Learned upstream back-off window")
+                .register(registry);
+        Gauge.builder("employee.api.upstream.rate.limit.waiting", waiting, AtomicInteger::get)
+                .description("Requests queued for quota")
+                .register(registry);
+        FunctionCounter.builder("employee.api.upstream.rate.limit.requests", admitted, LongAdder::sum)
+                .tag("outcome", "admitted")
+                .register(registry);
+        FunctionCounter.builder("employee.api.upstream.rate.limit.requests", rejected, LongAdder::sum)
+                .tag("outcome", "rejected")
+                .register(registry);
+        FunctionCounter.builder("employee.api.upstream.rate.limit.requests", throttled, LongAdder::sum)
+                .tag("outcome", "throttled")
+                .register(registry);
+    }
+
+    // byRequest: the deadline is the request's own rather than max-wait
+    private <T> Mono<T> admit(final Supplier<Mono<T>> call, final long deadline, final boolean byRequest) {
+        return Mono.defer(() -> {
+            long now = now();
+            Admission admission = reserve(now, deadline);
+            if (admission instanceof Token token) {
+                return send(call, token, now, deadline, byRequest);
+            }
+            if (admission instanceof AwaitProbe await) {
+                // Someone else holds the probe; re-check once it is resolved
+                return await.resolved()
+                        .timeout(Duration.ofMillis(deadline - now), scheduler)
+                        .onErrorMap(TimeoutException.class, ex -> reject(byRequest))
+                        .then(admit(call, deadline, byRequest));
+            }
+            return Mono.error(reject(byRequest));
+        });
+    }
+
+    private <T> Mono<T> send(
+            final Supplier<Mono<T>> call,
+            final Token token,
+            final long now,
+            final long deadline,
+            final boolean byRequest) {
+        AtomicBoolean sent = new AtomicBoolean();
+        Mono<T> attempt = Mono.defer(() -> {
+                    sent.set(true);
+                    admitted.increment();
+                    return call.get();
+                })
+                .doOnSuccess(result -> onAccepted(token))
+                .doOnError(ex -> onError(token, ex))
+                // A 429 is answered before the upstream handles anything, so the call can queue again
+                .onErrorResume(UpstreamRateLimiter::isThrottled, ex -> admit(call, deadline, byRequest));
+        if (token.startsAt() <= now) {
+            return attempt;
+        }
+        waiting.incrementAndGet();
+        return Mono.delay(Duration.ofMillis(token.startsAt() - now), scheduler)
+                .doFinally(signal -> waiting.decrementAndGet())
+                .then(attempt)
+                .doOnCancel(() -> {
+                    if (!sent.get()) {
+                        release(token);
+                    }
+                });
+    }
+
+    private Admission reserve(final long now, final long deadline) {
+        synchronized (lock) {
+            switch (phase) {
+                case LEARNING:
+                    return new Token(generation, now, false, false);
+                case PROBING:
+                    long probeAt = Math.max(now, nextProbeAt);
+                    if (probeAt > deadline) {
+                        return Rejected.INSTANCE;
+                    }
+                    if (probeReserved) {
+                        return new AwaitProbe(probeResolved.asMono());
+                    }
+                    probeReserved = true;
+                    return new Token(generation, probeAt, true, true);
+                default:
+                    long opensAt = windowOpensAt;
+                    int left = tokensLeft;
+                    long gen = generation;
+                    if (left == 0) {
+                        opensAt = Math.max(
+                                now,
+                                lastTokenAt
+                                        + windowMillis
+                                        + props.getSafetyMargin().toMillis());
+                        left = quota + 1;
+                        gen++;
+                    }
+                    long startsAt = Math.max(now, opensAt);
+                    if (startsAt > deadline) {
+                        return Rejected.INSTANCE;
+                    }
+                    if (gen != generation) {
+                        generation = gen;
+                        acceptedInWindow = 0;
+                    }
+                    windowOpensAt = opensAt;
+                    tokensLeft = left - 1;
+                    lastTokenAt = Math.max(lastTokenAt, startsAt);
+                    return new Token(gen, startsAt, false, left == quota + 1);
+            }
+        }
+    }
+
+    private void release(final Token token) {
+        Sinks.Empty<Void> resolved = null;
+        synchronized (lock) {
+            if (token.probe()) {
+                probeReserved = false;
+                resolved = swapProbeResolved();
+            } else if (phase == Phase.PACING && token.generation() == generation) {
+                tokensLeft++;
+            }
+        }
+        signal(resolved);
+    }
+
+    private void onAccepted(final Token token) {
+        Sinks.Empty<Void> resolved = null;
+        synchronized (lock) {
+            long lastBeforeThis = lastAcceptedAt;
+            lastAcceptedAt = Math.max(lastAcceptedAt, now());
+            if (token.probe()) {
+                // The probe re-opened the upstream; its own request is not counted against the new quota
+                windowMillis = token.startsAt() - lastBeforeThis;
+                phase = Phase.PACING;
+                generation++;
+                acceptedInWindow = 0;
+                windowOpensAt = token.startsAt();
+                tokensLeft = quota;
+                lastTokenAt = token.startsAt();
+                probeReserved = false;
+                resolved = swapProbeResolved();
+                LOGGER.info("Learned upstream rate limit: {} requests per {} ms", quota, windowMillis);
+            } else if (token.generation() == generation && !token.opener()) {
+                acceptedInWindow++;
+                if (phase == Phase.PROBING) {
+                    // Accepted after the 429 that started probing, but still counted by the upstream
+                    quota = Math.max(quota, acceptedInWindow);
+                }
+            }
+        }
+        signal(resolved);
+    }
+
+    private void onError(final Token token, final Throwable ex) {
+        if (!(ex instanceof WebClientResponseException response)) {
+            // Never reached the upstream's limiter: a probe slot is handed on, a paced token stays spent
+            if (token.probe()) {
+                release(token);
+            }
+            return;
+        }
+        if (!isThrottled(response)) {
+            // Any other status still went through the upstream's limiter
+            onAccepted(token);
+            return;
+        }
+        throttled.increment();
+        Sinks.Empty<Void> resolved = null;
+        synchronized (lock) {
+            long now = now();
+            if (token.probe()) {
+                nextProbeAt = now + props.getProbeInterval().toMillis();
+                probeReserved = false;
+                resolved = swapProbeResolved();
+            } else if (phase != Phase.PROBING) {
+                // Throttled within the window's quota means the quota is too high; otherwise the window was too short
+                if (phase == Phase.LEARNING || (token.generation() == generation && !token.opener())) {
+                    quota = Math.max(1, acceptedInWindow);
+                }
+                LOGGER.warn(
+                        "Upstream answered 429 in phase {}; probing its back-off window (quota now {})", phase, quota);
+                phase = Phase.PROBING;
+                if (lastAcceptedAt == 0) {
+                    lastAcceptedAt = now;
+                }
+                nextProbeAt = lastAcceptedAt + props.getProbeInterval().toMillis();
+            }
+        }
+        signal(resolved);
+    }
+
+    private Sinks.Empty<Void> swapProbeResolved() {
+        Sinks.Empty<Void> resolved = probeResolved;
+        probeResolved = Sinks.empty();
+        return resolved;
+    }
+
+    // Outside the lock: waiters re-enter reserve() from the emitting thread
+    private static void signal(final Sinks.Empty<Void> resolved) {
+        if (resolved != null) {
+            resolved.tryEmitEmpty();
+        }
+    }
+
+    private static boolean isThrottled(final Throwable ex) {
+        return ex instanceof WebClientResponseException response
+                && response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private RuntimeException reject(final boolean byRequest) {
+        rejected.increment();
+        return byRequest ? UpstreamErrorTranslator.TIMED_OUT : UpstreamErrorTranslator.THROTTLED;
+    }
+
+    private long now() {
+        return scheduler.now(TimeUnit.MILLISECONDS);
+    }
+
+    private sealed interface Admission permits Token, AwaitProbe, Rejected {}
+
+    /**
+     * Permission to send one request at {@code startsAt}, spent from the quota window {@code generation}. The opener of
+     * a window (the probe, or the first request once a learned window has passed) is not counted against its quota.
+     */
+    private record Token(long generation, long startsAt, boolean probe, boolean opener) implements Admission {}
+
+    private record AwaitProbe(Mono<Void> resolved) implements Admission {}
+
+    private enum Rejected implements Admission {
+        INSTANCE
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Single-flight for upstream calls: while a call for a given key is in flight, every other caller asking for the same
+ * key subscribes to that call instead of issuing its own, and all of them receive the same decoded result (or error).
+ * The key is released as soon as the call completes, so results are never reused after the fact.
+ * <p>
+ * The shared call runs without a {@link RequestDeadline}: it would otherwise run under the deadline of whichever caller
+ * happened to start it, and a caller with little time left would fail it for everyone who joined. Each caller's own
+ * deadline only bounds how long that caller waits for the shared result.
+ */
+@Component
+public class UpstreamRequestCoalescer {
+
+    private final ConcurrentMap<Object, Mono<?>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder issued = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Returns a Mono that joins the in-flight call for {@code key}, or starts {@code call} if there is none.
+     * The call is resolved lazily on subscription.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(final Object key, final Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<T>> started = new AtomicReference<>();
+            Mono<T> shared = (Mono<T>) inFlight.computeIfAbsent(key, k -> {
+                Mono<T> mono = call.get()
+                        .contextWrite(context -> context.delete(RequestDeadline.CONTEXT_KEY))
+                        .doFinally(signal -> inFlight.remove(k, started.get()))
+                        .cache();
+                started.set(mono);
+                return mono;
+            });
+            if (shared == started.get()) {
+                issued.increment();
+            } else {
+                coalesced.increment();
+            }
+            return shared;
+        });
+    }
+
+    /**
+     * Number of calls that actually went upstream.
+     */
+    public long getIssuedCount() {
+        return issued.sum();
+    }
+
+    /**
+     * Number of calls that were served by joining an identical in-flight call.
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -9,5 +9,7 @@ public final class Constants {
     public static final String EMPLOYEE_NOT_FOUND = "Employee not found. ";
     public static final String INTERNAL_SERVER_ERROR = "Internal Server Error. ";
     public static final String TOO_MANY_REQUESTS = "Too many requests. Please try again later. ";
+    public static final String DEADLINE_EXCEEDED = "Request deadline exceeded. Please try again later. ";
+    public static final String UPSTREAM_UNAVAILABLE = "Upstream service is unavailable. Please try again later. ";
     public static final String VALIDATION_FAILED = "Validation failed for one or more input fields";
 }
@@ -0,0 +1,29 @@
+package com.reliaquest.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ETags and caching headers on the polled read endpoints: {@code GET /}, {@code /highestSalary} and
+ * {@code /topTenHighestEarningEmployeeNames}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "conditional-get")
+public class ConditionalGetProperties {
+
+    /**
+     * When disabled no ETag is sent, so every poll gets the full body again.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Sent as is with every tagged response. {@code no-cache} lets clients keep the body but revalidate it with
+     * {@code If-None-Match} on every use; something like {@code max-age=5} would also spare them the revalidation for
+     * that long, at the cost of seeing changes later. Blank sends no header.
+     */
+    private String cacheControl = "no-cache";
+}
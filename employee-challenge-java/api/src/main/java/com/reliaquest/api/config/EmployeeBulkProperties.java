@@ -0,0 +1,64 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Limits for the bulk endpoints: create at the top level, lookup under {@code lookup}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "employee-bulk")
+public class EmployeeBulkProperties {
+
+    /**
+     * Largest batch accepted in one request. In reactive mode the whole body must also fit in
+     * {@code spring.codec.max-in-memory-size} (256 KB by default, a little over 2000 employees).
+     */
+    private int maxBatchSize = 1000;
+
+    /**
+     * Upstream creates in flight at once for a batch. The rate limiter still paces them to the learned quota; this
+     * only bounds how many wait for it.
+     */
+    private int concurrency = 8;
+
+    /**
+     * Attempts per employee, including the first, when it is throttled even after the client's own retries: locally
+     * because it waited too long for quota, by the upstream, or by the open circuit breaker, whose retry-after is
+     * waited out on top of the backoff. Other failures are not retried.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Wait before an employee's first re-attempt, doubling for each after that.
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    private Lookup lookup = new Lookup();
+
+    @Getter
+    @Setter
+    public static class Lookup {
+
+        /**
+         * Largest number of ids accepted in one lookup.
+         */
+        private int maxIds = 100;
+
+        /**
+         * Distinct ids from which a lookup against a cold cache loads the listing once instead of getting each id.
+         * Below it the individual GETs cost fewer bytes and answer sooner; a warm cache is always used.
+         */
+        private int listingThreshold = 4;
+
+        /**
+         * Individual GETs in flight at once for a lookup below the threshold.
+         */
+        private int concurrency = 8;
+    }
+}
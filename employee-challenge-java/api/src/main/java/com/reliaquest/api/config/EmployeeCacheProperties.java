@@ -0,0 +1,122 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tuning for the in-memory employee snapshot that backs the read endpoints.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "employee-cache")
+public class EmployeeCacheProperties {
+
+    /**
+     * When disabled every read goes straight to the upstream, as before the snapshot existed.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a fetched listing is considered fresh.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Age after which a read triggers a background refresh while still serving the current snapshot.
+     * Should be shorter than {@link #ttl} so the refresh usually lands before the snapshot expires.
+     */
+    private Duration refreshAhead = Duration.ofSeconds(20);
+
+    /**
+     * How long past {@link #ttl} an expired snapshot may still be served while a refresh runs in the background.
+     */
+    private Duration staleWhileRevalidate = Duration.ofSeconds(90);
+
+    private NameResolution nameResolution = new NameResolution();
+
+    private Persistence persistence = new Persistence();
+
+    private Parallel parallel = new Parallel();
+
+    /**
+     * The id-to-name map that lets a delete skip looking the employee up first.
+     */
+    @Getter
+    @Setter
+    public static class NameResolution {
+
+        private boolean enabled = true;
+
+        /**
+         * Bound on remembered ids; the least recently used are dropped first.
+         */
+        private int maxEntries = 100_000;
+
+        /**
+         * How long a remembered name may be used to delete by. The upstream deletes by name, so a mapping for an id
+         * deleted elsewhere in the meantime could delete a namesake; past this age the lookup is done again.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+
+    /**
+     * The snapshot file that lets a restarted api answer reads before upstream has been asked for a listing.
+     */
+    @Getter
+    @Setter
+    public static class Persistence {
+
+        private boolean enabled = false;
+
+        /**
+         * Where the snapshot is kept. It holds the whole roster, so there is no default: persistence stays off until
+         * a file is configured, preferably somewhere only the api's user can reach.
+         */
+        private String file;
+
+        /**
+         * How often the latest snapshot is written, if it changed; it is also written on shutdown.
+         */
+        private Duration interval = Duration.ofSeconds(60);
+
+        /**
+         * A persisted snapshot older than this is not served after a restart: waiting for upstream beats answering
+         * from a roster that stale.
+         */
+        private Duration maxAge = Duration.ofHours(24);
+
+        /**
+         * Whether persistence is switched on and has a file to use.
+         */
+        public boolean isEnabled() {
+            return enabled && file != null && !file.isBlank();
+        }
+    }
+
+    /**
+     * Fork-join execution of name searches and salary scans over large snapshots.
+     */
+    @Getter
+    @Setter
+    public static class Parallel {
+
+        /**
+         * When disabled, or with a parallelism below 2, every scan runs on the request thread.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Rows from which a scan is split into partitions; below it the fork and merge cost more than they save.
+         */
+        private int threshold = 100_000;
+
+        /**
+         * Worker threads of the dedicated pool; 0 for one per available processor.
+         */
+        private int parallelism = 0;
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.api.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reuse of the encoded JSON of the employee listing served by {@code GET /}.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "listing-encoding")
+public class ListingEncodingProperties {
+
+    /**
+     * When disabled the listing is serialized again for every request.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Also keeps a gzip copy, sent to clients whose {@code Accept-Encoding} allows it. Off by default so every client
+     * keeps getting the identity encoding it gets today.
+     */
+    private boolean gzip = false;
+}
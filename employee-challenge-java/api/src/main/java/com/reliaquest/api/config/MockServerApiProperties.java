@@ -1,5 +1,6 @@
 package com.reliaquest.api.config;
 
+import java.time.Duration;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -15,7 +16,188 @@ public class MockServerApiProperties {
 
     private String path;
 
+    private final Pool pool = new Pool();
+
+    private final Timeouts timeouts = new Timeouts();
+
+    private final Transport transport = new Transport();
+
+    private final RateLimit rateLimit = new RateLimit();
+
+    private final Retry retry = new Retry();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private final Hedge hedge = new Hedge();
+
     public String getEmployeeApiUrl() {
         return host + path;
     }
+
+    /**
+     * Connection pool in front of the upstream. Requests beyond {@code max-connections} wait in the pending-acquire
+     * queue; beyond {@code pending-acquire-max-count}, or after {@code pending-acquire-timeout}, they fail fast.
+     */
+    @Getter
+    @Setter
+    public static class Pool {
+
+        private String name = "mock-employee-api";
+
+        private int maxConnections = 100;
+
+        private int pendingAcquireMaxCount = 500;
+
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+        // Kept below the upstream's keep-alive timeout so we never reuse a connection it is about to close
+        private Duration maxIdleTime = Duration.ofSeconds(15);
+
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        private Duration evictInBackground = Duration.ofSeconds(30);
+
+        /**
+         * Publishes active/idle/pending connection gauges and the acquire-time timer through Micrometer.
+         */
+        private boolean metricsEnabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Timeouts {
+
+        private Duration connect = Duration.ofSeconds(2);
+
+        // Maximum gap between two reads/writes on an open connection
+        private Duration read = Duration.ofSeconds(10);
+
+        private Duration write = Duration.ofSeconds(10);
+
+        // Maximum time from sending the request to receiving the full response headers
+        private Duration response = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Transport {
+
+        private boolean keepAlive = true;
+
+        /**
+         * Uses the native epoll transport when the platform supports it; NIO otherwise.
+         */
+        private boolean epoll = false;
+
+        // 0 lets Reactor Netty pick (one per core)
+        private int workerThreads = 0;
+    }
+
+    /**
+     * Client-side pacing of upstream calls. The quota and window are learned from observed 429s; these settings only
+     * control how the limiter probes and how long a request may wait for quota.
+     */
+    @Getter
+    @Setter
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        /**
+         * Longest a request may queue for quota when the caller did not set its own deadline. Requests that could not
+         * be sent within it are rejected locally with 429 instead of being sent upstream.
+         */
+        private Duration maxWait = Duration.ofSeconds(2);
+
+        // Spacing of probes while the upstream backs off; also how precisely the window is learned
+        private Duration probeInterval = Duration.ofSeconds(2);
+
+        // Added to the learned window before the next quota is spent, to absorb clock and latency differences
+        private Duration safetyMargin = Duration.ofMillis(500);
+    }
+
+    /**
+     * Retry policies per operation. GETs are retried on 5xx and I/O errors; POST and DELETE are not idempotent, so
+     * they are only retried when the upstream cannot have processed them (429, or the connection was never made).
+     */
+    @Getter
+    @Setter
+    public static class Retry {
+
+        private final RetryPolicy get = new RetryPolicy(3);
+
+        private final RetryPolicy post = new RetryPolicy(2);
+
+        private final RetryPolicy delete = new RetryPolicy(2);
+    }
+
+    @Getter
+    @Setter
+    public static class RetryPolicy {
+
+        // Including the first attempt; 1 disables retries
+        private int maxAttempts;
+
+        private Duration minBackoff = Duration.ofMillis(100);
+
+        private Duration maxBackoff = Duration.ofSeconds(1);
+
+        // Fraction of each backoff that is randomized, so callers that failed together do not retry together
+        private double jitter = 0.5;
+
+        public RetryPolicy() {
+            this(1);
+        }
+
+        public RetryPolicy(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+    }
+
+    /**
+     * Opens after {@code failure-threshold} upstream failures (429, 5xx, I/O errors) within {@code failure-window};
+     * while open, calls fail immediately. After {@code open-duration} a single trial call is let through: success
+     * closes the breaker, failure opens it again.
+     */
+    @Getter
+    @Setter
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        private int failureThreshold = 5;
+
+        private Duration failureWindow = Duration.ofSeconds(10);
+
+        private Duration openDuration = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Hedging of by-id GETs: when the first attempt has not completed within the {@code percentile} of recent by-id
+     * latencies, a second one is sent and whichever answers first is used. Hedges are limited to {@code budget} of all
+     * by-id calls (with bursts of up to {@code max-burst}) and are only sent while the rate limiter has quota to spare.
+     */
+    @Getter
+    @Setter
+    public static class Hedge {
+
+        private boolean enabled = false;
+
+        private double percentile = 0.95;
+
+        // Bounds for the computed delay; a hedge sooner than min-delay costs more than it saves
+        private Duration minDelay = Duration.ofMillis(10);
+
+        private Duration maxDelay = Duration.ofSeconds(1);
+
+        // Latencies the percentile is computed over, and how many must be seen before the first hedge
+        private int window = 1000;
+
+        private int minSamples = 100;
+
+        // Hedges allowed per by-id call on average
+        private double budget = 0.05;
+
+        private int maxBurst = 10;
+    }
 }
@@ -0,0 +1,45 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * How long each employee route may take before it is answered with 504. The deadline bounds everything the request
+ * waits for upstream: quota, connections, responses and retries.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "request-deadline")
+public class RequestDeadlineProperties {
+
+    /**
+     * When disabled requests have no deadline, and upstream calls are only bounded by the client's own timeouts.
+     */
+    private boolean enabled = true;
+
+    /**
+     * For routes not listed in {@link #routes}.
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Per route, keyed by the handler method in kebab case, e.g. {@code get-employee-by-id} for
+     * {@code IEmployeeController#getEmployeeById}.
+     */
+    private Map<String, Duration> routes = new LinkedHashMap<>();
+
+    /**
+     * Request header a caller can set its own timeout with, in milliseconds or as a duration such as {@code 1500ms}.
+     * Values that cannot be read are ignored.
+     */
+    private String header = "X-Request-Timeout";
+
+    // Upper bound for a timeout asked for in the header
+    private Duration maxTimeout = Duration.ofSeconds(30);
+}
@@ -1,14 +1,83 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.UpstreamCallMetrics;
+import com.reliaquest.api.client.UpstreamDeadlineFilter;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
 
 @Configuration
 public class WebClientConfig {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebClientConfig.class);
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider employeeApiConnectionProvider(MockServerApiProperties props) {
+        MockServerApiProperties.Pool pool = props.getPool();
+        return ConnectionProvider.builder(pool.getName())
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                .metrics(pool.isMetricsEnabled())
+                .build();
+    }
+
+    // Dedicated event loops, so the client's transport choice does not depend on whoever else uses Reactor Netty
+    @Bean(destroyMethod = "dispose")
+    public LoopResources employeeApiLoopResources(MockServerApiProperties props) {
+        int workerThreads = props.getTransport().getWorkerThreads() > 0
+                ? props.getTransport().getWorkerThreads()
+                : LoopResources.DEFAULT_IO_WORKER_COUNT;
+        return LoopResources.create(props.getPool().getName(), workerThreads, true);
+    }
+
     @Bean
-    public WebClient webClient(MockServerApiProperties props) {
-        return WebClient.builder().baseUrl(props.getEmployeeApiUrl()).build();
+    public WebClient webClient(
+            MockServerApiProperties props,
+            ConnectionProvider employeeApiConnectionProvider,
+            LoopResources employeeApiLoopResources,
+            UpstreamDeadlineFilter upstreamDeadlineFilter,
+            UpstreamCallMetrics upstreamCallMetrics) {
+        MockServerApiProperties.Timeouts timeouts = props.getTimeouts();
+        boolean useEpoll = props.getTransport().isEpoll() && LoopResources.hasNativeSupport();
+        if (props.getTransport().isEpoll() && !useEpoll) {
+            LOGGER.warn("Epoll transport requested but unavailable on this platform, falling back to NIO");
+        }
+
+        HttpClient httpClient = HttpClient.create(employeeApiConnectionProvider)
+                .runOn(employeeApiLoopResources, useEpoll)
+                .keepAlive(props.getTransport().isKeepAlive())
+                .option(ChannelOption.SO_KEEPALIVE, props.getTransport().isKeepAlive())
+                .option(
+                        ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                        Math.toIntExact(timeouts.getConnect().toMillis()))
+                .responseTimeout(timeouts.getResponse())
+                // Per request: handlers added to a pooled connection are removed when it is released
+                .doOnRequest((request, connection) -> connection
+                        .addHandlerLast(
+                                new ReadTimeoutHandler(timeouts.getRead().toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(
+                                new WriteTimeoutHandler(timeouts.getWrite().toMillis(), TimeUnit.MILLISECONDS)));
+
+        return WebClient.builder()
+                .baseUrl(props.getEmployeeApiUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                // Outermost, so an attempt already out of time is not timed as an upstream call
+                .filter(upstreamDeadlineFilter)
+                .filter(upstreamCallMetrics)
+                .build();
     }
 }
@@ -0,0 +1,64 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.dto.BatchLookupResultDTO;
+import com.reliaquest.api.dto.BulkCreateResultDTO;
+import com.reliaquest.api.dto.CreateEmployeeDTO;
+import com.reliaquest.api.service.BulkEmployeeService;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code POST /bulk}: creates a JSON array of employees in one request, answering with one result per employee (see
+ * {@link BulkCreateResultDTO}). {@code POST /bulk/lookup}: resolves a JSON array of employee ids in one request. Not
+ * part of the {@link IEmployeeController} contract, and registered in both servlet and reactive mode; neither blocks a
+ * request thread while the batch runs.
+ * <p>
+ * Each employee is validated individually, so one invalid employee is reported as rejected rather than failing the
+ * batch; only an empty or oversized batch is a 400.
+ */
+@RestController
+public class BulkEmployeeController {
+
+    private final BulkEmployeeService bulkEmployeeService;
+
+    public BulkEmployeeController(final BulkEmployeeService bulkEmployeeService) {
+        this.bulkEmployeeService = bulkEmployeeService;
+    }
+
+    /**
+     * Every result at once, in request order, once the whole batch is done.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Flux<BulkCreateResultDTO>> createEmployees(@RequestBody List<CreateEmployeeDTO> inputs) {
+        return ResponseEntity.ok(bulkEmployeeService
+                .createEmployees(inputs)
+                .sort(Comparator.comparingInt(BulkCreateResultDTO::getIndex)));
+    }
+
+    /**
+     * For {@code Accept: application/x-ndjson}: one result per line, written as soon as it is known, so long batches
+     * report progress. Lines are in completion order; {@code index} ties them back to the request.
+     */
+    @PostMapping(value = "/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<BulkCreateResultDTO>> streamCreateEmployees(
+            @RequestBody List<CreateEmployeeDTO> inputs) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(bulkEmployeeService.createEmployees(inputs));
+    }
+
+    /**
+     * The employees with the given ids, and the ids nobody has; 400 if any id is not a UUID.
+     */
+    @PostMapping("/bulk/lookup")
+    public Mono<ResponseEntity<BatchLookupResultDTO>> lookupEmployees(@RequestBody List<String> ids) {
+        return bulkEmployeeService.lookupEmployees(ids).map(ResponseEntity::ok);
+    }
+}
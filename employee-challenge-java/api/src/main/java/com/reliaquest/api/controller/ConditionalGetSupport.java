@@ -0,0 +1,119 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.config.ConditionalGetProperties;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts the 200 responses of the polled read endpoints with a strong ETag and the configured {@code Cache-Control}.
+ * Spring compares the ETag with the request's {@code If-None-Match} before the body is written and answers 304 on a
+ * match, so a poll that finds nothing changed costs neither serialization nor egress.
+ * <p>
+ * The listing's tag is a 64-bit hash of every field of every employee. A snapshot's listing is the same {@link List}
+ * until the snapshot changes, so the hash is computed once per snapshot rather than once per poll. The aggregates are
+ * tagged by their value, so they stay unchanged across listing changes that do not affect them.
+ * <p>
+ * Only JSON responses are tagged: a strong ETag names one representation, and the NDJSON listing shares its URL.
+ */
+@Component
+public class ConditionalGetSupport {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ConditionalGetProperties props;
+
+    private final AtomicReference<TaggedListing> lastListing = new AtomicReference<>();
+
+    public ConditionalGetSupport(final ConditionalGetProperties props) {
+        this.props = props;
+    }
+
+    public ResponseEntity.BodyBuilder okListing(final List<EmployeeDTO> employees) {
+        return okListing(employees, null);
+    }
+
+    /**
+     * As {@link #okListing(List)}, for a body sent with the given {@code Content-Encoding}: each encoding is its own
+     * representation, so it gets its own tag.
+     */
+    public ResponseEntity.BodyBuilder okListing(final List<EmployeeDTO> employees, final String contentEncoding) {
+        if (!props.isEnabled()) {
+            return ResponseEntity.ok();
+        }
+        TaggedListing last = lastListing.get();
+        if (last == null || last.employees() != employees) {
+            last = new TaggedListing(employees, Long.toHexString(hash(employees)));
+            lastListing.set(last);
+        }
+        return tagged(contentEncoding == null ? last.tag() : last.tag() + "-" + contentEncoding);
+    }
+
+    public ResponseEntity.BodyBuilder okSalary(final Integer salary) {
+        if (!props.isEnabled()) {
+            return ResponseEntity.ok();
+        }
+        return tagged(salary == null ? "none" : Integer.toHexString(salary));
+    }
+
+    public ResponseEntity.BodyBuilder okNames(final List<String> names) {
+        if (!props.isEnabled()) {
+            return ResponseEntity.ok();
+        }
+        long hash = FNV_OFFSET_BASIS;
+        for (String name : names) {
+            hash = mix(hash, name);
+        }
+        return tagged(Long.toHexString(hash));
+    }
+
+    private ResponseEntity.BodyBuilder tagged(final String tag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(tag);
+        if (props.getCacheControl() != null && !props.getCacheControl().isBlank()) {
+            builder.header(HttpHeaders.CACHE_CONTROL, props.getCacheControl());
+        }
+        return builder;
+    }
+
+    static long hash(final List<EmployeeDTO> employees) {
+        long hash = FNV_OFFSET_BASIS;
+        for (EmployeeDTO employee : employees) {
+            hash = mix(hash, employee.getId());
+            hash = mix(hash, employee.getEmployeeName());
+            hash = mix(hash, employee.getEmployeeSalary());
+            hash = mix(hash, employee.getEmployeeAge());
+            hash = mix(hash, employee.getEmployeeTitle());
+            hash = mix(hash, employee.getEmployeeEmail());
+        }
+        return hash;
+    }
+
+    // FNV-1a over the UTF-16 code units; each value is terminated so adjacent fields cannot run into each other
+    private static long mix(long hash, final String value) {
+        if (value == null) {
+            return (hash ^ 0xffff) * FNV_PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ 0xfffe) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, final Integer value) {
+        if (value == null) {
+            return (hash ^ 0xffff) * FNV_PRIME;
+        }
+        int bits = value;
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((bits >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private record TaggedListing(List<EmployeeDTO> employees, String tag) {}
+}
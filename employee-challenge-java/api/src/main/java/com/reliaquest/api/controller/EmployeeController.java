@@ -1,5 +1,8 @@
 package com.reliaquest.api.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.reliaquest.api.dto.CreateEmployeeDTO;
 import com.reliaquest.api.dto.EmployeeDTO;
 import com.reliaquest.api.exception.ClientBadRequestException;
@@ -8,23 +11,76 @@ import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EmployeeController implements IEmployeeController<EmployeeDTO, CreateEmployeeDTO> {
 
     private final EmployeeService employeeService;
 
-    public EmployeeController(final EmployeeService employeeService) {
+    private final ObjectWriter employeeWriter;
+
+    private final ConditionalGetSupport conditionalGet;
+
+    private final EncodedListingCache encodedListings;
+
+    public EmployeeController(
+            final EmployeeService employeeService,
+            final ObjectMapper objectMapper,
+            final ConditionalGetSupport conditionalGet,
+            final EncodedListingCache encodedListings) {
         this.employeeService = employeeService;
+        this.employeeWriter = objectMapper.writerFor(EmployeeDTO.class);
+        this.conditionalGet = conditionalGet;
+        this.encodedListings = encodedListings;
     }
 
+    /**
+     * The body is the listing's cached encoding (see {@link EncodedListingCache}), written as is by
+     * {@link EncodedEmployeeListingConverter}; it still reads as the list.
+     */
     @Override
     public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
         List<EmployeeDTO> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+        if (!encodedListings.isEnabled()) {
+            return conditionalGet.okListing(employees).body(employees);
+        }
+        EncodedEmployeeListing encoded = encodedListings.encode(employees, requestHeader(HttpHeaders.ACCEPT_ENCODING));
+        return encodedListings
+                .headers(conditionalGet.okListing(employees, encoded.contentEncoding()), encoded)
+                .body(encoded);
+    }
+
+    /**
+     * {@link #getAllEmployees()} for clients that ask for {@code application/x-ndjson}: one employee per line, written
+     * straight to the response as the client reads it, on an async request thread. Everyone else, including clients
+     * that accept anything, still gets the JSON array.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        // Resolved before the response starts, so upstream failures still map to their status codes
+        List<EmployeeDTO> employees = employeeService.getAllEmployees();
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = employeeWriter.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                for (EmployeeDTO employee : employees) {
+                    employeeWriter.writeValue(generator, employee);
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @Override
@@ -55,13 +111,13 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Crea
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
-        return ResponseEntity.ok(highestSalary);
+        return conditionalGet.okSalary(highestSalary).body(highestSalary);
     }
 
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
         List<String> names = employeeService.getTopTenHighestEarningEmployeeNames();
-        return ResponseEntity.ok(names);
+        return conditionalGet.okNames(names).body(names);
     }
 
     @Override
@@ -86,4 +142,11 @@ public class EmployeeController implements IEmployeeController<EmployeeDTO, Crea
         String deletedEmployee = employeeService.deleteEmployeeById(id);
         return ResponseEntity.ok(deletedEmployee);
     }
+
+    // The interface fixes the handler signatures, so request headers are read from the bound request
+    private static String requestHeader(final String name) {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest().getHeader(name)
+                : null;
+    }
 }
@@ -0,0 +1,51 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An employee listing together with its response body, already encoded: the JSON array Jackson writes for the list,
+ * possibly compressed as named by {@link #contentEncoding()}. Still reads as the list itself, so it can be returned
+ * wherever a {@code List<EmployeeDTO>} body is declared; {@link EncodedEmployeeListingConverter} then copies the bytes
+ * to the response instead of serializing the employees.
+ */
+public final class EncodedEmployeeListing extends AbstractList<EmployeeDTO> implements RandomAccess {
+
+    private final List<EmployeeDTO> employees;
+
+    private final byte[] body;
+
+    private final String contentEncoding;
+
+    EncodedEmployeeListing(final List<EmployeeDTO> employees, final byte[] body, final String contentEncoding) {
+        this.employees = employees;
+        this.body = body;
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * The encoded body; shared, so never modified.
+     */
+    public byte[] body() {
+        return body;
+    }
+
+    /**
+     * The {@code Content-Encoding} of {@link #body()}, or null for the identity encoding.
+     */
+    public String contentEncoding() {
+        return contentEncoding;
+    }
+
+    @Override
+    public EmployeeDTO get(final int index) {
+        return employees.get(index);
+    }
+
+    @Override
+    public int size() {
+        return employees.size();
+    }
+}
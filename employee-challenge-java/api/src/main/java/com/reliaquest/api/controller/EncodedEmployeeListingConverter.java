@@ -0,0 +1,49 @@
+package com.reliaquest.api.controller;
+
+import java.io.IOException;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes an {@link EncodedEmployeeListing} as its pre-encoded bytes. Spring Boot puts converter beans ahead of its
+ * defaults, so this is picked over Jackson for that one type and every other body is unaffected. The controller sets
+ * any {@code Content-Encoding}. Only used in servlet mode; the reactive controller writes the bytes itself.
+ */
+@Component
+public class EncodedEmployeeListingConverter extends AbstractHttpMessageConverter<EncodedEmployeeListing> {
+
+    public EncodedEmployeeListingConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(final Class<?> clazz) {
+        return EncodedEmployeeListing.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(final Class<?> clazz, final MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EncodedEmployeeListing readInternal(
+            final Class<? extends EncodedEmployeeListing> clazz, final HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("An encoded listing is only ever written", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(final EncodedEmployeeListing listing, final MediaType contentType) {
+        return (long) listing.body().length;
+    }
+
+    @Override
+    protected void writeInternal(final EncodedEmployeeListing listing, final HttpOutputMessage outputMessage)
+            throws IOException {
+        outputMessage.getBody().write(listing.body());
+    }
+}
@@ -0,0 +1,200 @@
+package com.reliaquest.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reliaquest.api.config.ListingEncodingProperties;
+import com.reliaquest.api.dto.EmployeeDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the encoded response body of the current employee listing, so {@code GET /} serializes each snapshot once
+ * rather than once per request.
+ * <p>
+ * Entries are keyed by the identity of the snapshot's employee list, which is replaced on every create, delete and
+ * upstream refresh, so any change to the data makes the next request encode again and the old bytes are dropped. The
+ * bytes come from the application's {@link ObjectMapper} writing the list as a whole, exactly as the JSON converters
+ * would. The gzip copy, when enabled, is compressed on first demand for each listing.
+ */
+@Component
+public class EncodedListingCache implements MeterBinder {
+
+    private static final String GZIP = "gzip";
+
+    private final ObjectWriter listingWriter;
+
+    private final ListingEncodingProperties props;
+
+    // Not a monitor: callers may run on virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Entry current;
+
+    private final LongAdder reused = new LongAdder();
+
+    private final LongAdder encoded = new LongAdder();
+
+    public EncodedListingCache(final ObjectMapper objectMapper, final ListingEncodingProperties props) {
+        this.listingWriter = objectMapper.writerFor(new TypeReference<List<EmployeeDTO>>() {});
+        this.props = props;
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    /**
+     * The encoded body for {@code employees}: gzip when enabled and {@code acceptEncoding} (the request's
+     * {@code Accept-Encoding}, possibly null) allows it, the identity encoding otherwise.
+     */
+    public EncodedEmployeeListing encode(final List<EmployeeDTO> employees, final String acceptEncoding) {
+        Entry entry = entryFor(employees);
+        if (!props.isGzip() || !acceptsGzip(acceptEncoding)) {
+            return entry.json;
+        }
+        EncodedEmployeeListing gzip = entry.gzip;
+        if (gzip == null) {
+            lock.lock();
+            try {
+                gzip = entry.gzip;
+                if (gzip == null) {
+                    gzip = new EncodedEmployeeListing(employees, gzip(entry.json.body()), GZIP);
+                    entry.gzip = gzip;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return gzip;
+    }
+
+    /**
+     * A 200 for {@code listing}, started from {@code builder}: its content type and encoding, and {@code Vary} when
+     * the encoding depends on the request.
+     */
+    public ResponseEntity.BodyBuilder headers(
+            final ResponseEntity.BodyBuilder builder, final EncodedEmployeeListing listing) {
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (listing.contentEncoding() != null) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, listing.contentEncoding());
+        }
+        if (props.isGzip()) {
+            builder.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        return builder;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("employee.api.listing.encodings", reused, LongAdder::sum)
+                .tag("outcome", "reused")
+                .description("Listing responses written from already encoded bytes")
+                .register(registry);
+        FunctionCounter.builder("employee.api.listing.encodings", encoded, LongAdder::sum)
+                .tag("outcome", "encoded")
+                .description("Listings serialized because the data changed")
+                .register(registry);
+    }
+
+    private Entry entryFor(final List<EmployeeDTO> employees) {
+        Entry entry = current;
+        if (entry != null && entry.employees == employees) {
+            reused.increment();
+            return entry;
+        }
+        // One encoding per listing, however many requests arrive before it is ready
+        lock.lock();
+        try {
+            entry = current;
+            if (entry != null && entry.employees == employees) {
+                reused.increment();
+                return entry;
+            }
+            entry = new Entry(employees, new EncodedEmployeeListing(employees, serialize(employees), null));
+            current = entry;
+            encoded.increment();
+            return entry;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private byte[] serialize(final List<EmployeeDTO> employees) {
+        try {
+            return listingWriter.writeValueAsBytes(employees);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static byte[] gzip(final byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+
+    // An explicit gzip entry wins over "*"; either is refused by q=0
+    static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        Boolean any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(GZIP)) {
+                gzip = acceptable(parts);
+            } else if (name.equals("*")) {
+                any = acceptable(parts);
+            }
+        }
+        return gzip != null ? gzip : Boolean.TRUE.equals(any);
+    }
+
+    private static boolean acceptable(final String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) > 0;
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry {
+
+        private final List<EmployeeDTO> employees;
+
+        private final EncodedEmployeeListing json;
+
+        private volatile EncodedEmployeeListing gzip;
+
+        private Entry(final List<EmployeeDTO> employees, final EncodedEmployeeListing json) {
+            this.employees = employees;
+            this.json = json;
+        }
+    }
+}
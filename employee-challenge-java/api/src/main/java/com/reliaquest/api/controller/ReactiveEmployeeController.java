@@ -0,0 +1,140 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.dto.CreateEmployeeDTO;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.ClientBadRequestException;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive-mode implementation of the {@link IEmployeeController} contract: same routes, same status codes and same
+ * payloads, but every handler returns a {@link Mono} so no request thread waits on the upstream.
+ * <p>
+ * The interface cannot be implemented directly because its methods return {@link ResponseEntity} synchronously.
+ * Only one of this and {@link EmployeeController} is registered, depending on {@code spring.main.web-application-type}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    private final ConditionalGetSupport conditionalGet;
+
+    private final EncodedListingCache encodedListings;
+
+    public ReactiveEmployeeController(
+            final ReactiveEmployeeService employeeService,
+            final ConditionalGetSupport conditionalGet,
+            final EncodedListingCache encodedListings) {
+        this.employeeService = employeeService;
+        this.conditionalGet = conditionalGet;
+        this.encodedListings = encodedListings;
+    }
+
+    /**
+     * The listing's cached encoding (see {@link EncodedListingCache}), written from the shared bytes without a copy;
+     * with the cache disabled, serialized element by element as the client reads it. Nothing is written until the
+     * snapshot is in hand, so upstream failures still map to their status codes, and the ETag is known before the
+     * body.
+     */
+    @GetMapping()
+    public Mono<ResponseEntity<?>> getAllEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return employeeService.getEmployeeListing().map(employees -> {
+            if (!encodedListings.isEnabled()) {
+                return conditionalGet.okListing(employees).body(Flux.fromIterable(employees));
+            }
+            EncodedEmployeeListing encoded = encodedListings.encode(employees, acceptEncoding);
+            return encodedListings
+                    .headers(conditionalGet.okListing(employees, encoded.contentEncoding()), encoded)
+                    .body(encoded.body());
+        });
+    }
+
+    /**
+     * {@link #getAllEmployees()} as one employee per line, for {@code Accept: application/x-ndjson}.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<EmployeeDTO>> streamAllEmployees() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(employeeService.getAllEmployees());
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<EmployeeDTO>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        if (searchString == null || searchString.isBlank()) {
+            throw new ClientBadRequestException("Search string must not be null or blank.");
+        }
+        return employeeService
+                .getEmployeesByNameSearch(searchString)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<EmployeeDTO>> getEmployeeById(@PathVariable String id) {
+        validateEmployeeId(id);
+        return employeeService
+                .getEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.ok().build());
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService
+                .getHighestSalaryOfEmployees()
+                .map(highestSalary -> conditionalGet.okSalary(highestSalary).body(highestSalary));
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService
+                .getTopTenHighestEarningEmployeeNames()
+                .collectList()
+                .map(names -> conditionalGet.okNames(names).body(names));
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<EmployeeDTO>> createEmployee(@Valid @RequestBody CreateEmployeeDTO employeeInput) {
+        return employeeService.createEmployee(employeeInput).map(employee -> ResponseEntity.created(
+                        URI.create("/" + employee.getId()))
+                .body(employee));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        validateEmployeeId(id);
+        return employeeService
+                .deleteEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.ok().build());
+    }
+
+    private void validateEmployeeId(String id) {
+        if (id == null || id.isBlank()) {
+            throw new ClientBadRequestException("Employee ID is required");
+        }
+        try {
+            UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            throw new ClientBadRequestException("Employee ID must be a valid UUID");
+        }
+    }
+}
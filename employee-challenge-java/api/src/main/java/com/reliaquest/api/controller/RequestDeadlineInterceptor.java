@@ -0,0 +1,55 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.client.RequestDeadline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Instant;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Servlet mode: binds each request's {@link RequestDeadline} to the thread that handles it, where the blocking
+ * service calls run, and unbinds it once the handler returns or hands the response to another thread.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor, WebMvcConfigurer {
+
+    private final RequestDeadlineResolver resolver;
+
+    public RequestDeadlineInterceptor(final RequestDeadlineResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            Instant deadline = resolver.deadlineFor(method, request.getHeader(resolver.getHeader()));
+            if (deadline != null) {
+                RequestDeadline.bind(deadline);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(
+            HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.clear();
+    }
+}
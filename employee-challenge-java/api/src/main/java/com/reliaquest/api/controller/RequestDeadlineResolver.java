@@ -0,0 +1,79 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.client.RequestDeadline;
+import com.reliaquest.api.config.RequestDeadlineProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ * Works out the {@link RequestDeadline} of a request to one of the employee routes from
+ * {@link RequestDeadlineProperties}: the timeout the caller asked for in the header, capped at {@code max-timeout}, or
+ * else the route's own. Other routes, such as the bulk ones that pace their own batches, get none.
+ */
+@Component
+public class RequestDeadlineResolver {
+
+    private final RequestDeadlineProperties props;
+
+    private final Clock clock;
+
+    @Autowired
+    public RequestDeadlineResolver(final RequestDeadlineProperties props) {
+        this(props, Clock.systemUTC());
+    }
+
+    RequestDeadlineResolver(final RequestDeadlineProperties props, final Clock clock) {
+        this.props = props;
+        this.clock = clock;
+    }
+
+    /**
+     * The deadline of a request handled by {@code handler}, or null if it has none.
+     * @param requestedTimeout the request's deadline header, or null
+     */
+    public Instant deadlineFor(final HandlerMethod handler, final String requestedTimeout) {
+        if (!props.isEnabled() || !isEmployeeRoute(handler.getBeanType())) {
+            return null;
+        }
+        return clock.instant().plus(timeoutFor(handler.getMethod().getName(), requestedTimeout));
+    }
+
+    public String getHeader() {
+        return props.getHeader();
+    }
+
+    Duration timeoutFor(final String handlerMethod, final String requestedTimeout) {
+        Duration requested = parse(requestedTimeout);
+        if (requested != null) {
+            return requested.compareTo(props.getMaxTimeout()) < 0 ? requested : props.getMaxTimeout();
+        }
+        return props.getRoutes().getOrDefault(routeKey(handlerMethod), props.getDefaultTimeout());
+    }
+
+    private static boolean isEmployeeRoute(final Class<?> controller) {
+        return IEmployeeController.class.isAssignableFrom(controller) || controller == ReactiveEmployeeController.class;
+    }
+
+    // getEmployeeById -> get-employee-by-id, the form the routes are configured in
+    private static String routeKey(final String handlerMethod) {
+        return handlerMethod.replaceAll("([a-z0-9])([A-Z])", "$1-$2").toLowerCase(Locale.ROOT);
+    }
+
+    private static Duration parse(final String requestedTimeout) {
+        if (requestedTimeout == null || requestedTimeout.isBlank()) {
+            return null;
+        }
+        try {
+            Duration requested = DurationStyle.detectAndParse(requestedTimeout.trim());
+            return requested.isPositive() ? requested : null;
+        } catch (IllegalArgumentException unreadable) {
+            return null;
+        }
+    }
+}
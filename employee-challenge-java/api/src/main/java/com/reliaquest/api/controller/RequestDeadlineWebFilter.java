@@ -0,0 +1,47 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.client.RequestDeadline;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Reactive mode: puts each request's {@link RequestDeadline} in the Reactor context of its handling. Filters run before
+ * the request is mapped, so the handler is looked up here first; a request that maps to no handler is passed on
+ * without a deadline and fails as it would have anyway.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class RequestDeadlineWebFilter implements WebFilter {
+
+    private final RequestMappingHandlerMapping handlerMapping;
+
+    private final RequestDeadlineResolver resolver;
+
+    public RequestDeadlineWebFilter(
+            @Qualifier("requestMappingHandlerMapping") final RequestMappingHandlerMapping handlerMapping,
+            final RequestDeadlineResolver resolver) {
+        this.handlerMapping = handlerMapping;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String requestedTimeout = exchange.getRequest().getHeaders().getFirst(resolver.getHeader());
+        return handlerMapping
+                .getHandler(exchange)
+                .onErrorResume(ex -> Mono.empty())
+                .mapNotNull(handler ->
+                        handler instanceof HandlerMethod method ? resolver.deadlineFor(method, requestedTimeout) : null)
+                .map(RequestDeadline::context)
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+}
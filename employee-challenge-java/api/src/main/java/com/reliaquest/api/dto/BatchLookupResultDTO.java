@@ -0,0 +1,19 @@
+package com.reliaquest.api.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Answer to a batch lookup by id: the employees found, and the requested ids nobody has, each in request order.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchLookupResultDTO {
+
+    private List<EmployeeDTO> found;
+
+    private List<String> missing;
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one employee of a bulk create, identified by its position in the request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkCreateResultDTO {
+
+    public enum Status {
+        /** Created upstream; {@code employee} holds the result. */
+        CREATED,
+        /** Failed validation and was never sent; {@code errors} maps each invalid field to its message. */
+        REJECTED,
+        /** Still throttled after every attempt; safe to submit again later. */
+        THROTTLED,
+        /** The upstream failed or was unavailable; {@code errors} holds the reason. */
+        FAILED
+    }
+
+    private int index;
+
+    private Status status;
+
+    // Times the create was submitted, not counting the client's own retries within each; 0 when rejected
+    private int attempts;
+
+    private EmployeeDTO employee;
+
+    private Map<String, String> errors;
+}
@@ -4,6 +4,7 @@ import static com.reliaquest.api.common.Constants.VALIDATION_FAILED;
 
 import java.util.HashMap;
 import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -15,14 +16,22 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ApiApplicationExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private final ApiErrorMetrics errorMetrics;
+
+    public ApiApplicationExceptionHandler(final ApiErrorMetrics errorMetrics) {
+        this.errorMetrics = errorMetrics;
+    }
+
     // Handles @Valid DTO validation failures
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
 
         Map<String, String> errors = new HashMap<>();
+        errorMetrics.record(HttpStatus.BAD_REQUEST);
         errors.put("error", VALIDATION_FAILED);
         ex.getBindingResult()
                 .getFieldErrors()
@@ -33,21 +42,40 @@ public class ApiApplicationExceptionHandler extends ResponseEntityExceptionHandl
 
     @ExceptionHandler(ClientBadRequestException.class)
     public ResponseEntity<Object> handleClientBadRequest(ClientBadRequestException ex) {
+        errorMetrics.record(HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.BAD_REQUEST);
     }
 
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Object> handleResourceNotFound(ResourceNotFoundException ex) {
+        errorMetrics.record(HttpStatus.NOT_FOUND);
         return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(TooManyRequestsException.class)
     public ResponseEntity<Object> handleResourceNotFound(TooManyRequestsException ex) {
+        errorMetrics.record(HttpStatus.TOO_MANY_REQUESTS);
         return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
     }
 
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<Object> handleUpstreamUnavailable(UpstreamUnavailableException ex) {
+        errorMetrics.record(HttpStatus.SERVICE_UNAVAILABLE);
+        long retryAfterSeconds = ex.getRetryAfterSeconds();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Object> handleDeadlineExceeded(DeadlineExceededException ex) {
+        errorMetrics.record(HttpStatus.GATEWAY_TIMEOUT);
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.GATEWAY_TIMEOUT);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGenericException(Exception ex) {
+        errorMetrics.record(HttpStatus.INTERNAL_SERVER_ERROR);
         return new ResponseEntity<>(
                 Map.of("error", "Unexpected error: " + ex.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
     }
@@ -0,0 +1,53 @@
+package com.reliaquest.api.exception;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the error responses the exception handlers map exceptions to, by status, published as
+ * {@code employee.api.errors}.
+ */
+@Component
+public class ApiErrorMetrics implements MeterBinder {
+
+    private static final List<HttpStatus> MAPPED_STATUSES = List.of(
+            HttpStatus.BAD_REQUEST,
+            HttpStatus.NOT_FOUND,
+            HttpStatus.TOO_MANY_REQUESTS,
+            HttpStatus.INTERNAL_SERVER_ERROR,
+            HttpStatus.SERVICE_UNAVAILABLE,
+            HttpStatus.GATEWAY_TIMEOUT);
+
+    private final Map<HttpStatus, LongAdder> counts = new EnumMap<>(HttpStatus.class);
+
+    public ApiErrorMetrics() {
+        MAPPED_STATUSES.forEach(status -> counts.put(status, new LongAdder()));
+    }
+
+    public void record(final HttpStatus status) {
+        LongAdder count = counts.get(status);
+        if (count != null) {
+            count.increment();
+        }
+    }
+
+    public long getCount(final HttpStatus status) {
+        LongAdder count = counts.get(status);
+        return count != null ? count.sum() : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counts.forEach((status, count) -> FunctionCounter.builder("employee.api.errors", count, LongAdder::sum)
+                .description("Error responses mapped by the exception handlers")
+                .tag("status", Integer.toString(status.value()))
+                .register(registry));
+    }
+}
@@ -0,0 +1,22 @@
+package com.reliaquest.api.exception;
+
+/**
+ * Thrown when a request's deadline passes before the upstream has answered it, or before it could even be sent.
+ */
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    /**
+     * Without a stack trace or suppressed exceptions, so one instance can be thrown again and again, by any number of
+     * threads, while a degraded upstream times every request out.
+     */
+    public static DeadlineExceededException stackless(String message) {
+        return new DeadlineExceededException(message, false);
+    }
+
+    private DeadlineExceededException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.api.exception;
+
+import static com.reliaquest.api.common.Constants.VALIDATION_FAILED;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive-mode counterpart of {@link ApiApplicationExceptionHandler}, producing the same status codes and bodies.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveApiApplicationExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private final ApiErrorMetrics errorMetrics;
+
+    public ReactiveApiApplicationExceptionHandler(final ApiErrorMetrics errorMetrics) {
+        this.errorMetrics = errorMetrics;
+    }
+
+    // Handles @Valid DTO validation failures
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(
+            WebExchangeBindException ex, HttpHeaders headers, HttpStatusCode status, ServerWebExchange exchange) {
+
+        Map<String, String> errors = new HashMap<>();
+        errorMetrics.record(HttpStatus.BAD_REQUEST);
+        errors.put("error", VALIDATION_FAILED);
+        ex.getBindingResult()
+                .getFieldErrors()
+                .forEach(error -> errors.put(error.getField(), error.getDefaultMessage()));
+
+        return Mono.just(ResponseEntity.badRequest().body(errors));
+    }
+
+    @ExceptionHandler(ClientBadRequestException.class)
+    public ResponseEntity<Object> handleClientBadRequest(ClientBadRequestException ex) {
+        errorMetrics.record(HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<Object> handleResourceNotFound(ResourceNotFoundException ex) {
+        errorMetrics.record(HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Object> handleTooManyRequests(TooManyRequestsException ex) {
+        errorMetrics.record(HttpStatus.TOO_MANY_REQUESTS);
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<Object> handleUpstreamUnavailable(UpstreamUnavailableException ex) {
+        errorMetrics.record(HttpStatus.SERVICE_UNAVAILABLE);
+        long retryAfterSeconds = ex.getRetryAfterSeconds();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Object> handleDeadlineExceeded(DeadlineExceededException ex) {
+        errorMetrics.record(HttpStatus.GATEWAY_TIMEOUT);
+        return new ResponseEntity<>(Map.of("error", ex.getMessage()), HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Object> handleGenericException(Exception ex) {
+        errorMetrics.record(HttpStatus.INTERNAL_SERVER_ERROR);
+        return new ResponseEntity<>(
+                Map.of("error", "Unexpected error: " + ex.getMessage()), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
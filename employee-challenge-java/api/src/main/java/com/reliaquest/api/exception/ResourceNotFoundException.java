@@ -4,4 +4,16 @@ public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
         super(message);
     }
+
+    /**
+     * One instance to share between all the not-found answers that need no trace of where they were raised: it records
+     * neither a stack trace nor suppressed exceptions.
+     */
+    public static ResourceNotFoundException stackless(String message) {
+        return new ResourceNotFoundException(message, false);
+    }
+
+    private ResourceNotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
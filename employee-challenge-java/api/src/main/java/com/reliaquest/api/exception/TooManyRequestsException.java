@@ -4,4 +4,16 @@ public class TooManyRequestsException extends RuntimeException {
     public TooManyRequestsException(String message) {
         super(message);
     }
+
+    /**
+     * Without a stack trace or suppressed exceptions, so one instance can be thrown again and again, by any number of
+     * threads, for a condition that is expected and needs no trace.
+     */
+    public static TooManyRequestsException stackless(String message) {
+        return new TooManyRequestsException(message, false);
+    }
+
+    private TooManyRequestsException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
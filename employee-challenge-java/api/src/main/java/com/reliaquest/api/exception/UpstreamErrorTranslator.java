@@ -0,0 +1,145 @@
+package com.reliaquest.api.exception;
+
+import static com.reliaquest.api.common.Constants.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Turns what a service call failed with into the api exception the exception handlers answer with, for the blocking
+ * and the reactive services alike, and logs it without letting a run of identical failures flood the log.
+ * <p>
+ * The expected upstream answers, 404 and 429, become the shared stackless {@link #NOT_FOUND} and {@link #THROTTLED}:
+ * while the upstream is in its backoff window every request fails the same way, and mapping it then allocates nothing
+ * and walks no stack. The local rate limiter rejects with {@link #THROTTLED} too, and requests out of time fail with
+ * {@link #TIMED_OUT}. Other upstream statuses and unexpected failures still get an exception of their own, with the
+ * cause; exceptions already in api terms pass through unchanged.
+ * <p>
+ * Each kind of failure is logged at most once per {@link #LOG_INTERVAL}, and that line says how many of the kind were
+ * left out since the previous one. Expected failures log a WARN line without a stack trace, the others an ERROR with
+ * one.
+ */
+@Component
+public class UpstreamErrorTranslator {
+
+    public static final ResourceNotFoundException NOT_FOUND = ResourceNotFoundException.stackless(EMPLOYEE_NOT_FOUND);
+
+    public static final TooManyRequestsException THROTTLED = TooManyRequestsException.stackless(TOO_MANY_REQUESTS);
+
+    public static final DeadlineExceededException TIMED_OUT = DeadlineExceededException.stackless(DEADLINE_EXCEEDED);
+
+    static final Duration LOG_INTERVAL = Duration.ofSeconds(10);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UpstreamErrorTranslator.class);
+
+    private final Clock clock;
+
+    private final Map<Failure, LogWindow> logWindows = new EnumMap<>(Failure.class);
+
+    public UpstreamErrorTranslator() {
+        this(Clock.systemUTC());
+    }
+
+    UpstreamErrorTranslator(final Clock clock) {
+        this.clock = clock;
+        for (Failure failure : Failure.values()) {
+            logWindows.put(failure, new LogWindow());
+        }
+    }
+
+    /**
+     * The api exception to throw, or signal, for {@code ex}.
+     */
+    public RuntimeException translate(final Throwable ex) {
+        if (ex instanceof WebClientResponseException.NotFound) {
+            log(Failure.NOT_FOUND, ex);
+            return NOT_FOUND;
+        }
+        if (ex instanceof WebClientResponseException.TooManyRequests) {
+            log(Failure.THROTTLED, ex);
+            return THROTTLED;
+        }
+        if (ex instanceof WebClientResponseException response) {
+            log(Failure.UPSTREAM_ERROR, ex);
+            return new UpstreamServerException(
+                    "Upstream error: " + response.getStatusCode().value(), ex);
+        }
+        if (ex instanceof TooManyRequestsException throttled) {
+            log(Failure.THROTTLED, ex);
+            return throttled;
+        }
+        if (ex instanceof UpstreamUnavailableException unavailable) {
+            log(Failure.UNAVAILABLE, ex);
+            return unavailable;
+        }
+        if (ex instanceof DeadlineExceededException exceeded) {
+            log(Failure.DEADLINE_EXCEEDED, ex);
+            return exceeded;
+        }
+        if (ex instanceof ResourceNotFoundException
+                || ex instanceof ClientBadRequestException
+                || ex instanceof UpstreamServerException) {
+            return (RuntimeException) ex;
+        }
+        log(Failure.INTERNAL, ex);
+        return new RuntimeException(INTERNAL_SERVER_ERROR, ex);
+    }
+
+    private void log(final Failure failure, final Throwable ex) {
+        long suppressed = logWindows.get(failure).admit(clock.millis());
+        if (suppressed < 0) {
+            return;
+        }
+        String summary = suppressed > 0 ? " (" + suppressed + " more since the last report)" : "";
+        if (failure.expected) {
+            LOGGER.warn("{}: {}{}", failure.description, ex.getMessage(), summary);
+        } else {
+            LOGGER.error("{}: {}{}", failure.description, ex.getMessage(), summary, ex);
+        }
+    }
+
+    private enum Failure {
+        NOT_FOUND("Upstream answered not found", true),
+        THROTTLED("Throttled", true),
+        UNAVAILABLE("Upstream unavailable", true),
+        DEADLINE_EXCEEDED("Deadline exceeded", true),
+        UPSTREAM_ERROR("Upstream error", false),
+        INTERNAL("Unexpected failure", false);
+
+        private final String description;
+
+        private final boolean expected;
+
+        Failure(final String description, final boolean expected) {
+            this.description = description;
+            this.expected = expected;
+        }
+    }
+
+    /**
+     * Admits one log line per interval and counts the rest.
+     */
+    private static final class LogWindow {
+
+        private final AtomicLong nextLogAt = new AtomicLong(Long.MIN_VALUE);
+
+        private final AtomicLong suppressed = new AtomicLong();
+
+        // The number suppressed since the last admitted line, or -1 if this one is suppressed too
+        long admit(final long now) {
+            long next = nextLogAt.get();
+            if (now < next || !nextLogAt.compareAndSet(next, now + LOG_INTERVAL.toMillis())) {
+                suppressed.incrementAndGet();
+                return -1;
+            }
+            return suppressed.getAndSet(0);
+        }
+    }
+}
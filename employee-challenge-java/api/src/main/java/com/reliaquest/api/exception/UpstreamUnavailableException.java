@@ -0,0 +1,39 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Thrown without calling the upstream while its circuit breaker is open.
+ */
+@Getter
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * {@link #getRetryAfter()} in whole seconds for a {@code Retry-After} header, rounded up so a client does not come
+     * back while the breaker is still open, and at least one.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+    /**
+     * Without a stack trace or suppressed exceptions: while the breaker is open, every call fails this way, and the
+     * trace would only show the breaker turning it away.
+     */
+    public static UpstreamUnavailableException stackless(String message, Duration retryAfter) {
+        return new UpstreamUnavailableException(message, retryAfter, false);
+    }
+
+    private UpstreamUnavailableException(String message, Duration retryAfter, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,199 @@
+package com.reliaquest.api.service;
+
+import static com.reliaquest.api.common.Constants.*;
+
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.config.EmployeeBulkProperties;
+import com.reliaquest.api.dto.BatchLookupResultDTO;
+import com.reliaquest.api.dto.BulkCreateResultDTO;
+import com.reliaquest.api.dto.CreateEmployeeDTO;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.ClientBadRequestException;
+import com.reliaquest.api.exception.ResourceNotFoundException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Creates a batch of employees with a bounded number of upstream creates in flight, instead of one request per
+ * employee. Each create goes through {@link ReactiveEmployeeService#createEmployee}, so it is paced by the upstream
+ * rate limiter, retried by the client like any other create and written through to the snapshot.
+ * <p>
+ * One employee's failure never fails the batch: every employee gets a {@link BulkCreateResultDTO}. Creates that are
+ * held back, by the rate limiter or by the circuit breaker a run of throttled creates may have opened, are retried and
+ * reported as throttled rather than failed.
+ * <p>
+ * Also resolves batches of ids, from the employee listing or by individual GETs, whichever costs fewer upstream calls.
+ */
+@Service
+public class BulkEmployeeService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkEmployeeService.class);
+
+    private final ReactiveEmployeeService employeeService;
+
+    private final EmployeeSnapshotCache employeeSnapshotCache;
+
+    private final Validator validator;
+
+    private final EmployeeBulkProperties props;
+
+    public BulkEmployeeService(
+            final ReactiveEmployeeService employeeService,
+            final EmployeeSnapshotCache employeeSnapshotCache,
+            final Validator validator,
+            final EmployeeBulkProperties props) {
+        this.employeeService = employeeService;
+        this.employeeSnapshotCache = employeeSnapshotCache;
+        this.validator = validator;
+        this.props = props;
+    }
+
+    /**
+     * Validates the whole batch up front, then creates the valid employees. Results are emitted as soon as they are
+     * known: the rejected employees first, in request order, then the others as their creates complete.
+     *
+     * @throws ClientBadRequestException if the batch is empty or larger than {@code employee-bulk.max-batch-size}
+     */
+    public Flux<BulkCreateResultDTO> createEmployees(final List<CreateEmployeeDTO> inputs) {
+        if (inputs == null || inputs.isEmpty()) {
+            throw new ClientBadRequestException("At least one employee is required.");
+        }
+        if (inputs.size() > props.getMaxBatchSize()) {
+            throw new ClientBadRequestException("A batch may hold at most " + props.getMaxBatchSize() + " employees.");
+        }
+
+        List<BulkCreateResultDTO> rejected = new ArrayList<>();
+        List<Integer> accepted = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            Map<String, String> errors = validate(inputs.get(i));
+            if (errors.isEmpty()) {
+                accepted.add(i);
+            } else {
+                rejected.add(new BulkCreateResultDTO(i, BulkCreateResultDTO.Status.REJECTED, 0, null, errors));
+            }
+        }
+        LOGGER.debug("BulkEmployeeService - creating {} employees, {} rejected", accepted.size(), rejected.size());
+
+        return Flux.fromIterable(rejected)
+                .concatWith(Flux.fromIterable(accepted)
+                        .flatMap(index -> create(index, inputs.get(index)), Math.max(1, props.getConcurrency())));
+    }
+
+    /**
+     * Resolves every distinct id of the batch. A warm cache answers any batch without an upstream call; against a cold
+     * cache, a batch of at least {@code lookup.listing-threshold} distinct ids loads the listing once, and a smaller one
+     * gets each id, with at most {@code lookup.concurrency} GETs in flight.
+     *
+     * @throws ClientBadRequestException if the batch is empty, too large or holds an id that is not a UUID
+     */
+    public Mono<BatchLookupResultDTO> lookupEmployees(final List<String> ids) {
+        EmployeeBulkProperties.Lookup lookup = props.getLookup();
+        if (ids == null || ids.isEmpty()) {
+            throw new ClientBadRequestException("At least one employee ID is required.");
+        }
+        if (ids.size() > lookup.getMaxIds()) {
+            throw new ClientBadRequestException("A lookup may hold at most " + lookup.getMaxIds() + " employee IDs.");
+        }
+        for (String id : ids) {
+            validateEmployeeId(id);
+        }
+
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(ids));
+        Flux<EmployeeDTO> employees;
+        if (employeeSnapshotCache.isWarm() || distinct.size() >= lookup.getListingThreshold()) {
+            Set<String> wanted = Set.copyOf(distinct);
+            employees = employeeService.getAllEmployees().filter(employee -> wanted.contains(employee.getId()));
+        } else {
+            employees = Flux.fromIterable(distinct)
+                    .flatMap(
+                            id -> employeeService
+                                    .getEmployeeById(id)
+                                    .onErrorResume(ResourceNotFoundException.class, ex -> Mono.empty()),
+                            Math.max(1, lookup.getConcurrency()));
+        }
+
+        return employees
+                .collectMap(EmployeeDTO::getId)
+                .map(found -> new BatchLookupResultDTO(
+                        distinct.stream()
+                                .map(found::get)
+                                .filter(Objects::nonNull)
+                                .toList(),
+                        distinct.stream().filter(id -> !found.containsKey(id)).toList()));
+    }
+
+    private Mono<BulkCreateResultDTO> create(final int index, final CreateEmployeeDTO input) {
+        AtomicInteger attempts = new AtomicInteger();
+        return Mono.defer(() -> {
+                    attempts.incrementAndGet();
+                    return employeeService.createEmployee(input);
+                })
+                .retryWhen(Retry.backoff(Math.max(0, props.getMaxAttempts() - 1), props.getRetryBackoff())
+                        .filter(BulkEmployeeService::isHeldBack)
+                        // No call gets through an open breaker before its retry-after, so wait that out as well
+                        .doBeforeRetryAsync(signal -> signal.failure() instanceof UpstreamUnavailableException open
+                                ? Mono.delay(open.getRetryAfter()).then()
+                                : Mono.empty())
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .map(employee -> new BulkCreateResultDTO(
+                        index, BulkCreateResultDTO.Status.CREATED, attempts.get(), employee, null))
+                .switchIfEmpty(Mono.fromSupplier(
+                        () -> failed(index, BulkCreateResultDTO.Status.FAILED, attempts.get(), INTERNAL_SERVER_ERROR)))
+                .onErrorResume(ex -> Mono.just(
+                        isHeldBack(ex)
+                                ? failed(index, BulkCreateResultDTO.Status.THROTTLED, attempts.get(), TOO_MANY_REQUESTS)
+                                : failed(index, BulkCreateResultDTO.Status.FAILED, attempts.get(), ex.getMessage())));
+    }
+
+    // Same shape as the single create's 400 body: the summary under "error", then one entry per invalid field
+    private Map<String, String> validate(final CreateEmployeeDTO input) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (input == null) {
+            errors.put("error", "Employee must not be null");
+            return errors;
+        }
+        for (ConstraintViolation<CreateEmployeeDTO> violation : validator.validate(input)) {
+            errors.putIfAbsent("error", VALIDATION_FAILED);
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    // Not sent, or turned away before the upstream did anything with it: worth trying again later
+    private static boolean isHeldBack(final Throwable ex) {
+        return ex instanceof TooManyRequestsException || ex instanceof UpstreamUnavailableException;
+    }
+
+    private static void validateEmployeeId(final String id) {
+        if (id == null || id.isBlank()) {
+            throw new ClientBadRequestException("Employee ID is required");
+        }
+        try {
+            UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            throw new ClientBadRequestException("Employee ID must be a valid UUID");
+        }
+    }
+
+    private static BulkCreateResultDTO failed(
+            final int index, final BulkCreateResultDTO.Status status, final int attempts, final String message) {
+        return new BulkCreateResultDTO(index, status, attempts, null, Map.of("error", String.valueOf(message)));
+    }
+}
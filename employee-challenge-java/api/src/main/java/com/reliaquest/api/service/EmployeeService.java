@@ -2,169 +2,136 @@ package com.reliaquest.api.service;
 
 import static com.reliaquest.api.common.Constants.*;
 
+import com.reliaquest.api.cache.EmployeeNameResolver;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.NameSearchIndex;
+import com.reliaquest.api.cache.ParallelScans;
+import com.reliaquest.api.cache.SalaryIndex;
 import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.EmployeeListingReducer;
 import com.reliaquest.api.dto.CreateEmployeeDTO;
 import com.reliaquest.api.dto.EmployeeDTO;
 import com.reliaquest.api.exception.ResourceNotFoundException;
-import com.reliaquest.api.exception.TooManyRequestsException;
-import com.reliaquest.api.exception.UpstreamServerException;
-import java.util.Collections;
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 @Service
 public class EmployeeService {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeService.class);
-
     private final EmployeeApiClient employeeApiClient;
 
-    public EmployeeService(final EmployeeApiClient employeeApiClient) {
+    private final EmployeeSnapshotCache employeeSnapshotCache;
+
+    private final SalaryIndex salaryIndex;
+
+    private final NameSearchIndex nameSearchIndex;
+
+    private final EmployeeNameResolver employeeNameResolver;
+
+    private final ParallelScans parallelScans;
+
+    private final UpstreamErrorTranslator errorTranslator;
+
+    public EmployeeService(
+            final EmployeeApiClient employeeApiClient,
+            final EmployeeSnapshotCache employeeSnapshotCache,
+            final SalaryIndex salaryIndex,
+            final NameSearchIndex nameSearchIndex,
+            final EmployeeNameResolver employeeNameResolver) {
+        this(
+                employeeApiClient,
+                employeeSnapshotCache,
+                salaryIndex,
+                nameSearchIndex,
+                employeeNameResolver,
+                ParallelScans.sequential(),
+                new UpstreamErrorTranslator());
+    }
+
+    @Autowired
+    public EmployeeService(
+            final EmployeeApiClient employeeApiClient,
+            final EmployeeSnapshotCache employeeSnapshotCache,
+            final SalaryIndex salaryIndex,
+            final NameSearchIndex nameSearchIndex,
+            final EmployeeNameResolver employeeNameResolver,
+            final ParallelScans parallelScans,
+            final UpstreamErrorTranslator errorTranslator) {
         this.employeeApiClient = employeeApiClient;
+        this.employeeSnapshotCache = employeeSnapshotCache;
+        this.salaryIndex = salaryIndex;
+        this.nameSearchIndex = nameSearchIndex;
+        this.employeeNameResolver = employeeNameResolver;
+        this.parallelScans = parallelScans;
+        this.errorTranslator = errorTranslator;
     }
 
     public EmployeeDTO getEmployeeById(final String id) {
-        try {
+        return translatingErrors(() -> {
             EmployeeDTO employee = employeeApiClient.get(
                     GET_EMPLOYEE_BY_ID_URI, new Object[] {id}, new ParameterizedTypeReference<>() {});
+            employeeNameResolver.remember(employee);
             return employee;
-        } catch (WebClientResponseException.NotFound ex) {
-            LOGGER.error(EMPLOYEE_NOT_FOUND, ex);
-            throw new ResourceNotFoundException(EMPLOYEE_NOT_FOUND);
-        } catch (WebClientResponseException.TooManyRequests ex) {
-            LOGGER.error(TOO_MANY_REQUESTS, ex);
-            throw new TooManyRequestsException(TOO_MANY_REQUESTS);
-        } catch (WebClientResponseException ex) {
-            LOGGER.error(ex.getMessage(), ex);
-            throw new UpstreamServerException(
-                    "Upstream error: " + ex.getStatusCode().value(), ex);
-        } catch (Exception ex) {
-            LOGGER.error(INTERNAL_SERVER_ERROR, ex);
-            throw new RuntimeException(INTERNAL_SERVER_ERROR, ex);
-        }
+        });
     }
 
     public List<EmployeeDTO> getAllEmployees() {
-        try {
-            List<EmployeeDTO> employees = employeeApiClient.get(new ParameterizedTypeReference<>() {});
-            return employees;
-        } catch (WebClientResponseException.TooManyRequests ex) {
-            LOGGER.error(TOO_MANY_REQUESTS, ex);
-            throw new TooManyRequestsException(TOO_MANY_REQUESTS);
-        } catch (WebClientResponseException ex) {
-            LOGGER.error(ex.getMessage(), ex);
-            throw new UpstreamServerException(
-                    "Upstream error: " + ex.getStatusCode().value(), ex);
-        } catch (Exception ex) {
-            LOGGER.error(INTERNAL_SERVER_ERROR, ex);
-            throw new RuntimeException(INTERNAL_SERVER_ERROR, ex);
-        }
+        return translatingErrors(() -> employeeSnapshotCache.getSnapshot().employees());
     }
 
     public List<EmployeeDTO> getEmployeesByNameSearch(final String searchString) {
-        try {
-            List<EmployeeDTO> employees = employeeApiClient.get(new ParameterizedTypeReference<>() {});
-
-            if (employees == null) {
-                return Collections.emptyList();
-            }
-
-            String lowerSearch = searchString.toLowerCase();
-
-            return employees.stream()
-                    .filter(e -> e.getEmployeeName() != null
-                            && e.getEmployeeName().toLowerCase().contains(lowerSearch))
-                    .toList();
-        } catch (WebClientResponseException.TooManyRequests ex) {
-            LOGGER.error(TOO_MANY_REQUESTS, ex);
-            throw new TooManyRequestsException(TOO_MANY_REQUESTS);
-        } catch (WebClientResponseException ex) {
-            LOGGER.error(ex.getMessage(), ex);
-            throw new UpstreamServerException(
-                    "Upstream error: " + ex.getStatusCode().value(), ex);
-        } catch (Exception ex) {
-            LOGGER.error(INTERNAL_SERVER_ERROR, ex);
-            throw new RuntimeException(INTERNAL_SERVER_ERROR, ex);
-        }
+        return translatingErrors(() -> searchByName(employeeSnapshotCache.getSnapshot(), searchString));
     }
 
     public Integer getHighestSalaryOfEmployees() {
-        try {
-            List<EmployeeDTO> employees = employeeApiClient.get(new ParameterizedTypeReference<>() {});
-
-            if (employees == null) {
-                return 0;
+        return translatingErrors(() -> {
+            if (!employeeSnapshotCache.isEnabled()) {
+                return employeeApiClient.reduceListing(EmployeeListingReducer::highestSalary);
             }
-
-            return employees.stream()
-                    .map(EmployeeDTO::getEmployeeSalary)
-                    .filter(employeeSalary -> employeeSalary != null)
-                    .max(Integer::compareTo)
-                    .orElse(0);
-        } catch (WebClientResponseException.TooManyRequests ex) {
-            LOGGER.error(TOO_MANY_REQUESTS, ex);
-            throw new TooManyRequestsException(TOO_MANY_REQUESTS);
-        } catch (WebClientResponseException ex) {
-            LOGGER.error(ex.getMessage(), ex);
-            throw new UpstreamServerException(
-                    "Upstream error: " + ex.getStatusCode().value(), ex);
-        } catch (Exception ex) {
-            LOGGER.error(INTERNAL_SERVER_ERROR, ex);
-            throw new RuntimeException(INTERNAL_SERVER_ERROR, ex);
-        }
+            return highestSalary(employeeSnapshotCache.getSnapshot());
+        });
     }
 
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        try {
-            List<EmployeeDTO> employees = employeeApiClient.get(new ParameterizedTypeReference<>() {});
-
-            if (employees == null) {
-                return Collections.emptyList();
+        return translatingErrors(() -> {
+            if (!employeeSnapshotCache.isEnabled()) {
+                return employeeApiClient.reduceListing(() -> EmployeeListingReducer.topEarnerNames(10));
             }
-
-            return employees.stream()
-                    .filter(e -> e.getEmployeeSalary() != null && e.getEmployeeName() != null)
-                    .sorted(Comparator.comparing(EmployeeDTO::getEmployeeSalary).reversed())
-                    .limit(10)
-                    .map(EmployeeDTO::getEmployeeName)
-                    .toList();
-        } catch (WebClientResponseException.TooManyRequests ex) {
-            LOGGER.error(TOO_MANY_REQUESTS, ex);
-            throw new TooManyRequestsException(TOO_MANY_REQUESTS);
-        } catch (WebClientResponseException ex) {
-            LOGGER.error(ex.getMessage(), ex);
-            throw new UpstreamServerException(
-                    "Upstream error: " + ex.getStatusCode().value(), ex);
-        } catch (Exception ex) {
-            LOGGER.error(INTERNAL_SERVER_ERROR, ex);
-            throw new RuntimeException(INTERNAL_SERVER_ERROR, ex);
-        }
+            return topTenHighestEarningNames(employeeSnapshotCache.getSnapshot());
+        });
     }
 
     public EmployeeDTO createEmployee(final CreateEmployeeDTO input) {
-        try {
-            return employeeApiClient.post(input, new ParameterizedTypeReference<>() {});
-        } catch (WebClientResponseException.TooManyRequests ex) {
-            LOGGER.error(TOO_MANY_REQUESTS, ex);
-            throw new TooManyRequestsException(TOO_MANY_REQUESTS);
-        } catch (WebClientResponseException ex) {
-            LOGGER.error(ex.getMessage(), ex);
-            throw new UpstreamServerException(
-                    "Upstream error: " + ex.getStatusCode().value(), ex);
-        } catch (Exception ex) {
-            LOGGER.error(INTERNAL_SERVER_ERROR, ex);
-            throw new RuntimeException(INTERNAL_SERVER_ERROR, ex);
-        }
+        return translatingErrors(() -> {
+            EmployeeDTO employee = employeeApiClient.post(input, new ParameterizedTypeReference<>() {});
+            employeeSnapshotCache.onEmployeeCreated(employee);
+            employeeNameResolver.remember(employee);
+            return employee;
+        });
     }
 
     public String deleteEmployeeById(final String id) {
-        try {
+        return translatingErrors(() -> {
+            // A fresh remembered name saves the lookup; if nobody has that name any more, look the id up after all
+            Optional<String> resolvedName = employeeNameResolver.resolve(id);
+            if (resolvedName.isPresent()) {
+                if (deleteByName(id, resolvedName.get())) {
+                    return resolvedName.get();
+                }
+                employeeNameResolver.forget(id);
+            }
+
             EmployeeDTO employee = employeeApiClient.get(
                     GET_EMPLOYEE_BY_ID_URI, new Object[] {id}, new ParameterizedTypeReference<>() {});
 
@@ -174,21 +141,93 @@ public class EmployeeService {
                 throw new ResourceNotFoundException("Employee with ID " + id + " not found or has no name.");
             }
 
-            Map<String, String> requestBody = Map.of("name", employee.getEmployeeName());
-
-            Boolean deleted = employeeApiClient.delete(requestBody, new ParameterizedTypeReference<>() {});
-
-            return Boolean.TRUE.equals(deleted) ? employee.getEmployeeName() : null;
-        } catch (WebClientResponseException.TooManyRequests ex) {
-            LOGGER.error(TOO_MANY_REQUESTS, ex);
-            throw new TooManyRequestsException(TOO_MANY_REQUESTS);
-        } catch (WebClientResponseException ex) {
-            LOGGER.error(ex.getMessage(), ex);
-            throw new UpstreamServerException(
-                    "Upstream error: " + ex.getStatusCode().value(), ex);
-        } catch (Exception ex) {
-            LOGGER.error(INTERNAL_SERVER_ERROR, ex);
-            throw new RuntimeException(INTERNAL_SERVER_ERROR, ex);
+            if (!deleteByName(id, employee.getEmployeeName())) {
+                return null;
+            }
+            return employee.getEmployeeName();
+        });
+    }
+
+    // Every endpoint fails in api terms: see UpstreamErrorTranslator
+    private <T> T translatingErrors(final Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException ex) {
+            throw errorTranslator.translate(ex);
         }
     }
+
+    private boolean deleteByName(final String id, final String name) {
+        Map<String, String> requestBody = Map.of("name", name);
+
+        Boolean deleted = employeeApiClient.delete(requestBody, new ParameterizedTypeReference<>() {});
+
+        if (!Boolean.TRUE.equals(deleted)) {
+            return false;
+        }
+        employeeSnapshotCache.onEmployeeDeleted(name);
+        employeeNameResolver.forget(id);
+        return true;
+    }
+
+    /*
+     * Queries over a snapshot, shared by the blocking and the reactive request paths. Name and salary queries are
+     * answered from the name search and salary indexes when they reflect the snapshot, and by scanning the listing
+     * otherwise, split across the ParallelScans pool when it is large. Without a cache there is no snapshot worth
+     * keeping, so the salary aggregates are instead reduced straight from the streamed upstream response.
+     */
+
+    /**
+     * {@code query} over {@code snapshot} for the reactive path: a snapshot large enough to be scanned in parallel is
+     * queried on the ParallelScans pool, so the calling thread never waits for its scans.
+     */
+    <R> Mono<R> queryAsync(final EmployeeSnapshot snapshot, final Function<EmployeeSnapshot, R> query) {
+        return parallelScans.async(snapshot.employees().size(), () -> query.apply(snapshot));
+    }
+
+    List<EmployeeDTO> searchByName(final EmployeeSnapshot snapshot, final String searchString) {
+        return nameSearchIndex.search(snapshot, searchString).orElseGet(() -> {
+            String lowerSearch = NameSearchIndex.fold(searchString);
+
+            return parallelScans.filter(
+                    snapshot.employees(),
+                    e -> e.getEmployeeName() != null
+                            && NameSearchIndex.fold(e.getEmployeeName()).contains(lowerSearch));
+        });
+    }
+
+    Integer highestSalary(final EmployeeSnapshot snapshot) {
+        OptionalInt indexed = salaryIndex.highestSalary(snapshot);
+        if (indexed.isPresent()) {
+            return indexed.getAsInt();
+        }
+        List<EmployeeDTO> employees = snapshot.employees();
+        Integer highest = parallelScans.reduce(
+                0,
+                employees.size(),
+                (from, to) -> {
+                    Integer partitionHighest = null;
+                    for (int i = from; i < to; i++) {
+                        Integer salary = employees.get(i).getEmployeeSalary();
+                        if (salary != null && (partitionHighest == null || salary > partitionHighest)) {
+                            partitionHighest = salary;
+                        }
+                    }
+                    return partitionHighest;
+                },
+                (first, second) -> first == null || (second != null && second > first) ? second : first);
+        return highest != null ? highest : 0;
+    }
+
+    List<String> topTenHighestEarningNames(final EmployeeSnapshot snapshot) {
+        return salaryIndex.topEarnerNames(snapshot, 10).orElseGet(() -> parallelScans
+                .top(
+                        snapshot.employees(),
+                        e -> e.getEmployeeSalary() != null && e.getEmployeeName() != null,
+                        Comparator.comparing(EmployeeDTO::getEmployeeSalary).reversed(),
+                        10)
+                .stream()
+                .map(EmployeeDTO::getEmployeeName)
+                .toList());
+    }
 }
@@ -0,0 +1,164 @@
+package com.reliaquest.api.service;
+
+import static com.reliaquest.api.common.Constants.*;
+
+import com.reliaquest.api.cache.EmployeeNameResolver;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.EmployeeListingReducer;
+import com.reliaquest.api.dto.CreateEmployeeDTO;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.ResourceNotFoundException;
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}, used when the api runs in reactive mode. Reads are answered from
+ * the same employee snapshot and the same queries (or, without a cache, the same streamed reductions); nothing on these
+ * paths blocks the calling thread.
+ */
+@Service
+public class ReactiveEmployeeService {
+
+    private final EmployeeApiClient employeeApiClient;
+
+    private final EmployeeSnapshotCache employeeSnapshotCache;
+
+    private final EmployeeService employeeService;
+
+    private final EmployeeNameResolver employeeNameResolver;
+
+    private final UpstreamErrorTranslator errorTranslator;
+
+    public ReactiveEmployeeService(
+            final EmployeeApiClient employeeApiClient,
+            final EmployeeSnapshotCache employeeSnapshotCache,
+            final EmployeeService employeeService,
+            final EmployeeNameResolver employeeNameResolver) {
+        this(
+                employeeApiClient,
+                employeeSnapshotCache,
+                employeeService,
+                employeeNameResolver,
+                new UpstreamErrorTranslator());
+    }
+
+    @Autowired
+    public ReactiveEmployeeService(
+            final EmployeeApiClient employeeApiClient,
+            final EmployeeSnapshotCache employeeSnapshotCache,
+            final EmployeeService employeeService,
+            final EmployeeNameResolver employeeNameResolver,
+            final UpstreamErrorTranslator errorTranslator) {
+        this.employeeApiClient = employeeApiClient;
+        this.employeeSnapshotCache = employeeSnapshotCache;
+        this.employeeService = employeeService;
+        this.employeeNameResolver = employeeNameResolver;
+        this.errorTranslator = errorTranslator;
+    }
+
+    public Mono<EmployeeDTO> getEmployeeById(final String id) {
+        return employeeApiClient
+                .<EmployeeDTO>getAsync(GET_EMPLOYEE_BY_ID_URI, new Object[] {id}, new ParameterizedTypeReference<>() {})
+                .doOnNext(employeeNameResolver::remember)
+                .onErrorMap(errorTranslator::translate);
+    }
+
+    public Flux<EmployeeDTO> getAllEmployees() {
+        return getEmployeeListing().flatMapIterable(employees -> employees);
+    }
+
+    /**
+     * The listing {@link #getAllEmployees()} streams, as one list: the snapshot's own, so it is the same instance for
+     * as long as the snapshot is unchanged.
+     */
+    public Mono<List<EmployeeDTO>> getEmployeeListing() {
+        return employeeSnapshotCache
+                .getSnapshotAsync()
+                .map(EmployeeSnapshot::employees)
+                .onErrorMap(errorTranslator::translate);
+    }
+
+    public Flux<EmployeeDTO> getEmployeesByNameSearch(final String searchString) {
+        return employeeSnapshotCache
+                .getSnapshotAsync()
+                .flatMap(snapshot -> employeeService.queryAsync(
+                        snapshot, queried -> employeeService.searchByName(queried, searchString)))
+                .flatMapIterable(employees -> employees)
+                .onErrorMap(errorTranslator::translate);
+    }
+
+    public Mono<Integer> getHighestSalaryOfEmployees() {
+        if (!employeeSnapshotCache.isEnabled()) {
+            return employeeApiClient
+                    .reduceListingAsync(EmployeeListingReducer::highestSalary)
+                    .onErrorMap(errorTranslator::translate);
+        }
+        return employeeSnapshotCache
+                .getSnapshotAsync()
+                .flatMap(snapshot -> employeeService.queryAsync(snapshot, employeeService::highestSalary))
+                .onErrorMap(errorTranslator::translate);
+    }
+
+    public Flux<String> getTopTenHighestEarningEmployeeNames() {
+        if (!employeeSnapshotCache.isEnabled()) {
+            return employeeApiClient
+                    .reduceListingAsync(() -> EmployeeListingReducer.topEarnerNames(10))
+                    .flatMapIterable(names -> names)
+                    .onErrorMap(errorTranslator::translate);
+        }
+        return employeeSnapshotCache
+                .getSnapshotAsync()
+                .flatMap(snapshot -> employeeService.queryAsync(snapshot, employeeService::topTenHighestEarningNames))
+                .flatMapIterable(names -> names)
+                .onErrorMap(errorTranslator::translate);
+    }
+
+    public Mono<EmployeeDTO> createEmployee(final CreateEmployeeDTO input) {
+        return employeeApiClient
+                .<EmployeeDTO, CreateEmployeeDTO>postAsync(input, new ParameterizedTypeReference<>() {})
+                .doOnNext(employeeSnapshotCache::onEmployeeCreated)
+                .doOnNext(employeeNameResolver::remember)
+                .onErrorMap(errorTranslator::translate);
+    }
+
+    public Mono<String> deleteEmployeeById(final String id) {
+        // Same flow as EmployeeService: a fresh remembered name saves the lookup unless nobody has it any more
+        return Mono.defer(() -> employeeNameResolver
+                        .resolve(id)
+                        .map(name -> deleteByName(id, name).switchIfEmpty(Mono.defer(() -> {
+                            employeeNameResolver.forget(id);
+                            return lookUpAndDelete(id);
+                        })))
+                        .orElseGet(() -> lookUpAndDelete(id)))
+                .onErrorMap(errorTranslator::translate);
+    }
+
+    private Mono<String> lookUpAndDelete(final String id) {
+        return employeeApiClient
+                .<EmployeeDTO>getAsync(GET_EMPLOYEE_BY_ID_URI, new Object[] {id}, new ParameterizedTypeReference<>() {})
+                .filter(employee -> employee.getEmployeeName() != null
+                        && !employee.getEmployeeName().isBlank())
+                .switchIfEmpty(Mono.error(
+                        () -> new ResourceNotFoundException("Employee with ID " + id + " not found or has no name.")))
+                .flatMap(employee -> deleteByName(id, employee.getEmployeeName()));
+    }
+
+    private Mono<String> deleteByName(final String id, final String name) {
+        return employeeApiClient
+                .<Boolean, Map<String, String>>deleteAsync(Map.of("name", name), new ParameterizedTypeReference<>() {})
+                .filter(Boolean.TRUE::equals)
+                .map(deleted -> {
+                    employeeSnapshotCache.onEmployeeDeleted(name);
+                    employeeNameResolver.forget(id);
+                    return name;
+                });
+    }
+}
@@ -0,0 +1,108 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.util.TestDataFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("EmployeeColumns Unit Tests")
+public class EmployeeColumnsTest {
+
+    private long version;
+
+    private EmployeeSnapshot snapshot(List<EmployeeDTO> employees) {
+        return new EmployeeSnapshot(++version, Instant.EPOCH, List.copyOf(employees));
+    }
+
+    private static void assertRows(List<EmployeeDTO> employees, EmployeeColumns columns) {
+        assertEquals(employees.size(), columns.size());
+        for (int row = 0; row < employees.size(); row++) {
+            EmployeeDTO employee = employees.get(row);
+            Integer salary = employee.getEmployeeSalary();
+            Integer age = employee.getEmployeeAge();
+            assertEquals(salary != null ? salary : EmployeeColumns.MISSING, columns.salaries()[row]);
+            assertEquals(age != null ? age : EmployeeColumns.MISSING, columns.ages()[row]);
+            assertEquals(employee.getEmployeeTitle(), columns.title(row));
+            assertSame(employee.getEmployeeName(), columns.name(row));
+            assertSame(employee.getId(), columns.id(row));
+        }
+    }
+
+    @Test
+    @DisplayName("should store missing values as MISSING and each distinct title once")
+    void shouldEncodeColumns() {
+        // Arrange
+        List<EmployeeDTO> employees = List.of(
+                TestDataFactory.getTestEmployeeDTO("a", 100, 30, "Engineer"),
+                TestDataFactory.getTestEmployeeDTO("b", null, null, "Manager"),
+                TestDataFactory.getTestEmployeeDTO("c", 300, 40, null),
+                TestDataFactory.getTestEmployeeDTO("d", 400, 50, new String("Engineer")));
+
+        // Act
+        EmployeeColumns columns = EmployeeColumns.of(snapshot(employees));
+
+        // Assert
+        assertRows(employees, columns);
+        assertEquals(2, columns.titleCount());
+        assertSame(columns.title(0), columns.title(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.name(4));
+    }
+
+    @Test
+    @DisplayName("should follow appends and removes like a rebuild, leaving earlier instances unchanged")
+    void shouldMatchRebuildAcrossWriteThroughs() {
+        // Arrange
+        Random random = new Random(42);
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            employees.add(TestDataFactory.getTestEmployeeDTO(
+                    "employee-" + i, random.nextInt(5) * 1000, 30, "Title " + random.nextInt(5)));
+        }
+        EmployeeColumns columns = EmployeeColumns.of(snapshot(employees));
+
+        for (int step = 0; step < 200; step++) {
+            EmployeeColumns previous = columns;
+            List<EmployeeDTO> before = List.copyOf(employees);
+            int titlesBefore = previous.titleCount();
+
+            // Act
+            if (random.nextBoolean() || employees.isEmpty()) {
+                EmployeeDTO created = TestDataFactory.getTestEmployeeDTO(
+                        "created-" + step, random.nextInt(5) * 1000, 40, "Title " + random.nextInt(30));
+                employees.add(created);
+                columns = columns.withAppended(snapshot(employees), created);
+            } else {
+                EmployeeDTO removed = employees.remove(random.nextInt(employees.size()));
+                columns = columns.withRemoved(snapshot(employees), removed);
+            }
+
+            // Assert
+            assertRows(employees, columns);
+            assertEquals(version, columns.version());
+            assertRows(before, previous);
+            assertEquals(titlesBefore, previous.titleCount());
+        }
+    }
+
+    @Test
+    @DisplayName("should remove the deleted instance's row, not an equal-looking one")
+    void shouldRemoveByIdentity() {
+        // Arrange
+        EmployeeDTO first = TestDataFactory.getTestEmployeeDTO("twin", 100, 30, "Engineer");
+        EmployeeDTO other = TestDataFactory.getTestEmployeeDTO("other", 200, 30, "Engineer");
+        EmployeeDTO second = TestDataFactory.getTestEmployeeDTO("twin", 300, 30, "Engineer");
+        EmployeeColumns columns = EmployeeColumns.of(snapshot(List.of(first, other, second)));
+
+        // Act
+        EmployeeColumns removed = columns.withRemoved(snapshot(List.of(other, second)), first);
+
+        // Assert
+        assertRows(List.of(other, second), removed);
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.util.MutableClock;
+import com.reliaquest.api.util.TestDataFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("EmployeeNameResolver Unit Tests")
+public class EmployeeNameResolverTest {
+
+    private final EmployeeCacheProperties props = new EmployeeCacheProperties();
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    private final EmployeeNameResolver resolver = new EmployeeNameResolver(props, clock);
+
+    @Test
+    @DisplayName("should only resolve a name while it is fresh, counting stale lookups as misses")
+    void shouldExpireNamesAfterTtl() {
+        // Arrange
+        props.getNameResolution().setTtl(Duration.ofSeconds(30));
+        resolver.remember(TestDataFactory.getTestEmployeeDTOWithId("1", "Ada"));
+
+        // Act & Assert
+        clock.advance(Duration.ofSeconds(29));
+        assertEquals(Optional.of("Ada"), resolver.resolve("1"));
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(Optional.empty(), resolver.resolve("1"));
+        assertEquals(0, resolver.size());
+        assertEquals(1, resolver.getHitCount());
+        assertEquals(1, resolver.getMissCount());
+    }
+
+    @Test
+    @DisplayName("should evict the least recently used id once full")
+    void shouldEvictLeastRecentlyUsed() {
+        // Arrange
+        props.getNameResolution().setMaxEntries(2);
+        resolver.remember(TestDataFactory.getTestEmployeeDTOWithId("1", "Ada"));
+        resolver.remember(TestDataFactory.getTestEmployeeDTOWithId("2", "Grace"));
+        resolver.resolve("1");
+
+        // Act
+        resolver.remember(TestDataFactory.getTestEmployeeDTOWithId("3", "Alan"));
+
+        // Assert
+        assertEquals(2, resolver.size());
+        assertEquals(Optional.of("Ada"), resolver.resolve("1"));
+        assertEquals(Optional.empty(), resolver.resolve("2"));
+        assertEquals(Optional.of("Alan"), resolver.resolve("3"));
+    }
+
+    @Test
+    @DisplayName("should replace everything it knows with a fresh listing and forget removed employees")
+    void shouldFollowSnapshot() {
+        // Arrange
+        resolver.remember(TestDataFactory.getTestEmployeeDTOWithId("1", "Ada"));
+        resolver.remember(TestDataFactory.getTestEmployeeDTOWithId("2", "Grace"));
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(
+                1,
+                clock.instant(),
+                List.of(
+                        TestDataFactory.getTestEmployeeDTOWithId("2", "Grace Hopper"),
+                        TestDataFactory.getTestEmployeeDTOWithId("3", "Alan")));
+
+        // Act
+        resolver.onSnapshotLoaded(snapshot);
+        resolver.onEmployeeRemoved(snapshot, TestDataFactory.getTestEmployeeDTOWithId("3", "Alan"));
+
+        // Assert
+        assertEquals(Optional.empty(), resolver.resolve("1"));
+        assertEquals(Optional.of("Grace Hopper"), resolver.resolve("2"));
+        assertEquals(Optional.empty(), resolver.resolve("3"));
+    }
+
+    @Test
+    @DisplayName("should resolve nothing when disabled")
+    void shouldResolveNothing_whenDisabled() {
+        // Arrange
+        props.getNameResolution().setEnabled(false);
+
+        // Act
+        resolver.remember(TestDataFactory.getTestEmployeeDTOWithId("1", "Ada"));
+
+        // Assert
+        assertEquals(Optional.empty(), resolver.resolve("1"));
+        assertEquals(0, resolver.size());
+    }
+}
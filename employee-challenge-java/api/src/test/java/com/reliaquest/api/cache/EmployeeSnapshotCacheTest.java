@@ -0,0 +1,374 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.util.MutableClock;
+import com.reliaquest.api.util.TestDataFactory;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmployeeSnapshotCache Unit Tests")
+public class EmployeeSnapshotCacheTest {
+
+    @Mock
+    private EmployeeApiClient employeeApiClient;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    // Background refreshes are queued here and only run when a test drains them
+    private final Deque<Runnable> pendingRefreshes = new ArrayDeque<>();
+
+    private final EmployeeCacheProperties props = new EmployeeCacheProperties();
+
+    private final List<EmployeeDTO> firstListing = TestDataFactory.getTestEmployeeDTOList(5);
+
+    private final List<EmployeeDTO> secondListing = TestDataFactory.getTestEmployeeDTOList(7);
+
+    private EmployeeSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        props.setTtl(Duration.ofSeconds(30));
+        props.setRefreshAhead(Duration.ofSeconds(20));
+        props.setStaleWhileRevalidate(Duration.ofSeconds(60));
+        cache = new EmployeeSnapshotCache(employeeApiClient, props, clock, pendingRefreshes::add, List.of());
+    }
+
+    private void runPendingRefreshes() {
+        while (!pendingRefreshes.isEmpty()) {
+            pendingRefreshes.poll().run();
+        }
+    }
+
+    @Test
+    @DisplayName("should load once and serve fresh snapshot from memory")
+    void shouldServeFreshSnapshotFromMemory() {
+        // Arrange
+        when(employeeApiClient.get(any())).thenReturn(firstListing);
+
+        // Act
+        EmployeeSnapshot first = cache.getSnapshot();
+        clock.advance(Duration.ofSeconds(10));
+        EmployeeSnapshot second = cache.getSnapshot();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(firstListing, second.employees());
+        assertTrue(pendingRefreshes.isEmpty());
+        verify(employeeApiClient, times(1)).get(any());
+    }
+
+    @Test
+    @DisplayName("should serve current snapshot and refresh in background once refresh-ahead age is reached")
+    void shouldRefreshAheadInBackground() {
+        // Arrange
+        when(employeeApiClient.get(any())).thenReturn(firstListing, secondListing);
+        EmployeeSnapshot first = cache.getSnapshot();
+        clock.advance(Duration.ofSeconds(25));
+
+        // Act
+        EmployeeSnapshot served = cache.getSnapshot();
+        cache.getSnapshot();
+        runPendingRefreshes();
+        EmployeeSnapshot refreshed = cache.getSnapshot();
+
+        // Assert
+        assertSame(first, served);
+        assertEquals(secondListing, refreshed.employees());
+        assertTrue(refreshed.version() > first.version());
+        verify(employeeApiClient, times(2)).get(any());
+    }
+
+    @Test
+    @DisplayName("should serve expired snapshot within stale-while-revalidate window and keep it if refresh fails")
+    void shouldServeStaleWhileRevalidating() {
+        // Arrange
+        when(employeeApiClient.get(any()))
+                .thenReturn(firstListing)
+                .thenThrow(mock(WebClientResponseException.TooManyRequests.class));
+        EmployeeSnapshot first = cache.getSnapshot();
+        clock.advance(Duration.ofSeconds(45));
+
+        // Act
+        EmployeeSnapshot served = cache.getSnapshot();
+        runPendingRefreshes();
+
+        // Assert
+        assertSame(first, served);
+        assertSame(first, cache.getSnapshot());
+    }
+
+    @Test
+    @DisplayName("should block on upstream once snapshot is older than ttl plus stale-while-revalidate")
+    void shouldLoadInForegroundWhenTooStale() {
+        // Arrange
+        when(employeeApiClient.get(any())).thenReturn(firstListing, secondListing);
+        cache.getSnapshot();
+        clock.advance(Duration.ofSeconds(91));
+
+        // Act
+        EmployeeSnapshot snapshot = cache.getSnapshot();
+
+        // Assert
+        assertEquals(secondListing, snapshot.employees());
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    @DisplayName("should write created and deleted employees through to the snapshot with a new version")
+    void shouldWriteThrough() {
+        // Arrange
+        when(employeeApiClient.get(any())).thenReturn(firstListing);
+        EmployeeSnapshot loaded = cache.getSnapshot();
+        EmployeeDTO created = TestDataFactory.getTestEmployeeDTO();
+        EmployeeDTO deleted = firstListing.get(2);
+
+        // Act
+        cache.onEmployeeCreated(created);
+        EmployeeSnapshot afterCreate = cache.getSnapshot();
+        cache.onEmployeeDeleted(deleted.getEmployeeName().toUpperCase());
+        EmployeeSnapshot afterDelete = cache.getSnapshot();
+
+        // Assert
+        assertEquals(created, afterCreate.employees().get(afterCreate.size() - 1));
+        assertEquals(loaded.size() + 1, afterCreate.size());
+        assertFalse(afterDelete.employees().contains(deleted));
+        assertEquals(loaded.size(), afterDelete.size());
+        assertTrue(afterDelete.version() > afterCreate.version() && afterCreate.version() > loaded.version());
+        assertEquals(loaded.fetchedAt(), afterDelete.fetchedAt());
+    }
+
+    @Test
+    @DisplayName("should discard a background refresh that started before a write-through update")
+    void shouldNotLetRefreshOverwriteConcurrentWrite() {
+        // Arrange
+        when(employeeApiClient.get(any())).thenReturn(firstListing, secondListing);
+        cache.getSnapshot();
+        clock.advance(Duration.ofSeconds(25));
+        cache.getSnapshot();
+        EmployeeDTO created = TestDataFactory.getTestEmployeeDTO();
+
+        // Act
+        cache.onEmployeeCreated(created);
+        runPendingRefreshes();
+
+        // Assert
+        assertTrue(cache.getSnapshot().employees().contains(created));
+    }
+
+    @Test
+    @DisplayName("should fetch a cold cache's listing again when a create lands while it is fetched")
+    void shouldNotLetColdLoadDropConcurrentCreate() {
+        // Arrange
+        EmployeeDTO created = TestDataFactory.getTestEmployeeDTO();
+        List<EmployeeDTO> withCreated = new ArrayList<>(firstListing);
+        withCreated.add(created);
+        when(employeeApiClient.get(any()))
+                .thenAnswer(invocation -> {
+                    cache.onEmployeeCreated(created);
+                    return firstListing;
+                })
+                .thenReturn(withCreated);
+
+        // Act
+        EmployeeSnapshot snapshot = cache.getSnapshot();
+
+        // Assert
+        assertEquals(withCreated, snapshot.employees());
+        verify(employeeApiClient, times(2)).get(any());
+    }
+
+    @Test
+    @DisplayName("should keep a delete that lands while an expired snapshot is reloaded")
+    void shouldNotLetForegroundLoadUndoConcurrentDelete() {
+        // Arrange
+        EmployeeDTO deleted = firstListing.get(1);
+        when(employeeApiClient.get(any())).thenReturn(firstListing).thenAnswer(invocation -> {
+            cache.onEmployeeDeleted(deleted.getEmployeeName());
+            return firstListing;
+        });
+        cache.getSnapshot();
+        clock.advance(Duration.ofSeconds(91));
+
+        // Act
+        EmployeeSnapshot snapshot = cache.getSnapshot();
+
+        // Assert
+        assertFalse(snapshot.employees().contains(deleted));
+        assertEquals(firstListing.size() - 1, snapshot.size());
+    }
+
+    @Test
+    @DisplayName(
+            "should share one load between concurrent non-blocking reads of a cold cache, and keep a racing create")
+    void shouldSingleFlightAsyncLoad() {
+        // Arrange
+        Sinks.One<List<EmployeeDTO>> firstFetch = Sinks.one();
+        EmployeeDTO created = TestDataFactory.getTestEmployeeDTO();
+        List<EmployeeDTO> withCreated = new ArrayList<>(firstListing);
+        withCreated.add(created);
+        when(employeeApiClient.<List<EmployeeDTO>>getAsync(any()))
+                .thenReturn(firstFetch.asMono())
+                .thenReturn(Mono.just(withCreated));
+
+        // Act
+        CompletableFuture<EmployeeSnapshot> first = cache.getSnapshotAsync().toFuture();
+        CompletableFuture<EmployeeSnapshot> second = cache.getSnapshotAsync().toFuture();
+        cache.onEmployeeCreated(created);
+        firstFetch.tryEmitValue(firstListing);
+
+        // Assert
+        assertSame(first.join(), second.join());
+        assertEquals(withCreated, first.join().employees());
+        verify(employeeApiClient, times(2)).getAsync(any());
+    }
+
+    @Test
+    @DisplayName("should fetch on every read and retain nothing when disabled")
+    void shouldBypassWhenDisabled() {
+        // Arrange
+        props.setEnabled(false);
+        when(employeeApiClient.get(any())).thenReturn(firstListing);
+
+        // Act
+        cache.getSnapshot();
+        cache.getSnapshot();
+        cache.onEmployeeCreated(TestDataFactory.getTestEmployeeDTO());
+
+        // Assert
+        verify(employeeApiClient, times(2)).get(any());
+    }
+
+    @Test
+    @DisplayName("should serve a restored snapshot whatever its age until a background refresh replaces it")
+    void shouldServeRestoredSnapshotWhileRevalidating(@TempDir Path directory) throws IOException {
+        // Arrange
+        props.getPersistence().setEnabled(true);
+        props.getPersistence().setFile(directory.resolve("snapshot.bin").toString());
+        EmployeeSnapshotFile.write(
+                Path.of(props.getPersistence().getFile()),
+                new EmployeeSnapshot(7, clock.instant().minus(Duration.ofHours(1)), firstListing));
+        EmployeeSnapshotPersistence persistence = new EmployeeSnapshotPersistence(props, clock, null);
+        cache = new EmployeeSnapshotCache(
+                employeeApiClient, props, clock, pendingRefreshes::add, List.of(persistence), persistence);
+        when(employeeApiClient.get(any()))
+                .thenThrow(WebClientResponseException.create(429, "Too Many Requests", null, null, null))
+                .thenReturn(secondListing);
+
+        // Act
+        cache.restorePersisted();
+        EmployeeSnapshot restored = cache.getSnapshot();
+        boolean warmWhileRestored = cache.isWarm();
+        runPendingRefreshes();
+        EmployeeSnapshot afterFailedRefresh = cache.getSnapshot();
+        runPendingRefreshes();
+        EmployeeSnapshot revalidated = cache.getSnapshot();
+
+        // Assert
+        assertEquals(firstListing, restored.employees());
+        assertTrue(warmWhileRestored);
+        assertSame(restored, afterFailedRefresh);
+        assertEquals(secondListing, revalidated.employees());
+        assertEquals(clock.instant(), revalidated.fetchedAt());
+        verify(employeeApiClient, times(2)).get(any());
+    }
+
+    @Test
+    @DisplayName("should keep a cold start when there is nothing usable to restore")
+    void shouldStartColdWithoutPersistedSnapshot(@TempDir Path directory) throws IOException {
+        // Arrange
+        props.getPersistence().setEnabled(true);
+        props.getPersistence().setFile(directory.resolve("snapshot.bin").toString());
+        props.getPersistence().setMaxAge(Duration.ofHours(24));
+        EmployeeSnapshotFile.write(
+                Path.of(props.getPersistence().getFile()),
+                new EmployeeSnapshot(7, clock.instant().minus(Duration.ofDays(2)), firstListing));
+        EmployeeSnapshotPersistence persistence = new EmployeeSnapshotPersistence(props, clock, null);
+        cache = new EmployeeSnapshotCache(
+                employeeApiClient, props, clock, pendingRefreshes::add, List.of(persistence), persistence);
+
+        // Act
+        cache.restorePersisted();
+
+        // Assert
+        assertFalse(cache.isWarm());
+        assertTrue(pendingRefreshes.isEmpty());
+        verifyNoInteractions(employeeApiClient);
+    }
+
+    @Test
+    @DisplayName("should queue listener events and deliver them in order on the listener executor, not the writer")
+    void shouldDeliverListenerEventsOffTheWriter() {
+        // Arrange
+        Deque<Runnable> pendingDeliveries = new ArrayDeque<>();
+        List<String> events = new ArrayList<>();
+        EmployeeSnapshotListener recorder = new EmployeeSnapshotListener() {
+            @Override
+            public void onSnapshotLoaded(EmployeeSnapshot snapshot) {
+                events.add("loaded " + snapshot.size());
+            }
+
+            @Override
+            public void onEmployeeAdded(EmployeeSnapshot snapshot, EmployeeDTO employee) {
+                events.add("added " + snapshot.size());
+            }
+
+            @Override
+            public void onEmployeeRemoved(EmployeeSnapshot snapshot, EmployeeDTO employee) {
+                events.add("removed " + snapshot.size());
+            }
+
+            @Override
+            public void onInvalidated() {
+                events.add("invalidated");
+            }
+        };
+        cache = new EmployeeSnapshotCache(
+                employeeApiClient,
+                props,
+                clock,
+                pendingRefreshes::add,
+                pendingDeliveries::add,
+                List.of(recorder),
+                null);
+        when(employeeApiClient.get(any())).thenReturn(firstListing);
+        EmployeeDTO created = TestDataFactory.getTestEmployeeDTOList(1).get(0);
+
+        // Act
+        cache.getSnapshot();
+        cache.onEmployeeCreated(created);
+        cache.onEmployeeDeleted(firstListing.get(0).getEmployeeName());
+        cache.invalidate();
+        List<String> beforeDelivery = List.copyOf(events);
+        while (!pendingDeliveries.isEmpty()) {
+            pendingDeliveries.poll().run();
+        }
+
+        // Assert
+        assertEquals(List.of(), beforeDelivery);
+        assertEquals(List.of("loaded 5", "added 6", "removed 5", "invalidated"), events);
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.util.TestDataFactory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("EmployeeSnapshotFile Unit Tests")
+public class EmployeeSnapshotFileTest {
+
+    private static final Instant FETCHED_AT = Instant.parse("2024-01-01T00:00:00.123Z");
+
+    @TempDir
+    private Path directory;
+
+    private Path file() {
+        return directory.resolve("snapshots").resolve("employee-snapshot.bin");
+    }
+
+    private static EmployeeSnapshot snapshot(List<EmployeeDTO> employees) {
+        return new EmployeeSnapshot(3, FETCHED_AT, List.copyOf(employees));
+    }
+
+    @Test
+    @DisplayName("should read back exactly what was written, including nulls, non-UUID ids and non-ASCII text")
+    void shouldRoundTrip() throws IOException {
+        // Arrange
+        List<EmployeeDTO> employees = new ArrayList<>(TestDataFactory.getTestEmployeeDTOList(20));
+        employees.add(new EmployeeDTO(null, null, null, null, null, null));
+        employees.add(new EmployeeDTO("not-a-uuid", "Zoë Łukasiewicz", 0, 16, "Ingénieur", "zoë@example.com"));
+        employees.add(new EmployeeDTO("8A9D0A6E-1B1F-4C39-9E0B-6C2B1F0E9A11", "", -5, 99, "", ""));
+
+        // Act
+        EmployeeSnapshotFile.write(file(), snapshot(employees));
+        EmployeeSnapshotFile.Contents contents =
+                EmployeeSnapshotFile.read(file()).orElseThrow();
+
+        // Assert
+        assertEquals(FETCHED_AT, contents.fetchedAt());
+        assertEquals(employees, contents.employees());
+        assertFalse(Files.exists(file().resolveSibling("employee-snapshot.bin.partial")));
+    }
+
+    @Test
+    @DisplayName("should replace an earlier file and share one instance per distinct title")
+    void shouldReplaceAndShareTitles() throws IOException {
+        // Arrange
+        EmployeeSnapshotFile.write(file(), snapshot(TestDataFactory.getTestEmployeeDTOList(50)));
+        List<EmployeeDTO> employees = List.of(
+                new EmployeeDTO("a", "A", 1, 30, new String("Engineer"), "a@company.com"),
+                new EmployeeDTO("b", "B", 2, 30, new String("Engineer"), "b@company.com"));
+
+        // Act
+        EmployeeSnapshotFile.write(file(), snapshot(employees));
+        List<EmployeeDTO> read = EmployeeSnapshotFile.read(file()).orElseThrow().employees();
+
+        // Assert
+        assertEquals(employees, read);
+        assertSame(read.get(0).getEmployeeTitle(), read.get(1).getEmployeeTitle());
+    }
+
+    @Test
+    @DisplayName("should create the file and its directory accessible to their owner only")
+    void shouldWriteOwnerOnly() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+
+        // Act
+        EmployeeSnapshotFile.write(file(), snapshot(TestDataFactory.getTestEmployeeDTOList(3)));
+
+        // Assert
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(file()));
+        assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(file().getParent()));
+    }
+
+    @Test
+    @DisplayName("should find nothing when there is no file")
+    void shouldReadNothingWithoutFile() throws IOException {
+        // Act & Assert
+        assertTrue(EmployeeSnapshotFile.read(file()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("should reject a file with a flipped payload byte, a truncated one and one of another format version")
+    void shouldRejectDamagedFiles() throws IOException {
+        // Arrange
+        EmployeeSnapshotFile.write(file(), snapshot(TestDataFactory.getTestEmployeeDTOList(10)));
+        byte[] intact = Files.readAllBytes(file());
+
+        byte[] flipped = intact.clone();
+        flipped[intact.length / 2] ^= 1;
+        byte[] truncated = Arrays.copyOf(intact, intact.length - 7);
+        byte[] otherVersion = intact.clone();
+        ByteBuffer.wrap(otherVersion).putInt(4, EmployeeSnapshotFile.FORMAT_VERSION + 1);
+        byte[] notSnapshot = "{\"employees\": []}".getBytes();
+
+        for (byte[] damaged : List.of(flipped, truncated, otherVersion, notSnapshot)) {
+            // Act
+            Files.write(file(), damaged);
+
+            // Assert
+            assertThrows(IOException.class, () -> EmployeeSnapshotFile.read(file()));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.util.MutableClock;
+import com.reliaquest.api.util.TestDataFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("EmployeeSnapshotPersistence Unit Tests")
+public class EmployeeSnapshotPersistenceTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    private final EmployeeCacheProperties props = new EmployeeCacheProperties();
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+
+    private EmployeeSnapshotPersistence persistence;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("employee-snapshot.bin");
+        props.getPersistence().setEnabled(true);
+        props.getPersistence().setFile(file.toString());
+        props.getPersistence().setMaxAge(Duration.ofHours(1));
+        persistence = new EmployeeSnapshotPersistence(props, clock, null);
+    }
+
+    private EmployeeSnapshot snapshot(long version, List<EmployeeDTO> employees) {
+        return new EmployeeSnapshot(version, clock.instant(), employees);
+    }
+
+    @Test
+    @DisplayName("should write the latest snapshot only when it changed, and restore it")
+    void shouldPersistLatestAndRestore() throws IOException {
+        // Arrange
+        List<EmployeeDTO> employees = TestDataFactory.getTestEmployeeDTOList(5);
+        EmployeeDTO created = TestDataFactory.getTestEmployeeDTO();
+        EmployeeSnapshot loaded = snapshot(1, employees);
+        List<EmployeeDTO> withCreated = new ArrayList<>(employees);
+        withCreated.add(created);
+        EmployeeSnapshot afterCreate = snapshot(2, List.copyOf(withCreated));
+
+        // Act
+        persistence.onSnapshotLoaded(loaded);
+        persistence.persist();
+        boolean writtenOnLoad = Files.exists(file);
+        Files.delete(file);
+        persistence.persist();
+        boolean rewrittenUnchanged = Files.exists(file);
+        persistence.onEmployeeAdded(afterCreate, created);
+        persistence.persist();
+
+        // Assert
+        assertTrue(writtenOnLoad);
+        assertFalse(rewrittenUnchanged);
+        EmployeeSnapshotFile.Contents restored = persistence.restore().orElseThrow();
+        assertEquals(afterCreate.employees(), restored.employees());
+        assertEquals(afterCreate.fetchedAt(), restored.fetchedAt());
+    }
+
+    @Test
+    @DisplayName("should not restore a snapshot older than max-age, a damaged file, or anything when disabled")
+    void shouldNotRestoreUnusableSnapshots() throws IOException {
+        // Arrange
+        persistence.onSnapshotLoaded(snapshot(1, TestDataFactory.getTestEmployeeDTOList(3)));
+        persistence.persist();
+
+        // Act & Assert
+        assertTrue(persistence.restore().isPresent());
+        clock.advance(Duration.ofHours(2));
+        assertTrue(persistence.restore().isEmpty());
+
+        clock.advance(Duration.ofHours(-2));
+        Files.write(file, new byte[] {1, 2, 3});
+        assertTrue(persistence.restore().isEmpty());
+
+        props.getPersistence().setEnabled(false);
+        persistence.onSnapshotLoaded(snapshot(2, TestDataFactory.getTestEmployeeDTOList(3)));
+        persistence.persist();
+        assertTrue(persistence.restore().isEmpty());
+    }
+
+    @Test
+    @DisplayName("should stay off while no file is configured, even when enabled")
+    void shouldStayOffWithoutFile() {
+        // Arrange
+        props.getPersistence().setFile(null);
+
+        // Act & Assert
+        assertFalse(props.getPersistence().isEnabled());
+        assertTrue(persistence.restore().isEmpty());
+    }
+}
@@ -0,0 +1,171 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.util.TestDataFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NameSearchIndex Unit Tests")
+public class NameSearchIndexTest {
+
+    private static final List<String> QUERIES =
+            List.of("", "a", "Al", "ali", "ALICE", "bob", "o b", "son", "smith", "zz", "ob sm", "xyz", "e j");
+
+    private final NameSearchIndex nameSearchIndex = new NameSearchIndex();
+
+    private long version;
+
+    private EmployeeSnapshot snapshot(List<EmployeeDTO> employees) {
+        return new EmployeeSnapshot(++version, Instant.EPOCH, List.copyOf(employees));
+    }
+
+    @Test
+    @DisplayName("should match the scan for short, mixed-case and multi-word queries, skipping unnamed employees")
+    void shouldMatchScan() {
+        // Arrange
+        List<EmployeeDTO> employees = List.of(
+                TestDataFactory.getTestEmployeeDTO("Alice Johnson"),
+                TestDataFactory.getTestEmployeeDTO(null),
+                TestDataFactory.getTestEmployeeDTO("Bob Smith"),
+                TestDataFactory.getTestEmployeeDTO("Bobby Brown"),
+                TestDataFactory.getTestEmployeeDTO("JOHN KING"),
+                TestDataFactory.getTestEmployeeDTO("Al"));
+        EmployeeSnapshot snapshot = snapshot(employees);
+
+        // Act
+        nameSearchIndex.onSnapshotLoaded(snapshot);
+
+        // Assert
+        for (String query : QUERIES) {
+            assertEquals(
+                    TestDataFactory.getEmployeesByNameSearch(employees, query),
+                    nameSearchIndex.search(snapshot, query).orElseThrow(),
+                    query);
+        }
+    }
+
+    @Test
+    @DisplayName("should give the same results when scans and verifications are split across a fork-join pool")
+    void shouldMatchScanWhenParallel() {
+        // Arrange
+        EmployeeCacheProperties props = new EmployeeCacheProperties();
+        props.getParallel().setParallelism(4);
+        props.getParallel().setThreshold(1_000);
+        ParallelScans scans = new ParallelScans(props);
+        NameSearchIndex parallelIndex = new NameSearchIndex(scans);
+        String[] first = {"Alice", "Bob", "Carla", "Dev"};
+        String[] last = {"Johnson", "Smith", "Brown", "Okafor"};
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (int i = 0; i < 60_000; i++) {
+            employees.add(TestDataFactory.getTestEmployeeDTO(
+                    i % 97 == 0 ? null : first[i % 4] + " " + last[(i / 4) % 4] + " " + i));
+        }
+        EmployeeSnapshot snapshot = snapshot(employees);
+
+        try {
+            // Act
+            parallelIndex.onSnapshotLoaded(snapshot);
+
+            // Assert - short queries scan every name, the others verify a broad candidate list
+            for (String query : List.of("a", "Al", "son", "bob smith", "smith 12", "ice")) {
+                assertEquals(
+                        TestDataFactory.getEmployeesByNameSearch(employees, query),
+                        parallelIndex.search(snapshot, query).orElseThrow(),
+                        query);
+            }
+        } finally {
+            scans.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("should verify candidates that share every trigram of the query without containing it")
+    void shouldRejectTrigramFalsePositives() {
+        // Arrange - "abcxbcd" holds "abc" and "bcd" but not "abcd"
+        EmployeeDTO lookalike = TestDataFactory.getTestEmployeeDTO("abcxbcd");
+        EmployeeDTO match = TestDataFactory.getTestEmployeeDTO("xabcdx");
+        EmployeeSnapshot snapshot = snapshot(List.of(lookalike, match));
+        nameSearchIndex.onSnapshotLoaded(snapshot);
+
+        // Act & Assert
+        assertEquals(List.of(match), nameSearchIndex.search(snapshot, "ABCD").orElseThrow());
+    }
+
+    @Test
+    @DisplayName("should follow creates and deletes exactly like a rescan of the resulting listing")
+    void shouldMatchScanAcrossWriteThroughs() {
+        // Arrange
+        Random random = new Random(42);
+        String[] parts = {"Alice", "Bob", "Smith", "Johnson", "Bobby", "al", "SON", "Brown"};
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(TestDataFactory.getTestEmployeeDTO(
+                    parts[random.nextInt(parts.length)] + " " + parts[random.nextInt(parts.length)]));
+        }
+        nameSearchIndex.onSnapshotLoaded(snapshot(employees));
+
+        for (int step = 0; step < 300; step++) {
+            // Act
+            EmployeeSnapshot snapshot;
+            if (random.nextBoolean() || employees.isEmpty()) {
+                EmployeeDTO created = TestDataFactory.getTestEmployeeDTO(
+                        parts[random.nextInt(parts.length)] + " " + parts[random.nextInt(parts.length)]);
+                employees.add(created);
+                snapshot = snapshot(employees);
+                nameSearchIndex.onEmployeeAdded(snapshot, created);
+            } else {
+                EmployeeDTO removed = employees.remove(random.nextInt(employees.size()));
+                snapshot = snapshot(employees);
+                nameSearchIndex.onEmployeeRemoved(snapshot, removed);
+            }
+
+            // Assert
+            String query = QUERIES.get(random.nextInt(QUERIES.size()));
+            assertEquals(
+                    TestDataFactory.getEmployeesByNameSearch(employees, query),
+                    nameSearchIndex.search(snapshot, query).orElseThrow(),
+                    query);
+        }
+    }
+
+    @Test
+    @DisplayName("should remove the deleted instance, not an equal-looking one")
+    void shouldRemoveByIdentity() {
+        // Arrange
+        EmployeeDTO first = TestDataFactory.getTestEmployeeDTO("twin");
+        EmployeeDTO second = TestDataFactory.getTestEmployeeDTO("twin");
+        EmployeeDTO other = TestDataFactory.getTestEmployeeDTO("other twin");
+        nameSearchIndex.onSnapshotLoaded(snapshot(List.of(first, other, second)));
+
+        // Act
+        EmployeeSnapshot snapshot = snapshot(List.of(first, other));
+        nameSearchIndex.onEmployeeRemoved(snapshot, second);
+
+        // Assert
+        List<EmployeeDTO> result = nameSearchIndex.search(snapshot, "twin").orElseThrow();
+        assertEquals(2, result.size());
+        assertSame(first, result.get(0));
+        assertSame(other, result.get(1));
+    }
+
+    @Test
+    @DisplayName("should answer nothing for a snapshot version it does not reflect")
+    void shouldNotAnswerForOtherVersions() {
+        // Arrange
+        List<EmployeeDTO> employees = TestDataFactory.getTestEmployeeDTOList(5);
+        EmployeeSnapshot indexed = snapshot(employees);
+        nameSearchIndex.onSnapshotLoaded(indexed);
+
+        // Act & Assert
+        assertTrue(nameSearchIndex.search(snapshot(employees), "a").isEmpty());
+        nameSearchIndex.onInvalidated();
+        assertTrue(nameSearchIndex.search(indexed, "a").isEmpty());
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ParallelScans Unit Tests")
+public class ParallelScansTest {
+
+    private static final int ROWS = 100_000;
+
+    private final EmployeeCacheProperties props = new EmployeeCacheProperties();
+
+    private ParallelScans parallelScans;
+
+    private List<Integer> items;
+
+    @BeforeEach
+    void setUp() {
+        props.getParallel().setParallelism(4);
+        props.getParallel().setThreshold(10_000);
+        parallelScans = new ParallelScans(props);
+        // Few distinct values, so top-k has many ties to break
+        Random random = new Random(42);
+        items = IntStream.range(0, ROWS).map(i -> random.nextInt(1_000)).boxed().toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelScans.shutdown();
+    }
+
+    @Test
+    @DisplayName("should split a scan above the threshold across the pool's workers and merge in row order")
+    void shouldSplitLargeScans() {
+        // Arrange
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // Act
+        int[] rows = parallelScans.reduce(
+                0,
+                ROWS,
+                (from, to) -> {
+                    threads.add(Thread.currentThread().getName());
+                    return IntStream.range(from, to).toArray();
+                },
+                ParallelScans::concat);
+
+        // Assert
+        assertArrayEquals(IntStream.range(0, ROWS).toArray(), rows);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("employee-scan-")), threads::toString);
+    }
+
+    @Test
+    @DisplayName("should scan below the threshold, or when disabled, on the calling thread")
+    void shouldScanSmallOnCaller() {
+        // Arrange
+        props.getParallel().setEnabled(false);
+        ParallelScans disabled = new ParallelScans(props);
+        String caller = Thread.currentThread().getName();
+
+        // Act
+        String small = parallelScans.reduce(
+                0, 9_999, (from, to) -> Thread.currentThread().getName(), (a, b) -> a);
+        String large =
+                disabled.reduce(0, ROWS, (from, to) -> Thread.currentThread().getName(), (a, b) -> a);
+
+        // Assert
+        assertEquals(caller, small);
+        assertEquals(caller, large);
+    }
+
+    @Test
+    @DisplayName(
+            "should run a large query on a pool worker without blocking the caller, and a small one on subscription")
+    void shouldRunAsyncQueryOnPool() {
+        // Arrange
+        String caller = Thread.currentThread().getName();
+
+        // Act
+        String large = parallelScans
+                .async(ROWS, () -> Thread.currentThread().getName())
+                .block();
+        String small = parallelScans
+                .async(9_999, () -> Thread.currentThread().getName())
+                .block();
+
+        // Assert
+        assertNotNull(large);
+        assertTrue(large.startsWith("employee-scan-"), large);
+        assertEquals(caller, small);
+    }
+
+    @Test
+    @DisplayName("should filter and rank exactly like a sequential stream, ties in list order")
+    void shouldMatchSequentialStreams() {
+        // Arrange
+        Comparator<Integer> highestFirst = Comparator.<Integer>naturalOrder().reversed();
+        // Identity tells tied items apart: the top values lie beyond the Integer cache, so each is its own object
+        List<Integer> expectedTop = items.stream()
+                .filter(item -> item % 3 != 0)
+                .sorted(highestFirst)
+                .limit(50)
+                .toList();
+
+        // Act
+        List<Integer> filtered = parallelScans.filter(items, item -> item % 7 == 0);
+        List<Integer> top = parallelScans.top(items, item -> item % 3 != 0, highestFirst, 50);
+
+        // Assert
+        assertEquals(items.stream().filter(item -> item % 7 == 0).toList(), filtered);
+        assertEquals(expectedTop.size(), top.size());
+        for (int i = 0; i < top.size(); i++) {
+            assertSame(expectedTop.get(i), top.get(i), "rank " + i);
+        }
+        assertEquals(List.of(), parallelScans.top(items, item -> true, highestFirst, 0));
+    }
+}
@@ -0,0 +1,244 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.util.TestDataFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SalaryIndex Unit Tests")
+public class SalaryIndexTest {
+
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+
+    private long version;
+
+    private EmployeeSnapshot snapshot(List<EmployeeDTO> employees) {
+        return new EmployeeSnapshot(++version, Instant.EPOCH, List.copyOf(employees));
+    }
+
+    @Test
+    @DisplayName("should keep duplicate salaries in listing order and apply the scan's null filters")
+    void shouldMatchScanWithTiesAndNulls() {
+        // Arrange
+        List<EmployeeDTO> employees = List.of(
+                TestDataFactory.getTestEmployeeDTO("a", 100),
+                TestDataFactory.getTestEmployeeDTO(null, 500),
+                TestDataFactory.getTestEmployeeDTO("b", 300),
+                TestDataFactory.getTestEmployeeDTO("c", null),
+                TestDataFactory.getTestEmployeeDTO("d", 300),
+                TestDataFactory.getTestEmployeeDTO("e", 100));
+        EmployeeSnapshot snapshot = snapshot(employees);
+
+        // Act
+        salaryIndex.onSnapshotLoaded(snapshot);
+
+        // Assert
+        assertEquals(
+                List.of("b", "d", "a", "e"),
+                salaryIndex.topEarnerNames(snapshot, 10).orElseThrow());
+        assertEquals(
+                TestDataFactory.getTopTenHighestEarningEmployeeNames(employees),
+                salaryIndex.topEarnerNames(snapshot, 10).orElseThrow());
+        assertEquals(500, salaryIndex.highestSalary(snapshot).getAsInt());
+    }
+
+    @Test
+    @DisplayName("should follow creates and deletes exactly like a rescan of the resulting listing")
+    void shouldMatchScanAcrossWriteThroughs() {
+        // Arrange
+        Random random = new Random(42);
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            // Narrow salary range so ties are common
+            employees.add(TestDataFactory.getTestEmployeeDTO("employee-" + i, random.nextInt(20) * 1000));
+        }
+        salaryIndex.onSnapshotLoaded(snapshot(employees));
+
+        for (int step = 0; step < 300; step++) {
+            // Act
+            EmployeeSnapshot snapshot;
+            if (random.nextBoolean() || employees.isEmpty()) {
+                EmployeeDTO created = TestDataFactory.getTestEmployeeDTO("created-" + step, random.nextInt(25) * 1000);
+                employees.add(created);
+                snapshot = snapshot(employees);
+                salaryIndex.onEmployeeAdded(snapshot, created);
+            } else {
+                EmployeeDTO removed = employees.remove(random.nextInt(employees.size()));
+                snapshot = snapshot(employees);
+                salaryIndex.onEmployeeRemoved(snapshot, removed);
+            }
+
+            // Assert
+            assertEquals(
+                    TestDataFactory.getTopTenHighestEarningEmployeeNames(employees),
+                    salaryIndex.topEarnerNames(snapshot, 10).orElseThrow());
+            assertEquals(
+                    TestDataFactory.getHighestSalary(employees),
+                    salaryIndex.highestSalary(snapshot).getAsInt());
+        }
+    }
+
+    @Test
+    @DisplayName("should keep the top earners on writes and rank again only when a ranked employee leaves")
+    void shouldMaintainRankingOnWrites() {
+        // Arrange
+        AtomicInteger rankings = new AtomicInteger();
+        SalaryKernel scalar = SalaryKernels.scalar();
+        SalaryKernel counting = new SalaryKernel() {
+            @Override
+            public int max(int[] values, int from, int to) {
+                return scalar.max(values, from, to);
+            }
+
+            @Override
+            public int count(int[] values, int from, int to, int min, int max) {
+                return scalar.count(values, from, to, min, max);
+            }
+
+            @Override
+            public int[] rowsInRange(int[] values, int from, int to, int min, int max) {
+                return scalar.rowsInRange(values, from, to, min, max);
+            }
+
+            @Override
+            public int[] topRows(int[] values, int from, int to, int limit, IntPredicate eligible) {
+                rankings.incrementAndGet();
+                return scalar.topRows(values, from, to, limit, eligible);
+            }
+
+            @Override
+            public String name() {
+                return "counting";
+            }
+        };
+        SalaryIndex countingIndex = new SalaryIndex(counting);
+        List<EmployeeDTO> employees = new ArrayList<>(TestDataFactory.getTestEmployeeDTOList(20));
+        EmployeeSnapshot snapshot = snapshot(employees);
+        countingIndex.onSnapshotLoaded(snapshot);
+        countingIndex.topEarnerNames(snapshot, 10);
+
+        // Act
+        EmployeeDTO created = TestDataFactory.getTestEmployeeDTO("created", Integer.MAX_VALUE);
+        employees.add(created);
+        snapshot = snapshot(employees);
+        countingIndex.onEmployeeAdded(snapshot, created);
+        List<String> afterCreate = countingIndex.topEarnerNames(snapshot, 10).orElseThrow();
+        EmployeeDTO unranked = employees.stream()
+                .filter(e -> !TestDataFactory.getTopTenHighestEarningEmployeeNames(employees)
+                        .contains(e.getEmployeeName()))
+                .findFirst()
+                .orElseThrow();
+        employees.remove(unranked);
+        snapshot = snapshot(employees);
+        countingIndex.onEmployeeRemoved(snapshot, unranked);
+        List<String> afterUnrankedDelete =
+                countingIndex.topEarnerNames(snapshot, 10).orElseThrow();
+        int rankingsBeforeRankedDelete = rankings.get();
+        employees.remove(created);
+        snapshot = snapshot(employees);
+        countingIndex.onEmployeeRemoved(snapshot, created);
+        List<String> afterRankedDelete =
+                countingIndex.topEarnerNames(snapshot, 10).orElseThrow();
+
+        // Assert
+        assertEquals(1, rankingsBeforeRankedDelete);
+        assertEquals(2, rankings.get());
+        assertEquals("created", afterCreate.get(0));
+        assertEquals(afterCreate, afterUnrankedDelete);
+        assertEquals(TestDataFactory.getTopTenHighestEarningEmployeeNames(employees), afterRankedDelete);
+    }
+
+    @Test
+    @DisplayName("should remove the deleted instance, not an equal-looking one")
+    void shouldRemoveByIdentity() {
+        // Arrange
+        EmployeeDTO first = TestDataFactory.getTestEmployeeDTO("twin", 100);
+        EmployeeDTO second = TestDataFactory.getTestEmployeeDTO("twin", 100);
+        EmployeeDTO other = TestDataFactory.getTestEmployeeDTO("other", 100);
+        salaryIndex.onSnapshotLoaded(snapshot(List.of(first, other, second)));
+
+        // Act
+        EmployeeSnapshot snapshot = snapshot(List.of(first, other));
+        salaryIndex.onEmployeeRemoved(snapshot, second);
+
+        // Assert
+        assertEquals(
+                List.of("twin", "other"),
+                salaryIndex.topEarnerNames(snapshot, 10).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("should answer salary ranges in listing order, without employees that have no salary")
+    void shouldAnswerSalaryRanges() {
+        // Arrange
+        EmployeeDTO low = TestDataFactory.getTestEmployeeDTO("low", 100);
+        EmployeeDTO none = TestDataFactory.getTestEmployeeDTO("none", null);
+        EmployeeDTO mid = TestDataFactory.getTestEmployeeDTO("mid", 500);
+        EmployeeDTO high = TestDataFactory.getTestEmployeeDTO("high", 900);
+        EmployeeDTO midToo = TestDataFactory.getTestEmployeeDTO("mid-too", 500);
+        EmployeeSnapshot snapshot = snapshot(List.of(low, none, mid, high, midToo));
+        salaryIndex.onSnapshotLoaded(snapshot);
+
+        // Act & Assert
+        assertEquals(
+                List.of(mid, midToo),
+                salaryIndex.employeesInSalaryRange(snapshot, 500, 500).orElseThrow());
+        assertEquals(
+                List.of(low, mid, high, midToo),
+                salaryIndex
+                        .employeesInSalaryRange(snapshot, Integer.MIN_VALUE, Integer.MAX_VALUE)
+                        .orElseThrow());
+        assertEquals(
+                List.of(),
+                salaryIndex.employeesInSalaryRange(snapshot, 600, 800).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("should give the same answers with the scalar kernel")
+    void shouldMatchWithScalarKernel() {
+        // Arrange
+        SalaryIndex scalarIndex = new SalaryIndex(SalaryKernels.scalar());
+        List<EmployeeDTO> employees = TestDataFactory.getTestEmployeeDTOList(50);
+        EmployeeSnapshot snapshot = snapshot(employees);
+        salaryIndex.onSnapshotLoaded(snapshot);
+        scalarIndex.onSnapshotLoaded(snapshot);
+
+        // Act & Assert
+        assertEquals(
+                TestDataFactory.getTopTenHighestEarningEmployeeNames(employees),
+                scalarIndex.topEarnerNames(snapshot, 10).orElseThrow());
+        assertEquals(salaryIndex.topEarnerNames(snapshot, 10), scalarIndex.topEarnerNames(snapshot, 10));
+        assertEquals(
+                TestDataFactory.getHighestSalary(employees),
+                scalarIndex.highestSalary(snapshot).getAsInt());
+        assertEquals(
+                salaryIndex.employeesInSalaryRange(snapshot, 50_000, 100_000),
+                scalarIndex.employeesInSalaryRange(snapshot, 50_000, 100_000));
+    }
+
+    @Test
+    @DisplayName("should answer nothing for a snapshot version it does not reflect")
+    void shouldNotAnswerForOtherVersions() {
+        // Arrange
+        List<EmployeeDTO> employees = TestDataFactory.getTestEmployeeDTOList(5);
+        EmployeeSnapshot indexed = snapshot(employees);
+        salaryIndex.onSnapshotLoaded(indexed);
+
+        // Act & Assert
+        assertTrue(salaryIndex.topEarnerNames(snapshot(employees), 10).isEmpty());
+        assertTrue(salaryIndex.highestSalary(snapshot(employees)).isEmpty());
+        assertTrue(salaryIndex
+                .employeesInSalaryRange(snapshot(employees), 0, Integer.MAX_VALUE)
+                .isEmpty());
+        salaryIndex.onInvalidated();
+        assertTrue(salaryIndex.highestSalary(indexed).isEmpty());
+    }
+}
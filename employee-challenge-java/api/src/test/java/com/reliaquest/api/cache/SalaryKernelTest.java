@@ -0,0 +1,134 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SalaryKernel Unit Tests")
+public class SalaryKernelTest {
+
+    private static List<SalaryKernel> kernels() {
+        List<SalaryKernel> kernels = new ArrayList<>(List.of(SalaryKernels.scalar()));
+        SalaryKernels.vectorized().ifPresent(kernels::add);
+        return kernels;
+    }
+
+    // The straightforward answers the kernels must give
+    private static int referenceMax(int[] values, int from, int to) {
+        return IntStream.range(from, to).map(row -> values[row]).max().orElse(EmployeeColumns.MISSING);
+    }
+
+    private static int[] referenceRowsInRange(int[] values, int from, int to, int min, int max) {
+        return IntStream.range(from, to)
+                .filter(row -> values[row] != EmployeeColumns.MISSING && values[row] >= min && values[row] <= max)
+                .toArray();
+    }
+
+    private static int[] referenceTopRows(int[] values, int from, int to, int limit, IntPredicate eligible) {
+        return IntStream.range(from, to)
+                .filter(row -> values[row] != EmployeeColumns.MISSING && eligible.test(row))
+                .boxed()
+                .sorted(Comparator.comparingInt((Integer row) -> values[row]).reversed())
+                .limit(limit)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Test
+    @DisplayName("should offer the SIMD kernel when the Vector API module is enabled, as it is for tests")
+    void shouldOfferVectorKernel() {
+        // Act & Assert
+        assertEquals("vector", SalaryKernels.preferred().name());
+        assertEquals("scalar", SalaryKernels.scalar().name());
+    }
+
+    @Test
+    @DisplayName("should match plain scans for every kernel, with missing values, ties and unaligned row ranges")
+    void shouldMatchReferenceScans() {
+        // Arrange
+        Random random = new Random(42);
+        IntPredicate eligible = row -> row % 7 != 3;
+
+        for (int length : new int[] {0, 1, 3, 8, 17, 64, 101, 1000}) {
+            int[] values = new int[length];
+            for (int row = 0; row < length; row++) {
+                // Narrow range so ties are common, and some rows without a value
+                values[row] = random.nextInt(10) == 0 ? EmployeeColumns.MISSING : random.nextInt(50) * 1000;
+            }
+            int from = length > 2 ? random.nextInt(length / 2) : 0;
+            int to = length > 2 ? length - random.nextInt(length / 2) : length;
+
+            for (SalaryKernel kernel : kernels()) {
+                String context = kernel.name() + " over rows " + from + ".." + to;
+
+                // Act & Assert
+                assertEquals(referenceMax(values, from, to), kernel.max(values, from, to), context);
+                for (int[] range : new int[][] {{10_000, 20_000}, {0, Integer.MAX_VALUE}, {Integer.MIN_VALUE, 5_000}}) {
+                    int[] expected = referenceRowsInRange(values, from, to, range[0], range[1]);
+                    assertArrayEquals(expected, kernel.rowsInRange(values, from, to, range[0], range[1]), context);
+                    assertEquals(expected.length, kernel.count(values, from, to, range[0], range[1]), context);
+                }
+                for (int limit : new int[] {0, 1, 3, 10, 50}) {
+                    assertArrayEquals(
+                            referenceTopRows(values, from, to, limit, eligible),
+                            kernel.topRows(values, from, to, limit, eligible),
+                            context + ", top " + limit);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("should answer like the wrapped kernel when a column is large enough to be split into partitions")
+    void shouldMatchWrappedKernelWhenPartitioned() {
+        // Arrange
+        EmployeeCacheProperties props = new EmployeeCacheProperties();
+        props.getParallel().setParallelism(4);
+        props.getParallel().setThreshold(10_000);
+        ParallelScans scans = new ParallelScans(props);
+        Random random = new Random(7);
+        int[] values = new int[200_003];
+        for (int row = 0; row < values.length; row++) {
+            values[row] = random.nextInt(10) == 0 ? EmployeeColumns.MISSING : random.nextInt(500) * 1000;
+        }
+        IntPredicate eligible = row -> row % 5 != 1;
+
+        try {
+            for (SalaryKernel kernel : kernels()) {
+                SalaryKernel partitioned = new PartitionedSalaryKernel(kernel, scans);
+                for (int[] rows : new int[][] {{0, values.length}, {12_345, 187_654}}) {
+                    int from = rows[0];
+                    int to = rows[1];
+                    String context = kernel.name() + " over rows " + from + ".." + to;
+
+                    // Act & Assert
+                    assertEquals(kernel.max(values, from, to), partitioned.max(values, from, to), context);
+                    assertEquals(
+                            kernel.count(values, from, to, 100_000, 200_000),
+                            partitioned.count(values, from, to, 100_000, 200_000),
+                            context);
+                    assertArrayEquals(
+                            kernel.rowsInRange(values, from, to, 100_000, 200_000),
+                            partitioned.rowsInRange(values, from, to, 100_000, 200_000),
+                            context);
+                    for (int limit : new int[] {0, 1, 10, 1000}) {
+                        assertArrayEquals(
+                                kernel.topRows(values, from, to, limit, eligible),
+                                partitioned.topRows(values, from, to, limit, eligible),
+                                context + ", top " + limit);
+                    }
+                }
+            }
+        } finally {
+            scans.shutdown();
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package com.reliaquest.api.client;
+
+import static com.reliaquest.api.common.Constants.GET_EMPLOYEE_BY_ID_URI;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.dto.EmployeeApiResponseWrapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@DisplayName("EmployeeApiClient Unit Tests")
+public class EmployeeApiClientTest {
+
+    private static final String LISTING_BODY =
+            """
+            {"data":[{"id":"1","employee_name":"Ada Lovelace","employee_salary":100,"employee_age":36,
+            "employee_title":"Engineer","employee_email":"ada@company.com"}],"status":"ok"}""";
+
+    private static final String SINGLE_BODY =
+            """
+            {"data":{"id":"1","employee_name":"Ada Lovelace","employee_salary":100,"employee_age":36,
+            "employee_title":"Engineer","employee_email":"ada@company.com"},"status":"ok"}""";
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    // Upstream responses are held until the test releases them, so concurrent callers overlap
+    private Sinks.Empty<Void> gate;
+
+    private HttpStatus upstreamStatus;
+
+    // Answered first, in order, before falling back to upstreamStatus
+    private final Queue<HttpStatus> scriptedStatuses = new ConcurrentLinkedQueue<>();
+
+    private UpstreamRequestCoalescer coalescer;
+
+    private WebClient webClient;
+
+    private EmployeeApiClient client;
+
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        gate = Sinks.empty();
+        upstreamStatus = HttpStatus.OK;
+        coalescer = new UpstreamRequestCoalescer();
+        webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    upstreamCalls.incrementAndGet();
+                    String body = request.url().getPath().isEmpty() ? LISTING_BODY : SINGLE_BODY;
+                    return gate.asMono().then(Mono.fromSupplier(() -> {
+                        HttpStatus status = scriptedStatuses.poll();
+                        return ClientResponse.create(status != null ? status : upstreamStatus)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body(body)
+                                .build();
+                    }));
+                })
+                .build();
+        // Pacing is covered by UpstreamRateLimiterTest; here every call goes straight through
+        MockServerApiProperties props = new MockServerApiProperties();
+        props.getRateLimit().setEnabled(false);
+        props.getRetry().getGet().setMinBackoff(Duration.ofMillis(1));
+        props.getRetry().getPost().setMinBackoff(Duration.ofMillis(1));
+        client = new EmployeeApiClient(
+                webClient, coalescer, new UpstreamRateLimiter(props), new UpstreamCircuitBreaker(props), props);
+        callers = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private <T> List<CompletableFuture<T>> callConcurrently(int count, Supplier<T> call) throws InterruptedException {
+        List<CompletableFuture<T>> results = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            results.add(CompletableFuture.supplyAsync(call, callers));
+        }
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (coalescer.getIssuedCount() + coalescer.getCoalescedCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return results;
+    }
+
+    @Nested
+    @DisplayName("EmployeeApiClient - GET coalescing")
+    class GetCoalescingTests {
+
+        @Test
+        @DisplayName("should share one upstream call between concurrent identical listing GETs")
+        void shouldCoalesceConcurrentListingGets() throws Exception {
+            // Arrange
+            List<CompletableFuture<List<EmployeeDTO>>> results =
+                    callConcurrently(16, () -> client.get(new ParameterizedTypeReference<>() {}));
+
+            // Act
+            gate.tryEmitEmpty();
+            List<List<EmployeeDTO>> listings = new ArrayList<>();
+            for (CompletableFuture<List<EmployeeDTO>> result : results) {
+                listings.add(result.get());
+            }
+
+            // Assert
+            assertEquals(1, upstreamCalls.get());
+            assertEquals(1, coalescer.getIssuedCount());
+            assertEquals(15, coalescer.getCoalescedCount());
+            assertTrue(listings.stream().allMatch(listing -> listing == listings.get(0)));
+            assertEquals("Ada Lovelace", listings.get(0).get(0).getEmployeeName());
+            assertEquals(0, coalescer.getInFlightCount());
+        }
+
+        @Test
+        @DisplayName("should not coalesce GETs for different path variables")
+        void shouldNotCoalesceDifferentIds() throws Exception {
+            // Arrange
+            AtomicInteger ids = new AtomicInteger();
+            List<CompletableFuture<EmployeeDTO>> results = callConcurrently(
+                    4,
+                    () -> client.get(
+                            GET_EMPLOYEE_BY_ID_URI,
+                            new Object[] {"id-" + ids.getAndIncrement()},
+                            new ParameterizedTypeReference<>() {}));
+
+            // Act
+            gate.tryEmitEmpty();
+            for (CompletableFuture<EmployeeDTO> result : results) {
+                result.get();
+            }
+
+            // Assert
+            assertEquals(4, upstreamCalls.get());
+            assertEquals(0, coalescer.getCoalescedCount());
+        }
+
+        @Test
+        @DisplayName("should not reuse a result once the call has completed")
+        void shouldIssueNewCallAfterCompletion() {
+            // Arrange
+            gate.tryEmitEmpty();
+
+            // Act
+            client.get(new ParameterizedTypeReference<>() {});
+            client.get(new ParameterizedTypeReference<>() {});
+
+            // Assert
+            assertEquals(2, upstreamCalls.get());
+            assertEquals(2, coalescer.getIssuedCount());
+        }
+
+        @Test
+        @DisplayName("should propagate the upstream error to every coalesced caller")
+        void shouldShareUpstreamError() throws Exception {
+            // Arrange
+            upstreamStatus = HttpStatus.TOO_MANY_REQUESTS;
+            List<CompletableFuture<List<EmployeeDTO>>> results =
+                    callConcurrently(8, () -> client.get(new ParameterizedTypeReference<>() {}));
+
+            // Act
+            gate.tryEmitEmpty();
+
+            // Assert
+            for (CompletableFuture<List<EmployeeDTO>> result : results) {
+                Exception ex = assertThrows(Exception.class, result::get);
+                assertInstanceOf(WebClientResponseException.TooManyRequests.class, ex.getCause());
+            }
+            assertEquals(1, upstreamCalls.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("EmployeeApiClient - retries")
+    class RetryTests {
+
+        @BeforeEach
+        void openGate() {
+            gate.tryEmitEmpty();
+        }
+
+        @Test
+        @DisplayName("should retry a GET on 5xx until it succeeds")
+        void shouldRetryGetOnServerError() {
+            // Arrange
+            scriptedStatuses.add(HttpStatus.SERVICE_UNAVAILABLE);
+            scriptedStatuses.add(HttpStatus.BAD_GATEWAY);
+
+            // Act
+            List<EmployeeDTO> listing = client.get(new ParameterizedTypeReference<>() {});
+
+            // Assert
+            assertEquals(1, listing.size());
+            assertEquals(3, upstreamCalls.get());
+        }
+
+        @Test
+        @DisplayName("should give up on a GET after the policy's max attempts")
+        void shouldStopAfterMaxAttempts() {
+            // Arrange
+            upstreamStatus = HttpStatus.SERVICE_UNAVAILABLE;
+
+            // Act & Assert
+            assertThrows(
+                    WebClientResponseException.ServiceUnavailable.class,
+                    () -> client.get(new ParameterizedTypeReference<>() {}));
+            assertEquals(3, upstreamCalls.get());
+        }
+
+        @Test
+        @DisplayName("should not retry a POST the upstream may have processed")
+        void shouldNotRetryPostOnServerError() {
+            // Arrange
+            upstreamStatus = HttpStatus.SERVICE_UNAVAILABLE;
+
+            // Act & Assert
+            assertThrows(
+                    WebClientResponseException.ServiceUnavailable.class,
+                    () -> client.post(
+                            "body",
+                            new ParameterizedTypeReference<EmployeeApiResponseWrapper<List<EmployeeDTO>>>() {}));
+            assertEquals(1, upstreamCalls.get());
+        }
+
+        @Test
+        @DisplayName("should retry a POST rejected with 429, which the upstream never processed")
+        void shouldRetryPostOnTooManyRequests() {
+            // Arrange
+            scriptedStatuses.add(HttpStatus.TOO_MANY_REQUESTS);
+
+            // Act
+            List<EmployeeDTO> created = client.post("body", new ParameterizedTypeReference<>() {});
+
+            // Assert
+            assertEquals(1, created.size());
+            assertEquals(2, upstreamCalls.get());
+        }
+
+        @Test
+        @DisplayName("should retry a POST the rate limiter gave up on after an upstream 429")
+        void shouldRetryPostThrottledThroughRateLimiter() {
+            // Arrange - the limiter re-queues the 429, gives up before its probe is due, and the retry sends the probe
+            MockServerApiProperties props = new MockServerApiProperties();
+            props.getRateLimit().setMaxWait(Duration.ofMillis(10));
+            props.getRateLimit().setProbeInterval(Duration.ofMillis(50));
+            props.getRetry().getPost().setMinBackoff(Duration.ofMillis(100));
+            props.getRetry().getPost().setJitter(0);
+            props.getCircuitBreaker().setEnabled(false);
+            UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(props);
+            EmployeeApiClient limitedClient =
+                    new EmployeeApiClient(webClient, coalescer, rateLimiter, new UpstreamCircuitBreaker(props), props);
+            scriptedStatuses.add(HttpStatus.TOO_MANY_REQUESTS);
+
+            // Act
+            List<EmployeeDTO> created = limitedClient.post("body", new ParameterizedTypeReference<>() {});
+
+            // Assert
+            assertEquals(1, created.size());
+            assertEquals(2, upstreamCalls.get());
+            assertEquals(1, rateLimiter.getRejectedCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("EmployeeApiClient - streamed listing reduction")
+    class ReduceListingTests {
+
+        @BeforeEach
+        void openGate() {
+            gate.tryEmitEmpty();
+        }
+
+        @Test
+        @DisplayName("should fold the streamed listing, retrying a transient failure with a fresh reducer")
+        void shouldReduceListingWithRetry() {
+            // Arrange
+            scriptedStatuses.add(HttpStatus.SERVICE_UNAVAILABLE);
+
+            // Act
+            List<String> names = client.reduceListing(() -> EmployeeListingReducer.topEarnerNames(10));
+
+            // Assert
+            assertEquals(List.of("Ada Lovelace"), names);
+            assertEquals(Integer.valueOf(100), client.reduceListing(EmployeeListingReducer::highestSalary));
+            assertEquals(3, upstreamCalls.get());
+            assertEquals(0, coalescer.getIssuedCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("EmployeeApiClient - request deadlines")
+    class DeadlineTests {
+
+        @AfterEach
+        void unbind() {
+            RequestDeadline.clear();
+        }
+
+        @Test
+        @DisplayName("should give up on a hung upstream once the calling thread's deadline has passed")
+        void shouldFailBlockingCallAtDeadline() {
+            // Arrange - the gate stays shut, so the upstream never answers
+            RequestDeadline.bind(Instant.now().plusMillis(100));
+
+            // Act
+            long startedAt = System.nanoTime();
+            assertThrows(DeadlineExceededException.class, () -> client.get(new ParameterizedTypeReference<>() {}));
+
+            // Assert
+            assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).compareTo(Duration.ofSeconds(2)) < 0);
+            assertEquals(1, upstreamCalls.get());
+        }
+
+        @Test
+        @DisplayName("should not let a coalesced caller's short deadline fail the call it shares with others")
+        void shouldKeepCallerDeadlineOutOfCoalescedCall() throws InterruptedException {
+            // Arrange - the filter stands in for UpstreamDeadlineFilter: an exchange unanswered at its deadline times
+            // out
+            MockServerApiProperties props = new MockServerApiProperties();
+            props.getRateLimit().setEnabled(false);
+            EmployeeApiClient deadlineAwareClient = new EmployeeApiClient(
+                    webClient
+                            .mutate()
+                            .filter((request, next) -> Mono.deferContextual(context -> next.exchange(request)
+                                    .flatMap(response -> context.<Instant>getOrEmpty(RequestDeadline.CONTEXT_KEY)
+                                                    .filter(deadline -> deadline.isBefore(Instant.now()))
+                                                    .isPresent()
+                                            ? Mono.error(UpstreamErrorTranslator.TIMED_OUT)
+                                            : Mono.just(response))))
+                            .build(),
+                    coalescer,
+                    new UpstreamRateLimiter(props),
+                    new UpstreamCircuitBreaker(props),
+                    props);
+            CompletableFuture<List<EmployeeDTO>> hurried = deadlineAwareClient
+                    .getAsync(new ParameterizedTypeReference<EmployeeApiResponseWrapper<List<EmployeeDTO>>>() {})
+                    .contextWrite(RequestDeadline.context(Instant.now().plusMillis(50)))
+                    .toFuture();
+            CompletableFuture<List<EmployeeDTO>> patient = deadlineAwareClient
+                    .getAsync(new ParameterizedTypeReference<EmployeeApiResponseWrapper<List<EmployeeDTO>>>() {})
+                    .contextWrite(RequestDeadline.context(Instant.now().plusSeconds(5)))
+                    .toFuture();
+
+            // Act - the upstream answers only once the hurried caller has given up
+            ExecutionException hurriedFailure = assertThrows(ExecutionException.class, hurried::get);
+            Thread.sleep(50);
+            gate.tryEmitEmpty();
+
+            // Assert
+            assertInstanceOf(DeadlineExceededException.class, hurriedFailure.getCause());
+            assertDoesNotThrow(
+                    () -> assertEquals(1, patient.get(5, TimeUnit.SECONDS).size()));
+            assertEquals(1, upstreamCalls.get());
+            assertEquals(1, coalescer.getCoalescedCount());
+        }
+
+        @Test
+        @DisplayName("should not call the upstream for a request whose deadline has already passed")
+        void shouldFailAsyncCallPastDeadline() {
+            // Arrange
+            gate.tryEmitEmpty();
+
+            // Act & Assert
+            assertThrows(DeadlineExceededException.class, () -> client.<EmployeeDTO, String>postAsync(
+                            "body", new ParameterizedTypeReference<>() {})
+                    .contextWrite(RequestDeadline.context(Instant.now().minusMillis(1)))
+                    .block());
+            assertEquals(0, upstreamCalls.get());
+        }
+    }
+}
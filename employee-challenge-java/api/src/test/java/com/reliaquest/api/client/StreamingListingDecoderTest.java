@@ -0,0 +1,134 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.EmployeeApiResponseWrapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.util.TestDataFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@DisplayName("StreamingListingDecoder Unit Tests")
+public class StreamingListingDecoderTest {
+
+    // Unknown fields of every shape, at both levels, with strings that look like structure
+    private static final String LISTING_BODY =
+            """
+            {"meta":{"page":[1,{"x":"]}"}]},"data":[
+            {"id":"1","employee_name":"Ada \\"The Countess\\" Lovelace","employee_salary":300,"extra":{"a":[{}]}},
+            null,
+            {"employee_salary":"500","id":"2","employee_name":"Grace Hopper","tags":["{",[],"["]},
+            {"id":"3","employee_name":null,"employee_salary":900},
+            {"id":"4","employee_name":"Alan Turing","employee_salary":300.0,"employee_age":41},
+            {"id":"5","employee_name":"Émilie du Châtelet","employee_salary":null},
+            {"id":"6","employee_name":"Linus","employee_salary":500}
+            ],"status":"Successfully processed request."}""";
+
+    // Configured like the application's, which binds EmployeeDTO through its constructor
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private static <R> R decode(EmployeeListingReducer<R> reducer, byte[]... chunks) {
+        StreamingListingDecoder<R> decoder = new StreamingListingDecoder<>(reducer);
+        for (byte[] chunk : chunks) {
+            decoder.feed(ByteBuffer.wrap(chunk));
+        }
+        return decoder.finish();
+    }
+
+    private List<EmployeeDTO> bind(String body) throws Exception {
+        return objectMapper
+                .readValue(body, new TypeReference<EmployeeApiResponseWrapper<List<EmployeeDTO>>>() {})
+                .getData();
+    }
+
+    @Test
+    @DisplayName("should reduce exactly what binding the whole body yields, wherever the chunks split it")
+    void shouldMatchBindingAtEveryChunkBoundary() throws Exception {
+        // Arrange
+        byte[] body = LISTING_BODY.getBytes(StandardCharsets.UTF_8);
+        List<EmployeeDTO> bound = bind(LISTING_BODY);
+
+        for (int split = 0; split <= body.length; split++) {
+            byte[] head = Arrays.copyOfRange(body, 0, split);
+            byte[] tail = Arrays.copyOfRange(body, split, body.length);
+
+            // Act & Assert
+            assertEquals(
+                    TestDataFactory.getHighestSalary(bound),
+                    decode(EmployeeListingReducer.highestSalary(), head, tail));
+            assertEquals(
+                    TestDataFactory.getTopHighestEarningEmployeeNames(bound, 3),
+                    decode(EmployeeListingReducer.topEarnerNames(3), head, tail));
+        }
+        byte[][] bytes = new byte[body.length][];
+        for (int i = 0; i < body.length; i++) {
+            bytes[i] = new byte[] {body[i]};
+        }
+        assertEquals(
+                List.of("Grace Hopper", "Linus", "Ada \"The Countess\" Lovelace"),
+                TestDataFactory.getTopHighestEarningEmployeeNames(bound, 3));
+        assertEquals(
+                TestDataFactory.getTopHighestEarningEmployeeNames(bound, 10),
+                decode(EmployeeListingReducer.topEarnerNames(10), bytes));
+    }
+
+    @Test
+    @DisplayName("should keep the top earners of a large tied listing in the order the stable sort gives")
+    void shouldMatchStableSortWithTies() throws Exception {
+        // Arrange
+        Random random = new Random(42);
+        StringBuilder body = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < 2000; i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"employee_name\":\"employee-")
+                    .append(i)
+                    .append("\",\"employee_salary\":")
+                    .append(random.nextInt(50) * 1000)
+                    .append('}');
+        }
+        String listing = body.append("]}").toString();
+
+        // Act
+        List<String> topEarners =
+                decode(EmployeeListingReducer.topEarnerNames(10), listing.getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertEquals(TestDataFactory.getTopHighestEarningEmployeeNames(bind(listing), 10), topEarners);
+    }
+
+    @Test
+    @DisplayName("should treat a null data field or an empty body as an empty listing")
+    void shouldTreatMissingDataAsEmpty() {
+        // Act & Assert
+        assertEquals(0, decode(EmployeeListingReducer.highestSalary(), "{\"data\":null}".getBytes()));
+        assertEquals(List.of(), decode(EmployeeListingReducer.topEarnerNames(10), "{\"status\":\"ok\"}".getBytes()));
+        assertEquals(0, decode(EmployeeListingReducer.highestSalary()));
+    }
+
+    @Test
+    @DisplayName("should fail on a truncated or malformed body rather than report a partial result")
+    void shouldFailOnTruncatedBody() {
+        // Arrange
+        byte[] truncated = LISTING_BODY.substring(0, LISTING_BODY.length() / 2).getBytes(StandardCharsets.UTF_8);
+
+        // Act & Assert
+        assertThrows(DecodingException.class, () -> decode(EmployeeListingReducer.highestSalary(), truncated));
+        assertThrows(
+                DecodingException.class,
+                () -> decode(EmployeeListingReducer.highestSalary(), "{\"data\":[{]}".getBytes()));
+        assertThrows(
+                DecodingException.class,
+                () -> decode(
+                        EmployeeListingReducer.highestSalary(),
+                        "{\"data\":[{\"employee_salary\":\"lots\"}]}".getBytes()));
+    }
+}
@@ -0,0 +1,191 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.UpstreamCircuitBreaker.State;
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.util.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+@DisplayName("UpstreamCircuitBreaker Unit Tests")
+public class UpstreamCircuitBreakerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private UpstreamCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        MockServerApiProperties.CircuitBreaker props = new MockServerApiProperties.CircuitBreaker();
+        props.setFailureThreshold(3);
+        props.setFailureWindow(Duration.ofSeconds(10));
+        props.setOpenDuration(Duration.ofSeconds(5));
+        breaker = new UpstreamCircuitBreaker(props, clock);
+        breaker.bindTo(meterRegistry);
+    }
+
+    private Mono<String> call(HttpStatus status) {
+        return breaker.execute(() -> Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return status.is2xxSuccessful()
+                    ? Mono.just("ok")
+                    : Mono.error(WebClientResponseException.create(
+                            status.value(), status.getReasonPhrase(), HttpHeaders.EMPTY, new byte[0], null));
+        }));
+    }
+
+    private void fail(int times, HttpStatus status) {
+        for (int i = 0; i < times; i++) {
+            assertThrows(WebClientResponseException.class, () -> call(status).block());
+        }
+    }
+
+    @Test
+    @DisplayName("should open on a burst of 429/5xx and then fail fast without calling the upstream")
+    void shouldOpenOnBurstOfFailures() {
+        // Arrange
+        fail(2, HttpStatus.TOO_MANY_REQUESTS);
+        fail(1, HttpStatus.SERVICE_UNAVAILABLE);
+
+        // Act
+        clock.advance(Duration.ofSeconds(2));
+        UpstreamUnavailableException ex = assertThrows(
+                UpstreamUnavailableException.class, () -> call(HttpStatus.OK).block());
+
+        // Assert
+        assertEquals(State.OPEN, breaker.getState());
+        assertEquals(Duration.ofSeconds(3), ex.getRetryAfter());
+        assertEquals(0, ex.getStackTrace().length);
+        assertEquals(3, ex.getRetryAfterSeconds());
+        assertEquals(
+                5,
+                UpstreamUnavailableException.stackless("open", Duration.ofMillis(4_100))
+                        .getRetryAfterSeconds());
+        assertEquals(3, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("should not open when failures are spread wider than the failure window, or are plain 4xx answers")
+    void shouldIgnoreSparseFailuresAndClientErrors() {
+        // Arrange & Act
+        fail(2, HttpStatus.SERVICE_UNAVAILABLE);
+        clock.advance(Duration.ofSeconds(11));
+        fail(2, HttpStatus.SERVICE_UNAVAILABLE);
+        fail(5, HttpStatus.NOT_FOUND);
+
+        // Assert
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals("ok", call(HttpStatus.OK).block());
+    }
+
+    @Test
+    @DisplayName("should let a single trial call through once half-open and close when it succeeds")
+    void shouldCloseAfterSuccessfulTrial() {
+        // Arrange
+        fail(3, HttpStatus.SERVICE_UNAVAILABLE);
+        clock.advance(Duration.ofSeconds(5));
+        Sinks.One<String> trialResponse = Sinks.one();
+        Mono<String> trial = breaker.execute(trialResponse::asMono).cache();
+        trial.subscribe();
+
+        // Act & Assert - a second caller is turned away while the trial is in flight
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertThrows(
+                UpstreamUnavailableException.class, () -> call(HttpStatus.OK).block());
+
+        trialResponse.tryEmitValue("ok");
+        assertEquals("ok", trial.block());
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals("ok", call(HttpStatus.OK).block());
+    }
+
+    @Test
+    @DisplayName("should re-open for another open duration when the trial call fails")
+    void shouldReopenAfterFailedTrial() {
+        // Arrange
+        fail(3, HttpStatus.SERVICE_UNAVAILABLE);
+        clock.advance(Duration.ofSeconds(5));
+
+        // Act
+        fail(1, HttpStatus.TOO_MANY_REQUESTS);
+
+        // Assert
+        assertEquals(State.OPEN, breaker.getState());
+        UpstreamUnavailableException ex = assertThrows(
+                UpstreamUnavailableException.class, () -> call(HttpStatus.OK).block());
+        assertEquals(Duration.ofSeconds(5), ex.getRetryAfter());
+    }
+
+    @Test
+    @DisplayName("should not count requests the rate limiter turned away because their own deadline ran out")
+    void shouldIgnoreRequestsOutOfTimeForQuota() {
+        // Arrange - a 429 makes the limiter probe for the window, so nothing else can be sent right away
+        VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+        MockServerApiProperties.RateLimit rateLimit = new MockServerApiProperties.RateLimit();
+        rateLimit.setProbeInterval(Duration.ofSeconds(1));
+        UpstreamRateLimiter limiter = new UpstreamRateLimiter(rateLimit, scheduler);
+        limiter.execute(() -> Mono.<String>error(WebClientResponseException.create(
+                        429, "Too Many Requests", HttpHeaders.EMPTY, new byte[0], null)))
+                .subscribe(result -> {}, ex -> {});
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThrows(DeadlineExceededException.class, () -> breaker.execute(
+                            () -> limiter.execute(() -> call(HttpStatus.OK)))
+                    .contextWrite(RequestDeadline.context(Instant.ofEpochMilli(scheduler.now(TimeUnit.MILLISECONDS))
+                            .plusMillis(100)))
+                    .block());
+        }
+
+        // Assert
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(0, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("should count every state transition")
+    void shouldPublishTransitions() {
+        // Arrange & Act
+        fail(3, HttpStatus.SERVICE_UNAVAILABLE);
+        clock.advance(Duration.ofSeconds(5));
+        call(HttpStatus.OK).block();
+
+        // Assert
+        for (String[] transition :
+                new String[][] {{"CLOSED", "OPEN"}, {"OPEN", "HALF_OPEN"}, {"HALF_OPEN", "CLOSED"}}) {
+            assertEquals(
+                    1.0,
+                    meterRegistry
+                            .get("employee.api.upstream.circuit.breaker.transitions")
+                            .tag("from", transition[0])
+                            .tag("to", transition[1])
+                            .counter()
+                            .count());
+        }
+        assertEquals(
+                State.CLOSED.ordinal(),
+                meterRegistry
+                        .get("employee.api.upstream.circuit.breaker.state")
+                        .gauge()
+                        .value());
+    }
+}
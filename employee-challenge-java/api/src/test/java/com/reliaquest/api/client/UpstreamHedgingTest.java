@@ -0,0 +1,250 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.UpstreamHedging.Outcome;
+import com.reliaquest.api.config.MockServerApiProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+@DisplayName("UpstreamHedging Unit Tests")
+public class UpstreamHedgingTest {
+
+    private static final Duration WARM_UP_LATENCY = Duration.ofMillis(10);
+
+    private VirtualTimeScheduler scheduler;
+
+    private MockServerApiProperties.Hedge props;
+
+    private UpstreamRateLimiter rateLimiter;
+
+    private UpstreamHedging hedging;
+
+    // Latency of each upstream attempt in order; a negative one fails after its absolute value
+    private final Queue<Duration> script = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private final AtomicInteger cancelled = new AtomicInteger();
+
+    private final List<String> answers = new ArrayList<>();
+
+    private final List<Throwable> errors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+        props = new MockServerApiProperties.Hedge();
+        props.setEnabled(true);
+        props.setPercentile(0.9);
+        props.setMinDelay(Duration.ofMillis(1));
+        props.setWindow(20);
+        props.setMinSamples(5);
+        props.setBudget(1);
+        MockServerApiProperties.RateLimit rateLimit = new MockServerApiProperties.RateLimit();
+        rateLimit.setProbeInterval(Duration.ofSeconds(1));
+        rateLimiter = new UpstreamRateLimiter(rateLimit, scheduler);
+        hedging = new UpstreamHedging(props, rateLimiter, scheduler);
+    }
+
+    private Mono<String> attempt() {
+        int number = attempts.incrementAndGet();
+        Duration latency = script.remove();
+        Mono<Long> delay = Mono.delay(latency.abs(), scheduler).doOnCancel(cancelled::incrementAndGet);
+        return latency.isNegative()
+                ? delay.then(Mono.error(new IllegalStateException("attempt " + number + " failed")))
+                : delay.thenReturn("attempt " + number);
+    }
+
+    private void call(Duration... latencies) {
+        script.addAll(List.of(latencies));
+        hedging.execute(this::attempt).subscribe(answers::add, errors::add);
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < props.getMinSamples(); i++) {
+            call(WARM_UP_LATENCY);
+        }
+        scheduler.advanceTimeBy(WARM_UP_LATENCY);
+        answers.clear();
+        attempts.set(0);
+    }
+
+    @Test
+    @DisplayName("should not hedge before min-samples latencies have been seen")
+    void shouldNotHedgeWhileWarmingUp() {
+        // Act
+        call(Duration.ofSeconds(1));
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(List.of("attempt 1"), answers);
+        assertEquals(1, attempts.get());
+        assertEquals(Optional.empty(), hedging.getDelay());
+        assertEquals(1, hedging.getCount(Outcome.UNHEDGED));
+    }
+
+    @Test
+    @DisplayName("should hedge at the configured percentile of recent latencies")
+    void shouldDelayHedgeByPercentile() {
+        // Act
+        for (int i = 1; i <= 20; i++) {
+            call(Duration.ofMillis(i));
+        }
+        scheduler.advanceTimeBy(Duration.ofMillis(20));
+
+        // Assert
+        assertEquals(Optional.of(Duration.ofMillis(18)), hedging.getDelay());
+    }
+
+    @Test
+    @DisplayName("should answer with the hedge and cancel the first attempt when the hedge is faster")
+    void shouldUseFasterHedge() {
+        // Arrange
+        warmUp();
+
+        // Act
+        call(Duration.ofSeconds(1), Duration.ofMillis(5));
+        scheduler.advanceTimeBy(WARM_UP_LATENCY.plusMillis(5));
+
+        // Assert
+        assertEquals(List.of("attempt 2"), answers);
+        assertEquals(2, attempts.get());
+        assertEquals(1, cancelled.get());
+        assertEquals(1, hedging.getCount(Outcome.HEDGE_WON));
+    }
+
+    @Test
+    @DisplayName("should keep the first attempt's answer and cancel the hedge when the first attempt is faster")
+    void shouldKeepFasterFirstAttempt() {
+        // Arrange
+        warmUp();
+
+        // Act
+        call(Duration.ofMillis(12), Duration.ofMillis(5));
+        scheduler.advanceTimeBy(Duration.ofMillis(12));
+
+        // Assert
+        assertEquals(List.of("attempt 1"), answers);
+        assertEquals(2, attempts.get());
+        assertEquals(1, cancelled.get());
+        assertEquals(1, hedging.getCount(Outcome.PRIMARY_WON));
+    }
+
+    @Test
+    @DisplayName("should not send a hedge for a call answered before the delay")
+    void shouldNotHedgeFastCall() {
+        // Arrange
+        warmUp();
+
+        // Act
+        call(Duration.ofMillis(5));
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(List.of("attempt 1"), answers);
+        assertEquals(1, attempts.get());
+        assertEquals(props.getMinSamples() + 1, hedging.getCount(Outcome.UNHEDGED));
+    }
+
+    @Test
+    @DisplayName("should wait for the first attempt when the hedge fails")
+    void shouldIgnoreFailedHedge() {
+        // Arrange
+        warmUp();
+
+        // Act
+        call(Duration.ofMillis(100), Duration.ofMillis(5).negated());
+        scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+        // Assert
+        assertEquals(List.of("attempt 1"), answers);
+        assertTrue(errors.isEmpty());
+        assertEquals(1, hedging.getCount(Outcome.PRIMARY_WON));
+    }
+
+    @Test
+    @DisplayName("should pass on the first attempt's error without hedging it")
+    void shouldPassOnFirstAttemptError() {
+        // Arrange
+        warmUp();
+
+        // Act
+        call(Duration.ofMillis(5).negated());
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(1, errors.size());
+        assertEquals("attempt 1 failed", errors.get(0).getMessage());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    @DisplayName("should time hedge wins from the first attempt and leave out failures, so the delay does not fall")
+    void shouldNotLowerDelayByHedging() {
+        // Arrange
+        warmUp();
+
+        // Act - the slow first attempt is cancelled once its hedge wins, and the last call fails on both attempts
+        call(Duration.ofSeconds(1), Duration.ofMillis(5));
+        scheduler.advanceTimeBy(WARM_UP_LATENCY.plusMillis(5));
+        call(Duration.ofMillis(500).negated(), Duration.ofMillis(400).negated());
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(List.of("attempt 2"), answers);
+        assertEquals(1, errors.size());
+        assertEquals(Optional.of(WARM_UP_LATENCY.plusMillis(5)), hedging.getDelay());
+    }
+
+    @Test
+    @DisplayName("should not hedge beyond the budget")
+    void shouldNotHedgeBeyondBudget() {
+        // Arrange - five calls earn half a hedge
+        props.setBudget(0.1);
+        hedging = new UpstreamHedging(props, rateLimiter, scheduler);
+        warmUp();
+
+        // Act
+        call(Duration.ofSeconds(1));
+        scheduler.advanceTimeBy(Duration.ofSeconds(1));
+
+        // Assert
+        assertEquals(List.of("attempt 1"), answers);
+        assertEquals(1, attempts.get());
+        assertEquals(1, hedging.getCount(Outcome.NO_BUDGET));
+    }
+
+    @Test
+    @DisplayName("should not hedge while the upstream backs off and the rate limiter has no quota to spare")
+    void shouldNotHedgeWithoutSpareQuota() {
+        // Arrange
+        warmUp();
+        rateLimiter
+                .execute(() -> Mono.error(
+                        WebClientResponseException.create(429, "Too Many Requests", new HttpHeaders(), null, null)))
+                .subscribe(answer -> {}, error -> {});
+        assertFalse(rateLimiter.hasSpareQuota());
+
+        // Act
+        call(Duration.ofMillis(100));
+        scheduler.advanceTimeBy(Duration.ofMillis(100));
+
+        // Assert
+        assertEquals(List.of("attempt 1"), answers);
+        assertEquals(1, attempts.get());
+        assertEquals(1, hedging.getCount(Outcome.NO_QUOTA));
+    }
+}
@@ -0,0 +1,209 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.UpstreamRateLimiter.Phase;
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+import reactor.util.context.Context;
+
+@DisplayName("UpstreamRateLimiter Unit Tests")
+public class UpstreamRateLimiterTest {
+
+    private VirtualTimeScheduler scheduler;
+
+    private QuotaUpstream upstream;
+
+    private MockServerApiProperties.RateLimit props;
+
+    private UpstreamRateLimiter limiter;
+
+    private final List<String> responses = new ArrayList<>();
+
+    private final List<Throwable> errors = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.create();
+        upstream = new QuotaUpstream(3, Duration.ofSeconds(10));
+        props = new MockServerApiProperties.RateLimit();
+        props.setMaxWait(Duration.ofMinutes(2));
+        props.setProbeInterval(Duration.ofSeconds(1));
+        props.setSafetyMargin(Duration.ofMillis(500));
+        limiter = new UpstreamRateLimiter(props, scheduler);
+    }
+
+    private Mono<String> call() {
+        return limiter.execute(() -> Mono.defer(() -> upstream.handle(scheduler.now(TimeUnit.MILLISECONDS))));
+    }
+
+    private void send(int count) {
+        for (int i = 0; i < count; i++) {
+            call().subscribe(responses::add, errors::add);
+        }
+    }
+
+    private void advanceTo(Duration time) {
+        scheduler.advanceTimeTo(Instant.ofEpochMilli(time.toMillis()));
+    }
+
+    @Test
+    @DisplayName("should learn the quota from the first 429 and the window from probing, then pace within both")
+    void shouldLearnQuotaAndWindowThenPace() {
+        // Act
+        send(4);
+
+        // Assert - nothing is held back until the upstream pushes back
+        assertEquals(3, responses.size());
+        assertEquals(
+                new UpstreamRateLimiter.LearnedLimits(Phase.PROBING, 3, Duration.ZERO), limiter.getLearnedLimits());
+
+        // Act
+        send(11);
+        advanceTo(Duration.ofMinutes(2));
+
+        // Assert - the throttled request queued again; only probes hit the back-off window
+        assertEquals(15, responses.size());
+        assertTrue(errors.isEmpty());
+        assertEquals(
+                new UpstreamRateLimiter.LearnedLimits(Phase.PACING, 3, Duration.ofSeconds(11)),
+                limiter.getLearnedLimits());
+        assertEquals(1 + 10, upstream.throttledCalls);
+        assertEquals(upstream.throttledCalls, limiter.getThrottledCount());
+    }
+
+    @Test
+    @DisplayName("should keep pacing without a single 429 once the limits are learned")
+    void shouldPaceWithoutThrottling() {
+        // Arrange
+        send(4);
+        advanceTo(Duration.ofSeconds(15));
+        int throttledWhileLearning = upstream.throttledCalls;
+
+        // Act
+        send(20);
+        advanceTo(Duration.ofMinutes(2));
+
+        // Assert
+        assertEquals(24, responses.size());
+        assertEquals(throttledWhileLearning, upstream.throttledCalls);
+        assertEquals(Phase.PACING, limiter.getLearnedLimits().phase());
+    }
+
+    @Test
+    @DisplayName(
+            "should time out locally, without calling the upstream, when no quota is available before the deadline")
+    void shouldRejectWhenDeadlineCannotBeMet() {
+        // Arrange
+        send(4);
+        int upstreamCalls = upstream.calls;
+
+        // Act
+        call().contextWrite(Context.of(
+                        RequestDeadline.CONTEXT_KEY, Instant.ofEpochMilli(scheduler.now(TimeUnit.MILLISECONDS))))
+                .subscribe(responses::add, errors::add);
+
+        // Assert
+        assertEquals(1, errors.size());
+        assertInstanceOf(DeadlineExceededException.class, errors.get(0));
+        assertEquals(upstreamCalls, upstream.calls);
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("should reject locally as throttled, without calling the upstream, when max-wait runs out first")
+    void shouldRejectWhenMaxWaitRunsOut() {
+        // Arrange
+        send(4);
+        int upstreamCalls = upstream.calls;
+        props.setMaxWait(Duration.ZERO);
+
+        // Act
+        call().contextWrite(Context.of(
+                        RequestDeadline.CONTEXT_KEY,
+                        Instant.ofEpochMilli(scheduler.now(TimeUnit.MILLISECONDS))
+                                .plusSeconds(30)))
+                .subscribe(responses::add, errors::add);
+
+        // Assert
+        assertEquals(1, errors.size());
+        assertInstanceOf(TooManyRequestsException.class, errors.get(0));
+        assertEquals(upstreamCalls, upstream.calls);
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test
+    @DisplayName("should lower the learned quota when the upstream starts throttling within it")
+    void shouldLowerQuotaWhenUpstreamTightens() {
+        // Arrange
+        send(4);
+        advanceTo(Duration.ofSeconds(15));
+        upstream.limit = 2;
+
+        // Act
+        advanceTo(Duration.ofSeconds(50));
+        send(4);
+        advanceTo(Duration.ofMinutes(2));
+
+        // Assert
+        assertEquals(8, responses.size());
+        assertTrue(errors.isEmpty());
+        assertEquals(
+                new UpstreamRateLimiter.LearnedLimits(Phase.PACING, 2, Duration.ofSeconds(11)),
+                limiter.getLearnedLimits());
+    }
+
+    /**
+     * Same policy as the mock server's request limit interceptor: {@code limit} requests, then 429 until
+     * {@code backoff} has passed since the last accepted one. The request that resets the count is not counted.
+     */
+    private static final class QuotaUpstream {
+
+        private int limit;
+
+        private final long backoffMillis;
+
+        private int count;
+
+        private long lastRequested;
+
+        private int calls;
+
+        private int throttledCalls;
+
+        QuotaUpstream(int limit, Duration backoff) {
+            this.limit = limit;
+            this.backoffMillis = backoff.toMillis();
+        }
+
+        Mono<String> handle(long now) {
+            calls++;
+            if (count >= limit) {
+                if (now - lastRequested <= backoffMillis) {
+                    throttledCalls++;
+                    return Mono.error(WebClientResponseException.create(
+                            429, "Too Many Requests", HttpHeaders.EMPTY, new byte[0], null));
+                }
+                count = 0;
+                lastRequested = now;
+                return Mono.just("reset");
+            }
+            count++;
+            lastRequested = now;
+            return Mono.just("ok");
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.client.RequestDeadline;
+import com.reliaquest.api.client.UpstreamCallMetrics;
+import com.reliaquest.api.client.UpstreamDeadlineFilter;
+import com.reliaquest.api.exception.DeadlineExceededException;
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+@DisplayName("WebClientConfig Unit Tests")
+public class WebClientConfigTest {
+
+    private final WebClientConfig webClientConfig = new WebClientConfig();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MockServerApiProperties props = new MockServerApiProperties();
+
+    private final UpstreamCallMetrics upstreamCallMetrics = new UpstreamCallMetrics();
+
+    private DisposableServer upstream;
+
+    private ConnectionProvider connectionProvider;
+
+    private LoopResources loopResources;
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(meterRegistry);
+        upstreamCallMetrics.bindTo(meterRegistry);
+        upstream = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get(
+                                "/api/v1/employee/slow",
+                                (request, response) -> response.sendString(
+                                        Mono.delay(Duration.ofMillis(300)).thenReturn("slow")))
+                        .get("/api/v1/employee/fast", (request, response) -> response.sendString(Mono.just("fast"))))
+                .bindNow();
+        props.setHost("http://localhost:" + upstream.port());
+        props.setPath("/api/v1/employee");
+        props.getPool().setName("web-client-config-test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+        if (loopResources != null) {
+            loopResources.dispose();
+        }
+        upstream.disposeNow();
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    private WebClient buildWebClient() {
+        connectionProvider = webClientConfig.employeeApiConnectionProvider(props);
+        loopResources = webClientConfig.employeeApiLoopResources(props);
+        return webClientConfig.webClient(
+                props, connectionProvider, loopResources, new UpstreamDeadlineFilter(props), upstreamCallMetrics);
+    }
+
+    private Mono<String> get(WebClient webClient, String path) {
+        return webClient.get().uri(path).retrieve().bodyToMono(String.class);
+    }
+
+    @Test
+    @DisplayName("should publish connection pool gauges and acquire latency for the configured pool")
+    void shouldPublishPoolMetrics() {
+        // Arrange
+        WebClient webClient = buildWebClient();
+
+        // Act
+        String body = get(webClient, "/fast").block();
+
+        // Assert
+        assertEquals("fast", body);
+        for (String gauge : List.of("active", "idle", "pending", "total", "max")) {
+            assertNotNull(
+                    meterRegistry
+                            .find("reactor.netty.connection.provider." + gauge + ".connections")
+                            .tag("name", "web-client-config-test")
+                            .gauge(),
+                    gauge + " connections gauge should be registered");
+        }
+        assertNotNull(meterRegistry
+                .find("reactor.netty.connection.provider.pending.connections.time")
+                .tag("name", "web-client-config-test")
+                .timer());
+    }
+
+    @Test
+    @DisplayName("should time each upstream call by method, URI template and status, and count calls in flight")
+    void shouldTimeUpstreamCalls() {
+        // Arrange
+        WebClient webClient = buildWebClient();
+        Mono<String> slow = get(webClient, "/slow").cache();
+
+        // Act
+        slow.subscribe();
+        int inFlightDuringSlowCall = upstreamCallMetrics.getInFlight();
+        slow.block();
+        get(webClient, "/fast").block();
+        assertThrows(WebClientResponseException.NotFound.class, () -> webClient
+                .get()
+                .uri("/{id}", "missing")
+                .retrieve()
+                .bodyToMono(String.class)
+                .block());
+
+        // Assert
+        assertEquals(1, inFlightDuringSlowCall);
+        assertEquals(0, upstreamCallMetrics.getInFlight());
+        assertEquals(
+                0, meterRegistry.get("employee.api.upstream.in.flight").gauge().value());
+        Timer slowCalls = meterRegistry
+                .get("employee.api.upstream.requests")
+                .tags("method", "GET", "uri", "/api/v1/employee/slow", "status", "200")
+                .timer();
+        assertEquals(1, slowCalls.count());
+        assertTrue(slowCalls.totalTime(TimeUnit.MILLISECONDS) >= 250);
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.api.upstream.requests")
+                        .tags("method", "GET", "uri", "/api/v1/employee/{id}", "status", "404")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    @DisplayName("should reject requests beyond the pending-acquire queue limit instead of queueing invisibly")
+    void shouldBoundPendingAcquireQueue() {
+        // Arrange
+        props.getPool().setMaxConnections(1);
+        props.getPool().setPendingAcquireMaxCount(1);
+        WebClient webClient = buildWebClient();
+
+        // Act
+        List<Throwable> failures = Flux.range(0, 3)
+                .flatMap(i ->
+                        get(webClient, "/slow").then(Mono.<Throwable>empty()).onErrorResume(Mono::just))
+                .collectList()
+                .block();
+
+        // Assert
+        assertNotNull(failures);
+        assertEquals(1, failures.size());
+        assertInstanceOf(PoolAcquirePendingLimitException.class, rootCause(failures.get(0)));
+    }
+
+    @Test
+    @DisplayName("should fail a request whose response takes longer than the response timeout")
+    void shouldApplyResponseTimeout() {
+        // Arrange
+        props.getTimeouts().setResponse(Duration.ofMillis(50));
+        WebClient webClient = buildWebClient();
+
+        // Act & Assert
+        assertThrows(
+                WebClientRequestException.class, () -> get(webClient, "/slow").block());
+        assertEquals("fast", get(webClient, "/fast").block());
+    }
+
+    @Test
+    @DisplayName("should cut the response timeout to what is left of the request's deadline")
+    void shouldFitResponseTimeoutIntoDeadline() {
+        // Arrange - connect first, so only the exchange is timed
+        WebClient webClient = buildWebClient();
+        assertEquals("fast", get(webClient, "/fast").block());
+        Instant deadline = Instant.now().plusMillis(100);
+
+        // Act & Assert
+        long startedAt = System.nanoTime();
+        DeadlineExceededException ex = assertThrows(DeadlineExceededException.class, () -> get(webClient, "/slow")
+                .contextWrite(RequestDeadline.context(deadline))
+                .block());
+        assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).compareTo(Duration.ofMillis(250)) < 0);
+        assertSame(UpstreamErrorTranslator.TIMED_OUT, ex);
+        assertEquals("fast", get(webClient, "/fast").block());
+    }
+
+    @Test
+    @DisplayName("should not send a request whose deadline has already passed")
+    void shouldNotSendPastDeadline() {
+        // Arrange
+        WebClient webClient = buildWebClient();
+
+        // Act & Assert
+        assertThrows(DeadlineExceededException.class, () -> get(webClient, "/fast")
+                .contextWrite(RequestDeadline.context(Instant.now().minusMillis(1)))
+                .block());
+        assertNull(meterRegistry.find("employee.api.upstream.requests").timer());
+    }
+
+    private static Throwable rootCause(Throwable ex) {
+        Throwable cause = ex;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -3,20 +3,30 @@ package com.reliaquest.api.controller;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.ConditionalGetProperties;
+import com.reliaquest.api.config.ListingEncodingProperties;
 import com.reliaquest.api.dto.CreateEmployeeDTO;
 import com.reliaquest.api.dto.EmployeeDTO;
 import com.reliaquest.api.exception.ClientBadRequestException;
 import com.reliaquest.api.exception.ResourceNotFoundException;
 import com.reliaquest.api.service.EmployeeService;
 import com.reliaquest.api.util.TestDataFactory;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("EmployeeController Unit Tests")
@@ -25,6 +35,16 @@ public class EmployeeControllerTest {
     @Mock
     private EmployeeService employeeService;
 
+    @Spy
+    private ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Spy
+    private ConditionalGetSupport conditionalGetSupport = new ConditionalGetSupport(new ConditionalGetProperties());
+
+    @Spy
+    private EncodedListingCache encodedListingCache =
+            new EncodedListingCache(objectMapper, new ListingEncodingProperties());
+
     @InjectMocks
     private EmployeeController employeeController;
 
@@ -118,6 +138,60 @@ public class EmployeeControllerTest {
             verify(employeeService).getAllEmployees();
         }
 
+        @Test
+        @DisplayName("should write one employee per line when streaming as NDJSON")
+        void shouldStreamOneEmployeePerLine() throws Exception {
+            // Arrange
+            when(employeeService.getAllEmployees()).thenReturn(mockEmployees);
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+            // Act
+            ResponseEntity<StreamingResponseBody> response = employeeController.streamAllEmployees();
+            response.getBody().writeTo(body);
+
+            // Assert
+            assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+            String[] lines = body.toString(StandardCharsets.UTF_8).split("\n", -1);
+            assertEquals(mockEmployees.size() + 1, lines.length);
+            assertEquals("", lines[mockEmployees.size()]);
+            for (int i = 0; i < mockEmployees.size(); i++) {
+                assertEquals(mockEmployees.get(i), objectMapper.readValue(lines[i], EmployeeDTO.class));
+            }
+        }
+
+        @Test
+        @DisplayName("should tag the listing with an ETag that changes only when an employee does")
+        void shouldTagListingByContent() {
+            // Arrange
+            List<EmployeeDTO> changed = new ArrayList<>(mockEmployees);
+            EmployeeDTO first = changed.get(0);
+            changed.set(
+                    0,
+                    new EmployeeDTO(
+                            first.getId(),
+                            first.getEmployeeName(),
+                            first.getEmployeeSalary() + 1,
+                            first.getEmployeeAge(),
+                            first.getEmployeeTitle(),
+                            first.getEmployeeEmail()));
+            when(employeeService.getAllEmployees())
+                    .thenReturn(mockEmployees)
+                    .thenReturn(new ArrayList<>(mockEmployees))
+                    .thenReturn(changed);
+
+            // Act
+            ResponseEntity<List<EmployeeDTO>> original = employeeController.getAllEmployees();
+            ResponseEntity<List<EmployeeDTO>> copy = employeeController.getAllEmployees();
+            ResponseEntity<List<EmployeeDTO>> modified = employeeController.getAllEmployees();
+
+            // Assert
+            assertNotNull(original.getHeaders().getETag());
+            assertEquals(original.getHeaders().getETag(), copy.getHeaders().getETag());
+            assertNotEquals(
+                    original.getHeaders().getETag(), modified.getHeaders().getETag());
+            assertEquals("no-cache", original.getHeaders().getCacheControl());
+        }
+
         @Test
         @DisplayName("should propagate exception if service layer throws error")
         void shouldPropagateException_whenServiceThrowsError() {
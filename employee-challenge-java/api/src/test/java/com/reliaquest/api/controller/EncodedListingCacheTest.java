@@ -0,0 +1,75 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.ListingEncodingProperties;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.util.TestDataFactory;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@DisplayName("EncodedListingCache Unit Tests")
+public class EncodedListingCacheTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final ListingEncodingProperties props = new ListingEncodingProperties();
+
+    private final EncodedListingCache cache = new EncodedListingCache(objectMapper, props);
+
+    private final List<EmployeeDTO> employees = TestDataFactory.getTestEmployeeDTOList(50);
+
+    @Test
+    @DisplayName("should encode exactly what Jackson writes for the list, once per listing")
+    void shouldEncodeOncePerListing() throws Exception {
+        // Act
+        EncodedEmployeeListing first = cache.encode(employees, null);
+        EncodedEmployeeListing again = cache.encode(employees, "gzip");
+        EncodedEmployeeListing changed = cache.encode(new ArrayList<>(employees.subList(1, 50)), null);
+
+        // Assert
+        assertArrayEquals(objectMapper.writeValueAsBytes(employees), first.body());
+        assertNull(first.contentEncoding());
+        assertSame(first, again);
+        assertEquals(employees, first);
+        assertArrayEquals(objectMapper.writeValueAsBytes(employees.subList(1, 50)), changed.body());
+    }
+
+    @Test
+    @DisplayName("should serve a gzip copy of the same bytes when enabled and accepted")
+    void shouldServeGzipWhenAccepted() throws Exception {
+        // Arrange
+        props.setGzip(true);
+
+        // Act
+        EncodedEmployeeListing identity = cache.encode(employees, "br, gzip;q=0");
+        EncodedEmployeeListing gzip = cache.encode(employees, "br, gzip;q=0.5");
+
+        // Assert
+        assertNull(identity.contentEncoding());
+        assertEquals("gzip", gzip.contentEncoding());
+        assertSame(gzip, cache.encode(employees, "*"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.body()))) {
+            assertArrayEquals(identity.body(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("should follow Accept-Encoding, letting an explicit gzip entry override *")
+    void shouldParseAcceptEncoding() {
+        // Act & Assert
+        assertTrue(EncodedListingCache.acceptsGzip("gzip, deflate"));
+        assertTrue(EncodedListingCache.acceptsGzip("GZIP;q=0.1"));
+        assertTrue(EncodedListingCache.acceptsGzip("*"));
+        assertFalse(EncodedListingCache.acceptsGzip(null));
+        assertFalse(EncodedListingCache.acceptsGzip("identity"));
+        assertFalse(EncodedListingCache.acceptsGzip("*, gzip;q=0"));
+        assertFalse(EncodedListingCache.acceptsGzip("gzip;q=0.0"));
+    }
+}
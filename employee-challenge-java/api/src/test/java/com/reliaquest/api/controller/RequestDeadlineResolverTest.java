@@ -0,0 +1,77 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import com.reliaquest.api.config.RequestDeadlineProperties;
+import com.reliaquest.api.util.MutableClock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.method.HandlerMethod;
+
+@DisplayName("RequestDeadlineResolver Unit Tests")
+public class RequestDeadlineResolverTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final RequestDeadlineProperties props = new RequestDeadlineProperties();
+
+    private final RequestDeadlineResolver resolver = new RequestDeadlineResolver(props, new MutableClock(NOW));
+
+    private HandlerMethod getEmployeeById;
+
+    private HandlerMethod bulkCreate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        props.getRoutes().put("get-employee-by-id", Duration.ofSeconds(5));
+        getEmployeeById = new HandlerMethod(
+                mock(EmployeeController.class), EmployeeController.class.getMethod("getEmployeeById", String.class));
+        bulkCreate = new HandlerMethod(
+                mock(BulkEmployeeController.class), BulkEmployeeController.class.getMethods()[0]);
+    }
+
+    @Test
+    @DisplayName("should give employee routes their configured timeout, or the default, and other routes none")
+    void shouldUseRouteTimeout() throws Exception {
+        // Arrange
+        HandlerMethod getAllEmployees = new HandlerMethod(
+                mock(EmployeeController.class), EmployeeController.class.getMethod("getAllEmployees"));
+
+        // Act & Assert
+        assertEquals(NOW.plusSeconds(5), resolver.deadlineFor(getEmployeeById, null));
+        assertEquals(NOW.plus(props.getDefaultTimeout()), resolver.deadlineFor(getAllEmployees, null));
+        assertNull(resolver.deadlineFor(bulkCreate, null));
+    }
+
+    @Test
+    @DisplayName("should take the timeout from the header in milliseconds or as a duration, up to max-timeout")
+    void shouldUseRequestedTimeout() {
+        // Act & Assert
+        assertEquals(NOW.plusMillis(1500), resolver.deadlineFor(getEmployeeById, "1500"));
+        assertEquals(NOW.plusMillis(250), resolver.deadlineFor(getEmployeeById, " 250ms "));
+        assertEquals(NOW.plus(props.getMaxTimeout()), resolver.deadlineFor(getEmployeeById, "5m"));
+    }
+
+    @Test
+    @DisplayName("should ignore header values that cannot be read or are not positive")
+    void shouldIgnoreInvalidRequestedTimeout() {
+        // Act & Assert
+        assertEquals(NOW.plusSeconds(5), resolver.deadlineFor(getEmployeeById, "soon"));
+        assertEquals(NOW.plusSeconds(5), resolver.deadlineFor(getEmployeeById, "0"));
+        assertEquals(NOW.plusSeconds(5), resolver.deadlineFor(getEmployeeById, "-100"));
+    }
+
+    @Test
+    @DisplayName("should give no request a deadline when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Arrange
+        props.setEnabled(false);
+
+        // Act & Assert
+        assertNull(resolver.deadlineFor(getEmployeeById, "1500"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.api.exception;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.reliaquest.api.util.MutableClock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+@DisplayName("UpstreamErrorTranslator Unit Tests")
+public class UpstreamErrorTranslatorTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    private final UpstreamErrorTranslator translator = new UpstreamErrorTranslator(clock);
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(UpstreamErrorTranslator.class);
+
+    private final ListAppender<ILoggingEvent> logged = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        logged.start();
+        logger.addAppender(logged);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(logged);
+    }
+
+    private static WebClientResponseException upstream(int status) {
+        return WebClientResponseException.create(status, "Upstream", null, null, null);
+    }
+
+    @Test
+    @DisplayName("should answer upstream 404 and 429 with shared exceptions that carry no stack trace")
+    void shouldShareStacklessExpectedErrors() {
+        // Act
+        RuntimeException notFound = translator.translate(upstream(404));
+        RuntimeException throttled = translator.translate(upstream(429));
+
+        // Assert
+        assertSame(UpstreamErrorTranslator.NOT_FOUND, notFound);
+        assertSame(UpstreamErrorTranslator.NOT_FOUND, translator.translate(upstream(404)));
+        assertSame(UpstreamErrorTranslator.THROTTLED, throttled);
+        assertEquals(0, throttled.getStackTrace().length);
+        throttled.addSuppressed(new IllegalStateException());
+        assertEquals(0, throttled.getSuppressed().length);
+    }
+
+    @Test
+    @DisplayName("should wrap other upstream statuses and unexpected failures, and pass api exceptions through")
+    void shouldMapOtherFailures() {
+        // Arrange
+        WebClientResponseException serverError = upstream(500);
+        IllegalStateException unexpected = new IllegalStateException("boom");
+        ResourceNotFoundException noName = new ResourceNotFoundException("no name");
+        UpstreamUnavailableException unavailable = new UpstreamUnavailableException("open", Duration.ofSeconds(5));
+        TooManyRequestsException rejected = new TooManyRequestsException("rejected");
+
+        // Act
+        RuntimeException upstreamError = translator.translate(serverError);
+        RuntimeException internal = translator.translate(unexpected);
+
+        // Assert
+        assertInstanceOf(UpstreamServerException.class, upstreamError);
+        assertEquals("Upstream error: 500", upstreamError.getMessage());
+        assertSame(serverError, upstreamError.getCause());
+        assertSame(unexpected, internal.getCause());
+        assertSame(noName, translator.translate(noName));
+        assertSame(unavailable, translator.translate(unavailable));
+        assertSame(rejected, translator.translate(rejected));
+        assertSame(UpstreamErrorTranslator.TIMED_OUT, translator.translate(UpstreamErrorTranslator.TIMED_OUT));
+        assertEquals(0, UpstreamErrorTranslator.TIMED_OUT.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("should log each kind of failure once per interval, then report how many were left out")
+    void shouldRateLimitLogging() {
+        // Act
+        for (int i = 0; i < 100; i++) {
+            translator.translate(upstream(429));
+        }
+        translator.translate(upstream(503));
+        clock.advance(Duration.ofSeconds(9));
+        translator.translate(upstream(429));
+        clock.advance(Duration.ofSeconds(1));
+        translator.translate(upstream(429));
+
+        // Assert
+        assertEquals(3, logged.list.size());
+        ILoggingEvent first = logged.list.get(0);
+        assertEquals(Level.WARN, first.getLevel());
+        assertNull(first.getThrowableProxy());
+        ILoggingEvent serverError = logged.list.get(1);
+        assertEquals(Level.ERROR, serverError.getLevel());
+        assertNotNull(serverError.getThrowableProxy());
+        String summary = logged.list.get(2).getFormattedMessage();
+        assertTrue(summary.endsWith("(100 more since the last report)"), summary);
+    }
+}
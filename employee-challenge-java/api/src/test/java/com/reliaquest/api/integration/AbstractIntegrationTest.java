@@ -1,12 +1,17 @@
 package com.reliaquest.api.integration;
 
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
 
 /**
  * Shared base class for integration testing of API endpoints.
- * Provides full application context and configures WebTestClient
+ * Provides full application context and configures WebTestClient, with the Prometheus registry the application exports
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        // Scenarios start from a cold cache of mocked data, which is not worth persisting between runs
+        properties = "employee-cache.persistence.enabled=false")
 @AutoConfigureWebTestClient
+@AutoConfigureObservability(tracing = false)
 public abstract class AbstractIntegrationTest {}
@@ -3,28 +3,50 @@ package com.reliaquest.api.integration;
 import static com.reliaquest.api.common.Constants.GET_EMPLOYEE_BY_ID_URI;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
 import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.RequestDeadline;
+import com.reliaquest.api.dto.BatchLookupResultDTO;
+import com.reliaquest.api.dto.BulkCreateResultDTO;
 import com.reliaquest.api.dto.CreateEmployeeDTO;
 import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
 import com.reliaquest.api.util.TestDataFactory;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 public class EmployeeApiIntegrationTest extends AbstractIntegrationTest {
 
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @MockBean
     private EmployeeApiClient employeeApiClient;
 
@@ -33,6 +55,8 @@ public class EmployeeApiIntegrationTest extends AbstractIntegrationTest {
     @BeforeEach
     void setup() {
         employees = TestDataFactory.getTestEmployeeDTOList(15);
+        // The snapshot is shared by the whole context; start each scenario from a cold cache
+        employeeSnapshotCache.invalidate();
     }
 
     @Test
@@ -124,4 +148,249 @@ public class EmployeeApiIntegrationTest extends AbstractIntegrationTest {
             assertEquals(employees.get(i).getId(), listOfEmployees.get(i).getId());
         }
     }
+
+    @Test
+    @DisplayName("Integration test scenario: Get All Employees should stream one employee per line for NDJSON clients")
+    void shouldStreamAllEmployeesAsNdjson() {
+        // Arrange
+        when(employeeApiClient.get(any())).thenReturn(employees);
+
+        // Act
+        List<EmployeeDTO> streamed = webTestClient
+                .get()
+                .uri("/")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(EmployeeDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(employees, streamed);
+        webTestClient.get().uri("/").exchange().expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    @DisplayName("Integration test scenario: Bulk create should answer every employee in request order")
+    void shouldBulkCreateEmployees() {
+        // Arrange
+        CreateEmployeeDTO first = TestDataFactory.getTestCreateEmployeeDTO("Bulk One");
+        CreateEmployeeDTO second = TestDataFactory.getTestCreateEmployeeDTO("Bulk Two");
+        CreateEmployeeDTO invalid = new CreateEmployeeDTO(" ", 100, 30, "Engineer");
+        EmployeeDTO firstCreated = TestDataFactory.getTestEmployeeDTOFromCreateEmployeeDTO(first);
+        EmployeeDTO secondCreated = TestDataFactory.getTestEmployeeDTOFromCreateEmployeeDTO(second);
+        when(employeeApiClient.postAsync(eq(first), any())).thenReturn(Mono.just(firstCreated));
+        when(employeeApiClient.postAsync(eq(second), any())).thenReturn(Mono.just(secondCreated));
+
+        // Act
+        List<BulkCreateResultDTO> results = webTestClient
+                .post()
+                .uri("/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(first, invalid, second))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBodyList(BulkCreateResultDTO.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertEquals(
+                List.of(0, 1, 2),
+                results.stream().map(BulkCreateResultDTO::getIndex).toList());
+        assertEquals(firstCreated, results.get(0).getEmployee());
+        assertEquals(BulkCreateResultDTO.Status.REJECTED, results.get(1).getStatus());
+        assertEquals(secondCreated, results.get(2).getEmployee());
+        webTestClient
+                .post()
+                .uri("/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of())
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Integration test scenario: Batch lookup should split found and missing ids with one listing call")
+    void shouldLookUpEmployeesInBatch() {
+        // Arrange
+        List<String> ids = List.of(
+                employees.get(4).getId(),
+                UUID.randomUUID().toString(),
+                employees.get(1).getId(),
+                employees.get(9).getId());
+        when(employeeApiClient.getAsync(any())).thenReturn(Mono.just(employees));
+
+        // Act
+        BatchLookupResultDTO result = webTestClient
+                .post()
+                .uri("/bulk/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ids)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(BatchLookupResultDTO.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertEquals(List.of(employees.get(4), employees.get(1), employees.get(9)), result.getFound());
+        assertEquals(List.of(ids.get(1)), result.getMissing());
+        verify(employeeApiClient, times(1)).getAsync(any());
+        webTestClient
+                .post()
+                .uri("/bulk/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of("not-a-uuid"))
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Integration test scenario: Polls with a current ETag should get 304 and no body")
+    void shouldAnswerNotModifiedForCurrentETag() {
+        // Arrange
+        when(employeeApiClient.get(any())).thenReturn(employees);
+
+        for (String uri : List.of("/", "/highestSalary", "/topTenHighestEarningEmployeeNames")) {
+            // Act
+            String etag = webTestClient
+                    .get()
+                    .uri(uri)
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectHeader()
+                    .valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache")
+                    .returnResult(String.class)
+                    .getResponseHeaders()
+                    .getETag();
+
+            // Assert
+            assertNotNull(etag);
+            webTestClient
+                    .get()
+                    .uri(uri)
+                    .ifNoneMatch(etag)
+                    .exchange()
+                    .expectStatus()
+                    .isNotModified()
+                    .expectBody()
+                    .isEmpty();
+            webTestClient
+                    .get()
+                    .uri(uri)
+                    .ifNoneMatch("\"stale\"")
+                    .exchange()
+                    .expectStatus()
+                    .isOk();
+        }
+    }
+
+    @Test
+    @DisplayName("Integration test scenario: Get All Employees should send the same bytes Jackson writes")
+    void shouldSendListingBytesUnchanged() throws Exception {
+        // Arrange
+        when(employeeApiClient.get(any())).thenReturn(employees);
+        byte[] expected = objectMapper.writeValueAsBytes(employees);
+
+        // Act & Assert
+        for (int i = 0; i < 2; i++) {
+            webTestClient
+                    .get()
+                    .uri("/")
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectHeader()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .expectHeader()
+                    .contentLength(expected.length)
+                    .expectHeader()
+                    .doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                    .expectBody(byte[].class)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName(
+            "Integration test scenario: Prometheus scrape should carry per-route latency histograms and mapped error counts")
+    void shouldExportPrometheusMetrics() {
+        // Arrange
+        String id = UUID.randomUUID().toString();
+        when(employeeApiClient.get(eq(GET_EMPLOYEE_BY_ID_URI), eq(new Object[] {id}), any()))
+                .thenThrow(WebClientResponseException.create(404, "Not Found", null, null, null));
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get().uri("/{id}", id).exchange().expectStatus().isNotFound();
+        }
+        String scrape = webTestClient
+                .get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertNotNull(scrape);
+        List<String> lines = scrape.lines().toList();
+        assertTrue(lines.stream()
+                .anyMatch(line -> line.startsWith("http_server_requests_seconds_bucket{")
+                        && line.contains("uri=\"/{id}\"")
+                        && line.contains("status=\"404\"")));
+        assertTrue(lines.stream()
+                .anyMatch(line -> line.startsWith("http_server_requests_seconds{")
+                        && line.contains("uri=\"/{id}\"")
+                        && line.contains("quantile=\"0.99\"")));
+        assertTrue(lines.stream()
+                .anyMatch(line -> line.startsWith("employee_api_errors_total{") && line.contains("status=\"404\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("employee_api_upstream_in_flight")));
+    }
+
+    @Test
+    @DisplayName(
+            "Integration test scenario: upstream calls should run under the requested deadline and answer 504 past it")
+    void shouldAnswerGatewayTimeoutPastDeadline() {
+        // Arrange
+        String id = UUID.randomUUID().toString();
+        AtomicReference<Instant> deadline = new AtomicReference<>();
+        when(employeeApiClient.get(eq(GET_EMPLOYEE_BY_ID_URI), eq(new Object[] {id}), any()))
+                .thenAnswer(invocation -> {
+                    deadline.set(RequestDeadline.current());
+                    throw UpstreamErrorTranslator.TIMED_OUT;
+                });
+
+        // Act
+        Instant sentAt = Instant.now();
+        webTestClient
+                .get()
+                .uri("/{id}", id)
+                .header("X-Request-Timeout", "1500")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(504)
+                .expectBody()
+                .jsonPath("$.error")
+                .isEqualTo(UpstreamErrorTranslator.TIMED_OUT.getMessage());
+
+        // Assert
+        assertNotNull(deadline.get());
+        assertTrue(deadline.get().isAfter(sentAt.plusMillis(1000)));
+        assertTrue(deadline.get().isBefore(Instant.now().plus(Duration.ofMillis(1500))));
+    }
 }
@@ -0,0 +1,386 @@
+package com.reliaquest.api.integration;
+
+import static com.reliaquest.api.common.Constants.GET_EMPLOYEE_BY_ID_URI;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.RequestDeadline;
+import com.reliaquest.api.dto.BulkCreateResultDTO;
+import com.reliaquest.api.dto.CreateEmployeeDTO;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
+import com.reliaquest.api.util.TestDataFactory;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+@TestPropertySource(properties = "spring.main.web-application-type=reactive")
+public class ReactiveEmployeeApiIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext applicationContext;
+
+    @Autowired
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private EmployeeApiClient employeeApiClient;
+
+    private List<EmployeeDTO> employees;
+
+    @BeforeEach
+    void setup() {
+        employees = TestDataFactory.getTestEmployeeDTOList(15);
+        employeeSnapshotCache.invalidate();
+    }
+
+    @Test
+    @DisplayName("Reactive mode: should run on Reactor Netty")
+    void shouldRunOnReactorNetty() {
+        assertInstanceOf(NettyWebServer.class, applicationContext.getWebServer());
+    }
+
+    @Test
+    @DisplayName("Reactive mode: Create → Get → Search → Delete should work successfully")
+    void shouldCreateAndFetchAndSearchAndDeleteEmployee() {
+        // Arrange
+        CreateEmployeeDTO input = TestDataFactory.getTestCreateEmployeeDTO("John Doe");
+        EmployeeDTO createdEmployee = TestDataFactory.getTestEmployeeDTOFromCreateEmployeeDTO(input);
+        when(employeeApiClient.postAsync(eq(input), any())).thenReturn(Mono.just(createdEmployee));
+        when(employeeApiClient.getAsync(eq(GET_EMPLOYEE_BY_ID_URI), eq(new Object[] {createdEmployee.getId()}), any()))
+                .thenReturn(Mono.just(createdEmployee));
+        when(employeeApiClient.getAsync(any())).thenReturn(Mono.just(List.of(createdEmployee)));
+        when(employeeApiClient.deleteAsync(any(), any())).thenReturn(Mono.just(Boolean.TRUE));
+
+        // Step 1: Create
+        webTestClient
+                .post()
+                .uri("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(input)
+                .exchange()
+                .expectStatus()
+                .isCreated()
+                .expectHeader()
+                .location("/" + createdEmployee.getId())
+                .expectBody(EmployeeDTO.class)
+                .isEqualTo(createdEmployee);
+
+        // Step 2: Fetch by ID
+        webTestClient
+                .get()
+                .uri("/{id}", createdEmployee.getId())
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(EmployeeDTO.class)
+                .isEqualTo(createdEmployee);
+
+        // Step 3: Search by name
+        webTestClient
+                .get()
+                .uri("/search/{search}", "john")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBodyList(EmployeeDTO.class)
+                .hasSize(1)
+                .contains(createdEmployee);
+
+        // Step 4: Delete by ID
+        webTestClient
+                .delete()
+                .uri("/{id}", createdEmployee.getId())
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(String.class)
+                .isEqualTo(input.getName());
+    }
+
+    @Test
+    @DisplayName("Reactive mode: aggregate endpoints should return the same payloads as servlet mode")
+    void shouldServeAggregates() {
+        // Arrange
+        when(employeeApiClient.getAsync(any())).thenReturn(Mono.just(employees));
+
+        // Act & Assert
+        List<EmployeeDTO> listOfEmployees = webTestClient
+                .get()
+                .uri("/")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBodyList(EmployeeDTO.class)
+                .returnResult()
+                .getResponseBody();
+        assertEquals(employees, listOfEmployees);
+
+        webTestClient
+                .get()
+                .uri("/highestSalary")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(Integer.class)
+                .isEqualTo(TestDataFactory.getHighestSalary(employees));
+
+        webTestClient
+                .get()
+                .uri("/topTenHighestEarningEmployeeNames")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(new ParameterizedTypeReference<List<String>>() {})
+                .isEqualTo(TestDataFactory.getTopTenHighestEarningEmployeeNames(employees));
+    }
+
+    @Test
+    @DisplayName("Reactive mode: Get All Employees should stream one employee per line for NDJSON clients")
+    void shouldStreamAllEmployeesAsNdjson() {
+        // Arrange
+        when(employeeApiClient.getAsync(any())).thenReturn(Mono.just(employees));
+
+        // Act
+        List<EmployeeDTO> streamed = webTestClient
+                .get()
+                .uri("/")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(EmployeeDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(employees, streamed);
+        webTestClient.get().uri("/").exchange().expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    @DisplayName("Reactive mode: should map errors and validation failures like servlet mode")
+    void shouldMapErrors() {
+        // Arrange
+        when(employeeApiClient.getAsync(any()))
+                .thenReturn(Mono.error(WebClientResponseException.create(429, "", null, null, null)));
+
+        // Act & Assert
+        webTestClient.get().uri("/").exchange().expectStatus().isEqualTo(429);
+        webTestClient
+                .get()
+                .uri("/")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(429);
+        webTestClient.get().uri("/{id}", "not-a-uuid").exchange().expectStatus().isBadRequest();
+        webTestClient
+                .post()
+                .uri("/")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreateEmployeeDTO("", 0, 10, ""))
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody()
+                .jsonPath("$.error")
+                .isEqualTo("Validation failed for one or more input fields")
+                .jsonPath("$.salary")
+                .isEqualTo("Salary must be greater than zero");
+    }
+
+    @Test
+    @DisplayName("Reactive mode: Bulk create should stream one result per line for NDJSON clients")
+    void shouldStreamBulkCreateResults() {
+        // Arrange
+        CreateEmployeeDTO input = TestDataFactory.getTestCreateEmployeeDTO("Bulk One");
+        CreateEmployeeDTO invalid = new CreateEmployeeDTO("Bulk Two", 100, 99, "Engineer");
+        EmployeeDTO created = TestDataFactory.getTestEmployeeDTOFromCreateEmployeeDTO(input);
+        when(employeeApiClient.postAsync(eq(input), any())).thenReturn(Mono.just(created));
+
+        // Act
+        List<BulkCreateResultDTO> streamed = webTestClient
+                .post()
+                .uri("/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(List.of(input, invalid))
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(BulkCreateResultDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(
+                List.of(BulkCreateResultDTO.Status.REJECTED, BulkCreateResultDTO.Status.CREATED),
+                streamed.stream().map(BulkCreateResultDTO::getStatus).toList());
+        assertEquals(created, streamed.get(1).getEmployee());
+    }
+
+    @Test
+    @DisplayName("Reactive mode: Polls with a current ETag should get 304 and no body")
+    void shouldAnswerNotModifiedForCurrentETag() {
+        // Arrange
+        when(employeeApiClient.getAsync(any())).thenReturn(Mono.just(employees));
+
+        for (String uri : List.of("/", "/highestSalary", "/topTenHighestEarningEmployeeNames")) {
+            // Act
+            String etag = webTestClient
+                    .get()
+                    .uri(uri)
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectHeader()
+                    .valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache")
+                    .returnResult(String.class)
+                    .getResponseHeaders()
+                    .getETag();
+
+            // Assert
+            assertNotNull(etag);
+            webTestClient
+                    .get()
+                    .uri(uri)
+                    .ifNoneMatch(etag)
+                    .exchange()
+                    .expectStatus()
+                    .isNotModified()
+                    .expectBody()
+                    .isEmpty();
+            webTestClient
+                    .get()
+                    .uri(uri)
+                    .ifNoneMatch("\"stale\"")
+                    .exchange()
+                    .expectStatus()
+                    .isOk();
+        }
+    }
+
+    @Test
+    @DisplayName("Reactive mode: Get All Employees should send the same bytes Jackson writes")
+    void shouldSendListingBytesUnchanged() throws Exception {
+        // Arrange
+        when(employeeApiClient.getAsync(any())).thenReturn(Mono.just(employees));
+        byte[] expected = objectMapper.writeValueAsBytes(employees);
+
+        // Act & Assert
+        for (int i = 0; i < 2; i++) {
+            webTestClient
+                    .get()
+                    .uri("/")
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectHeader()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .expectHeader()
+                    .contentLength(expected.length)
+                    .expectHeader()
+                    .doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                    .expectBody(byte[].class)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Reactive mode: Prometheus scrape should carry per-route latency histograms and mapped error counts")
+    void shouldExportPrometheusMetrics() {
+        // Arrange
+        String id = UUID.randomUUID().toString();
+        when(employeeApiClient.getAsync(eq(GET_EMPLOYEE_BY_ID_URI), eq(new Object[] {id}), any()))
+                .thenReturn(Mono.error(WebClientResponseException.create(404, "Not Found", null, null, null)));
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get().uri("/{id}", id).exchange().expectStatus().isNotFound();
+        }
+        String scrape = webTestClient
+                .get()
+                .uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        assertNotNull(scrape);
+        List<String> lines = scrape.lines().toList();
+        assertTrue(lines.stream()
+                .anyMatch(line -> line.startsWith("http_server_requests_seconds_bucket{")
+                        && line.contains("uri=\"/{id}\"")
+                        && line.contains("status=\"404\"")));
+        assertTrue(lines.stream()
+                .anyMatch(line -> line.startsWith("http_server_requests_seconds{")
+                        && line.contains("uri=\"/{id}\"")
+                        && line.contains("quantile=\"0.99\"")));
+        assertTrue(lines.stream()
+                .anyMatch(line -> line.startsWith("employee_api_errors_total{") && line.contains("status=\"404\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("employee_api_upstream_in_flight")));
+    }
+
+    @Test
+    @DisplayName("Reactive mode: upstream calls should run under the route's deadline and answer 504 past it")
+    void shouldAnswerGatewayTimeoutPastDeadline() {
+        // Arrange
+        String id = UUID.randomUUID().toString();
+        AtomicReference<Instant> deadline = new AtomicReference<>();
+        when(employeeApiClient.getAsync(eq(GET_EMPLOYEE_BY_ID_URI), eq(new Object[] {id}), any()))
+                .thenReturn(Mono.deferContextual(context -> {
+                    deadline.set(context.<Instant>getOrEmpty(RequestDeadline.CONTEXT_KEY)
+                            .orElse(null));
+                    return Mono.error(UpstreamErrorTranslator.TIMED_OUT);
+                }));
+
+        // Act
+        Instant sentAt = Instant.now();
+        webTestClient.get().uri("/{id}", id).exchange().expectStatus().isEqualTo(504);
+
+        // Assert - get-employee-by-id is given 5s
+        assertNotNull(deadline.get());
+        assertTrue(deadline.get().isAfter(sentAt.plusSeconds(4)));
+        assertTrue(deadline.get().isBefore(Instant.now().plusSeconds(5)));
+    }
+}
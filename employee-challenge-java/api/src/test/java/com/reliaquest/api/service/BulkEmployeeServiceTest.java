@@ -0,0 +1,279 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.config.EmployeeBulkProperties;
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.dto.BatchLookupResultDTO;
+import com.reliaquest.api.dto.BulkCreateResultDTO;
+import com.reliaquest.api.dto.BulkCreateResultDTO.Status;
+import com.reliaquest.api.dto.CreateEmployeeDTO;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.ClientBadRequestException;
+import com.reliaquest.api.exception.ResourceNotFoundException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.util.TestDataFactory;
+import jakarta.validation.Validation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkEmployeeService Unit Tests")
+public class BulkEmployeeServiceTest {
+
+    @Mock
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    @Mock
+    private EmployeeSnapshotCache employeeSnapshotCache;
+
+    private final EmployeeBulkProperties props = new EmployeeBulkProperties();
+
+    private BulkEmployeeService bulkEmployeeService;
+
+    @BeforeEach
+    void setUp() {
+        props.setRetryBackoff(Duration.ofMillis(1));
+        bulkEmployeeService = new BulkEmployeeService(
+                reactiveEmployeeService,
+                employeeSnapshotCache,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                props);
+    }
+
+    private static EmployeeDTO created(CreateEmployeeDTO input) {
+        return TestDataFactory.getTestEmployeeDTOFromCreateEmployeeDTO(input);
+    }
+
+    @Test
+    @DisplayName("should report every employee: invalid ones rejected without a call, held back ones retried")
+    void shouldReportEveryEmployee() {
+        // Arrange
+        CreateEmployeeDTO valid = TestDataFactory.getTestCreateEmployeeDTO("Ada Lovelace");
+        CreateEmployeeDTO invalid = new CreateEmployeeDTO("", 100, 12, "Engineer");
+        CreateEmployeeDTO throttledOnce = TestDataFactory.getTestCreateEmployeeDTO("Grace Hopper");
+        CreateEmployeeDTO alwaysThrottled = TestDataFactory.getTestCreateEmployeeDTO("Alan Turing");
+        CreateEmployeeDTO unavailable = TestDataFactory.getTestCreateEmployeeDTO("Linus Torvalds");
+        EmployeeDTO validCreated = created(valid);
+        EmployeeDTO throttledCreated = created(throttledOnce);
+        when(reactiveEmployeeService.createEmployee(valid)).thenReturn(Mono.just(validCreated));
+        AtomicInteger calls = new AtomicInteger();
+        when(reactiveEmployeeService.createEmployee(throttledOnce))
+                .thenReturn(Mono.defer(() -> calls.getAndIncrement() == 0
+                        ? Mono.error(new TooManyRequestsException("throttled"))
+                        : Mono.just(throttledCreated)));
+        when(reactiveEmployeeService.createEmployee(alwaysThrottled))
+                .thenReturn(Mono.error(new TooManyRequestsException("throttled")));
+        when(reactiveEmployeeService.createEmployee(unavailable))
+                .thenReturn(Mono.error(new UpstreamUnavailableException("open", Duration.ofMillis(1))));
+
+        // Act
+        List<BulkCreateResultDTO> results = new ArrayList<>(bulkEmployeeService
+                .createEmployees(List.of(valid, invalid, throttledOnce, alwaysThrottled, unavailable))
+                .collectList()
+                .block());
+        results.sort(Comparator.comparingInt(BulkCreateResultDTO::getIndex));
+
+        // Assert
+        assertEquals(
+                List.of(Status.CREATED, Status.REJECTED, Status.CREATED, Status.THROTTLED, Status.THROTTLED),
+                results.stream().map(BulkCreateResultDTO::getStatus).toList());
+        assertEquals(validCreated, results.get(0).getEmployee());
+        assertEquals(0, results.get(1).getAttempts());
+        assertTrue(results.get(1).getErrors().containsKey("name"));
+        assertTrue(results.get(1).getErrors().containsKey("age"));
+        assertEquals(throttledCreated, results.get(2).getEmployee());
+        assertEquals(2, results.get(2).getAttempts());
+        assertEquals(props.getMaxAttempts(), results.get(3).getAttempts());
+        assertEquals(props.getMaxAttempts(), results.get(4).getAttempts());
+        verify(reactiveEmployeeService, never()).createEmployee(invalid);
+    }
+
+    @Test
+    @DisplayName("should wait out a circuit breaker that throttled creates opened, and still create the whole batch")
+    void shouldRetryThroughOpenCircuitBreaker() {
+        // Arrange - the first creates are throttled, which opens the breaker for the rest of the batch
+        MockServerApiProperties upstreamProps = new MockServerApiProperties();
+        upstreamProps.getCircuitBreaker().setFailureThreshold(5);
+        upstreamProps.getCircuitBreaker().setOpenDuration(Duration.ofMillis(50));
+        UpstreamCircuitBreaker circuitBreaker = new UpstreamCircuitBreaker(upstreamProps);
+        props.setMaxAttempts(5);
+        AtomicInteger calls = new AtomicInteger();
+        when(reactiveEmployeeService.createEmployee(any())).thenAnswer(invocation -> {
+            CreateEmployeeDTO input = invocation.getArgument(0);
+            return circuitBreaker.execute(() -> calls.incrementAndGet() <= 5
+                    ? Mono.error(new TooManyRequestsException("throttled"))
+                    : Mono.just(created(input)));
+        });
+        List<CreateEmployeeDTO> inputs = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            inputs.add(TestDataFactory.getTestCreateEmployeeDTO("Employee " + i));
+        }
+
+        // Act
+        List<BulkCreateResultDTO> results =
+                bulkEmployeeService.createEmployees(inputs).collectList().block();
+
+        // Assert
+        assertEquals(12, results.size());
+        assertTrue(
+                results.stream().allMatch(result -> result.getStatus() == Status.CREATED),
+                results.stream().map(BulkCreateResultDTO::getStatus).toList()::toString);
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(calls.get() > 12);
+    }
+
+    @Test
+    @DisplayName("should emit rejected employees first, before any create completes")
+    void shouldEmitRejectedFirst() {
+        // Arrange
+        CreateEmployeeDTO valid = TestDataFactory.getTestCreateEmployeeDTO("Ada Lovelace");
+        when(reactiveEmployeeService.createEmployee(valid)).thenReturn(Mono.just(created(valid)));
+
+        // Act
+        List<BulkCreateResultDTO> results = bulkEmployeeService
+                .createEmployees(Arrays.asList(valid, null, new CreateEmployeeDTO("Bob", null, 30, "Engineer")))
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(
+                List.of(1, 2, 0),
+                results.stream().map(BulkCreateResultDTO::getIndex).toList());
+        assertEquals(Status.REJECTED, results.get(0).getStatus());
+        assertEquals(Status.REJECTED, results.get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName("should keep at most the configured number of creates in flight")
+    void shouldBoundConcurrency() {
+        // Arrange
+        props.setConcurrency(3);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(reactiveEmployeeService.createEmployee(any())).thenAnswer(invocation -> {
+            CreateEmployeeDTO input = invocation.getArgument(0);
+            return Mono.fromSupplier(() -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        return created(input);
+                    })
+                    .delayElement(Duration.ofMillis(5))
+                    .doOnNext(employee -> inFlight.decrementAndGet());
+        });
+        List<CreateEmployeeDTO> inputs = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            inputs.add(TestDataFactory.getTestCreateEmployeeDTO("Employee " + i));
+        }
+
+        // Act
+        List<BulkCreateResultDTO> results =
+                bulkEmployeeService.createEmployees(inputs).collectList().block();
+
+        // Assert
+        assertEquals(30, results.size());
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == Status.CREATED));
+        assertTrue(maxInFlight.get() <= 3, "in flight: " + maxInFlight.get());
+    }
+
+    @Test
+    @DisplayName("should refuse an empty or oversized batch outright")
+    void shouldRefuseEmptyOrOversizedBatch() {
+        // Arrange
+        props.setMaxBatchSize(2);
+        List<CreateEmployeeDTO> tooMany = List.of(
+                TestDataFactory.getTestCreateEmployeeDTO("a"),
+                TestDataFactory.getTestCreateEmployeeDTO("b"),
+                TestDataFactory.getTestCreateEmployeeDTO("c"));
+
+        // Act & Assert
+        assertThrows(ClientBadRequestException.class, () -> bulkEmployeeService.createEmployees(List.of()));
+        assertThrows(ClientBadRequestException.class, () -> bulkEmployeeService.createEmployees(tooMany));
+        verifyNoInteractions(reactiveEmployeeService);
+    }
+
+    @Test
+    @DisplayName("should get each id of a small batch against a cold cache, reporting unknown ids as missing")
+    void shouldGetEachIdOfSmallBatch() {
+        // Arrange
+        EmployeeDTO first = TestDataFactory.getTestEmployeeDTO();
+        EmployeeDTO second = TestDataFactory.getTestEmployeeDTO();
+        String unknown = UUID.randomUUID().toString();
+        when(employeeSnapshotCache.isWarm()).thenReturn(false);
+        when(reactiveEmployeeService.getEmployeeById(first.getId())).thenReturn(Mono.just(first));
+        when(reactiveEmployeeService.getEmployeeById(second.getId())).thenReturn(Mono.just(second));
+        when(reactiveEmployeeService.getEmployeeById(unknown))
+                .thenReturn(Mono.error(new ResourceNotFoundException("not found")));
+
+        // Act
+        BatchLookupResultDTO result = bulkEmployeeService
+                .lookupEmployees(List.of(second.getId(), unknown, first.getId(), second.getId()))
+                .block();
+
+        // Assert
+        assertEquals(List.of(second, first), result.getFound());
+        assertEquals(List.of(unknown), result.getMissing());
+        verify(reactiveEmployeeService, times(1)).getEmployeeById(second.getId());
+        verify(reactiveEmployeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    @DisplayName("should answer a large batch, or any batch while the cache is warm, from one listing")
+    void shouldUseListingForLargeBatchOrWarmCache() {
+        // Arrange
+        List<EmployeeDTO> employees = TestDataFactory.getTestEmployeeDTOList(10);
+        List<String> large = employees.subList(0, props.getLookup().getListingThreshold()).stream()
+                .map(EmployeeDTO::getId)
+                .toList();
+        String unknown = UUID.randomUUID().toString();
+        when(reactiveEmployeeService.getAllEmployees()).thenReturn(Flux.fromIterable(employees));
+        when(employeeSnapshotCache.isWarm()).thenReturn(false, true);
+
+        // Act
+        BatchLookupResultDTO cold = bulkEmployeeService.lookupEmployees(large).block();
+        BatchLookupResultDTO warm = bulkEmployeeService
+                .lookupEmployees(List.of(unknown, employees.get(7).getId()))
+                .block();
+
+        // Assert
+        assertEquals(employees.subList(0, large.size()), cold.getFound());
+        assertEquals(List.of(), cold.getMissing());
+        assertEquals(List.of(employees.get(7)), warm.getFound());
+        assertEquals(List.of(unknown), warm.getMissing());
+        verify(reactiveEmployeeService, times(2)).getAllEmployees();
+        verify(reactiveEmployeeService, never()).getEmployeeById(any());
+    }
+
+    @Test
+    @DisplayName("should refuse an empty or oversized lookup, or one holding an id that is not a UUID")
+    void shouldRefuseInvalidLookup() {
+        // Arrange
+        props.getLookup().setMaxIds(1);
+
+        // Act & Assert
+        assertThrows(ClientBadRequestException.class, () -> bulkEmployeeService.lookupEmployees(List.of()));
+        assertThrows(
+                ClientBadRequestException.class,
+                () -> bulkEmployeeService.lookupEmployees(
+                        List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString())));
+        assertThrows(ClientBadRequestException.class, () -> bulkEmployeeService.lookupEmployees(List.of("42")));
+        verifyNoInteractions(reactiveEmployeeService);
+    }
+}
@@ -4,16 +4,30 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.reliaquest.api.cache.EmployeeNameResolver;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.NameSearchIndex;
+import com.reliaquest.api.cache.ParallelScans;
+import com.reliaquest.api.cache.SalaryIndex;
 import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.EmployeeListingReducer;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.dto.CreateEmployeeDTO;
 import com.reliaquest.api.dto.EmployeeDTO;
 import com.reliaquest.api.exception.ResourceNotFoundException;
 import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
 import com.reliaquest.api.util.TestDataFactory;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
@@ -26,13 +40,27 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeApiClient employeeApiClient;
 
-    @InjectMocks
     private EmployeeService employeeService;
 
+    private EmployeeNameResolver employeeNameResolver;
+
+    private final EmployeeCacheProperties cacheProperties = new EmployeeCacheProperties();
+
     private final EmployeeDTO mockSingleEmployee = TestDataFactory.getTestEmployeeDTO();
 
     private final List<EmployeeDTO> mockEmployees = TestDataFactory.getTestEmployeeDTOList(15);
 
+    @BeforeEach
+    void setUp() {
+        SalaryIndex salaryIndex = new SalaryIndex();
+        NameSearchIndex nameSearchIndex = new NameSearchIndex();
+        employeeNameResolver = new EmployeeNameResolver(cacheProperties);
+        EmployeeSnapshotCache employeeSnapshotCache = new EmployeeSnapshotCache(
+                employeeApiClient, cacheProperties, List.of(salaryIndex, nameSearchIndex, employeeNameResolver));
+        employeeService = new EmployeeService(
+                employeeApiClient, employeeSnapshotCache, salaryIndex, nameSearchIndex, employeeNameResolver);
+    }
+
     @Nested
     @DisplayName("EmployeeService - getEmployeeById()")
     class GetEmployeeByIdTests {
@@ -323,4 +351,231 @@ public class EmployeeServiceTest {
             assertThrows(TooManyRequestsException.class, () -> employeeService.getEmployeesByNameSearch(anyString()));
         }
     }
+
+    @Nested
+    @DisplayName("EmployeeService - employee snapshot")
+    class EmployeeSnapshotTests {
+
+        // Scans with a pool of their own, shut down after each test
+        private ParallelScans scans;
+
+        @AfterEach
+        void shutDownScans() {
+            if (scans != null) {
+                scans.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("should reduce the salary aggregates from the streamed listing when the cache is disabled")
+        void shouldStreamAggregatesWithoutCache() {
+            // Arrange
+            cacheProperties.setEnabled(false);
+            when(employeeApiClient.reduceListing(any())).thenAnswer(invocation -> {
+                Supplier<EmployeeListingReducer<?>> reducer = invocation.getArgument(0);
+                EmployeeListingReducer<?> pass = reducer.get();
+                mockEmployees.forEach(e -> pass.accept(e.getEmployeeName(), e.getEmployeeSalary()));
+                return pass.result();
+            });
+            List<EmployeeDTO> byPay = mockEmployees.stream()
+                    .sorted(Comparator.comparing(EmployeeDTO::getEmployeeSalary).reversed())
+                    .toList();
+
+            // Act
+            Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
+            List<String> topTen = employeeService.getTopTenHighestEarningEmployeeNames();
+
+            // Assert
+            assertEquals(byPay.get(0).getEmployeeSalary(), highestSalary);
+            assertEquals(
+                    byPay.stream().limit(10).map(EmployeeDTO::getEmployeeName).toList(), topTen);
+            verify(employeeApiClient, never()).get(any());
+        }
+
+        @Test
+        @DisplayName("should scan a large snapshot the indexes do not reflect in parallel, as a sequential scan would")
+        void shouldScanUnindexedSnapshotInParallel() {
+            // Arrange
+            cacheProperties.getParallel().setParallelism(4);
+            cacheProperties.getParallel().setThreshold(1_000);
+            scans = new ParallelScans(cacheProperties);
+            EmployeeService parallelService = new EmployeeService(
+                    employeeApiClient,
+                    null,
+                    new SalaryIndex(scans),
+                    new NameSearchIndex(scans),
+                    employeeNameResolver,
+                    scans,
+                    new UpstreamErrorTranslator());
+            // Few distinct salaries, so the top ten is decided by listing order among ties
+            List<EmployeeDTO> employees = TestDataFactory.getTestEmployeeDTOList(20_000).stream()
+                    .map(e -> new EmployeeDTO(
+                            e.getId(),
+                            e.getEmployeeName(),
+                            e.getEmployeeSalary() % 7 == 0 ? null : e.getEmployeeSalary() / 100_000,
+                            e.getEmployeeAge(),
+                            e.getEmployeeTitle(),
+                            e.getEmployeeEmail()))
+                    .toList();
+            EmployeeSnapshot snapshot = new EmployeeSnapshot(42, Instant.EPOCH, employees);
+
+            // Act
+            List<EmployeeDTO> found = parallelService.searchByName(snapshot, "an");
+            Integer highestSalary = parallelService.highestSalary(snapshot);
+            List<String> topTen = parallelService.topTenHighestEarningNames(snapshot);
+
+            // Assert
+            assertEquals(
+                    employees.stream()
+                            .filter(e ->
+                                    NameSearchIndex.fold(e.getEmployeeName()).contains("an"))
+                            .toList(),
+                    found);
+            assertEquals(TestDataFactory.getHighestSalary(employees), highestSalary);
+            assertEquals(TestDataFactory.getTopTenHighestEarningEmployeeNames(employees), topTen);
+        }
+
+        @Test
+        @DisplayName("should answer every read endpoint from a single upstream listing")
+        void shouldServeAllReadsFromOneUpstreamCall() {
+            // Arrange
+            when(employeeApiClient.get(any())).thenReturn(mockEmployees);
+
+            // Act
+            employeeService.getAllEmployees();
+            employeeService.getEmployeesByNameSearch("a");
+            employeeService.getHighestSalaryOfEmployees();
+            employeeService.getTopTenHighestEarningEmployeeNames();
+
+            // Assert
+            verify(employeeApiClient, times(1)).get(any());
+        }
+
+        @Test
+        @DisplayName("should include a created employee in later reads without another upstream listing")
+        void shouldWriteThroughCreatedEmployee() {
+            // Arrange
+            when(employeeApiClient.get(any())).thenReturn(mockEmployees);
+            CreateEmployeeDTO input = TestDataFactory.getTestCreateEmployeeDTO("Zed Unique");
+            EmployeeDTO created = TestDataFactory.getTestEmployeeDTOFromCreateEmployeeDTO(input);
+            when(employeeApiClient.post(eq(input), any())).thenReturn(created);
+            employeeService.getAllEmployees();
+
+            // Act
+            employeeService.createEmployee(input);
+            List<EmployeeDTO> result = employeeService.getEmployeesByNameSearch("zed unique");
+
+            // Assert
+            assertEquals(List.of(created), result);
+            assertEquals(
+                    mockEmployees.size() + 1, employeeService.getAllEmployees().size());
+            verify(employeeApiClient, times(1)).get(any());
+        }
+
+        @Test
+        @DisplayName("should drop a deleted employee from later reads without another upstream listing")
+        void shouldWriteThroughDeletedEmployee() {
+            // Arrange
+            EmployeeDTO target = mockEmployees.get(3);
+            when(employeeApiClient.get(any())).thenReturn(mockEmployees);
+            when(employeeApiClient.delete(any(), any())).thenReturn(Boolean.TRUE);
+            employeeService.getAllEmployees();
+
+            // Act
+            String deletedName = employeeService.deleteEmployeeById(target.getId());
+            List<EmployeeDTO> result = employeeService.getAllEmployees();
+
+            // Assert
+            assertEquals(target.getEmployeeName(), deletedName);
+            assertEquals(mockEmployees.size() - 1, result.size());
+            assertFalse(result.contains(target));
+            verify(employeeApiClient, times(1)).get(any());
+            // The listing already named the employee
+            verify(employeeApiClient, never()).get(anyString(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("EmployeeService - deleteEmployeeById()")
+    class DeleteEmployeeByIdTests {
+
+        @Test
+        @DisplayName("should look the employee up and delete it by name when its name is not known")
+        void shouldLookUpName_whenNotKnown() {
+            // Arrange
+            when(employeeApiClient.get(anyString(), any(), any())).thenReturn(mockSingleEmployee);
+            when(employeeApiClient.delete(any(), any())).thenReturn(Boolean.TRUE);
+
+            // Act
+            String deletedName = employeeService.deleteEmployeeById(mockSingleEmployee.getId());
+
+            // Assert
+            assertEquals(mockSingleEmployee.getEmployeeName(), deletedName);
+            verify(employeeApiClient).delete(eq(Map.of("name", mockSingleEmployee.getEmployeeName())), any());
+            assertEquals(1, employeeNameResolver.getMissCount());
+            assertEquals(0, employeeNameResolver.size());
+        }
+
+        @Test
+        @DisplayName("should delete by the name a get-by-id response returned, without looking it up again")
+        void shouldSkipLookup_whenNameKnownFromGetById() {
+            // Arrange
+            when(employeeApiClient.get(anyString(), any(), any())).thenReturn(mockSingleEmployee);
+            when(employeeApiClient.delete(any(), any())).thenReturn(Boolean.TRUE);
+            employeeService.getEmployeeById(mockSingleEmployee.getId());
+
+            // Act
+            String deletedName = employeeService.deleteEmployeeById(mockSingleEmployee.getId());
+
+            // Assert
+            assertEquals(mockSingleEmployee.getEmployeeName(), deletedName);
+            verify(employeeApiClient, times(1)).get(anyString(), any(), any());
+            assertEquals(1, employeeNameResolver.getHitCount());
+        }
+
+        @Test
+        @DisplayName("should not delete a new employee who reuses a deleted employee's name")
+        void shouldNotDeleteNewEmployee_whenNameReused() {
+            // Arrange
+            EmployeeDTO first = new EmployeeDTO("id-1", "Sam Carter", 50_000, 30, "Engineer", "sam1@company.com");
+            EmployeeDTO second = new EmployeeDTO("id-2", "Sam Carter", 60_000, 40, "Manager", "sam2@company.com");
+            when(employeeApiClient.get(any())).thenReturn(List.of(first));
+            when(employeeApiClient.delete(any(), any())).thenReturn(Boolean.TRUE);
+            when(employeeApiClient.post(any(), any())).thenReturn(second);
+            when(employeeApiClient.get(anyString(), any(), any()))
+                    .thenThrow(mock(WebClientResponseException.NotFound.class));
+            employeeService.getAllEmployees();
+            employeeService.deleteEmployeeById(first.getId());
+            employeeService.createEmployee(new CreateEmployeeDTO("Sam Carter", 60_000, 40, "Manager"));
+
+            // Act & Assert
+            assertThrows(ResourceNotFoundException.class, () -> employeeService.deleteEmployeeById(first.getId()));
+            verify(employeeApiClient, times(1)).delete(any(), any());
+            assertEquals(Optional.of("Sam Carter"), employeeNameResolver.resolve(second.getId()));
+        }
+
+        @Test
+        @DisplayName("should fall back to looking the employee up when nobody has the remembered name any more")
+        void shouldLookUpName_whenRememberedNameIsGone() {
+            // Arrange
+            EmployeeDTO renamed = new EmployeeDTO(
+                    mockSingleEmployee.getId(), "Renamed Elsewhere", 50_000, 30, "Engineer", "renamed@company.com");
+            when(employeeApiClient.get(any())).thenReturn(List.of(mockSingleEmployee));
+            when(employeeApiClient.get(anyString(), any(), any())).thenReturn(renamed);
+            when(employeeApiClient.delete(eq(Map.of("name", mockSingleEmployee.getEmployeeName())), any()))
+                    .thenReturn(Boolean.FALSE);
+            when(employeeApiClient.delete(eq(Map.of("name", "Renamed Elsewhere")), any()))
+                    .thenReturn(Boolean.TRUE);
+            employeeService.getAllEmployees();
+
+            // Act
+            String deletedName = employeeService.deleteEmployeeById(mockSingleEmployee.getId());
+
+            // Assert
+            assertEquals("Renamed Elsewhere", deletedName);
+            verify(employeeApiClient, times(2)).delete(any(), any());
+            assertEquals(1, employeeNameResolver.getHitCount());
+            assertEquals(0, employeeNameResolver.size());
+        }
+    }
 }
@@ -0,0 +1,148 @@
+package com.reliaquest.api.service;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.cache.EmployeeNameResolver;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.NameSearchIndex;
+import com.reliaquest.api.cache.SalaryIndex;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.dto.CreateEmployeeDTO;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.exception.ResourceNotFoundException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.util.TestDataFactory;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveEmployeeService Unit Tests")
+public class ReactiveEmployeeServiceTest {
+
+    @Mock
+    private EmployeeApiClient employeeApiClient;
+
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    private final List<EmployeeDTO> mockEmployees = TestDataFactory.getTestEmployeeDTOList(15);
+
+    @BeforeEach
+    void setUp() {
+        SalaryIndex salaryIndex = new SalaryIndex();
+        NameSearchIndex nameSearchIndex = new NameSearchIndex();
+        EmployeeCacheProperties cacheProperties = new EmployeeCacheProperties();
+        EmployeeNameResolver employeeNameResolver = new EmployeeNameResolver(cacheProperties);
+        EmployeeSnapshotCache employeeSnapshotCache = new EmployeeSnapshotCache(
+                employeeApiClient, cacheProperties, List.of(salaryIndex, nameSearchIndex, employeeNameResolver));
+        EmployeeService employeeService = new EmployeeService(
+                employeeApiClient, employeeSnapshotCache, salaryIndex, nameSearchIndex, employeeNameResolver);
+        reactiveEmployeeService = new ReactiveEmployeeService(
+                employeeApiClient, employeeSnapshotCache, employeeService, employeeNameResolver);
+    }
+
+    @Test
+    @DisplayName("should answer reads from the snapshot using the non-blocking client only")
+    void shouldServeReadsWithoutBlockingCalls() {
+        // Arrange
+        when(employeeApiClient.getAsync(any())).thenReturn(Mono.just(mockEmployees));
+
+        // Act & Assert
+        StepVerifier.create(reactiveEmployeeService.getAllEmployees())
+                .expectNextSequence(mockEmployees)
+                .verifyComplete();
+        StepVerifier.create(reactiveEmployeeService.getHighestSalaryOfEmployees())
+                .expectNext(TestDataFactory.getHighestSalary(mockEmployees))
+                .verifyComplete();
+        StepVerifier.create(reactiveEmployeeService.getTopTenHighestEarningEmployeeNames())
+                .expectNextSequence(TestDataFactory.getTopTenHighestEarningEmployeeNames(mockEmployees))
+                .verifyComplete();
+        verify(employeeApiClient, times(1)).getAsync(any());
+        verify(employeeApiClient, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("should map upstream 429 to TooManyRequestsException")
+    void shouldMapTooManyRequests() {
+        // Arrange
+        when(employeeApiClient.getAsync(any()))
+                .thenReturn(Mono.error(mock(WebClientResponseException.TooManyRequests.class)));
+
+        // Act & Assert
+        StepVerifier.create(reactiveEmployeeService.getEmployeesByNameSearch("a"))
+                .expectError(TooManyRequestsException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("should map upstream 404 on get by id to ResourceNotFoundException")
+    void shouldMapNotFound() {
+        // Arrange
+        when(employeeApiClient.getAsync(anyString(), any(), any()))
+                .thenReturn(Mono.error(mock(WebClientResponseException.NotFound.class)));
+
+        // Act & Assert
+        StepVerifier.create(reactiveEmployeeService.getEmployeeById("id"))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("should write a created employee through to the snapshot")
+    void shouldWriteThroughCreatedEmployee() {
+        // Arrange
+        CreateEmployeeDTO input = TestDataFactory.getTestCreateEmployeeDTO("Zed Unique");
+        EmployeeDTO created = TestDataFactory.getTestEmployeeDTOFromCreateEmployeeDTO(input);
+        when(employeeApiClient.getAsync(any())).thenReturn(Mono.just(mockEmployees));
+        when(employeeApiClient.postAsync(eq(input), any())).thenReturn(Mono.just(created));
+        reactiveEmployeeService.getAllEmployees().blockLast();
+
+        // Act & Assert
+        StepVerifier.create(reactiveEmployeeService.createEmployee(input))
+                .expectNext(created)
+                .verifyComplete();
+        StepVerifier.create(reactiveEmployeeService.getEmployeesByNameSearch("zed"))
+                .expectNext(created)
+                .verifyComplete();
+        verify(employeeApiClient, times(1)).getAsync(any());
+    }
+
+    @Test
+    @DisplayName("should delete by the name the listing gave, and look the employee up once that name is gone")
+    void shouldDeleteByRememberedName() {
+        // Arrange
+        EmployeeDTO target = mockEmployees.get(3);
+        EmployeeDTO renamed =
+                new EmployeeDTO(target.getId(), "Renamed Elsewhere", 50_000, 30, "Engineer", "renamed@company.com");
+        when(employeeApiClient.getAsync(any())).thenReturn(Mono.just(mockEmployees));
+        when(employeeApiClient.deleteAsync(eq(Map.of("name", target.getEmployeeName())), any()))
+                .thenReturn(Mono.just(Boolean.TRUE))
+                .thenReturn(Mono.just(Boolean.FALSE));
+        reactiveEmployeeService.getAllEmployees().blockLast();
+
+        // Act & Assert
+        StepVerifier.create(reactiveEmployeeService.deleteEmployeeById(target.getId()))
+                .expectNext(target.getEmployeeName())
+                .verifyComplete();
+        verify(employeeApiClient, never()).getAsync(anyString(), any(), any());
+
+        // The id is forgotten once deleted, so a repeat looks it up again
+        when(employeeApiClient.getAsync(anyString(), any(), any())).thenReturn(Mono.just(renamed));
+        when(employeeApiClient.deleteAsync(eq(Map.of("name", "Renamed Elsewhere")), any()))
+                .thenReturn(Mono.just(Boolean.TRUE));
+        StepVerifier.create(reactiveEmployeeService.deleteEmployeeById(target.getId()))
+                .expectNext("Renamed Elsewhere")
+                .verifyComplete();
+        verify(employeeApiClient, times(1)).getAsync(anyString(), any(), any());
+    }
+}
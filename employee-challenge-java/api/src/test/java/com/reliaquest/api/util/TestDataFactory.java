@@ -26,6 +26,24 @@ public class TestDataFactory {
                 faker.internet().emailAddress());
     }
 
+    // Fixed fields, so index and cache tests can tell employees apart by name and salary alone
+    public static EmployeeDTO getTestEmployeeDTO(final String name) {
+        return getTestEmployeeDTO(name, 1000);
+    }
+
+    public static EmployeeDTO getTestEmployeeDTO(final String name, final Integer salary) {
+        return getTestEmployeeDTO(name, salary, 30, "Engineer");
+    }
+
+    public static EmployeeDTO getTestEmployeeDTO(
+            final String name, final Integer salary, final Integer age, final String title) {
+        return new EmployeeDTO(name + "-id", name, salary, age, title, "e@company.com");
+    }
+
+    public static EmployeeDTO getTestEmployeeDTOWithId(final String id, final String name) {
+        return new EmployeeDTO(id, name, 100, 30, "Engineer", "e@company.com");
+    }
+
     public static EmployeeDTO getTestEmployeeDTOFromCreateEmployeeDTO(CreateEmployeeDTO createEmployeeDTO) {
         return new EmployeeDTO(
                 UUID.randomUUID().toString(),
@@ -65,20 +83,33 @@ public class TestDataFactory {
                 .toList();
     }
 
+    // The scans the API performed over the whole listing, which the indexes and reducers must agree with
     public static int getHighestSalary(List<EmployeeDTO> employees) {
         return Optional.ofNullable(employees).orElse(List.of()).stream()
-                .filter(e -> e.getEmployeeSalary() != null)
+                .filter(e -> e != null && e.getEmployeeSalary() != null)
                 .map(EmployeeDTO::getEmployeeSalary)
                 .max(Integer::compareTo)
                 .orElse(0);
     }
 
     public static List<String> getTopTenHighestEarningEmployeeNames(List<EmployeeDTO> employees) {
+        return getTopHighestEarningEmployeeNames(employees, 10);
+    }
+
+    public static List<String> getTopHighestEarningEmployeeNames(List<EmployeeDTO> employees, int limit) {
         return Optional.ofNullable(employees).orElse(List.of()).stream()
-                .filter(e -> e.getEmployeeSalary() != null && e.getEmployeeName() != null)
+                .filter(e -> e != null && e.getEmployeeSalary() != null && e.getEmployeeName() != null)
                 .sorted(Comparator.comparing(EmployeeDTO::getEmployeeSalary).reversed())
-                .limit(10)
+                .limit(limit)
                 .map(EmployeeDTO::getEmployeeName)
                 .toList();
     }
+
+    public static List<EmployeeDTO> getEmployeesByNameSearch(List<EmployeeDTO> employees, String searchString) {
+        String lowerSearch = searchString.toLowerCase(Locale.ROOT);
+        return Optional.ofNullable(employees).orElse(List.of()).stream()
+                .filter(e -> e.getEmployeeName() != null
+                        && e.getEmployeeName().toLowerCase(Locale.ROOT).contains(lowerSearch))
+                .toList();
+    }
 }
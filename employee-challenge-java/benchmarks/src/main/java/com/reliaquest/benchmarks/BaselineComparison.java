@@ -0,0 +1,137 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with a baseline one, benchmark by benchmark (same method, same parameters), and
+ * fails when any got slower than the baseline by more than the threshold.
+ * <p>
+ * A change only counts as a regression when it also exceeds both runs' error margins, so noise on a short run does
+ * not fail the build. The comparison is printed as a table and written next to the results as JSON.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <results.json> <comparison.json> [threshold-percent]}
+ */
+public final class BaselineComparison {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BaselineComparison() {}
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println(
+                    "Usage: BaselineComparison <baseline.json> <results.json> <comparison.json> [threshold-percent]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            System.err.println("No baseline at " + baselineFile + "; save one with :benchmarks:jmhSaveBaseline");
+            System.exit(2);
+        }
+        double threshold = args.length > 3 ? Double.parseDouble(args[3]) : 10.0;
+
+        Map<String, JsonNode> baseline = index(MAPPER.readTree(baselineFile));
+        Map<String, JsonNode> results = index(MAPPER.readTree(new File(args[1])));
+
+        List<Comparison> comparisons = new ArrayList<>();
+        results.forEach((key, result) -> {
+            JsonNode base = baseline.get(key);
+            if (base != null) {
+                comparisons.add(compare(key, base, result, threshold));
+            }
+        });
+        MAPPER.writeValue(new File(args[2]), comparisons);
+
+        System.out.printf("%-80s %14s %14s %9s  %s%n", "Benchmark", "Baseline", "Current", "Change", "Verdict");
+        comparisons.forEach(comparison -> System.out.printf(
+                "%-80s %14.3f %14.3f %+8.1f%%  %s%n",
+                comparison.benchmark(),
+                comparison.baseline(),
+                comparison.current(),
+                comparison.changePercent(),
+                comparison.verdict()));
+        long missing = results.keySet().stream()
+                .filter(key -> !baseline.containsKey(key))
+                .count();
+        if (missing > 0) {
+            System.out.println(missing + " benchmark(s) have no baseline entry and were not compared");
+        }
+
+        long regressions = comparisons.stream()
+                .filter(comparison -> comparison.verdict() == Verdict.REGRESSION)
+                .count();
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Comparison compare(
+            final String key, final JsonNode baseline, final JsonNode result, final double threshold) {
+        JsonNode baseMetric = baseline.path("primaryMetric");
+        JsonNode metric = result.path("primaryMetric");
+        String unit = metric.path("scoreUnit").asText();
+        double base = baseMetric.path("score").asDouble();
+        double current = metric.path("score").asDouble();
+        if (!unit.equals(baseMetric.path("scoreUnit").asText()) || base == 0) {
+            return new Comparison(key, unit, base, current, 0, Verdict.INCOMPARABLE);
+        }
+
+        // Throughput is better when higher, every other mode (time per op, sample, single shot) when lower
+        boolean higherIsBetter = "thrpt".equals(result.path("mode").asText());
+        double worsening = higherIsBetter ? base - current : current - base;
+        double margin = error(baseMetric) + error(metric);
+        double changePercent = (current - base) / base * 100;
+
+        Verdict verdict;
+        if (worsening > margin && worsening / base * 100 > threshold) {
+            verdict = Verdict.REGRESSION;
+        } else if (-worsening > margin && -worsening / base * 100 > threshold) {
+            verdict = Verdict.IMPROVEMENT;
+        } else {
+            verdict = Verdict.UNCHANGED;
+        }
+        return new Comparison(key, unit, base, current, changePercent, verdict);
+    }
+
+    // NaN when JMH had too few iterations to compute one
+    private static double error(final JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    // Benchmark method plus its parameters, e.g. "EmployeeServiceBenchmark.nameSearch{employees=1000, query=broad}"
+    private static Map<String, JsonNode> index(final JsonNode runs) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            String benchmark = run.path("benchmark").asText();
+            String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+            Map<String, String> params = new TreeMap<>();
+            run.path("params")
+                    .fields()
+                    .forEachRemaining(
+                            param -> params.put(param.getKey(), param.getValue().asText()));
+            byKey.put(params.isEmpty() ? name : name + params, run);
+        }
+        return byKey;
+    }
+
+    enum Verdict {
+        IMPROVEMENT,
+        UNCHANGED,
+        REGRESSION,
+        INCOMPARABLE
+    }
+
+    record Comparison(
+            String benchmark, String unit, double baseline, double current, double changePercent, Verdict verdict) {}
+}
@@ -0,0 +1,123 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeNameResolver;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.NameSearchIndex;
+import com.reliaquest.api.cache.SalaryIndex;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.dto.EmployeeApiResponseWrapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import com.reliaquest.api.service.EmployeeService;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+
+/**
+ * The read endpoints' service calls end to end (snapshot lookup, indexes, result building) over datafaker rosters of
+ * 1k to 10M employees, as they run in the servlet app once the snapshot is warm.
+ * <p>
+ * {@code selective} searches for one employee's full name; {@code broad} for a fragment most names contain. The 10M
+ * roster needs about 8 GB of heap; on smaller machines pass e.g. {@code -p employees=1000,100000,1000000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx12g")
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int employees;
+
+    private List<EmployeeDTO> roster;
+
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        roster = Rosters.generate(employees);
+        EmployeeCacheProperties cacheProperties = new EmployeeCacheProperties();
+        // Keep the snapshot fresh for the whole run: no refresh should land in a measurement
+        cacheProperties.setTtl(Duration.ofDays(1));
+        cacheProperties.setRefreshAhead(Duration.ofDays(1));
+        SalaryIndex salaryIndex = new SalaryIndex();
+        NameSearchIndex nameSearchIndex = new NameSearchIndex();
+        EmployeeNameResolver employeeNameResolver = new EmployeeNameResolver(cacheProperties);
+        EmployeeApiClient client = new InMemoryEmployeeApiClient(roster);
+        EmployeeSnapshotCache snapshotCache = new EmployeeSnapshotCache(
+                client, cacheProperties, List.of(salaryIndex, nameSearchIndex, employeeNameResolver));
+        employeeService =
+                new EmployeeService(client, snapshotCache, salaryIndex, nameSearchIndex, employeeNameResolver);
+        employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> nameSearch(final Search search) {
+        return employeeService.getEmployeesByNameSearch(search.searchString);
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> topTenHighestEarningNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Search {
+
+        @Param({"selective", "broad"})
+        public String query;
+
+        private String searchString;
+
+        @Setup(Level.Trial)
+        public void setUp(final EmployeeServiceBenchmark benchmark) {
+            searchString = query.equals("selective")
+                    ? benchmark
+                            .roster
+                            .get(benchmark.employees / 2)
+                            .getEmployeeName()
+                            .toLowerCase()
+                    : "an";
+        }
+    }
+
+    /**
+     * Answers the listing from memory; the read paths measured here make no other upstream call.
+     */
+    private static final class InMemoryEmployeeApiClient extends EmployeeApiClient {
+
+        private final List<EmployeeDTO> roster;
+
+        InMemoryEmployeeApiClient(final List<EmployeeDTO> roster) {
+            super(null, null, null, null, new MockServerApiProperties());
+            this.roster = roster;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(final ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
+            return (T) roster;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.reliaquest.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.reliaquest.api.cache.EmployeeNameResolver;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.NameSearchIndex;
+import com.reliaquest.api.cache.SalaryIndex;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.dto.EmployeeApiResponseWrapper;
+import com.reliaquest.api.exception.ApiApplicationExceptionHandler;
+import com.reliaquest.api.exception.ApiErrorMetrics;
+import com.reliaquest.api.exception.ReactiveApiApplicationExceptionHandler;
+import com.reliaquest.api.exception.ResourceNotFoundException;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.exception.UpstreamErrorTranslator;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * An upstream error answer turned into the api's error response: the client's {@link WebClientResponseException}
+ * (created per call, as WebClient does), the service's mapping to an api exception, and the exception handler's
+ * response, for the servlet ({@code blocking}) and reactive paths.
+ * <p>
+ * The error log is switched off: what is measured is the mapping, not the console appender. See
+ * {@code UpstreamThrottlingBenchmark} for a sustained 429 with logging on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorMappingBenchmark {
+
+    @Param({"404", "429", "500"})
+    public int upstreamStatus;
+
+    private EmployeeService employeeService;
+
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    private ApiApplicationExceptionHandler exceptionHandler;
+
+    private ReactiveApiApplicationExceptionHandler reactiveExceptionHandler;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(UpstreamErrorTranslator.class)).setLevel(Level.OFF);
+
+        EmployeeCacheProperties cacheProperties = new EmployeeCacheProperties();
+        SalaryIndex salaryIndex = new SalaryIndex();
+        NameSearchIndex nameSearchIndex = new NameSearchIndex();
+        EmployeeNameResolver employeeNameResolver = new EmployeeNameResolver(cacheProperties);
+        EmployeeApiClient client = new FailingEmployeeApiClient(upstreamStatus);
+        EmployeeSnapshotCache snapshotCache = new EmployeeSnapshotCache(
+                client, cacheProperties, List.of(salaryIndex, nameSearchIndex, employeeNameResolver));
+        employeeService =
+                new EmployeeService(client, snapshotCache, salaryIndex, nameSearchIndex, employeeNameResolver);
+        reactiveEmployeeService =
+                new ReactiveEmployeeService(client, snapshotCache, employeeService, employeeNameResolver);
+        ApiErrorMetrics errorMetrics = new ApiErrorMetrics();
+        exceptionHandler = new ApiApplicationExceptionHandler(errorMetrics);
+        reactiveExceptionHandler = new ReactiveApiApplicationExceptionHandler(errorMetrics);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> blocking() {
+        try {
+            employeeService.getEmployeeById("missing");
+            throw new IllegalStateException("The upstream call should have failed");
+        } catch (ResourceNotFoundException ex) {
+            return exceptionHandler.handleResourceNotFound(ex);
+        } catch (TooManyRequestsException ex) {
+            return exceptionHandler.handleResourceNotFound(ex);
+        } catch (Exception ex) {
+            return exceptionHandler.handleGenericException(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> reactive() {
+        return reactiveEmployeeService
+                .getEmployeeById("missing")
+                .map(employee -> ResponseEntity.ok().<Object>body(employee))
+                .onErrorResume(
+                        ResourceNotFoundException.class,
+                        ex -> Mono.just(reactiveExceptionHandler.handleResourceNotFound(ex)))
+                .onErrorResume(
+                        TooManyRequestsException.class,
+                        ex -> Mono.just(reactiveExceptionHandler.handleTooManyRequests(ex)))
+                .onErrorResume(ex -> Mono.just(reactiveExceptionHandler.handleGenericException((Exception) ex)))
+                .block();
+    }
+
+    /**
+     * Answers every by-id lookup with the given upstream status, the way WebClient reports it.
+     */
+    private static final class FailingEmployeeApiClient extends EmployeeApiClient {
+
+        private static final byte[] BODY = "{\"status\":\"error\"}".getBytes(StandardCharsets.UTF_8);
+
+        private final int status;
+
+        FailingEmployeeApiClient(final int status) {
+            super(null, null, null, null, new MockServerApiProperties());
+            this.status = status;
+        }
+
+        @Override
+        public <T> T get(
+                final String uriTemplate,
+                final Object[] uriVars,
+                final ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
+            throw error();
+        }
+
+        @Override
+        public <T> Mono<T> getAsync(
+                final String uriTemplate,
+                final Object[] uriVars,
+                final ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
+            return Mono.error(this::error);
+        }
+
+        private WebClientResponseException error() {
+            return WebClientResponseException.create(status, "Upstream error", HttpHeaders.EMPTY, BODY, null);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.client.UpstreamHedging;
+import com.reliaquest.api.client.UpstreamRateLimiter;
+import com.reliaquest.api.client.UpstreamRequestCoalescer;
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.dto.EmployeeApiResponseWrapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Latency distribution of blocking by-id lookups through {@link EmployeeApiClient}, without and with
+ * {@link UpstreamHedging}, against a local upstream that answers most requests after {@code fastMillis} and
+ * {@code slowPercent} of them, at random, after {@code slowMillis}. Sampled, so JMH reports p50/p99/p99.9; the hedge
+ * statistics are printed after each trial.
+ * <p>
+ * Each lookup uses a fresh id, so nothing is coalesced. Hedging uses the shipped percentile and budget with a 1 ms
+ * minimum delay, since the local upstream is far faster than a real one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(4)
+@Fork(1)
+public class HedgingBenchmark {
+
+    private static final ParameterizedTypeReference<EmployeeApiResponseWrapper<EmployeeDTO>> EMPLOYEE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    @Param({"false", "true"})
+    public boolean hedge;
+
+    @Param({"2"})
+    public int fastMillis;
+
+    @Param({"100"})
+    public int slowMillis;
+
+    @Param({"2"})
+    public int slowPercent;
+
+    private DisposableServer upstream;
+
+    private ConnectionProvider connectionProvider;
+
+    private UpstreamHedging hedging;
+
+    private EmployeeApiClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        upstream = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/api/v1/employee/{id}", (request, response) -> response.header(
+                                HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.delay(latency()).thenReturn(employeeJson(request.param("id"))))))
+                .bindNow();
+
+        connectionProvider = ConnectionProvider.builder("hedging-benchmark")
+                .maxConnections(64)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + upstream.port() + "/api/v1/employee")
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        // The local upstream has no quota to learn
+        MockServerApiProperties props = new MockServerApiProperties();
+        props.getRateLimit().setEnabled(false);
+        props.getHedge().setEnabled(hedge);
+        props.getHedge().setMinDelay(Duration.ofMillis(1));
+        UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(props);
+        hedging = new UpstreamHedging(props, rateLimiter);
+        client = new EmployeeApiClient(
+                webClient,
+                new UpstreamRequestCoalescer(),
+                rateLimiter,
+                new UpstreamCircuitBreaker(props),
+                hedging,
+                props);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (hedge) {
+            StringBuilder stats =
+                    new StringBuilder("Hedge delay ").append(hedging.getDelay().orElse(null));
+            for (UpstreamHedging.Outcome outcome : UpstreamHedging.Outcome.values()) {
+                stats.append(", ").append(outcome).append(' ').append(hedging.getCount(outcome));
+            }
+            System.out.println(stats);
+        }
+        connectionProvider.dispose();
+        upstream.disposeNow();
+    }
+
+    @Benchmark
+    public EmployeeDTO lookup() {
+        String id = UUID.randomUUID().toString();
+        return client.get("/{id}", new Object[] {id}, EMPLOYEE_TYPE);
+    }
+
+    private Duration latency() {
+        boolean slow = ThreadLocalRandom.current().nextInt(100) < slowPercent;
+        return Duration.ofMillis(slow ? slowMillis : fastMillis);
+    }
+
+    private static String employeeJson(final String id) {
+        return "{\"data\":{\"id\":\"" + id + "\",\"employee_name\":\"Ada Lovelace\",\"employee_salary\":100,"
+                + "\"employee_age\":36,\"employee_title\":\"Engineer\",\"employee_email\":\"ada@company.com\"},"
+                + "\"status\":\"ok\"}";
+    }
+}
@@ -0,0 +1,145 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.EmployeeListingReducer;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.client.UpstreamRateLimiter;
+import com.reliaquest.api.client.UpstreamRequestCoalescer;
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Salary aggregates computed from a real HTTP listing response: bound into a {@code List<EmployeeDTO>} and then scanned,
+ * as the uncached read path used to, vs. folded as the body streams in through
+ * {@link EmployeeApiClient#reduceListing}. Run with {@code -prof gc} to compare the bytes allocated per call.
+ * <p>
+ * The materializing client gets a codec buffer large enough for the whole listing; with the default 256 KB it could
+ * not read more than about 1500 employees at all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ListingDecodeBenchmark {
+
+    @Param({"10000", "100000"})
+    public int employees;
+
+    private DisposableServer upstream;
+
+    private EmployeeApiClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] listing = listingJson(employees);
+        upstream = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/api/v1/employee", (request, response) -> response.header(
+                                HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendByteArray(Mono.just(listing))))
+                .bindNow();
+
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + upstream.port() + "/api/v1/employee")
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create()))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(listing.length * 2))
+                .build();
+        // The local upstream has no quota to learn
+        MockServerApiProperties props = new MockServerApiProperties();
+        props.getRateLimit().setEnabled(false);
+        client = new EmployeeApiClient(
+                webClient,
+                new UpstreamRequestCoalescer(),
+                new UpstreamRateLimiter(props),
+                new UpstreamCircuitBreaker(props),
+                props);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        upstream.disposeNow();
+    }
+
+    @Benchmark
+    public Integer highestSalaryMaterialized() {
+        List<EmployeeDTO> listing = client.get(new ParameterizedTypeReference<>() {});
+        return listing.stream()
+                .map(EmployeeDTO::getEmployeeSalary)
+                .filter(salary -> salary != null)
+                .max(Integer::compareTo)
+                .orElse(0);
+    }
+
+    @Benchmark
+    public Integer highestSalaryStreamed() {
+        return client.reduceListing(EmployeeListingReducer::highestSalary);
+    }
+
+    @Benchmark
+    public List<String> topTenMaterialized() {
+        List<EmployeeDTO> listing = client.get(new ParameterizedTypeReference<>() {});
+        return listing.stream()
+                .filter(e -> e.getEmployeeSalary() != null && e.getEmployeeName() != null)
+                .sorted(Comparator.comparing(EmployeeDTO::getEmployeeSalary).reversed())
+                .limit(10)
+                .map(EmployeeDTO::getEmployeeName)
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> topTenStreamed() {
+        return client.reduceListing(() -> EmployeeListingReducer.topEarnerNames(10));
+    }
+
+    private static byte[] listingJson(final int employees) {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder json = new StringBuilder(employees * 160).append("{\"data\":[");
+        for (int i = 0; i < employees; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"id\":\"")
+                    .append(i)
+                    .append("\",\"employee_name\":\"Employee ")
+                    .append(i)
+                    .append("\",\"employee_salary\":")
+                    .append(random.nextInt(20_000, 2_000_000))
+                    .append(",\"employee_age\":")
+                    .append(random.nextInt(16, 76))
+                    .append(",\"employee_title\":\"Engineer\",\"employee_email\":\"employee")
+                    .append(i)
+                    .append("@company.com\"}");
+        }
+        return json.append("],\"status\":\"Successfully processed request.\"}")
+                .toString()
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,130 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reliaquest.api.config.ListingEncodingProperties;
+import com.reliaquest.api.controller.EncodedEmployeeListing;
+import com.reliaquest.api.controller.EncodedListingCache;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Per-request cost of writing the {@code GET /} body for an unchanged listing: serialized through Jackson on every
+ * request, as the JSON converters do, vs. copied from {@link EncodedListingCache}. The gzip pair compares compressing on
+ * every request, as server-side response compression would, with the cache's pre-compressed copy. The sink copies the
+ * bytes into a socket-sized buffer and drops them, so what is measured is encoding plus the copy every response pays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ListingEncodeBenchmark {
+
+    @Param({"10000", "100000"})
+    public int employees;
+
+    private final OutputStream sink = new CopyingSink();
+
+    private List<EmployeeDTO> listing;
+
+    private ObjectWriter listingWriter;
+
+    private EncodedListingCache cache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<EmployeeDTO> employeeList = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            employeeList.add(new EmployeeDTO(
+                    Integer.toString(i),
+                    "Employee " + i,
+                    random.nextInt(20_000, 2_000_000),
+                    random.nextInt(16, 76),
+                    "Engineer",
+                    "employee" + i + "@company.com"));
+        }
+        listing = Collections.unmodifiableList(employeeList);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listingWriter = objectMapper.writerFor(new TypeReference<List<EmployeeDTO>>() {});
+        ListingEncodingProperties props = new ListingEncodingProperties();
+        props.setGzip(true);
+        cache = new EncodedListingCache(objectMapper, props);
+    }
+
+    @Benchmark
+    public void serializePerRequest() throws IOException {
+        listingWriter.writeValue(sink, listing);
+    }
+
+    @Benchmark
+    public void cachedBytes() throws IOException {
+        EncodedEmployeeListing encoded = cache.encode(listing, null);
+        sink.write(encoded.body());
+    }
+
+    @Benchmark
+    public void gzipPerRequest() throws IOException {
+        try (GZIPOutputStream gzip = new GZIPOutputStream(sink)) {
+            listingWriter.writeValue(gzip, listing);
+        }
+    }
+
+    @Benchmark
+    public void cachedGzipBytes() throws IOException {
+        EncodedEmployeeListing encoded = cache.encode(listing, "gzip");
+        sink.write(encoded.body());
+    }
+
+    private static final class CopyingSink extends OutputStream {
+
+        private final byte[] buffer = new byte[64 * 1024];
+
+        private int position;
+
+        @Override
+        public void write(final int b) {
+            if (position == buffer.length) {
+                position = 0;
+            }
+            buffer[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(final byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                if (position == buffer.length) {
+                    position = 0;
+                }
+                int chunk = Math.min(length, buffer.length - position);
+                System.arraycopy(bytes, offset, buffer, position, chunk);
+                position += chunk;
+                offset += chunk;
+                length -= chunk;
+            }
+        }
+    }
+}
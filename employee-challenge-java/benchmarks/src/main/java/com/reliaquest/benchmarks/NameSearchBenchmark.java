@@ -0,0 +1,101 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.NameSearchIndex;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Substring name search over a growing roster: the per-request lower-case-and-scan it used to be vs. the trigram
+ * {@link NameSearchIndex}, plus what the index costs to keep up to date.
+ * <p>
+ * Names are random first/last pairs from small pools plus a unique suffix, so {@code selective} hits a handful of
+ * employees while {@code broad} hits a few percent of the roster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class NameSearchBenchmark {
+
+    private static final String[] FIRST = {"Alice", "Bob", "Charlie", "Diana", "Edward", "Fatima", "Giulia", "Hiro"};
+
+    private static final String[] LAST = {"Johnson", "Smith", "Brown", "Davis", "King", "Okafor", "Rossi", "Tanaka"};
+
+    @Param({"10000", "1000000"})
+    public int employees;
+
+    @Param({"selective", "broad"})
+    public String query;
+
+    private String searchString;
+
+    private EmployeeSnapshot snapshot;
+
+    private NameSearchIndex nameSearchIndex;
+
+    private EmployeeDTO churned;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<EmployeeDTO> listing = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            listing.add(new EmployeeDTO(
+                    Integer.toString(i),
+                    FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)] + " " + i,
+                    random.nextInt(20_000, 2_000_000),
+                    random.nextInt(16, 76),
+                    "Engineer",
+                    "employee" + i + "@company.com"));
+        }
+        snapshot = new EmployeeSnapshot(1, Instant.EPOCH, Collections.unmodifiableList(listing));
+        nameSearchIndex = new NameSearchIndex();
+        nameSearchIndex.onSnapshotLoaded(snapshot);
+        searchString = query.equals("selective") ? "SMITH " + (employees / 2) : "alice smith";
+        churned = new EmployeeDTO("churn", "Churned Employee", 1_500_000, 40, "Engineer", "churn@company.com");
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> scan() {
+        String lowerSearch = searchString.toLowerCase();
+        return snapshot.employees().stream()
+                .filter(e -> e.getEmployeeName() != null
+                        && e.getEmployeeName().toLowerCase().contains(lowerSearch))
+                .toList();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> index() {
+        return nameSearchIndex.search(snapshot, searchString).orElseThrow();
+    }
+
+    /**
+     * A create followed by its delete, as the write-through path applies them.
+     */
+    @Benchmark
+    public NameSearchIndex createAndDelete() {
+        nameSearchIndex.onEmployeeAdded(snapshot, churned);
+        nameSearchIndex.onEmployeeRemoved(snapshot, churned);
+        return nameSearchIndex;
+    }
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.NameSearchIndex;
+import com.reliaquest.api.cache.ParallelScans;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The scans {@link ParallelScans} splits, run on the calling thread ({@code sequential}) vs. as fork-join tasks on
+ * one worker per available processor ({@code forkjoin}): the {@link NameSearchIndex} scan behind a query too short
+ * for trigrams and its verification of a broad trigram query, and the listing scans the service falls back to when
+ * the indexes do not reflect a snapshot (name search and top-10 earners).
+ * <p>
+ * On a single-processor machine there is no pool and both modes measure the same code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class ParallelScanBenchmark {
+
+    private static final Comparator<EmployeeDTO> HIGHEST_PAID_FIRST =
+            Comparator.comparing(EmployeeDTO::getEmployeeSalary).reversed();
+
+    @Param({"1000000", "5000000"})
+    public int employees;
+
+    @Param({"sequential", "forkjoin"})
+    public String mode;
+
+    private ParallelScans parallelScans;
+
+    private NameSearchIndex nameSearchIndex;
+
+    private EmployeeSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EmployeeCacheProperties props = new EmployeeCacheProperties();
+        parallelScans = mode.equals("forkjoin") ? new ParallelScans(props) : ParallelScans.sequential();
+        snapshot = new EmployeeSnapshot(1, Instant.EPOCH, Rosters.generate(employees));
+        nameSearchIndex = new NameSearchIndex(parallelScans);
+        nameSearchIndex.onSnapshotLoaded(snapshot);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> shortQuery() {
+        return nameSearchIndex.search(snapshot, "an").orElseThrow();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> broadQuery() {
+        return nameSearchIndex.search(snapshot, "son").orElseThrow();
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> unindexedSearch() {
+        return parallelScans.filter(
+                snapshot.employees(),
+                e -> e.getEmployeeName() != null
+                        && NameSearchIndex.fold(e.getEmployeeName()).contains("an"));
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> unindexedTopTen() {
+        return parallelScans.top(
+                snapshot.employees(),
+                e -> e.getEmployeeSalary() != null && e.getEmployeeName() != null,
+                HIGHEST_PAID_FIRST,
+                10);
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.dto.EmployeeApiResponseWrapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Decoding an upstream listing body into {@code EmployeeApiResponseWrapper<List<EmployeeDTO>>}, without the HTTP
+ * transport around it ({@link ListingDecodeBenchmark} covers that): through {@code ObjectMapper#readValue} with a type
+ * reference as ad-hoc callers do, and through a reader resolved once as the WebClient's Jackson decoder does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ResponseDecodeBenchmark {
+
+    private static final TypeReference<EmployeeApiResponseWrapper<List<EmployeeDTO>>> LISTING_TYPE =
+            new TypeReference<>() {};
+
+    @Param({"1000", "100000", "1000000"})
+    public int employees;
+
+    // Configured as Spring configures the WebClient's decoder (parameter names for EmployeeDTO's constructor)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private ObjectReader listingReader;
+
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        EmployeeApiResponseWrapper<List<EmployeeDTO>> response = new EmployeeApiResponseWrapper<>();
+        response.setData(Rosters.generate(employees));
+        response.setStatus("Successfully processed request.");
+        body = objectMapper.writeValueAsBytes(response);
+        listingReader = objectMapper.readerFor(LISTING_TYPE);
+    }
+
+    @Benchmark
+    public EmployeeApiResponseWrapper<List<EmployeeDTO>> readValue() throws IOException {
+        return objectMapper.readValue(body, LISTING_TYPE);
+    }
+
+    @Benchmark
+    public EmployeeApiResponseWrapper<List<EmployeeDTO>> resolvedReader() throws IOException {
+        return listingReader.readValue(body);
+    }
+}
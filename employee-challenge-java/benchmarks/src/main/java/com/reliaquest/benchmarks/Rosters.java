@@ -0,0 +1,55 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import net.datafaker.Faker;
+
+/**
+ * Synthetic employee rosters for the harnesses, shaped like the test data (datafaker names and titles, salaries in
+ * 20k-2M, ages in 16-76) but reproducible: the same size always gives the same roster.
+ * <p>
+ * Names are drawn from pools of datafaker first and last names rather than generated one by one, which keeps a
+ * 10M-employee roster to seconds of setup while still giving realistic, repeating name fragments to search for.
+ */
+final class Rosters {
+
+    private static final int NAME_POOL_SIZE = 4_000;
+
+    private static final int TITLE_POOL_SIZE = 500;
+
+    private Rosters() {}
+
+    static List<EmployeeDTO> generate(final int employees) {
+        Faker faker = new Faker(new Random(42));
+        String[] firstNames = new String[NAME_POOL_SIZE];
+        String[] lastNames = new String[NAME_POOL_SIZE];
+        for (int i = 0; i < NAME_POOL_SIZE; i++) {
+            firstNames[i] = faker.name().firstName();
+            lastNames[i] = faker.name().lastName();
+        }
+        String[] titles = new String[TITLE_POOL_SIZE];
+        for (int i = 0; i < TITLE_POOL_SIZE; i++) {
+            titles[i] = faker.job().title();
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<EmployeeDTO> roster = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            String firstName = firstNames[random.nextInt(NAME_POOL_SIZE)];
+            String lastName = lastNames[random.nextInt(NAME_POOL_SIZE)];
+            roster.add(new EmployeeDTO(
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    firstName + " " + lastName,
+                    random.nextInt(20_000, 2_000_000),
+                    random.nextInt(16, 76),
+                    titles[random.nextInt(TITLE_POOL_SIZE)],
+                    (firstName + "." + lastName + i + "@company.com").toLowerCase()));
+        }
+        return Collections.unmodifiableList(roster);
+    }
+}
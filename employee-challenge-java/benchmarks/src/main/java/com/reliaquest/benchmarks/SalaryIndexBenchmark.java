@@ -0,0 +1,123 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.SalaryIndex;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Salary queries over a large snapshot: the per-request scan and sort they used to be vs. {@link SalaryIndex}, plus
+ * what the index costs to keep up to date (a create/delete pair, and a rebuild on a fresh listing).
+ * <p>
+ * Salaries come from the same 20k-2M range as the test data, so ties exist but buckets stay small.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SalaryIndexBenchmark {
+
+    @Param({"1000000"})
+    public int employees;
+
+    private EmployeeSnapshot snapshot;
+
+    private SalaryIndex salaryIndex;
+
+    private EmployeeDTO churned;
+
+    private EmployeeSnapshot churnedSnapshot;
+
+    private long version;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<EmployeeDTO> listing = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            listing.add(new EmployeeDTO(
+                    Integer.toString(i),
+                    "Employee " + i,
+                    random.nextInt(20_000, 2_000_000),
+                    random.nextInt(16, 76),
+                    "Engineer",
+                    "employee" + i + "@company.com"));
+        }
+        snapshot = new EmployeeSnapshot(++version, Instant.EPOCH, Collections.unmodifiableList(listing));
+        salaryIndex = new SalaryIndex();
+        salaryIndex.onSnapshotLoaded(snapshot);
+        churned = new EmployeeDTO("churn", "Churned Employee", 1_500_000, 40, "Engineer", "churn@company.com");
+        List<EmployeeDTO> withChurned = new ArrayList<>(listing);
+        withChurned.add(churned);
+        churnedSnapshot = new EmployeeSnapshot(++version, Instant.EPOCH, Collections.unmodifiableList(withChurned));
+    }
+
+    @Benchmark
+    public List<String> topTenByScan() {
+        return snapshot.employees().stream()
+                .filter(e -> e.getEmployeeSalary() != null && e.getEmployeeName() != null)
+                .sorted(Comparator.comparing(EmployeeDTO::getEmployeeSalary).reversed())
+                .limit(10)
+                .map(EmployeeDTO::getEmployeeName)
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> topTenByIndex() {
+        return salaryIndex.topEarnerNames(snapshot, 10).orElseThrow();
+    }
+
+    @Benchmark
+    public Integer highestSalaryByScan() {
+        return snapshot.employees().stream()
+                .map(EmployeeDTO::getEmployeeSalary)
+                .filter(salary -> salary != null)
+                .max(Integer::compareTo)
+                .orElse(0);
+    }
+
+    @Benchmark
+    public int highestSalaryByIndex() {
+        return salaryIndex.highestSalary(snapshot).orElseThrow();
+    }
+
+    /**
+     * A create followed by its delete, as the write-through path applies them. The snapshots passed along are built
+     * once in setup: only the index maintenance is measured.
+     */
+    @Benchmark
+    public SalaryIndex createAndDelete() {
+        salaryIndex.onEmployeeAdded(churnedSnapshot, churned);
+        salaryIndex.onEmployeeRemoved(snapshot, churned);
+        return salaryIndex;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 2, time = 5)
+    @Measurement(iterations = 3, time = 5)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SalaryIndex rebuildOnFreshListing() {
+        salaryIndex.onSnapshotLoaded(snapshot);
+        return salaryIndex;
+    }
+}
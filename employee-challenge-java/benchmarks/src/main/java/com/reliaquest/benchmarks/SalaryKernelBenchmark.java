@@ -0,0 +1,80 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.cache.EmployeeColumns;
+import com.reliaquest.api.cache.SalaryKernel;
+import com.reliaquest.api.cache.SalaryKernels;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scans of the {@link EmployeeColumns} salary column by the scalar and the SIMD {@link SalaryKernel}: highest salary,
+ * the count and rows of a salary range, and top-10. Compare with {@code SalaryIndexBenchmark}'s scans over
+ * {@code EmployeeDTO}s for what the columnar layout alone saves.
+ * <p>
+ * The {@code vector} kernel needs {@code --add-modules jdk.incubator.vector}, which the {@code jmh} task passes on;
+ * without it those runs fail in setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SalaryKernelBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public int employees;
+
+    @Param({"scalar", "vector"})
+    public String kernel;
+
+    private SalaryKernel salaryKernel;
+
+    private int[] salaries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        salaryKernel = kernel.equals("vector")
+                ? SalaryKernels.vectorized()
+                        .orElseThrow(() -> new IllegalStateException("Vector API not enabled in this JVM"))
+                : SalaryKernels.scalar();
+        // Same 20k-2M range as the test data, with one employee in a hundred lacking a salary
+        SplittableRandom random = new SplittableRandom(42);
+        salaries = new int[employees];
+        for (int i = 0; i < employees; i++) {
+            salaries[i] = random.nextInt(100) == 0 ? EmployeeColumns.MISSING : random.nextInt(20_000, 2_000_000);
+        }
+    }
+
+    @Benchmark
+    public int highestSalary() {
+        return salaryKernel.max(salaries, 0, employees);
+    }
+
+    @Benchmark
+    public int countInRange() {
+        return salaryKernel.count(salaries, 0, employees, 500_000, 600_000);
+    }
+
+    @Benchmark
+    public int[] rowsInRange() {
+        return salaryKernel.rowsInRange(salaries, 0, employees, 500_000, 600_000);
+    }
+
+    @Benchmark
+    public int[] topTen() {
+        return salaryKernel.topRows(salaries, 0, employees, 10, row -> true);
+    }
+}
@@ -0,0 +1,151 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.UpstreamCircuitBreaker;
+import com.reliaquest.api.client.UpstreamRateLimiter;
+import com.reliaquest.api.client.UpstreamRequestCoalescer;
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.dto.EmployeeApiResponseWrapper;
+import com.reliaquest.api.dto.EmployeeDTO;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Platform vs. virtual threads for the servlet request path, whose {@link EmployeeApiClient} calls block until the
+ * upstream answers.
+ * <p>
+ * Each operation pushes a burst of concurrent by-id lookups (distinct ids, so nothing is coalesced) through an
+ * upstream that answers every request after a fixed delay. {@code platform} runs them on a pool the size of Tomcat's
+ * default {@code server.tomcat.threads.max}, so the burst drains in waves of that size; {@code virtual} runs one
+ * virtual thread per request, which is what {@code spring.threads.virtual.enabled=true} gives Tomcat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+
+    private static final ParameterizedTypeReference<EmployeeApiResponseWrapper<EmployeeDTO>> EMPLOYEE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    @Param({"platform", "virtual"})
+    public String threadModel;
+
+    @Param({"2000"})
+    public int concurrentRequests;
+
+    @Param({"50"})
+    public int upstreamLatencyMillis;
+
+    private DisposableServer upstream;
+
+    private ConnectionProvider connectionProvider;
+
+    private EmployeeApiClient client;
+
+    private ExecutorService requestThreads;
+
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Duration latency = Duration.ofMillis(upstreamLatencyMillis);
+        upstream = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/api/v1/employee/{id}", (request, response) -> response.header(
+                                HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.delay(latency).thenReturn(employeeJson(request.param("id"))))))
+                .bindNow();
+
+        // Enough connections that the pool is not what limits the burst
+        connectionProvider = ConnectionProvider.builder("thread-model-benchmark")
+                .maxConnections(concurrentRequests)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + upstream.port() + "/api/v1/employee")
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        // The local upstream has no quota to learn
+        MockServerApiProperties props = new MockServerApiProperties();
+        props.getRateLimit().setEnabled(false);
+        client = new EmployeeApiClient(
+                webClient,
+                new UpstreamRequestCoalescer(),
+                new UpstreamRateLimiter(props),
+                new UpstreamCircuitBreaker(props),
+                props);
+
+        requestThreads = "virtual".equals(threadModel)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS);
+
+        ids = new String[concurrentRequests];
+        for (int i = 0; i < concurrentRequests; i++) {
+            ids[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestThreads.shutdownNow();
+        connectionProvider.dispose();
+        upstream.disposeNow();
+    }
+
+    @Benchmark
+    public int burstOfBlockingLookups() throws Exception {
+        List<Future<EmployeeDTO>> responses = new ArrayList<>(concurrentRequests);
+        for (String id : ids) {
+            responses.add(requestThreads.submit(() -> client.get("/{id}", new Object[] {id}, EMPLOYEE_TYPE)));
+        }
+        int answered = 0;
+        for (Future<EmployeeDTO> response : responses) {
+            if (response.get() != null) {
+                answered++;
+            }
+        }
+        return answered;
+    }
+
+    private static String employeeJson(String id) {
+        return """
+                {"data":{"id":"%s","employee_name":"Bench Mark","employee_salary":100000,"employee_age":40,\
+                "employee_title":"Engineer","employee_email":"bench@company.com"},"status":"ok"}"""
+                .formatted(id);
+    }
+}
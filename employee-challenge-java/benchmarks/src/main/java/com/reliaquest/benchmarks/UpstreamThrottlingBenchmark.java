@@ -0,0 +1,150 @@
+package com.reliaquest.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.reliaquest.api.cache.EmployeeNameResolver;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.cache.NameSearchIndex;
+import com.reliaquest.api.cache.SalaryIndex;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.config.MockServerApiProperties;
+import com.reliaquest.api.dto.EmployeeApiResponseWrapper;
+import com.reliaquest.api.exception.ApiApplicationExceptionHandler;
+import com.reliaquest.api.exception.ApiErrorMetrics;
+import com.reliaquest.api.exception.TooManyRequestsException;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Requests per millisecond while the upstream answers every call with 429, as during its backoff window: the client's
+ * {@link WebClientResponseException}, the service's error mapping and logging, and the exception handler's response,
+ * on the servlet ({@code blocking}) and reactive paths, from 4 threads at once.
+ * <p>
+ * Unlike {@code ErrorMappingBenchmark}, logging stays on at INFO and is formatted as the console appender would
+ * (pattern with stack traces), only written to a discarding stream, so what error logging costs under a 429 storm is
+ * part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class UpstreamThrottlingBenchmark {
+
+    private EmployeeService employeeService;
+
+    private ReactiveEmployeeService reactiveEmployeeService;
+
+    private ApiApplicationExceptionHandler exceptionHandler;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{ISO8601} %5level [%thread] %logger{36} : %msg%n%ex");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.addAppender(appender);
+        root.setLevel(Level.INFO);
+
+        EmployeeCacheProperties cacheProperties = new EmployeeCacheProperties();
+        SalaryIndex salaryIndex = new SalaryIndex();
+        NameSearchIndex nameSearchIndex = new NameSearchIndex();
+        EmployeeNameResolver employeeNameResolver = new EmployeeNameResolver(cacheProperties);
+        EmployeeApiClient client = new ThrottledEmployeeApiClient();
+        EmployeeSnapshotCache snapshotCache = new EmployeeSnapshotCache(
+                client, cacheProperties, List.of(salaryIndex, nameSearchIndex, employeeNameResolver));
+        employeeService =
+                new EmployeeService(client, snapshotCache, salaryIndex, nameSearchIndex, employeeNameResolver);
+        reactiveEmployeeService =
+                new ReactiveEmployeeService(client, snapshotCache, employeeService, employeeNameResolver);
+        exceptionHandler = new ApiApplicationExceptionHandler(new ApiErrorMetrics());
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> blocking() {
+        try {
+            employeeService.getEmployeeById("throttled");
+            throw new IllegalStateException("The upstream call should have failed");
+        } catch (TooManyRequestsException ex) {
+            return exceptionHandler.handleResourceNotFound(ex);
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> reactive() {
+        return reactiveEmployeeService
+                .getEmployeeById("throttled")
+                .map(employee -> ResponseEntity.ok().<Object>body(employee))
+                .onErrorResume(
+                        TooManyRequestsException.class, ex -> Mono.just(exceptionHandler.handleResourceNotFound(ex)))
+                .block();
+    }
+
+    /**
+     * Answers every by-id lookup with a 429, the way WebClient reports it.
+     */
+    private static final class ThrottledEmployeeApiClient extends EmployeeApiClient {
+
+        private static final byte[] BODY = "{\"status\":\"error\"}".getBytes(StandardCharsets.UTF_8);
+
+        ThrottledEmployeeApiClient() {
+            super(null, null, null, null, new MockServerApiProperties());
+        }
+
+        @Override
+        public <T> T get(
+                final String uriTemplate,
+                final Object[] uriVars,
+                final ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
+            throw throttled();
+        }
+
+        @Override
+        public <T> Mono<T> getAsync(
+                final String uriTemplate,
+                final Object[] uriVars,
+                final ParameterizedTypeReference<EmployeeApiResponseWrapper<T>> type) {
+            return Mono.error(ThrottledEmployeeApiClient::throttled);
+        }
+
+        private static WebClientResponseException throttled() {
+            return WebClientResponseException.create(429, "Too Many Requests", HttpHeaders.EMPTY, BODY, null);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test: starts the mock server and the api from their boot jars, lists the roster through the api,
+ * offers the configured workload for a warmup phase and then a measured one, and writes the measured phase's report.
+ * <p>
+ * Run with {@code ./gradlew :loadtest:run -PloadTestArgs='--rate=200 --duration=2m'}; see {@link LoadTestOptions} for
+ * the settings.
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LoadTest() {}
+
+    public static void main(final String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Files.createDirectories(options.output());
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        URI api = Route.base(options.apiPort());
+
+        List<String> serverArgs = new ArrayList<>(List.of(
+                "--server.port=" + options.serverPort(),
+                "--mock.employees.max=" + options.employees(),
+                "--logging.level.com.reliaquest=INFO"));
+        serverArgs.addAll(List.of(options.upstreamRateLimitArgs()));
+
+        System.out.printf(
+                "Starting the mock server (%d employees) and the api (%s)%n", options.employees(), options.webType());
+        try (LocalApplication server = LocalApplication.start(
+                        "server", List.of(), options.serverJar(), options.output(), serverArgs.toArray(String[]::new));
+                LocalApplication apiApplication = LocalApplication.start(
+                        "api",
+                        // As deployed: with the Vector API, for the SIMD salary scans
+                        List.of("--add-modules", "jdk.incubator.vector"),
+                        options.apiJar(),
+                        options.output(),
+                        "--server.port=" + options.apiPort(),
+                        "--mock-employee-api.host=http://localhost:" + options.serverPort(),
+                        "--spring.main.web-application-type=" + options.webType())) {
+            server.awaitPort(options.serverPort());
+            apiApplication.awaitHealthy(httpClient, api.resolve("/actuator/health"));
+
+            Workload workload = listRoster(httpClient, api, options.mix());
+            OpenModelDriver driver = new OpenModelDriver(httpClient, workload, options);
+
+            System.out.printf("Warming up for %s at %.1f req/s%n", options.warmup(), options.rate());
+            driver.run(options.warmup());
+            System.out.printf("Measuring for %s at %.1f req/s%n", options.duration(), options.rate());
+            Map<Route, RouteStats> measured = driver.run(options.duration());
+
+            LoadTestReport report = LoadTestReport.of(options, measured);
+            report.write(options.output());
+            System.out.println();
+            report.print(System.out);
+            if (options.baseline() != null) {
+                report.printComparison(options.baseline(), System.out);
+            }
+            System.out.printf("%nReport written to %s%n", options.output().resolve("report.json"));
+        }
+    }
+
+    // Upstream may still be throttling right after startup, so the first listing is retried for a while
+    private static Workload listRoster(final HttpClient httpClient, final URI api, final Map<Route, Integer> mix)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(api.resolve("/"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long deadline = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (true) {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                List<String> ids = new ArrayList<>();
+                List<String> names = new ArrayList<>();
+                for (JsonNode employee : MAPPER.readTree(response.body())) {
+                    ids.add(employee.path("id").asText());
+                    names.add(employee.path("employee_name").asText());
+                }
+                return new Workload(api, mix, ids, names);
+            }
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException("The api did not list employees, last status " + response.statusCode());
+            }
+            Thread.sleep(1000);
+        }
+    }
+}
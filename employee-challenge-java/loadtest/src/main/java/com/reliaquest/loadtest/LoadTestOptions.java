@@ -0,0 +1,160 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, from {@code --name=value} arguments. Every setting has a default, so a bare run is a modest
+ * one-minute test of all routes against a 1000-employee mock with its rate limit switched off.
+ *
+ * @param rate requests per second offered to the api, across all routes
+ * @param arrivals {@code poisson} (exponential gaps, as independent clients produce) or {@code constant}
+ * @param mix relative weight of each route in the workload
+ * @param employees roster size the mock server starts with ({@code mock.employees.max})
+ * @param upstreamRateLimit the mock's limit: {@code off}, {@code random} (its own default) or {@code <requests>/<backoff>}
+ */
+record LoadTestOptions(
+        double rate,
+        String arrivals,
+        Duration warmup,
+        Duration duration,
+        Duration requestTimeout,
+        Map<Route, Integer> mix,
+        int employees,
+        String upstreamRateLimit,
+        String webType,
+        int apiPort,
+        int serverPort,
+        long seed,
+        Path serverJar,
+        Path apiJar,
+        Path output,
+        Path baseline) {
+
+    private static final String DEFAULT_MIX =
+            "getAll=10,search=20,getById=30,highestSalary=10,topTen=10,create=10,delete=10";
+
+    static LoadTestOptions parse(final String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Double.parseDouble(values.getOrDefault("rate", "50")),
+                values.getOrDefault("arrivals", "poisson"),
+                duration(values.getOrDefault("warmup", "10s")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("request-timeout", "10s")),
+                mix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("employees", "1000")),
+                values.getOrDefault("upstream-rate-limit", "off"),
+                values.getOrDefault("web-type", "servlet"),
+                Integer.parseInt(values.getOrDefault("api-port", "18111")),
+                Integer.parseInt(values.getOrDefault("server-port", "18112")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                path(values.get("server-jar")),
+                path(values.get("api-jar")),
+                path(values.getOrDefault("output", "build/reports/loadtest")),
+                path(values.get("baseline")));
+
+        if (options.serverJar() == null || options.apiJar() == null) {
+            throw new IllegalArgumentException("--server-jar and --api-jar are required (the Gradle task sets them)");
+        }
+        if (options.rate() <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (!options.arrivals().equals("poisson") && !options.arrivals().equals("constant")) {
+            throw new IllegalArgumentException("--arrivals must be poisson or constant");
+        }
+        return options;
+    }
+
+    /**
+     * The mock server's command line settings for {@link #upstreamRateLimit()}.
+     */
+    String[] upstreamRateLimitArgs() {
+        if (upstreamRateLimit.equals("off")) {
+            return new String[] {"--mock.rate-limit.enabled=false"};
+        }
+        if (upstreamRateLimit.equals("random")) {
+            return new String[0];
+        }
+        int separator = upstreamRateLimit.indexOf('/');
+        if (separator < 0) {
+            throw new IllegalArgumentException("--upstream-rate-limit must be off, random or <requests>/<backoff>");
+        }
+        return new String[] {
+            "--mock.rate-limit.requests=" + Integer.parseInt(upstreamRateLimit.substring(0, separator)),
+            "--mock.rate-limit.backoff="
+                    + duration(upstreamRateLimit.substring(separator + 1)).toMillis() + "ms"
+        };
+    }
+
+    /**
+     * The settings that shape the results, as recorded in the report.
+     */
+    Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", rate);
+        settings.put("arrivals", arrivals);
+        settings.put("warmupSeconds", warmup.toMillis() / 1000.0);
+        settings.put("durationSeconds", duration.toMillis() / 1000.0);
+        settings.put("requestTimeoutSeconds", requestTimeout.toMillis() / 1000.0);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((route, weight) -> weights.put(route.key(), weight));
+        settings.put("mix", weights);
+        settings.put("employees", employees);
+        settings.put("upstreamRateLimit", upstreamRateLimit);
+        settings.put("webType", webType);
+        settings.put("seed", seed);
+        return settings;
+    }
+
+    // "500ms", "10s", "2m"
+    static Duration duration(final String text) {
+        String value = text.trim();
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Expected a duration like 500ms, 10s or 2m, got: " + text);
+        };
+    }
+
+    private static Map<Route, Integer> mix(final String text) {
+        Map<Route, Integer> weights = new EnumMap<>(Route.class);
+        for (String entry : text.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected route=weight in --mix, got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights in --mix must not be negative: " + entry);
+            }
+            if (weight > 0) {
+                weights.put(Route.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix must give at least one route a positive weight");
+        }
+        return weights;
+    }
+
+    private static Path path(final String text) {
+        return text == null || text.isBlank() ? null : Path.of(text);
+    }
+}
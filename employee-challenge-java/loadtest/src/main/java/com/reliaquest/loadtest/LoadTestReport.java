@@ -0,0 +1,203 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The measured phase of a load test run, written as {@code report.json} (stable field and route order, so two runs'
+ * reports diff cleanly) and {@code report.txt}. Latencies are in milliseconds; see {@link RouteStats} for what
+ * {@code latency} and {@code serviceTime} mean.
+ */
+record LoadTestReport(
+        Map<String, Object> settings,
+        double offeredRate,
+        double achievedRate,
+        List<RouteReport> routes,
+        RouteReport total) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record RouteReport(
+            String route,
+            long requests,
+            double throughput,
+            Map<String, Long> statuses,
+            long errors,
+            long skipped,
+            double tooManyRequestsRate,
+            double errorRate,
+            long bytes,
+            Latency latency,
+            Latency serviceTime) {}
+
+    record Latency(double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(final Histogram histogram) {
+            return new Latency(
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(final long micros) {
+            return Math.round(micros / 10.0) / 100.0;
+        }
+    }
+
+    static LoadTestReport of(final LoadTestOptions options, final Map<Route, RouteStats> stats) {
+        double seconds = options.duration().toMillis() / 1000.0;
+        List<RouteReport> routes = new ArrayList<>();
+        Histogram totalLatency = new Histogram(3);
+        Histogram totalServiceTime = new Histogram(3);
+        Map<Integer, Long> totalStatuses = new TreeMap<>();
+        long totalErrors = 0;
+        long totalSkipped = 0;
+        long totalBytes = 0;
+        for (Map.Entry<Route, RouteStats> entry : stats.entrySet()) {
+            RouteStats route = entry.getValue();
+            routes.add(routeReport(
+                    entry.getKey().key(),
+                    route.statuses(),
+                    route.errors(),
+                    route.skipped(),
+                    route.bytes(),
+                    route.latency(),
+                    route.serviceTime(),
+                    seconds));
+            totalLatency.add(route.latency());
+            totalServiceTime.add(route.serviceTime());
+            route.statuses().forEach((status, count) -> totalStatuses.merge(status, count, Long::sum));
+            totalErrors += route.errors();
+            totalSkipped += route.skipped();
+            totalBytes += route.bytes();
+        }
+        RouteReport total = routeReport(
+                "total", totalStatuses, totalErrors, totalSkipped, totalBytes, totalLatency, totalServiceTime, seconds);
+        return new LoadTestReport(options.describe(), options.rate(), total.throughput(), routes, total);
+    }
+
+    private static RouteReport routeReport(
+            final String name,
+            final Map<Integer, Long> statuses,
+            final long errors,
+            final long skipped,
+            final long bytes,
+            final Histogram latency,
+            final Histogram serviceTime,
+            final double seconds) {
+        long responses = statuses.values().stream().mapToLong(Long::longValue).sum();
+        long requests = responses + errors;
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        statuses.forEach((status, count) -> byStatus.put(Integer.toString(status), count));
+        return new RouteReport(
+                name,
+                requests,
+                round(requests / seconds),
+                byStatus,
+                errors,
+                skipped,
+                requests == 0 ? 0 : round((double) statuses.getOrDefault(429, 0L) / requests),
+                requests == 0 ? 0 : round((double) (errors + countAtLeast(statuses, 500)) / requests),
+                bytes,
+                Latency.of(latency),
+                Latency.of(serviceTime));
+    }
+
+    void write(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        MAPPER.writeValue(directory.resolve("report.json").toFile(), this);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve("report.txt")))) {
+            print(out);
+        }
+    }
+
+    void print(final PrintStream out) {
+        out.printf("Offered %.1f req/s, completed %.1f req/s%n%n", offeredRate, achievedRate);
+        out.printf(
+                "%-14s %8s %9s %7s %7s %9s %9s %9s %9s %9s %11s%n",
+                "route",
+                "requests",
+                "req/s",
+                "429s",
+                "errors",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms",
+                "svc p99 ms");
+        List<RouteReport> rows = new ArrayList<>(routes);
+        rows.add(total);
+        for (RouteReport route : rows) {
+            out.printf(
+                    "%-14s %8d %9.1f %6.1f%% %6.1f%% %9.2f %9.2f %9.2f %9.2f %9.2f %11.2f%n",
+                    route.route(),
+                    route.requests(),
+                    route.throughput(),
+                    route.tooManyRequestsRate() * 100,
+                    route.errorRate() * 100,
+                    route.latency().p50(),
+                    route.latency().p90(),
+                    route.latency().p99(),
+                    route.latency().p999(),
+                    route.latency().max(),
+                    route.serviceTime().p99());
+        }
+    }
+
+    /**
+     * Prints how this run differs from an earlier report: throughput, 429 rate and latency percentiles per route.
+     */
+    void printComparison(final Path baselineReport, final PrintStream out) throws IOException {
+        LoadTestReport baseline = MAPPER.readValue(baselineReport.toFile(), LoadTestReport.class);
+        Map<String, RouteReport> baselineRoutes = new LinkedHashMap<>();
+        baseline.routes().forEach(route -> baselineRoutes.put(route.route(), route));
+        baselineRoutes.put("total", baseline.total());
+
+        out.printf("%nCompared with %s%n", baselineReport);
+        out.printf("%-14s %16s %16s %20s %20s%n", "route", "req/s", "429s", "p99 ms", "p99.9 ms");
+        List<RouteReport> rows = new ArrayList<>(routes);
+        rows.add(total);
+        for (RouteReport route : rows) {
+            RouteReport before = baselineRoutes.get(route.route());
+            if (before == null) {
+                out.printf("%-14s (not in baseline)%n", route.route());
+                continue;
+            }
+            out.printf(
+                    "%-14s %7.1f -> %6.1f %6.1f%% -> %5.1f%% %8.2f -> %9.2f %8.2f -> %9.2f%n",
+                    route.route(),
+                    before.throughput(),
+                    route.throughput(),
+                    before.tooManyRequestsRate() * 100,
+                    route.tooManyRequestsRate() * 100,
+                    before.latency().p99(),
+                    route.latency().p99(),
+                    before.latency().p999(),
+                    route.latency().p999());
+        }
+    }
+
+    private static long countAtLeast(final Map<Integer, Long> statuses, final int status) {
+        return statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() >= status)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    private static double round(final double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
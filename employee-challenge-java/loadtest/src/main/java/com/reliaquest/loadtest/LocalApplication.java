@@ -0,0 +1,113 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One of the applications under test, started from its boot jar in its own JVM (so it is measured as deployed, not
+ * sharing a heap and JIT with the load generator) with its output in {@code <name>.log}.
+ */
+final class LocalApplication implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final String name;
+
+    private final Process process;
+
+    private LocalApplication(final String name, final Process process) {
+        this.name = name;
+        this.process = process;
+    }
+
+    static LocalApplication start(
+            final String name,
+            final List<String> jvmArgs,
+            final Path jar,
+            final Path logDirectory,
+            final String... args)
+            throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>(List.of(java));
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", jar.toString()));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logDirectory.resolve(name + ".log").toFile())
+                .start();
+        return new LocalApplication(name, process);
+    }
+
+    /**
+     * Waits until something accepts connections on the port. Used for the mock server, where any HTTP request would
+     * count against its rate limit.
+     */
+    void awaitPort(final int port) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (true) {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress("localhost", port), 500);
+                return;
+            } catch (IOException notYet) {
+                awaitRetry(deadline);
+            }
+        }
+    }
+
+    /**
+     * Waits until the URI answers 200.
+     */
+    void awaitHealthy(final HttpClient httpClient, final URI health) throws InterruptedException {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        HttpRequest request =
+                HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(2)).build();
+        while (true) {
+            try {
+                if (httpClient
+                                .send(request, HttpResponse.BodyHandlers.discarding())
+                                .statusCode()
+                        == 200) {
+                    return;
+                }
+            } catch (IOException notYet) {
+                // Not listening yet
+            }
+            awaitRetry(deadline);
+        }
+    }
+
+    private void awaitRetry(final long deadline) throws InterruptedException {
+        if (!process.isAlive()) {
+            throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + name + ".log");
+        }
+        if (System.nanoTime() - deadline > 0) {
+            throw new IllegalStateException(
+                    name + " did not start within " + STARTUP_TIMEOUT + ", see " + name + ".log");
+        }
+        Thread.sleep(250);
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException ex) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
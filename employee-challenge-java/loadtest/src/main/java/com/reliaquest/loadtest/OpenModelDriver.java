@@ -0,0 +1,101 @@
+package com.reliaquest.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests on an open model: arrivals follow the configured rate whether or not earlier requests have been
+ * answered, as independent clients would, instead of each virtual user waiting for its previous response (which hides
+ * exactly the stalls worth measuring). Latency is taken from each request's scheduled send time, see
+ * {@link RouteStats}.
+ */
+final class OpenModelDriver {
+
+    private final HttpClient httpClient;
+
+    private final Workload workload;
+
+    private final LoadTestOptions options;
+
+    private final SplittableRandom random;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenModelDriver(final HttpClient httpClient, final Workload workload, final LoadTestOptions options) {
+        this.httpClient = httpClient;
+        this.workload = workload;
+        this.options = options;
+        this.random = new SplittableRandom(options.seed());
+    }
+
+    /**
+     * Offers the workload for {@code length}, then waits for the requests still in flight (up to the request timeout)
+     * so they are counted in this phase.
+     */
+    Map<Route, RouteStats> run(final Duration length) throws InterruptedException {
+        Map<Route, RouteStats> stats = new EnumMap<>(Route.class);
+        options.mix().keySet().forEach(route -> stats.put(route, new RouteStats()));
+
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+        double scheduled = start;
+        while (true) {
+            scheduled += options.arrivals().equals("poisson")
+                    ? -Math.log(1 - random.nextDouble()) * meanGapNanos
+                    : meanGapNanos;
+            long intendedAt = (long) scheduled;
+            if (intendedAt - end >= 0) {
+                break;
+            }
+            long wait;
+            while ((wait = intendedAt - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Route route = workload.pick(random);
+            send(route, stats.get(route), intendedAt);
+        }
+
+        long drainDeadline =
+                System.nanoTime() + options.requestTimeout().plusSeconds(1).toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() - drainDeadline < 0) {
+            Thread.sleep(10);
+        }
+        return stats;
+    }
+
+    private void send(final Route route, final RouteStats stats, final long intendedAt) {
+        HttpRequest request = route.newRequest(workload, random, options.requestTimeout());
+        if (request == null) {
+            stats.recordSkipped();
+            return;
+        }
+        inFlight.incrementAndGet();
+        long sentAt = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, ex) -> {
+            long completedAt = System.nanoTime();
+            try {
+                if (ex != null) {
+                    stats.recordError(completedAt - intendedAt, completedAt - sentAt);
+                } else {
+                    stats.recordResponse(
+                            response.statusCode(),
+                            completedAt - intendedAt,
+                            completedAt - sentAt,
+                            response.body().length);
+                    workload.onResponse(route, response.statusCode(), response.body());
+                }
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+}
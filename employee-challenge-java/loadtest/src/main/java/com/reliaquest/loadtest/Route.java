@@ -0,0 +1,99 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The api's routes, as the load test calls them. Ids and search strings come from the roster the api listed before
+ * the run; deletes only remove employees the load test created, so the roster the other routes use stays intact.
+ */
+enum Route {
+    GET_ALL("getAll") {
+        @Override
+        HttpRequest.Builder request(final Workload workload, final SplittableRandom random) {
+            return HttpRequest.newBuilder(workload.uri("/")).GET();
+        }
+    },
+    SEARCH("search") {
+        @Override
+        HttpRequest.Builder request(final Workload workload, final SplittableRandom random) {
+            String fragment = URLEncoder.encode(workload.searchFragment(random), StandardCharsets.UTF_8)
+                    .replace("+", "%20");
+            return HttpRequest.newBuilder(workload.uri("/search/" + fragment)).GET();
+        }
+    },
+    GET_BY_ID("getById") {
+        @Override
+        HttpRequest.Builder request(final Workload workload, final SplittableRandom random) {
+            return HttpRequest.newBuilder(workload.uri("/" + workload.knownId(random)))
+                    .GET();
+        }
+    },
+    HIGHEST_SALARY("highestSalary") {
+        @Override
+        HttpRequest.Builder request(final Workload workload, final SplittableRandom random) {
+            return HttpRequest.newBuilder(workload.uri("/highestSalary")).GET();
+        }
+    },
+    TOP_TEN("topTen") {
+        @Override
+        HttpRequest.Builder request(final Workload workload, final SplittableRandom random) {
+            return HttpRequest.newBuilder(workload.uri("/topTenHighestEarningEmployeeNames"))
+                    .GET();
+        }
+    },
+    CREATE("create") {
+        @Override
+        HttpRequest.Builder request(final Workload workload, final SplittableRandom random) {
+            return HttpRequest.newBuilder(workload.uri("/"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(workload.newEmployeeJson(random)));
+        }
+    },
+    DELETE("delete") {
+        @Override
+        HttpRequest.Builder request(final Workload workload, final SplittableRandom random) {
+            String id = workload.takeCreatedId();
+            return id == null
+                    ? null
+                    : HttpRequest.newBuilder(workload.uri("/" + id)).DELETE();
+        }
+    };
+
+    private final String key;
+
+    Route(final String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    /**
+     * The next request for this route, or null when there is nothing to send (a delete with no created employee left).
+     */
+    abstract HttpRequest.Builder request(Workload workload, SplittableRandom random);
+
+    HttpRequest newRequest(final Workload workload, final SplittableRandom random, final Duration timeout) {
+        HttpRequest.Builder builder = request(workload, random);
+        return builder == null ? null : builder.timeout(timeout).build();
+    }
+
+    static Route fromKey(final String key) {
+        return Arrays.stream(values())
+                .filter(route -> route.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown route '" + key + "', expected one of "
+                        + Arrays.stream(values()).map(Route::key).toList()));
+    }
+
+    static URI base(final int port) {
+        return URI.create("http://localhost:" + port);
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * What one route did during a phase. Two latency histograms are kept, in microseconds:
+ * <ul>
+ *   <li>{@code latency}: from when the request was scheduled to be sent until its response was read. This is the
+ *   latency a client arriving at that moment saw, including any time the request waited behind a slow system, so it
+ *   is free of coordinated omission.
+ *   <li>{@code serviceTime}: from when it was actually sent. The gap between the two shows the load generator or the
+ *   system falling behind the offered rate.
+ * </ul>
+ */
+final class RouteStats {
+
+    // One hour, far beyond any request timeout
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder skipped = new LongAdder();
+
+    private final LongAdder bytes = new LongAdder();
+
+    void recordResponse(final int status, final long latencyNanos, final long serviceTimeNanos, final int bodyBytes) {
+        latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(serviceTimeNanos)));
+        statuses.computeIfAbsent(status, ignored -> new LongAdder()).increment();
+        bytes.add(bodyBytes);
+    }
+
+    /**
+     * A request that got no response (timeout, refused connection). Its latency still counts: the client waited.
+     */
+    void recordError(final long latencyNanos, final long serviceTimeNanos) {
+        latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(serviceTimeNanos)));
+        errors.increment();
+    }
+
+    void recordSkipped() {
+        skipped.increment();
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+
+    Histogram serviceTime() {
+        return serviceTime;
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long skipped() {
+        return skipped.sum();
+    }
+
+    long bytes() {
+        return bytes.sum();
+    }
+}
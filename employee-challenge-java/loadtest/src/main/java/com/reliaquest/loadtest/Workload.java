@@ -0,0 +1,105 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The route mix and the data the requests are built from: the roster the api listed before the run, and the ids of
+ * employees created during it, which are the only ones deleted.
+ * <p>
+ * Routes are picked and requests built on the scheduling thread; created ids arrive from response threads.
+ */
+final class Workload {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final URI base;
+
+    private final Route[] routes;
+
+    private final int[] cumulativeWeights;
+
+    private final List<String> knownIds;
+
+    private final List<String> knownNames;
+
+    private final ConcurrentLinkedDeque<String> createdIds = new ConcurrentLinkedDeque<>();
+
+    private final AtomicLong created = new AtomicLong();
+
+    Workload(
+            final URI base, final Map<Route, Integer> mix, final List<String> knownIds, final List<String> knownNames) {
+        if (knownIds.isEmpty() || knownNames.isEmpty()) {
+            throw new IllegalStateException("The api listed no employees to build requests from");
+        }
+        this.base = base;
+        this.routes = mix.keySet().toArray(Route[]::new);
+        this.cumulativeWeights = new int[routes.length];
+        int total = 0;
+        for (int i = 0; i < routes.length; i++) {
+            total += mix.get(routes[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.knownIds = List.copyOf(knownIds);
+        this.knownNames = List.copyOf(knownNames);
+    }
+
+    Route pick(final SplittableRandom random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return routes[i];
+            }
+        }
+        return routes[routes.length - 1];
+    }
+
+    URI uri(final String path) {
+        return base.resolve(path);
+    }
+
+    String knownId(final SplittableRandom random) {
+        return knownIds.get(random.nextInt(knownIds.size()));
+    }
+
+    // Three letters of a listed name: selective enough to be realistic, common enough to usually match
+    String searchFragment(final SplittableRandom random) {
+        String name = knownNames.get(random.nextInt(knownNames.size())).toLowerCase();
+        if (name.length() <= 3) {
+            return name;
+        }
+        int start = random.nextInt(name.length() - 2);
+        return name.substring(start, start + 3);
+    }
+
+    String newEmployeeJson(final SplittableRandom random) {
+        long sequence = created.incrementAndGet();
+        return "{\"name\":\"Loadtest Employee " + sequence + "\",\"salary\":" + random.nextInt(20_000, 2_000_000)
+                + ",\"age\":" + random.nextInt(16, 76) + ",\"title\":\"Load Tester\"}";
+    }
+
+    String takeCreatedId() {
+        return createdIds.pollFirst();
+    }
+
+    void onResponse(final Route route, final int status, final byte[] body) {
+        if (route != Route.CREATE || status / 100 != 2) {
+            return;
+        }
+        try {
+            JsonNode id = MAPPER.readTree(body).path("id");
+            if (id.isTextual()) {
+                createdIds.addLast(id.asText());
+            }
+        } catch (IOException ignored) {
+            // Counted by status already; an unreadable body only means this employee is not deleted later
+        }
+    }
+}
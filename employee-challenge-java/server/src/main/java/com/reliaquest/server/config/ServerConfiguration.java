@@ -2,6 +2,7 @@ package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -25,6 +26,15 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    @Value("${mock.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${mock.rate-limit.requests:${random.int[5,10]}}")
+    private int rateLimitRequests;
+
+    @Value("${mock.rate-limit.backoff:${random.int[30,90]}s}")
+    private Duration rateLimitBackoff;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
@@ -54,6 +64,11 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (!rateLimitEnabled) {
+            log.info("Request rate limit disabled");
+            return;
+        }
+        log.info("Request rate limit: {} requests, then 429 for {}", rateLimitRequests, rateLimitBackoff);
+        registry.addInterceptor(new RandomRequestLimitInterceptor(rateLimitRequests, rateLimitBackoff));
     }
 }
@@ -5,35 +5,39 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.random.RandomGenerator;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+/**
+ * Lets {@code requestLimit} requests through, then answers 429 until {@code backoffDuration} has passed since the last
+ * one it let through. Both are random per start unless configured (see {@code mock.rate-limit} in application.yml).
+ */
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
-    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
-    private static final Duration REQUEST_BACKOFF_DURATION =
-            Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    private final int requestLimit;
 
-    private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
+    private final Duration backoffDuration;
+
+    private final AtomicReference<RequestLimit> currentLimit = new AtomicReference<>(RequestLimit.init());
+
+    public RandomRequestLimitInterceptor(final int requestLimit, final Duration backoffDuration) {
+        this.requestLimit = requestLimit;
+        this.backoffDuration = backoffDuration;
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isBefore(requestLimit.get().getLastRequested())) {
+        if (currentLimit.get().getCount() >= requestLimit) {
+            if (Instant.now().minus(backoffDuration).isBefore(currentLimit.get().getLastRequested())) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
                 return false;
             }
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isAfter(requestLimit.get().getLastRequested())) {
-                requestLimit.set(RequestLimit.init());
+            if (Instant.now().minus(backoffDuration).isAfter(currentLimit.get().getLastRequested())) {
+                currentLimit.set(RequestLimit.init());
             }
         } else {
-            requestLimit.getAndUpdate(
+            currentLimit.getAndUpdate(
                     currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
         }
 